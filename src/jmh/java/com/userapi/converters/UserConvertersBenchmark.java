@@ -0,0 +1,124 @@
+package com.userapi.converters;
+
+import com.userapi.models.entity.JobProfile;
+import com.userapi.models.entity.UserProfile;
+import com.userapi.models.external.CreateUserRequest;
+import com.userapi.models.external.EmailInfo;
+import com.userapi.models.external.EmploymentInfo;
+import com.userapi.models.external.GetUserResponse;
+import com.userapi.models.external.PhoneInfo;
+import com.userapi.models.internal.CreateUserInternalRequest;
+import com.userapi.models.internal.GetUserInternalResponse;
+import com.userapi.models.internal.ResponseReasonCode;
+import com.userapi.models.internal.ResponseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request and response conversions on the create-user and get-user paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserConvertersBenchmark {
+
+    private static final int JOB_PROFILES = 3;
+
+    private GetUserResponseConverter getUserResponseConverter;
+    private CreateUserRequestConverter createUserRequestConverter;
+    private GetUserInternalResponse getUserInternalResponse;
+    private CreateUserRequest createUserRequest;
+
+    @Setup
+    public void setUp() {
+        getUserResponseConverter = new GetUserResponseConverter();
+        createUserRequestConverter = new CreateUserRequestConverter(
+                new EmailInfoConverter(), new EmploymentInfoConverter(), new PhoneInfoConverter());
+
+        String[] jobProfileUuids = new String[JOB_PROFILES];
+        Map<String, JobProfile> jobProfilesByUuid = new HashMap<>();
+        Map<String, List<String>> reporteesByJobProfileUuid = new HashMap<>();
+        for (int i = 0; i < JOB_PROFILES; i++) {
+            String jobProfileUuid = "jp-" + i;
+            jobProfileUuids[i] = jobProfileUuid;
+            jobProfilesByUuid.put(jobProfileUuid, JobProfile.builder()
+                    .jobProfileUuid(jobProfileUuid)
+                    .organizationUuid("org-1")
+                    .title("Engineer " + i)
+                    .organizationUnit("Engineering")
+                    .reportingManager("manager-" + i)
+                    .startDate(LocalDateTime.of(2022 + i, 1, 1, 9, 0))
+                    .extensionsData("{\"department\": \"Engineering\", \"level\": " + i + "}")
+                    .build());
+            reporteesByJobProfileUuid.put(jobProfileUuid, List.of("reportee-" + i + "-a", "reportee-" + i + "-b"));
+        }
+        getUserInternalResponse = GetUserInternalResponse.builder()
+                .responseResult(ResponseResult.SUCCESS)
+                .responseReasonCode(ResponseReasonCode.SUCCESS)
+                .userProfile(UserProfile.builder()
+                        .userUuid("user-1")
+                        .organizationUuid("org-1")
+                        .username("jdoe")
+                        .firstName("Jane")
+                        .lastName("Doe")
+                        .email("jane.doe@example.com")
+                        .phone("5550001")
+                        .phoneCountryCode(1)
+                        .status("Active")
+                        .startDate(LocalDateTime.of(2022, 1, 1, 9, 0))
+                        .jobProfileUuids(jobProfileUuids)
+                        .build())
+                .jobProfilesByUuid(jobProfilesByUuid)
+                .reporteesByJobProfileUuid(reporteesByJobProfileUuid)
+                .build();
+
+        EmailInfo emailInfo = new EmailInfo();
+        emailInfo.setEmail("jane.doe@example.com");
+        emailInfo.setVerificationStatus("VERIFIED");
+        PhoneInfo phoneInfo = new PhoneInfo();
+        phoneInfo.setNumber("5550001");
+        phoneInfo.setCountryCode(1);
+        phoneInfo.setVerificationStatus("VERIFIED");
+        EmploymentInfo employmentInfo = new EmploymentInfo();
+        employmentInfo.setJobTitle("Engineer");
+        employmentInfo.setOrganizationUnit("Engineering");
+        employmentInfo.setStartDate(LocalDateTime.of(2022, 1, 1, 9, 0));
+        employmentInfo.setReportingManager("manager-1");
+        employmentInfo.setExtensionsData(Map.of("department", "Engineering"));
+        createUserRequest = new CreateUserRequest();
+        createUserRequest.setUsername("jdoe");
+        createUserRequest.setFirstName("Jane");
+        createUserRequest.setLastName("Doe");
+        createUserRequest.setEmailInfo(emailInfo);
+        createUserRequest.setPhoneInfo(phoneInfo);
+        createUserRequest.setEmploymentInfoList(List.of(employmentInfo));
+    }
+
+    @Benchmark
+    public GetUserResponse getUserResponse() {
+        return getUserResponseConverter.toExternal(getUserInternalResponse);
+    }
+
+    @Benchmark
+    public CreateUserInternalRequest createUserRequest() {
+        return createUserRequestConverter.toInternal(
+                "org-1", "user-1", "session-1", "trace-1", "region-1", createUserRequest);
+    }
+}
@@ -0,0 +1,56 @@
+package com.userapi.security;
+
+import com.userapi.util.PolicyBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The local, per-request work of a permission check: mapping resource and action names to the
+ * roles service vocabulary and scanning role policies for wildcard grants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionEvaluatorBenchmark {
+
+    private CustomPermissionEvaluator permissionEvaluator;
+    private String adminPolicy;
+    private String userPolicy;
+
+    @Setup
+    public void setUp() {
+        // Mapping and policy parsing never touch the roles service or the request context
+        permissionEvaluator = new CustomPermissionEvaluator(null, null);
+        adminPolicy = PolicyBuilder.buildAdminPolicy().toString();
+        userPolicy = PolicyBuilder.buildUserPolicy().toString();
+    }
+
+    @Benchmark
+    public String mapResourceAndAction() {
+        return permissionEvaluator.mapResourceToRolesService("USER_ROLE")
+                + permissionEvaluator.mapActionToRolesService("REMOVE");
+    }
+
+    @Benchmark
+    public boolean wildcardPolicyGranted() {
+        return permissionEvaluator.hasWildcardPermissionInPolicy(adminPolicy, "delete");
+    }
+
+    @Benchmark
+    public boolean wildcardPolicyDenied() {
+        return permissionEvaluator.hasWildcardPermissionInPolicy(userPolicy, "delete");
+    }
+}
@@ -0,0 +1,108 @@
+package com.userapi.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.userapi.config.JacksonConfig;
+import com.userapi.models.entity.UserProfile;
+import com.userapi.models.external.ListUsersResponse;
+import com.userapi.models.external.ListUsersSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and serializes one page of the list-users response, the per-request CPU cost of
+ * {@code POST /users/filter} once the database has answered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListUsersBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<UserProfile> users;
+    private ListUsersSelector selector;
+    private ListUsersResponse response;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(UserProfile.builder()
+                    .userUuid("user-" + i)
+                    .organizationUuid("org-1")
+                    .username("user" + i)
+                    .firstName("First" + i)
+                    .middleName("M")
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .phone("555000" + i)
+                    .phoneCountryCode(1)
+                    .status("Active")
+                    .startDate(LocalDateTime.of(2024, 1, 1, 9, 0))
+                    .jobProfileUuids(new String[]{"jp-" + i})
+                    .build());
+        }
+
+        selector = new ListUsersSelector();
+        selector.setBase_attributes(List.of("userId", "username", "email"));
+        selector.setExtensions(List.of("department"));
+
+        List<Map<String, Object>> page = new ArrayList<>(pageSize);
+        for (UserProfile user : users) {
+            Map<String, Object> map = UserServiceImpl.convertUserToMap(user, null);
+            map.put("extensions", Map.of("department", new RawValue("\"Engineering\"")));
+            page.add(map);
+        }
+        response = new ListUsersResponse();
+        response.setUsers(page);
+        response.setTotalElements(10_000);
+        response.setPageSize(pageSize);
+
+        objectMapper = new JacksonConfig().objectMapper();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> convertAllAttributes() {
+        List<Map<String, Object>> page = new ArrayList<>(users.size());
+        for (UserProfile user : users) {
+            page.add(UserServiceImpl.convertUserToMap(user, null));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> convertSelectedAttributes() {
+        List<Map<String, Object>> page = new ArrayList<>(users.size());
+        for (UserProfile user : users) {
+            page.add(UserServiceImpl.convertUserToMap(user, selector));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
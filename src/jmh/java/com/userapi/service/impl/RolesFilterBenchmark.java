@@ -0,0 +1,76 @@
+package com.userapi.service.impl;
+
+import com.userapi.models.external.roles.ListRolesFilterCriteria;
+import com.userapi.models.external.roles.ListRolesFilterCriteriaAttribute;
+import com.userapi.models.external.roles.RoleResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory filtering applied to the roles service's search results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RolesFilterBenchmark {
+
+    @Param({"50", "500"})
+    private int roleCount;
+
+    private List<RoleResponse> roles;
+    private ListRolesFilterCriteria exactMatch;
+    private ListRolesFilterCriteria descriptionSearch;
+
+    @Setup
+    public void setUp() {
+        roles = new ArrayList<>(roleCount);
+        for (int i = 0; i < roleCount; i++) {
+            roles.add(RoleResponse.builder()
+                    .role_uuid("role-" + i)
+                    .roleName("Role " + i)
+                    .organization_uuid("org-1")
+                    .description("Grants access to workspace " + i + " for the Operations team")
+                    .role_management_type(i % 5 == 0 ? "SYSTEM_MANAGED" : "CUSTOMER_MANAGED")
+                    .build());
+        }
+
+        exactMatch = ListRolesFilterCriteria.builder()
+                .attributes(List.of(
+                        ListRolesFilterCriteriaAttribute.builder()
+                                .name("role_management_type").values(List.of("CUSTOMER_MANAGED")).build(),
+                        ListRolesFilterCriteriaAttribute.builder()
+                                .name("organization_uuid").values(List.of("org-1")).build()))
+                .build();
+        descriptionSearch = ListRolesFilterCriteria.builder()
+                .attributes(List.of(
+                        ListRolesFilterCriteriaAttribute.builder()
+                                .name("description").values(List.of("OPERATIONS", "finance")).build()))
+                .build();
+    }
+
+    @Benchmark
+    public List<RoleResponse> exactMatchFilters() {
+        return RolesServiceClientImpl.applyFilters(roles, exactMatch);
+    }
+
+    @Benchmark
+    public List<RoleResponse> descriptionSearchFilter() {
+        return RolesServiceClientImpl.applyFilters(roles, descriptionSearch);
+    }
+}
@@ -0,0 +1,63 @@
+package com.userapi.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.enums.ResourceType;
+import com.userapi.models.external.roles.CreateRoleRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Policy document construction for the predefined and custom role types, and serialization of
+ * a create-role request body carrying the pre-serialized admin policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyBuilderBenchmark {
+
+    private final Set<ResourceType> readResources = Set.of(ResourceType.USERS, ResourceType.TASKS);
+    private final Set<ResourceType> writeResources = Set.of(ResourceType.TASKS);
+    private final List<String> features = List.of("create_task", "view_reports");
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    public JsonNode adminPolicy() {
+        return PolicyBuilder.buildPolicyForRole("ADMIN");
+    }
+
+    @Benchmark
+    public JsonNode userPolicy() {
+        return PolicyBuilder.buildPolicyForRole("USER");
+    }
+
+    @Benchmark
+    public JsonNode customPolicy() {
+        return PolicyBuilder.buildCustomPolicy(readResources, writeResources, Set.of(), features);
+    }
+
+    @Benchmark
+    public byte[] createAdminRoleRequestBody() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(CreateRoleRequest.builder()
+                .roleName("Admin")
+                .description("Default admin role with full access")
+                .roleManagementType("SYSTEM_MANAGED")
+                .policy(PolicyBuilder.buildAdminPolicy())
+                .build());
+    }
+}
@@ -0,0 +1,280 @@
+package com.userapi.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Populates {@code user_profiles}, {@code job_profiles} and {@code user_reportees} with a
+ * synthetic, reproducible large-organization dataset using {@code COPY ... FROM STDIN}.
+ *
+ * <p>Each organization is a management tree filled breadth-first: every manager gets
+ * {@code fanOut} reportees until the tree is {@code depth} levels deep, after which the
+ * remaining users are spread over the managers one level above the leaves. Every user has
+ * {@code jobHistory} job profiles; the last one is current and carries the reporting manager.
+ * UUIDs are derived from org and user indexes and all other values come from a seeded
+ * {@link Random}, so the same settings always produce the same rows.
+ *
+ * <p>{@code ./gradlew generateDataset -Dloadtest.jdbcUrl=... -Dloadtest.dataset.orgs=10 -Dloadtest.dataset.orgSize=50000}
+ */
+public final class DatasetGenerator {
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Marketing", "Finance", "Operations", "Support"};
+    private static final String[] LEVELS = {"Junior", "Mid", "Senior", "Staff", "Principal"};
+    private static final String[] LOCATIONS = {"NYC", "SFO", "LON", "BLR", "SYD"};
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private final Settings settings;
+
+    DatasetGenerator(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jdbcUrl = System.getProperty("loadtest.jdbcUrl", "jdbc:postgresql://localhost:5432/postgres");
+        new DatasetGenerator(Settings.fromSystemProperties()).generate(jdbcUrl,
+                System.getProperty("loadtest.jdbcUsername", "postgres"),
+                System.getProperty("loadtest.jdbcPassword", "postgres"));
+    }
+
+    void generate(String jdbcUrl, String username, String password) throws SQLException, IOException {
+        System.out.printf("Generating dataset: %s%n", settings);
+        long startNanos = System.nanoTime();
+        long rows = 0;
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+            connection.setAutoCommit(false);
+            applySchema(connection);
+            if (settings.truncate) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE user_reportees, job_profiles, user_profiles");
+                }
+                connection.commit();
+            }
+            Random random = new Random(settings.seed);
+            for (int org = 0; org < settings.orgs; org++) {
+                rows += generateOrganization(connection, org, random);
+                connection.commit();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE user_profiles");
+                statement.execute("ANALYZE job_profiles");
+                statement.execute("ANALYZE user_reportees");
+            }
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("Wrote %d rows in %.1fs (%.0f rows/s)%n", rows, seconds, rows / seconds);
+    }
+
+    private long generateOrganization(Connection connection, int org, Random random) throws SQLException {
+        String orgUuid = uuid("org", org, 0, 0);
+        int size = settings.orgSize;
+        int[] managerOf = buildHierarchy(size, random);
+
+        // The current job profile of every user, referenced by its reportees' relations
+        String[] currentJobProfile = new String[size];
+        for (int user = 0; user < size; user++) {
+            currentJobProfile[user] = uuid("job", org, user, settings.jobHistory - 1);
+        }
+
+        CopyStreams copy = new CopyStreams(connection.unwrap(PGConnection.class));
+        long rows = 0;
+
+        try (CopyWriter users = copy.open("user_profiles (user_uuid, organization_uuid, username, first_name, "
+                + "last_name, middle_name, email, email_verification_status, phone, phone_country_code, "
+                + "phone_verification_status, start_date, end_date, status, job_profile_uuids)")) {
+            for (int user = 0; user < size; user++) {
+                String[] jobProfiles = new String[settings.jobHistory];
+                for (int job = 0; job < settings.jobHistory; job++) {
+                    jobProfiles[job] = uuid("job", org, user, job);
+                }
+                String handle = "o" + org + "u" + user;
+                boolean active = random.nextInt(100) < 95;
+                users.row(uuid("user", org, user, 0), orgUuid, handle, "First" + user, "Last" + user,
+                        random.nextBoolean() ? "M" : null, handle + "@org" + org + ".example",
+                        "VERIFIED", "+1" + org + String.format("%09d", user), 1, "VERIFIED",
+                        hireDate(random), active ? null : BASE_DATE.minusDays(random.nextInt(365)),
+                        active ? "Active" : "Inactive", "{" + String.join(",", jobProfiles) + "}");
+                rows++;
+            }
+        }
+
+        try (CopyWriter jobs = copy.open("job_profiles (job_profile_uuid, organization_uuid, title, start_date, "
+                + "end_date, reporting_manager, organization_unit, extensions_data)")) {
+            for (int user = 0; user < size; user++) {
+                String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+                LocalDateTime start = BASE_DATE.minusYears(settings.jobHistory);
+                for (int job = 0; job < settings.jobHistory; job++) {
+                    boolean current = job == settings.jobHistory - 1;
+                    LocalDateTime end = current ? null : start.plusDays(300 + random.nextInt(130));
+                    int level = Math.min(job + random.nextInt(2), LEVELS.length - 1);
+                    jobs.row(uuid("job", org, user, job), orgUuid, LEVELS[level] + " " + department + " Specialist",
+                            start, end,
+                            current && managerOf[user] >= 0 ? uuid("user", org, managerOf[user], 0) : null,
+                            department,
+                            "{\"department\": \"" + department + "\", \"level\": \"" + LEVELS[level]
+                                    + "\", \"location\": \"" + LOCATIONS[random.nextInt(LOCATIONS.length)]
+                                    + "\", \"costCenter\": " + (1000 + random.nextInt(50)) + "}");
+                    rows++;
+                    start = current ? start : end.plusDays(1);
+                }
+            }
+        }
+
+        try (CopyWriter reportees = copy.open("user_reportees (relation_uuid, organization_uuid, "
+                + "manager_user_uuid, user_uuid, job_profile_uuid)")) {
+            for (int user = 0; user < size; user++) {
+                int manager = managerOf[user];
+                if (manager >= 0) {
+                    reportees.row(uuid("rel", org, user, 0), orgUuid, uuid("user", org, manager, 0),
+                            uuid("user", org, user, 0), currentJobProfile[manager]);
+                    rows++;
+                }
+            }
+        }
+        System.out.printf("Org %d (%s): %d users%n", org, orgUuid, size);
+        return rows;
+    }
+
+    /**
+     * Breadth-first tree: user 0 is the root and user {@code i} reports to {@code (i - 1) / fanOut}
+     * until that would exceed {@code depth} levels; deeper users go to a random manager on the
+     * last level that may still have reportees. Returns the manager index per user, -1 for none.
+     */
+    private int[] buildHierarchy(int size, Random random) {
+        int[] managerOf = new int[size];
+        int[] level = new int[size];
+        int[] levelStart = new int[Math.max(settings.depth, 1) + 1];
+        managerOf[0] = -1;
+        for (int user = 1; user < size; user++) {
+            if (settings.depth <= 1) {
+                managerOf[user] = -1;
+                continue;
+            }
+            int manager = (user - 1) / settings.fanOut;
+            if (level[manager] >= settings.depth - 1) {
+                int from = levelStart[settings.depth - 2];
+                int to = levelStart[settings.depth - 1];
+                manager = from + random.nextInt(to - from);
+            }
+            managerOf[user] = manager;
+            level[user] = level[manager] + 1;
+            if (levelStart[level[user]] == 0) {
+                levelStart[level[user]] = user;
+            }
+        }
+        return managerOf;
+    }
+
+    private LocalDateTime hireDate(Random random) {
+        return BASE_DATE.minusYears(settings.jobHistory).minusDays(random.nextInt(365));
+    }
+
+    private static String uuid(String kind, int org, int user, int index) {
+        return UUID.nameUUIDFromBytes((kind + ":" + org + ":" + user + ":" + index).getBytes(StandardCharsets.UTF_8))
+                .toString();
+    }
+
+    static void applySchema(Connection connection) throws SQLException, IOException {
+        try (InputStream schema = DatasetGenerator.class.getResourceAsStream("/schema.sql")) {
+            if (schema == null) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : new String(schema.readAllBytes(), StandardCharsets.UTF_8).split(";")) {
+                    if (!sql.replaceAll("(?m)^\\s*--.*$", "").isBlank()) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private record CopyStreams(PGConnection connection) {
+
+        CopyWriter open(String tableAndColumns) throws SQLException {
+            return new CopyWriter(connection.getCopyAPI().copyIn("COPY " + tableAndColumns + " FROM STDIN WITH (FORMAT csv)"));
+        }
+    }
+
+    /**
+     * Buffers CSV rows and streams them to an open COPY in chunks.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        private CopyWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                buffer.append(text);
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+    }
+
+    record Settings(int orgs, int orgSize, int depth, int fanOut, int jobHistory, long seed, boolean truncate) {
+
+        Settings {
+            if (orgs < 1 || orgSize < 1 || fanOut < 1 || jobHistory < 1) {
+                throw new IllegalArgumentException("orgs, orgSize, fanOut and jobHistory must be at least 1");
+            }
+        }
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.dataset.orgs", 1),
+                    Integer.getInteger("loadtest.dataset.orgSize", 10_000),
+                    Integer.getInteger("loadtest.dataset.depth", 6),
+                    Integer.getInteger("loadtest.dataset.fanOut", 8),
+                    Integer.getInteger("loadtest.dataset.jobHistory", 3),
+                    Long.getLong("loadtest.dataset.seed", 42L),
+                    Boolean.getBoolean("loadtest.dataset.truncate"));
+        }
+    }
+}
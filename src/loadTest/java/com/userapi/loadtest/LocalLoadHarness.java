@@ -0,0 +1,92 @@
+package com.userapi.loadtest;
+
+import com.userapi.UserServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+
+/**
+ * Self-contained load test: starts an embedded Postgres (or uses {@code loadtest.jdbcUrl}),
+ * the {@link StubDependencyServer} for API key validation and the roles service, and the
+ * application itself in-process, then drives mixed traffic through {@link MixedTrafficDriver}.
+ * With {@code loadtest.dataset.generate=true} the database is first filled by {@link DatasetGenerator}.
+ *
+ * <p>{@code ./gradlew localLoadTest -Dloadtest.concurrency=100 -Dloadtest.stub.latencyMs=20}
+ */
+public final class LocalLoadHarness {
+
+    private LocalLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long stubLatencyMs = Long.getLong("loadtest.stub.latencyMs", 10);
+        long stubJitterMs = Long.getLong("loadtest.stub.jitterMs", 5);
+        double stubErrorRate = Double.parseDouble(System.getProperty("loadtest.stub.errorRate", "0"));
+
+        try (Database database = Database.start(System.getProperty("loadtest.jdbcUrl"),
+                     System.getProperty("loadtest.jdbcUsername", "postgres"),
+                     System.getProperty("loadtest.jdbcPassword", "postgres"));
+             StubDependencyServer stubs = StubDependencyServer.start(stubLatencyMs, stubJitterMs, stubErrorRate)) {
+
+            System.out.printf("Stub dependencies at %s (latency=%dms, jitter=%dms, errorRate=%.3f)%n",
+                    stubs.baseUrl(), stubLatencyMs, stubJitterMs, stubErrorRate);
+            if (Boolean.getBoolean("loadtest.dataset.generate")) {
+                new DatasetGenerator(DatasetGenerator.Settings.fromSystemProperties())
+                        .generate(database.url, database.username, database.password);
+            }
+
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(UserServiceApplication.class)
+                    .profiles("loadtest")
+                    .properties(
+                            "spring.datasource.url=" + database.url,
+                            "spring.datasource.username=" + database.username,
+                            "spring.datasource.password=" + database.password,
+                            "client-management.service.url=" + stubs.baseUrl(),
+                            "roles.service.url=" + stubs.baseUrl())
+                    .run(args)) {
+
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                MixedTrafficDriver driver = new MixedTrafficDriver(
+                        "http://localhost:" + port, MixedTrafficDriver.Config.fromSystemProperties());
+                driver.seed();
+                driver.run();
+                driver.report();
+                System.out.printf("Stub calls: %d (%d injected errors)%n", stubs.calls(), stubs.injectedErrors());
+            }
+        }
+    }
+
+    private static final class Database implements AutoCloseable {
+        private final EmbeddedPostgres embedded;
+        private final String url;
+        private final String username;
+        private final String password;
+
+        private Database(EmbeddedPostgres embedded, String url, String username, String password) {
+            this.embedded = embedded;
+            this.url = url;
+            this.username = username;
+            this.password = password;
+        }
+
+        static Database start(String jdbcUrl, String username, String password) throws IOException {
+            if (jdbcUrl != null && !jdbcUrl.isBlank()) {
+                System.out.printf("Using Postgres at %s%n", jdbcUrl);
+                return new Database(null, jdbcUrl, username, password);
+            }
+            EmbeddedPostgres embedded = EmbeddedPostgres.builder().start();
+            System.out.printf("Started embedded Postgres on port %d%n", embedded.getPort());
+            return new Database(embedded, embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+}
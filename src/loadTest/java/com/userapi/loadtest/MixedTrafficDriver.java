@@ -0,0 +1,249 @@
+package com.userapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop driver that sends a weighted mix of create, get, list, hierarchy and permission
+ * requests and records latency per endpoint in HdrHistograms.
+ *
+ * <p>The mix is set with {@code loadtest.mix}, e.g. {@code create:10,get:40,list:25,hierarchy:15,permission:10}.
+ * Before measuring, {@link #seed()} creates a manager and {@code loadtest.seedUsers} reportees
+ * so that get, list and hierarchy requests hit real rows. Users created during the run report to
+ * a random seeded user, which keeps the manager's hierarchy the same size throughout.
+ */
+final class MixedTrafficDriver {
+
+    enum Endpoint {
+        CREATE, GET, LIST, HIERARCHY, PERMISSION
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long MAX_TRACKABLE_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final String baseUrl;
+    private final Config config;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong createdUsers = new AtomicLong();
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final List<String> userIds = new ArrayList<>();
+    private String managerId;
+
+    MixedTrafficDriver(String baseUrl, Config config) {
+        this.baseUrl = baseUrl;
+        this.config = config;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void seed() throws IOException, InterruptedException {
+        managerId = createUser(null);
+        userIds.add(managerId);
+        for (int i = 0; i < config.seedUsers; i++) {
+            userIds.add(createUser(managerId));
+        }
+        System.out.printf("Seeded %d users under manager %s%n", userIds.size(), managerId);
+    }
+
+    void run() throws InterruptedException {
+        System.out.printf("Mixed load: concurrency=%d, warmup=%ds, duration=%ds, mix=%s%n",
+                config.concurrency, config.warmupSeconds, config.durationSeconds, config.mix);
+        long measureFromNanos = System.nanoTime() + Duration.ofSeconds(config.warmupSeconds).toNanos();
+        long endNanos = measureFromNanos + Duration.ofSeconds(config.durationSeconds).toNanos();
+
+        CountDownLatch done = new CountDownLatch(config.concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency);
+        for (int i = 0; i < config.concurrency; i++) {
+            workers.execute(() -> {
+                try {
+                    runWorker(measureFromNanos, endNanos);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        workers.shutdown();
+    }
+
+    void report() {
+        System.out.printf("%-11s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long totalOk = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long ok = histogram.getTotalCount();
+            totalOk += ok;
+            System.out.printf("%-11s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.name().toLowerCase(), ok, errors.get(endpoint).sum(),
+                    ok / (double) config.durationSeconds,
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(95) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6, histogram.getMaxValue() / 1e6);
+        }
+        System.out.printf("Total: %.1f req/s sustained%n", totalOk / (double) config.durationSeconds);
+    }
+
+    private void runWorker(long measureFromNanos, long endNanos) {
+        while (true) {
+            long sentAt = System.nanoTime();
+            if (sentAt >= endNanos) {
+                return;
+            }
+            Endpoint endpoint = config.mix.pick(ThreadLocalRandom.current());
+            boolean ok;
+            try {
+                ok = client.send(buildRequest(endpoint), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long completedAt = System.nanoTime();
+            if (sentAt >= measureFromNanos) {
+                if (ok) {
+                    latencies.get(endpoint).recordValue(Math.min(completedAt - sentAt, MAX_TRACKABLE_NANOS));
+                } else {
+                    errors.get(endpoint).increment();
+                }
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint) {
+        String userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        return switch (endpoint) {
+            case CREATE -> request("/user")
+                    .POST(HttpRequest.BodyPublishers.ofString(createUserBody(userId)))
+                    .build();
+            case GET -> request("/user/" + userId).GET().build();
+            case LIST -> request("/users/filter")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"page\":0,\"size\":20}"))
+                    .build();
+            case HIERARCHY -> request("/users/" + managerId + "/hierarchy").GET().build();
+            case PERMISSION -> request("/role/permissions/check")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"resource\":\"users\",\"action\":\"read\"}"))
+                    .build();
+        };
+    }
+
+    private String createUser(String reportingManager) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                request("/user").POST(HttpRequest.BodyPublishers.ofString(createUserBody(reportingManager))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode body = MAPPER.readTree(response.body());
+        if (response.statusCode() >= 400 || !body.hasNonNull("userId")) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return body.get("userId").asText();
+    }
+
+    private String createUserBody(String reportingManager) {
+        long n = createdUsers.incrementAndGet();
+        String username = "lt-" + runId + "-" + n;
+        return "{"
+                + "\"username\":\"" + username + "\","
+                + "\"firstName\":\"Load\",\"lastName\":\"Test" + n + "\","
+                + "\"phoneInfo\":{\"number\":\"" + runId + "-" + n + "\",\"countryCode\":1,\"verificationStatus\":\"VERIFIED\"},"
+                + "\"emailInfo\":{\"email\":\"" + username + "@loadtest.local\",\"verificationStatus\":\"VERIFIED\"},"
+                + "\"employmentInfoList\":[{\"startDate\":\"2024-01-01T00:00:00\",\"jobTitle\":\"Engineer\","
+                + "\"organizationUnit\":\"Engineering\","
+                + (reportingManager != null ? "\"reportingManager\":\"" + reportingManager + "\"," : "")
+                + "\"extensionsData\":{\"department\":\"Backend\",\"level\":\"" + (n % 3 == 0 ? "Senior" : "Junior") + "\"}}]"
+                + "}";
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("x-api-key", "load-test-key")
+                .header("x-app-org-uuid", config.orgUuid)
+                .header("x-app-user-uuid", config.userUuid)
+                .header("x-app-client-user-session-uuid", "load-test-session")
+                .header("x-app-trace-id", "load-test")
+                .header("x-app-region-id", "load-test");
+    }
+
+    record Config(int concurrency, int warmupSeconds, int durationSeconds, int seedUsers,
+                  String orgUuid, String userUuid, Mix mix) {
+
+        static Config fromSystemProperties() {
+            return new Config(
+                    Integer.getInteger("loadtest.concurrency", 50),
+                    Integer.getInteger("loadtest.warmupSeconds", 10),
+                    Integer.getInteger("loadtest.durationSeconds", 60),
+                    Integer.getInteger("loadtest.seedUsers", 200),
+                    System.getProperty("loadtest.orgUuid", "load-test-org"),
+                    System.getProperty("loadtest.userUuid", "load-test-user"),
+                    Mix.parse(System.getProperty("loadtest.mix", "create:10,get:40,list:25,hierarchy:15,permission:10")));
+        }
+    }
+
+    /**
+     * Weighted choice of endpoint, parsed from {@code name:weight} pairs.
+     */
+    record Mix(Endpoint[] endpoints, int[] cumulativeWeights, String spec) {
+
+        static Mix parse(String spec) {
+            List<Endpoint> endpoints = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] nameAndWeight = part.trim().split(":");
+                int weight = Integer.parseInt(nameAndWeight[1].trim());
+                if (weight > 0) {
+                    total += weight;
+                    endpoints.add(Endpoint.valueOf(nameAndWeight[0].trim().toUpperCase()));
+                    cumulative.add(total);
+                }
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("loadtest.mix needs at least one positive weight: " + spec);
+            }
+            return new Mix(endpoints.toArray(new Endpoint[0]),
+                    cumulative.stream().mapToInt(Integer::intValue).toArray(), spec);
+        }
+
+        Endpoint pick(ThreadLocalRandom random) {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return endpoints[i];
+                }
+            }
+            return endpoints[endpoints.length - 1];
+        }
+
+        @Override
+        public String toString() {
+            return spec;
+        }
+    }
+}
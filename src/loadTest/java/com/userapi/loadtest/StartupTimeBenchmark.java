@@ -0,0 +1,131 @@
+package com.userapi.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time-to-ready: the time from launching the service process until
+ * {@code /actuator/health} first answers 200. The service runs against an embedded Postgres
+ * (schema applied up front, so {@code ddl-auto=validate} passes) and the {@link StubDependencyServer}.
+ *
+ * <p>The launch command is {@code loadtest.startup.command} (default {@code java -jar <boot jar>});
+ * datasource, dependency URLs, port and {@code loadtest.startup.profiles} are appended as
+ * Spring Boot arguments, so the same benchmark can time the container image, e.g.
+ * {@code -Dloadtest.startup.command="docker run --rm --network host user-api"}. Each of
+ * {@code loadtest.startup.runs} runs starts a fresh process; min, median and max are reported.
+ *
+ * <p>{@code ./gradlew startupBenchmark -Dloadtest.startup.runs=5 -Dloadtest.startup.profiles=fast-startup}
+ */
+public final class StartupTimeBenchmark {
+
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(120);
+    private static final long POLL_INTERVAL_MS = 20;
+
+    private StartupTimeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("loadtest.startup.runs", 5);
+        String profiles = System.getProperty("loadtest.startup.profiles", "fast-startup");
+        List<String> command = command();
+
+        try (EmbeddedPostgres database = EmbeddedPostgres.builder().start();
+             StubDependencyServer stubs = StubDependencyServer.start(0, 0, 0)) {
+            String jdbcUrl = database.getJdbcUrl("postgres", "postgres");
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, "postgres", "postgres")) {
+                DatasetGenerator.applySchema(connection);
+            }
+
+            System.out.printf("Startup benchmark: runs=%d, profiles=%s, command=%s%n", runs, profiles, command);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+            long[] readyMillis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                int port = freePort();
+                List<String> launch = new ArrayList<>(command);
+                launch.addAll(List.of(
+                        "--server.port=" + port,
+                        "--spring.profiles.active=" + profiles,
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--client-management.service.url=" + stubs.baseUrl(),
+                        "--roles.service.url=" + stubs.baseUrl(),
+                        "--user.api.metrics.cloudwatch.enabled=false",
+                        "--logging.file.name="));
+                readyMillis[run] = timeToReady(client, launch, port);
+                System.out.printf("Run %d: ready in %d ms%n", run + 1, readyMillis[run]);
+            }
+
+            Arrays.sort(readyMillis);
+            System.out.printf("Time to ready (ms): min=%d, median=%d, max=%d%n",
+                    readyMillis[0], readyMillis[runs / 2], readyMillis[runs - 1]);
+        }
+    }
+
+    private static long timeToReady(HttpClient client, List<String> launch, int port) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(launch)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = startNanos + READY_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Service exited with code " + process.exitValue() + " before it was ready");
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    }
+                } catch (IOException notListeningYet) {
+                    // connection refused until Tomcat is up
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            throw new IllegalStateException("Service was not ready within " + READY_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static List<String> command() {
+        String command = System.getProperty("loadtest.startup.command");
+        if (command != null && !command.isBlank()) {
+            return List.of(command.trim().split("\\s+"));
+        }
+        String jar = System.getProperty("loadtest.startup.jar");
+        if (jar == null || !new File(jar).isFile()) {
+            throw new IllegalArgumentException("Set loadtest.startup.jar to the boot jar or loadtest.startup.command");
+        }
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return List.of(java, "-jar", jar);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.userapi.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the Client Management Service ({@code /api/validate}) and the roles
+ * and permissions service, so the load harness never calls the real AWS endpoints.
+ *
+ * <p>Every response is delayed by {@code latencyMs} plus a uniform random {@code jitterMs}, and
+ * a fraction {@code errorRate} of calls fail with 503 to exercise the service's error paths.
+ */
+final class StubDependencyServer implements AutoCloseable {
+
+    private static final Pattern USER_ROLES_PATH = Pattern.compile("/user/[^/]+/roles(/[^/]+)?");
+    private static final Pattern ROLE_PATH = Pattern.compile("/role/[^/]+");
+
+    private static final String VALID_API_KEY = "{\"valid\":true,\"clientId\":\"load-test\",\"message\":\"ok\"}";
+    private static final String PERMISSION_ACCEPTED = "{\"result\":\"ACCEPTED\",\"hasPermission\":true}";
+    private static final String ROLE = "{\"role_uuid\":\"load-test-role\",\"role_name\":\"Load Test Role\","
+            + "\"description\":\"Stand-in role\",\"role_management_type\":\"CUSTOMER_MANAGED\","
+            + "\"policy\":{\"data\":{\"read\":[\"*\"]}},\"roleStatus\":\"ACTIVE\"}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private StubDependencyServer(HttpServer server, ExecutorService executor,
+                                 long latencyMs, long jitterMs, double errorRate) {
+        this.server = server;
+        this.executor = executor;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+    }
+
+    static StubDependencyServer start(long latencyMs, long jitterMs, double errorRate) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        // Handlers sleep to simulate latency, so every exchange needs its own thread
+        ExecutorService executor = Executors.newCachedThreadPool();
+        StubDependencyServer stub = new StubDependencyServer(server, executor, latencyMs, jitterMs, errorRate);
+        server.createContext("/", stub::handle);
+        server.setExecutor(executor);
+        server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            calls.incrementAndGet();
+            drain(exchange.getRequestBody());
+            simulateLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                respond(exchange, 503, "{\"message\":\"Injected failure\"}");
+                return;
+            }
+            route(exchange);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/api/validate")) {
+            respond(exchange, 200, VALID_API_KEY);
+        } else if (path.equals("/permission/check")) {
+            respond(exchange, 200, PERMISSION_ACCEPTED);
+        } else if (USER_ROLES_PATH.matcher(path).matches()) {
+            respond(exchange, 200, "GET".equals(method) ? "[" + ROLE + "]" : "");
+        } else if (path.equals("/role/search")) {
+            respond(exchange, 200, "{\"roles\":[" + ROLE + "],\"totalElements\":1,\"totalPages\":1}");
+        } else if (path.equals("/role/system-managed")) {
+            respond(exchange, 200, "[" + ROLE + "]");
+        } else if (path.equals("/role") || ROLE_PATH.matcher(path).matches()) {
+            respond(exchange, 200, "DELETE".equals(method) ? "" : ROLE);
+        } else {
+            respond(exchange, 404, "{\"message\":\"No stub for " + method + " " + path + "\"}");
+        }
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void drain(InputStream body) throws IOException {
+        body.transferTo(OutputStream.nullOutputStream());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
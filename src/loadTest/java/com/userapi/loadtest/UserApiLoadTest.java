@@ -0,0 +1,175 @@
+package com.userapi.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load driver for a running User Management Service instance.
+ *
+ * <p>Each of {@code loadtest.concurrency} workers sends requests back to back for
+ * {@code loadtest.durationSeconds} after a warmup, then the sustained RPS and latency
+ * percentiles are printed. Run it against the service started with a fixed
+ * {@code server.tomcat.threads.max} to compare threading models, e.g.
+ * {@code ./gradlew loadTest -Dloadtest.concurrency=200 -Dloadtest.scenario=get-user}. The
+ * {@code search-users} scenario sends {@code loadtest.searchTerm} to the typeahead endpoint.
+ */
+public final class UserApiLoadTest {
+
+    private UserApiLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.fromSystemProperties();
+        System.out.printf("Load test: scenario=%s, concurrency=%d, warmup=%ds, duration=%ds, target=%s%n",
+                config.scenario, config.concurrency, config.warmupSeconds, config.durationSeconds, config.baseUrl);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + Duration.ofSeconds(config.warmupSeconds).toNanos();
+        long endNanos = measureFromNanos + Duration.ofSeconds(config.durationSeconds).toNanos();
+
+        List<long[]> latenciesPerWorker = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(config.concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency);
+        for (int i = 0; i < config.concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            workers.execute(() -> {
+                try {
+                    runWorker(client, config, recorder, errors, measureFromNanos, endNanos);
+                } finally {
+                    synchronized (latenciesPerWorker) {
+                        latenciesPerWorker.add(recorder.toArray());
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        workers.shutdown();
+
+        report(config, latenciesPerWorker, errors.get());
+    }
+
+    private static void runWorker(HttpClient client, Config config, LatencyRecorder recorder,
+                                  AtomicLong errors, long measureFromNanos, long endNanos) {
+        while (true) {
+            long sentAt = System.nanoTime();
+            if (sentAt >= endNanos) {
+                return;
+            }
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(buildRequest(config), HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long completedAt = System.nanoTime();
+            if (sentAt >= measureFromNanos) {
+                if (ok) {
+                    recorder.record(completedAt - sentAt);
+                } else {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static HttpRequest buildRequest(Config config) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(30))
+                .header("x-api-key", config.apiKey)
+                .header("x-app-org-uuid", config.orgUuid)
+                .header("x-app-user-uuid", config.userUuid)
+                .header("x-app-client-user-session-uuid", "load-test-session")
+                .header("x-app-trace-id", "load-test")
+                .header("x-app-region-id", "load-test");
+        return switch (config.scenario) {
+            case "list-users" -> builder
+                    .uri(URI.create(config.baseUrl + "/users/filter"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"page\":0,\"size\":10}"))
+                    .build();
+            case "search-users" -> builder
+                    .uri(URI.create(config.baseUrl + "/users/search?limit=10&q="
+                            + URLEncoder.encode(config.searchTerm, StandardCharsets.UTF_8)))
+                    .GET()
+                    .build();
+            case "get-user" -> builder
+                    .uri(URI.create(config.baseUrl + "/user/" + config.userId))
+                    .GET()
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + config.scenario);
+        };
+    }
+
+    private static void report(Config config, List<long[]> latenciesPerWorker, long errors) {
+        long[] all = latenciesPerWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double rps = all.length / (double) config.durationSeconds;
+        System.out.printf("Completed: %d ok, %d errors, %.1f req/s sustained%n", all.length, errors, rps);
+        if (all.length > 0) {
+            System.out.printf("Latency ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                    percentile(all, 50) / 1e6, percentile(all, 95) / 1e6,
+                    percentile(all, 99) / 1e6, all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static final class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Config(String baseUrl, String scenario, int concurrency, int warmupSeconds,
+                          int durationSeconds, String apiKey, String orgUuid, String userUuid, String userId,
+                          String searchTerm) {
+
+        static Config fromSystemProperties() {
+            return new Config(
+                    System.getProperty("loadtest.baseUrl", "http://localhost:8080"),
+                    System.getProperty("loadtest.scenario", "get-user"),
+                    Integer.getInteger("loadtest.concurrency", 100),
+                    Integer.getInteger("loadtest.warmupSeconds", 10),
+                    Integer.getInteger("loadtest.durationSeconds", 60),
+                    System.getProperty("loadtest.apiKey", ""),
+                    System.getProperty("loadtest.orgUuid", ""),
+                    System.getProperty("loadtest.userUuid", ""),
+                    System.getProperty("loadtest.userId", ""),
+                    System.getProperty("loadtest.searchTerm", "last12"));
+        }
+    }
+}
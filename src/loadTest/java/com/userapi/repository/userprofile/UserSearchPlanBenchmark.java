@@ -0,0 +1,147 @@
+package com.userapi.repository.userprofile;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs {@code EXPLAIN (ANALYZE, BUFFERS)} for the typeahead search against a dataset from
+ * {@code ./gradlew generateDataset} and reports the server-side execution time of
+ * {@link UserSearchQuery#SQL} next to the previous single-limit statement, which picked
+ * candidates with {@code ORDER BY tier DESC LIMIT :candidateLimit} over every match.
+ *
+ * <p>Terms default to one prefix, substring and fuzzy term for the generated names
+ * ({@code First<n> Last<n>}, username {@code o<org>u<n>}); the short prefix {@code las}
+ * matches every user in the organization. The organization defaults to the largest one.
+ * Each statement runs {@code loadtest.search.runs} times per term after one warm-up run,
+ * and the plan of the last run is printed.
+ *
+ * <p>{@code ./gradlew searchPlanBenchmark -Dloadtest.jdbcUrl=... -Dloadtest.search.runs=50}
+ */
+public final class UserSearchPlanBenchmark {
+
+    // The statement before tiers were bounded separately, kept as the baseline
+    static final String SINGLE_LIMIT_SQL =
+            "SELECT c.user_uuid, c.username, c.first_name, c.last_name, c.email, c.status,"
+            + " c.tier + word_similarity(:term, c.document) AS score"
+            + " FROM (SELECT user_uuid, username, first_name, last_name, email, status,"
+            + " " + UserSearchQuery.DOCUMENT + " AS document,"
+            + " CASE WHEN lower(first_name || ' ' || last_name) LIKE :prefix OR lower(last_name) LIKE :prefix"
+            + " OR lower(username) LIKE :prefix OR lower(email) LIKE :prefix THEN 2"
+            + " WHEN " + UserSearchQuery.DOCUMENT + " LIKE :contains THEN 1 ELSE 0 END AS tier"
+            + " FROM user_profiles"
+            + " WHERE organization_uuid = :orgUuid"
+            + " AND (" + UserSearchQuery.DOCUMENT + " LIKE :contains OR " + UserSearchQuery.DOCUMENT + " %> :term)"
+            + " ORDER BY tier DESC"
+            + " LIMIT :candidateLimit) c"
+            + " ORDER BY score DESC, c.username"
+            + " LIMIT :limit";
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final Pattern EXECUTION_TIME = Pattern.compile("Execution Time: ([0-9.]+) ms");
+
+    private UserSearchPlanBenchmark() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String jdbcUrl = System.getProperty("loadtest.jdbcUrl", "jdbc:postgresql://localhost:5432/postgres");
+        List<String> terms = Arrays.asList(System.getProperty("loadtest.search.terms", "las,irst12,frist123").split(","));
+        int runs = Integer.getInteger("loadtest.search.runs", 20);
+        int candidateLimit = Integer.getInteger("loadtest.search.candidateLimit", 500);
+        int limit = Integer.getInteger("loadtest.search.limit", 10);
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl,
+                System.getProperty("loadtest.jdbcUsername", "postgres"),
+                System.getProperty("loadtest.jdbcPassword", "postgres"))) {
+            String orgUuid = System.getProperty("loadtest.orgUuid");
+            if (orgUuid == null) {
+                orgUuid = largestOrganization(connection);
+            }
+            System.out.printf("Search plan benchmark: org=%s, runs=%d, candidateLimit=%d, limit=%d%n",
+                    orgUuid, runs, candidateLimit, limit);
+
+            for (String term : terms) {
+                String normalizedTerm = UserSearchQuery.normalize(term);
+                String literal = UserSearchQuery.escapeLike(normalizedTerm);
+                Map<String, Object> parameters = Map.of(
+                        "orgUuid", orgUuid,
+                        "term", normalizedTerm,
+                        "prefix", literal + "%",
+                        "contains", "%" + literal + "%",
+                        "candidateLimit", candidateLimit,
+                        "limit", limit);
+                report(connection, "tiered", term, UserSearchQuery.SQL, parameters, runs);
+                report(connection, "single-limit", term, SINGLE_LIMIT_SQL, parameters, runs);
+            }
+        }
+    }
+
+    private static void report(Connection connection, String name, String term, String sql,
+                               Map<String, Object> parameters, int runs) throws SQLException {
+        explain(connection, sql, parameters);
+        double[] millis = new double[runs];
+        List<String> plan = List.of();
+        for (int run = 0; run < runs; run++) {
+            plan = explain(connection, sql, parameters);
+            millis[run] = executionTime(plan);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%n%s, term=\"%s\": execution ms min=%.2f, median=%.2f, max=%.2f%n",
+                name, term, millis[0], millis[runs / 2], millis[runs - 1]);
+        plan.forEach(line -> System.out.println("  " + line));
+    }
+
+    private static List<String> explain(Connection connection, String sql, Map<String, Object> parameters)
+            throws SQLException {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder("EXPLAIN (ANALYZE, BUFFERS) ");
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+            matcher.appendReplacement(jdbcSql, "?");
+        }
+        matcher.appendTail(jdbcSql);
+
+        try (PreparedStatement statement = connection.prepareStatement(jdbcSql.toString())) {
+            for (int i = 0; i < names.size(); i++) {
+                statement.setObject(i + 1, parameters.get(names.get(i)));
+            }
+            List<String> plan = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            }
+            return plan;
+        }
+    }
+
+    private static double executionTime(List<String> plan) {
+        for (String line : plan) {
+            Matcher matcher = EXECUTION_TIME.matcher(line);
+            if (matcher.find()) {
+                return Double.parseDouble(matcher.group(1));
+            }
+        }
+        throw new IllegalStateException("No execution time in plan: " + plan);
+    }
+
+    private static String largestOrganization(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT organization_uuid FROM user_profiles GROUP BY organization_uuid ORDER BY COUNT(*) DESC LIMIT 1");
+             ResultSet rows = statement.executeQuery()) {
+            if (!rows.next()) {
+                throw new IllegalStateException("No users found; run ./gradlew generateDataset first");
+            }
+            return rows.getString(1);
+        }
+    }
+}
@@ -12,6 +12,12 @@ public final class HeaderConstants {
 
     public static final String APP_USER_UUID = "x-app-user-uuid";
 
+    // Client-chosen key that makes a create safe to retry
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    // Set on responses replayed from an earlier request with the same idempotency key
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     // API Key header for Client Management Service integration
     public static final String API_KEY = "x-api-key";
 
@@ -0,0 +1,81 @@
+package com.userapi.config;
+
+import com.userapi.datasource.ReplicaRoutingContext;
+import com.userapi.logging.LoggingContextFilter;
+import com.userapi.metrics.QueryTracking;
+import com.userapi.util.DecoratingExecutorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used to run blocking service calls off the Tomcat request threads.
+ * With {@code user.api.threads.virtual=true} (set by the "virtual-threads" profile)
+ * every task gets its own virtual thread instead of a slot in a fixed pool.
+ * Both are wrapped with {@link ExecutorServiceMetrics}, which publishes queue depth and pool
+ * gauges plus the {@code executor} (run time) and {@code executor.idle} (queue wait) timers
+ * tagged with {@code name}. Tasks carry the submitting request's {@link QueryTracking} stats, so
+ * statements they issue count against that request's query budget, its logging MDC and its
+ * client session ({@link ReplicaRoutingContext}, for read-your-writes replica routing).
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${user.api.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    @Value("${user.api.query-executor.pool-size:10}")
+    private int queryExecutorPoolSize;
+
+    @Value("${user.api.service-executor.pool-size:15}")
+    private int serviceExecutorPoolSize;
+
+    @Bean(name = "userQueryExecutor", destroyMethod = "shutdown")
+    public ExecutorService userQueryExecutor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return monitored(newExecutor("user-query-", queryExecutorPoolSize), "userQueryExecutor", meterRegistry);
+    }
+
+    /**
+     * Shared by the user service and its tasks for the JDBC lookups they fan out. Work running on
+     * this pool composes its subtasks with {@code allOf} and must never join them: with every
+     * worker blocked on subtasks queued behind it, the pool would starve itself.
+     */
+    @Bean(name = "serviceExecutor", destroyMethod = "shutdown")
+    public ExecutorService serviceExecutor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return monitored(newExecutor("user-service-", serviceExecutorPoolSize), "serviceExecutor", meterRegistry);
+    }
+
+    private ExecutorService newExecutor(String threadNamePrefix, int poolSize) {
+        if (virtualThreads) {
+            return VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix);
+        }
+        return Executors.newFixedThreadPool(poolSize, namedThreadFactory(threadNamePrefix));
+    }
+
+    // Test slices without a MeterRegistry get the bare executor
+    private static ExecutorService monitored(ExecutorService executor, String name,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        ExecutorService instrumented =
+                registry == null ? executor : ExecutorServiceMetrics.monitor(registry, executor, name);
+        return new DecoratingExecutorService(instrumented,
+                task -> QueryTracking.wrap(LoggingContextFilter.wrap(ReplicaRoutingContext.wrap(task))));
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.userapi.config;
+
+import io.micrometer.cloudwatch2.CloudWatchConfig;
+import io.micrometer.cloudwatch2.CloudWatchMeterRegistry;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.services.cloudwatch.CloudWatchAsyncClient;
+
+import java.time.Duration;
+
+/**
+ * Spring Boot has no CloudWatch auto-configuration, so the registry is created here when
+ * {@code user.api.metrics.cloudwatch.enabled=true}. Boot adds it to the composite registry
+ * and applies the {@code management.metrics.*} filters to it like any other registry.
+ *
+ * <p>Percentile histogram buckets ({@code *.histogram} gauges) are dropped for CloudWatch,
+ * where every bucket would be billed as a separate metric; CloudWatch receives count, sum,
+ * max and the client-side percentiles, while Prometheus scrapes the buckets.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "user.api.metrics.cloudwatch.enabled", havingValue = "true")
+    public CloudWatchMeterRegistry cloudWatchMeterRegistry(
+            @Value("${user.api.metrics.cloudwatch.namespace:UserManagementService}") String namespace,
+            @Value("${user.api.metrics.cloudwatch.step:PT1M}") Duration step) {
+        CloudWatchConfig config = new CloudWatchConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public String namespace() {
+                return namespace;
+            }
+
+            @Override
+            public Duration step() {
+                return step;
+            }
+        };
+        CloudWatchMeterRegistry registry =
+                new CloudWatchMeterRegistry(config, Clock.SYSTEM, CloudWatchAsyncClient.create());
+        registry.config().meterFilter(MeterFilter.deny(id -> id.getName().endsWith(".histogram")));
+        return registry;
+    }
+}
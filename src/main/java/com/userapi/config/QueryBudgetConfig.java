@@ -0,0 +1,67 @@
+package com.userapi.config;
+
+import com.userapi.metrics.QueryBudgetFilter;
+import com.userapi.metrics.QueryTrackingListener;
+import com.userapi.metrics.StatementCacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement budget (see {@link QueryBudgetFilter}). The DataSource is wrapped
+ * with datasource-proxy so that every statement, including native queries, is counted and timed,
+ * and its SQL text feeds the prepared statement cache estimate ({@link StatementCacheMetrics}).
+ * Repository tests can {@code @Import} this configuration and pin query counts with
+ * {@link com.userapi.metrics.QueryTracking}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.api.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    @Bean
+    public static StatementCacheMetrics statementCacheMetrics(
+            @Value("${spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries:256}") int capacity) {
+        return new StatementCacheMetrics(capacity);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryTrackingDataSourcePostProcessor(
+            @Value("${user.api.query-budget.slow-query-ms:200}") long slowQueryMs,
+            StatementCacheMetrics statementCacheMetrics) {
+        QueryTrackingListener listener = new QueryTrackingListener(slowQueryMs, statementCacheMetrics);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${user.api.query-budget.max-statements:20}") int maxStatements) {
+        QueryBudgetFilter filter = new QueryBudgetFilter(
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new), maxStatements);
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
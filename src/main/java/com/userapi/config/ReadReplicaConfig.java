@@ -0,0 +1,133 @@
+package com.userapi.config;
+
+import com.userapi.datasource.ReplicaLagMonitor;
+import com.userapi.datasource.ReplicaRoutingDataSource;
+import com.userapi.datasource.ReplicaRoutingFilter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replica routing, active when {@code user.api.datasource.read-replicas.urls} lists at
+ * least one JDBC URL. Replaces the auto-configured DataSource with a
+ * {@link ReplicaRoutingDataSource} over a "primary" pool (configured as usual through
+ * {@code spring.datasource.*}) and one "replica-N" pool per URL, which share the primary's
+ * credentials and Hikari settings. Every pool reports the {@code hikaricp.*} metrics under
+ * its own {@code pool} tag.
+ */
+@Configuration
+@ConditionalOnExpression("!'${user.api.datasource.read-replicas.urls:}'.trim().isEmpty()")
+public class ReadReplicaConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private HikariDataSource primary;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(
+            DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${user.api.datasource.read-replicas.urls}") List<String> replicaUrls,
+            @Value("${user.api.datasource.read-replicas.max-lag:2s}") Duration maxLag,
+            @Value("${user.api.datasource.read-replicas.probe-interval:1s}") Duration probeInterval) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            configuredPool(properties, environment).copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            replicas.put(config.getPoolName(), pool(new HikariDataSource(config), registry));
+        }
+        return new ReplicaLagMonitor(primaryPool(properties, environment, registry), replicas, maxLag,
+                probeInterval, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ReplicaLagMonitor replicaLagMonitor,
+            @Value("${user.api.datasource.read-replicas.max-lag:2s}") Duration maxLag,
+            @Value("${user.api.datasource.read-replicas.read-your-writes:5s}") Duration readYourWrites) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+
+        // A session must not read from a replica before the replica can have caught up with its write
+        Duration stickiness = readYourWrites.compareTo(maxLag) < 0 ? maxLag : readYourWrites;
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryPool(properties, environment, registry), replicaLagMonitor, stickiness, registry);
+        routing.afterPropertiesSet();
+
+        // Physical connections are fetched at the first statement, once the transaction's
+        // read-only flag is known. The defaults are fixed so that no connection is opened at startup.
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaRoutingFilter> replicaRoutingFilter() {
+        FilterRegistrationBean<ReplicaRoutingFilter> registration = new FilterRegistrationBean<>(new ReplicaRoutingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    // One pool, shared by the routing data source and the lag monitor, which reads the primary's WAL position
+    private synchronized HikariDataSource primaryPool(DataSourceProperties properties, Environment environment,
+                                                      MeterRegistry registry) {
+        if (primary == null) {
+            HikariDataSource dataSource = configuredPool(properties, environment);
+            dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+            primary = pool(dataSource, registry);
+        }
+        return primary;
+    }
+
+    private static HikariDataSource configuredPool(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
+    private HikariDataSource pool(HikariDataSource dataSource, MeterRegistry registry) {
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        pools.add(dataSource);
+        return dataSource;
+    }
+}
@@ -44,8 +44,10 @@ public class SecurityConfig {
             
             // Configure authorization
             .authorizeRequests(authz -> authz
-                // Public endpoints
-                .antMatchers("/actuator/**").permitAll()
+                // Public endpoints; the other actuator endpoints expose latency, dependency and
+                // executor data and need an API key
+                .antMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                .antMatchers("/actuator/**").authenticated()
                 .antMatchers("/health/**").permitAll()
                 .antMatchers("/swagger-ui/**").permitAll()
                 .antMatchers("/v3/api-docs/**").permitAll()
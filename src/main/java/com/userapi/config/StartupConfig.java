@@ -0,0 +1,48 @@
+package com.userapi.config;
+
+import com.userapi.service.RoleCatalogCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Startup tuning for the "fast-startup" profile, which turns on
+ * {@code spring.main.lazy-initialization}. Lazy init is selective: the data source and the
+ * entity manager factory stay eager so that schema validation still fails the boot, meter
+ * binders stay eager so every meter exists from the first scrape, and the role catalog stays
+ * eager so its warm-up runs before traffic arrives. Everything else is created on first use.
+ *
+ * <p>With {@code user.api.startup.training-run=true} (the "cds-training" profile) the
+ * application exits as soon as it is ready. The Docker build runs it that way with
+ * {@code -XX:ArchiveClassesAtExit} to produce the AppCDS archive of every class loaded at startup.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, EntityManagerFactory.class, MeterBinder.class, RoleCatalogCache.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user.api.startup.training-run", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> trainingRunExit() {
+        return event -> {
+            logger.info("Training run finished startup, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+}
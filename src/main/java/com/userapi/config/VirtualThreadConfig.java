@@ -0,0 +1,96 @@
+package com.userapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in runtime profile ("virtual-threads", Java 21+ runtime) that runs Tomcat request
+ * handling on virtual threads. The service executors switch through
+ * {@code user.api.threads.virtual}, see {@link ExecutorConfig}.
+ *
+ * <p>A virtual thread that blocks inside a {@code synchronized} block or a native frame pins
+ * its carrier thread. Pinning events above {@code user.api.virtual-threads.pinning-threshold-ms}
+ * are streamed from JFR, logged with the top frames and counted in
+ * {@code jvm.threads.virtual.pinned}.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    @Value("${user.api.virtual-threads.pinning-threshold-ms:20}")
+    private long pinningThresholdMs;
+
+    private final Counter pinnedCounter;
+    private RecordingStream pinningStream;
+
+    public VirtualThreadConfig(MeterRegistry meterRegistry) {
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Bean(name = "tomcatVirtualThreadExecutor", destroyMethod = "shutdown")
+    public ExecutorService tomcatVirtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            @Qualifier("tomcatVirtualThreadExecutor") ExecutorService tomcatVirtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(tomcatVirtualThreadExecutor);
+    }
+
+    @PostConstruct
+    void startPinningMonitor() {
+        pinningStream = new RecordingStream();
+        pinningStream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinningThresholdMs)).withStackTrace();
+        pinningStream.onEvent(PINNED_EVENT, this::onPinned);
+        pinningStream.startAsync();
+        logger.info("Virtual threads enabled, reporting pinning above {} ms", pinningThresholdMs);
+    }
+
+    @PreDestroy
+    void stopPinningMonitor() {
+        if (pinningStream != null) {
+            pinningStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        String frames = "";
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> topFrames = event.getStackTrace().getFrames().stream()
+                    .limit(LOGGED_FRAMES)
+                    .collect(Collectors.toList());
+            frames = topFrames.stream()
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                            + ":" + frame.getLineNumber())
+                    .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        }
+        logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+}
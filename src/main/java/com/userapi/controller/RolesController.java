@@ -4,6 +4,7 @@ import com.userapi.enums.PermissionResult;
 import com.userapi.enums.ResourceType;
 import com.userapi.exception.RolesServiceExceptionHandler;
 import com.userapi.models.external.roles.*;
+import com.userapi.security.CustomPermissionEvaluator;
 import com.userapi.service.RolesServiceClient;
 import com.userapi.service.UserRolesIntegrationService;
 import com.userapi.validation.HeaderValidationUtil;
@@ -11,7 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.parameters.P;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
@@ -28,9 +29,9 @@ public class RolesController {
 
     private final RolesServiceClient rolesServiceClient;
     private final UserRolesIntegrationService userRolesIntegrationService;
+    private final CustomPermissionEvaluator permissionEvaluator;
 
     @PostMapping
-    @PreAuthorize("hasPermission('ROLE', 'CREATE')")
     public Mono<ResponseEntity<RoleResponse>> createRole(
             @Valid @RequestBody CreateRoleRequest request,
             HttpServletRequest httpRequest) {
@@ -44,13 +45,14 @@ public class RolesController {
         log.info("Creating role: {} for organization: {} by user: {} on resource: {}", 
                 request.getRoleName(), organizationUuid, userUuid, ResourceType.ROLES.getResourceName());
         
-        return rolesServiceClient.createRole(request, organizationUuid)
-                .map(response -> {
-                    log.info("Role created successfully: {} with UUID: {}", response.getRoleName(), response.getRole_uuid());
-                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
-                })
-                .onErrorResume(error -> RolesServiceExceptionHandler.handleRoleCreationError(
-                        request.getRoleName(), organizationUuid, error));
+        return requirePermission(userUuid, organizationUuid, "ROLE", "CREATE")
+                .then(Mono.defer(() -> rolesServiceClient.createRole(request, organizationUuid)
+                        .map(response -> {
+                            log.info("Role created successfully: {} with UUID: {}", response.getRoleName(), response.getRole_uuid());
+                            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                        })
+                        .onErrorResume(error -> RolesServiceExceptionHandler.handleRoleCreationError(
+                                request.getRoleName(), organizationUuid, error))));
     }
 
     @GetMapping("/{roleUuid}")
@@ -116,7 +118,6 @@ public class RolesController {
 
 
     @PutMapping("/{roleUuid}")
-    @PreAuthorize("hasPermission('ROLE', 'UPDATE')")
     public Mono<ResponseEntity<RoleResponse>> updateRole(
             @PathVariable String roleUuid,
             @Valid @RequestBody UpdateRoleRequest request,
@@ -134,17 +135,17 @@ public class RolesController {
                 ", policy=" + (request.getPolicy() != null) + 
                 ", status=" + (request.getStatus() != null), ResourceType.ROLES.getResourceName());
         
-        return rolesServiceClient.updateRole(roleUuid, request, organizationUuid)
-                .map(response -> {
-                    log.info("Role updated successfully: {} with UUID: {}", response.getRoleName(), response.getRole_uuid());
-                    return ResponseEntity.ok(response);
-                })
-                .onErrorResume(error -> RolesServiceExceptionHandler.handleRoleUpdateError(
-                        roleUuid, organizationUuid, error));
+        return requirePermission(userUuid, organizationUuid, "ROLE", "UPDATE")
+                .then(Mono.defer(() -> rolesServiceClient.updateRole(roleUuid, request, organizationUuid)
+                        .map(response -> {
+                            log.info("Role updated successfully: {} with UUID: {}", response.getRoleName(), response.getRole_uuid());
+                            return ResponseEntity.ok(response);
+                        })
+                        .onErrorResume(error -> RolesServiceExceptionHandler.handleRoleUpdateError(
+                                roleUuid, organizationUuid, error))));
     }
 
     @DeleteMapping("/{roleUuid}")
-    @PreAuthorize("hasPermission('ROLE', 'DELETE')")
     public Mono<ResponseEntity<String>> deleteRole(
             @PathVariable String roleUuid,
             HttpServletRequest httpRequest) {
@@ -158,10 +159,11 @@ public class RolesController {
         log.info("Deleting role: {} for organization: {} by user: {} on resource: {}", 
                 roleUuid, organizationUuid, userUuid, ResourceType.ROLES.getResourceName());
         
-        return rolesServiceClient.deleteRole(roleUuid, organizationUuid)
-                .then(Mono.just(ResponseEntity.ok("Role " + roleUuid + " deleted successfully")))
-                .onErrorResume(error -> RolesServiceExceptionHandler.handleRoleDeletionError(
-                        roleUuid, organizationUuid, error));
+        return requirePermission(userUuid, organizationUuid, "ROLE", "DELETE")
+                .then(Mono.defer(() -> rolesServiceClient.deleteRole(roleUuid, organizationUuid)
+                        .then(Mono.just(ResponseEntity.ok("Role " + roleUuid + " deleted successfully")))
+                        .onErrorResume(error -> RolesServiceExceptionHandler.handleRoleDeletionError(
+                                roleUuid, organizationUuid, error))));
     }
 
     @PostMapping("/user/{userUuid}/assign")
@@ -187,7 +189,6 @@ public class RolesController {
     }
 
     @DeleteMapping("/user/{userUuid}/roles/{roleUuid}")
-    @PreAuthorize("hasPermission('USER_ROLES', 'REMOVE')")
     public Mono<ResponseEntity<String>> removeRoleFromUser(
             @PathVariable String userUuid,
             @PathVariable String roleUuid,
@@ -202,10 +203,11 @@ public class RolesController {
         log.info("Removing role: {} from user: {} in organization: {} by user: {} on resource: {}", 
                 roleUuid, userUuid, organizationUuid, removedBy, ResourceType.USER_ROLES.getResourceName());
         
-        return rolesServiceClient.removeRoleFromUser(userUuid, roleUuid, organizationUuid)
-                .then(Mono.just(ResponseEntity.ok("Role " + roleUuid + " removed successfully from user " + userUuid)))
-                .onErrorResume(error -> RolesServiceExceptionHandler.handleUserRoleRemovalError(
-                        userUuid, roleUuid, organizationUuid, error));
+        return requirePermission(removedBy, organizationUuid, "USER_ROLES", "REMOVE")
+                .then(Mono.defer(() -> rolesServiceClient.removeRoleFromUser(userUuid, roleUuid, organizationUuid)
+                        .then(Mono.just(ResponseEntity.ok("Role " + roleUuid + " removed successfully from user " + userUuid)))
+                        .onErrorResume(error -> RolesServiceExceptionHandler.handleUserRoleRemovalError(
+                                userUuid, roleUuid, organizationUuid, error))));
     }
 
     @PostMapping("/permissions/check")
@@ -304,18 +306,53 @@ public class RolesController {
         String organizationUuid = HeaderValidationUtil.getValidatedOrganizationUuid(httpRequest);
         String adminUserUuid = request.getAdminUserUuid();
 
-        log.info("BOOTSTRAP: Setting up organization: {} with admin user: {}", organizationUuid, adminUserUuid);
-
-        return userRolesIntegrationService.createDefaultAdminRole(organizationUuid, adminUserUuid)
-                .flatMap(adminRole -> userRolesIntegrationService.createDefaultUserRole(organizationUuid, adminUserUuid)
-                        .map(userRole -> adminRole))
-                .flatMap(adminRole -> userRolesIntegrationService.assignAdminRoleToUser(adminUserUuid, organizationUuid, "system", adminRole.getRole_uuid())
-                        .thenReturn(adminRole))
-                .map(adminRole -> {
-                    log.info("BOOTSTRAP: Organization setup complete for organization: {} with admin user: {}", organizationUuid, adminUserUuid);
-                    return ResponseEntity.ok("Organization setup complete. Admin role created and assigned to user: " + adminUserUuid);
-                })
+        return userRolesIntegrationService.bootstrapOrganization(organizationUuid, adminUserUuid)
+                .map(result -> ResponseEntity.ok("Organization setup complete. Admin role created and assigned to user: " + adminUserUuid))
                 .onErrorResume(error -> RolesServiceExceptionHandler.handleBootstrapError(
                         "organization setup", "organization: " + organizationUuid + " with admin: " + adminUserUuid, error));
     }
+
+    /**
+     * Bulk variant of the organization bootstrap for tenant migrations. Organizations are set up
+     * concurrently (bounded by roles.bootstrap.bulk-concurrency); the response lists one result per
+     * organization in request order, with 207 if any of them failed.
+     *
+     * <p>Unlike the single-organization bootstrap, the organizations come from the body rather than
+     * the caller's header, so the caller needs the system-level permission to assign admin roles.
+     */
+    @PostMapping("/bootstrap-organizations")
+    public Mono<ResponseEntity<List<OrganizationBootstrapResult>>> bootstrapOrganizations(
+            @Valid @RequestBody BulkBootstrapOrganizationsRequest request,
+            HttpServletRequest httpRequest) {
+
+        HeaderValidationUtil.validateRequiredHeaders(httpRequest);
+
+        String organizationUuid = HeaderValidationUtil.getValidatedOrganizationUuid(httpRequest);
+        String userUuid = HeaderValidationUtil.getValidatedUserUuid(httpRequest);
+
+        log.info("BOOTSTRAP: Bulk setup requested for {} organizations by user: {}",
+                request.getOrganizations().size(), userUuid);
+
+        return requirePermission(userUuid, organizationUuid, "SYSTEM_ROLE", "ASSIGN_ADMIN")
+                .then(Mono.defer(() -> userRolesIntegrationService.bootstrapOrganizations(request.getOrganizations())
+                        .collectList()
+                        .map(results -> {
+                            boolean allSucceeded = results.stream().allMatch(OrganizationBootstrapResult::isSuccess);
+                            return ResponseEntity.status(allSucceeded ? HttpStatus.OK : HttpStatus.MULTI_STATUS)
+                                    .body(results);
+                        })));
+    }
+
+    /**
+     * Authorization for the role endpoints, evaluated inside the Mono chain instead of a
+     * blocking @PreAuthorize check so no servlet thread waits on the roles service.
+     * A denial surfaces as AccessDeniedException and is mapped to 403 by GlobalExceptionHandler.
+     */
+    private Mono<Void> requirePermission(String userUuid, String organizationUuid, String resource, String permission) {
+        return permissionEvaluator.evaluatePermission(userUuid, organizationUuid, resource, permission)
+                .flatMap(allowed -> allowed
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(new AccessDeniedException(
+                                "User " + userUuid + " lacks " + permission + " on " + resource)));
+    }
 }
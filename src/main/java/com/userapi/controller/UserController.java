@@ -1,31 +1,39 @@
 package com.userapi.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.userapi.converters.CreateUserRequestConverter;
 import com.userapi.converters.CreateUserResponseConverter;
 import com.userapi.converters.GetUserRequestConverter;
 import com.userapi.converters.GetUserResponseConverter;
 import com.userapi.converters.UpdateUserRequestConverter;
 import com.userapi.converters.UpdateUserResponseConverter;
+import com.userapi.converters.UserPatchRequestConverter;
 import com.userapi.exception.DuplicateResourceException;
+import com.userapi.exception.IdempotencyKeyException;
 import com.userapi.models.external.CreateUserRequest;
 import com.userapi.models.external.CreateUserResponse;
 import com.userapi.models.external.GetUserResponse;
+import com.userapi.models.external.PatchUserResponse;
 import com.userapi.models.external.UpdateUserRequest;
 import com.userapi.models.external.UpdateUserResponse;
 import com.userapi.models.internal.CreateUserInternalRequest;
 import com.userapi.models.internal.GetUserInternalRequest;
 import com.userapi.models.internal.UpdateUserInternalRequest;
+import com.userapi.service.IdempotencyService;
 import com.userapi.service.UserService;
 import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -35,19 +43,26 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import static com.userapi.common.constants.HeaderConstants.APP_CLIENT_USER_SESSION_UUID;
 import static com.userapi.common.constants.HeaderConstants.APP_ORG_UUID;
 import static com.userapi.common.constants.HeaderConstants.APP_REGION_ID;
 import static com.userapi.common.constants.HeaderConstants.APP_TRACE_ID;
 import static com.userapi.common.constants.HeaderConstants.APP_USER_UUID;
+import static com.userapi.common.constants.HeaderConstants.IDEMPOTENCY_KEY;
 
 @RestController
 @RequestMapping("/user")
 public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
 
     private final CreateUserRequestConverter createUserRequestConverter;
     private final CreateUserResponseConverter createUserResponseConverter;
@@ -55,7 +70,25 @@ public class UserController {
     private final GetUserResponseConverter getUserResponseConverter;
     private final UpdateUserRequestConverter updateUserRequestConverter;
     private final UpdateUserResponseConverter updateUserResponseConverter;
+    private final UserPatchRequestConverter userPatchRequestConverter;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
+
+    // Per-endpoint deadlines; a request that misses its deadline is answered with 503
+    @Value("${user.api.timeout.create-ms:5000}")
+    private long createUserTimeoutMs = 5000;
+
+    @Value("${user.api.timeout.get-ms:3000}")
+    private long getUserTimeoutMs = 3000;
+
+    @Value("${user.api.timeout.update-ms:5000}")
+    private long updateUserTimeoutMs = 5000;
+
+    @Value("${user.api.timeout.patch-ms:3000}")
+    private long patchUserTimeoutMs = 3000;
+
+    @Value("${user.api.timeout.deactivate-ms:3000}")
+    private long deactivateUserTimeoutMs = 3000;
 
     @Autowired
     public UserController(
@@ -65,25 +98,34 @@ public class UserController {
             @Qualifier("GetUserResponseConverter") GetUserResponseConverter getUserResponseConverter,
             @Qualifier("UpdateUserRequestConverter") UpdateUserRequestConverter updateUserRequestConverter,
             @Qualifier("UpdateUserResponseConverter") UpdateUserResponseConverter updateUserResponseConverter,
-            UserService userService) {
+            @Qualifier("UserPatchRequestConverter") UserPatchRequestConverter userPatchRequestConverter,
+            UserService userService,
+            IdempotencyService idempotencyService) {
         this.createUserRequestConverter = createUserRequestConverter;
         this.createUserResponseConverter = createUserResponseConverter;
         this.getUserRequestConverter = getUserRequestConverter;
         this.getUserResponseConverter = getUserResponseConverter;
         this.updateUserRequestConverter = updateUserRequestConverter;
         this.updateUserResponseConverter = updateUserResponseConverter;
+        this.userPatchRequestConverter = userPatchRequestConverter;
         this.userService = userService;
+        this.idempotencyService = idempotencyService;
     }
 
+    /**
+     * Endpoints return the service future instead of blocking on it, so Spring MVC hands the
+     * Tomcat worker back to the pool and completes the response on an async dispatch.
+     */
     @PostMapping
     @PreAuthorize("hasPermission('USER', 'CREATE')")
-    public ResponseEntity<CreateUserResponse> createUser(
+    public CompletableFuture<ResponseEntity<CreateUserResponse>> createUser(
             @RequestHeader(APP_ORG_UUID) String orgUUID,
             @RequestHeader(APP_USER_UUID) String userUUID,
             @RequestHeader(APP_CLIENT_USER_SESSION_UUID) String clientUserSessionUUID,
             @RequestHeader(APP_TRACE_ID) String traceID,
             @RequestHeader(APP_REGION_ID) String regionID,
-            @Valid @RequestBody CreateUserRequest request) {
+            @Valid @RequestBody CreateUserRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
         logger.info("Creating user for org: {}, user: {}, traceId: {}", orgUUID, userUUID, traceID);
 
@@ -94,43 +136,15 @@ public class UserController {
                 traceID,
                 regionID,
                 request);
-        try {
-            return userService.createUser(internalRequest)
-                    .thenApply(createUserResponseConverter::toExternal)
-                    .thenApply(r -> new ResponseEntity<>(r, r.getHttpStatus()))
-                    .get();
-        } catch (ExecutionException e) {
-            logger.error("Exception in creating user", e);
-            Throwable cause = e.getCause();
-            if (cause instanceof DuplicateResourceException) {
-                return new ResponseEntity<>(
-                        CreateUserResponse.builder()
-                                .message(cause.getMessage())
-                                .httpStatus(HttpStatus.BAD_REQUEST)
-                                .build(),
-                        HttpStatus.BAD_REQUEST);
-            }
-            return new ResponseEntity<>(
-                    CreateUserResponse.builder()
-                            .message(e.getMessage())
-                            .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        } catch (InterruptedException e) {
-            logger.error("Exception in creating user", e);
-            Thread.currentThread().interrupt();
-            return new ResponseEntity<>(
-                    CreateUserResponse.builder()
-                            .message("Request interrupted")
-                            .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        return idempotent(orgUUID, IdempotencyService.CREATE_USER, idempotencyKey, request,
+                () -> userService.createUser(internalRequest)
+                        .thenApply(createUserResponseConverter::toExternal)
+                        .thenApply(r -> new ResponseEntity<>(r, r.getHttpStatus())));
     }
 
     @GetMapping("/{userId}")
     @PreAuthorize("hasPermission('USER', 'READ')")
-    public ResponseEntity<GetUserResponse> getUserById(
+    public CompletableFuture<ResponseEntity<GetUserResponse>> getUserById(
             @RequestHeader(APP_ORG_UUID) String orgUUID,
             @RequestHeader(APP_USER_UUID) String userUUID,
             @RequestHeader(APP_CLIENT_USER_SESSION_UUID) String clientUserSessionUUID,
@@ -140,31 +154,26 @@ public class UserController {
 
         logger.info("Fetching user with ID: {} for org: {}, traceId: {}", userId, orgUUID, traceID);
 
-        try {
-            GetUserInternalRequest internalRequest = getUserRequestConverter.toInternal(
-                    orgUUID,
-                    userUUID,
-                    clientUserSessionUUID,
-                    traceID,
-                    regionID,
-                    userId);
-            return userService.getUser(internalRequest)
-                    .thenApply(getUserResponseConverter::toExternal)
-                    .thenApply(response -> new ResponseEntity<>(response, response.getHttpStatus()))
-                    .get();
-        } catch (ExecutionException | InterruptedException e) {
-            logger.error("Exception in fetching user", e);
-            return new ResponseEntity<>(
-                    GetUserResponse.builder()
-                            .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        GetUserInternalRequest internalRequest = getUserRequestConverter.toInternal(
+                orgUUID,
+                userUUID,
+                clientUserSessionUUID,
+                traceID,
+                regionID,
+                userId);
+        return userService.getUser(internalRequest)
+                .thenApply(getUserResponseConverter::toExternal)
+                .thenApply(response -> new ResponseEntity<>(response, response.getHttpStatus()))
+                .orTimeout(getUserTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    HttpStatus status = errorStatus("fetching user", e);
+                    return new ResponseEntity<>(GetUserResponse.builder().httpStatus(status).build(), status);
+                });
     }
 
     @PutMapping("/{userId}")
     @PreAuthorize("hasPermission('USER', 'UPDATE')")
-    public ResponseEntity<UpdateUserResponse> updateUser(
+    public CompletableFuture<ResponseEntity<UpdateUserResponse>> updateUser(
             @RequestHeader(APP_ORG_UUID) String orgUUID,
             @RequestHeader(APP_USER_UUID) String userUUID,
             @RequestHeader(APP_CLIENT_USER_SESSION_UUID) String clientUserSessionUUID,
@@ -180,31 +189,53 @@ public class UserController {
             throw new IllegalArgumentException("Missing required headers");
         }
 
-        try {
-            UpdateUserInternalRequest internalRequest = updateUserRequestConverter.toInternal(
-                    orgUUID,
-                    userUUID,
-                    clientUserSessionUUID,
-                    traceID,
-                    regionID,
-                    request);
-            return userService.updateUser(userId, internalRequest)
-                    .thenApply(updateUserResponseConverter::toExternal)
-                    .thenApply(ResponseEntity::ok)
-                    .get();
-        } catch (ExecutionException | InterruptedException e) {
-            logger.error("Exception in updating user", e);
-            return new ResponseEntity<>(
-                    UpdateUserResponse.builder()
-                            .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        UpdateUserInternalRequest internalRequest = updateUserRequestConverter.toInternal(
+                orgUUID,
+                userUUID,
+                clientUserSessionUUID,
+                traceID,
+                regionID,
+                request);
+        return userService.updateUser(userId, internalRequest)
+                .thenApply(updateUserResponseConverter::toExternal)
+                .thenApply(ResponseEntity::ok)
+                .orTimeout(updateUserTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    HttpStatus status = errorStatus("updating user", e);
+                    return new ResponseEntity<>(UpdateUserResponse.builder().httpStatus(status).build(), status);
+                });
+    }
+
+    /**
+     * JSON Merge Patch of the user's own attributes (names, status, phone and email info). Invalid
+     * patches are rejected with 400, conflicting identifiers with 409 and unknown users with 404;
+     * a patch that outlasts its timeout is answered with 503.
+     */
+    @PatchMapping(value = "/{userId}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasPermission('USER', 'UPDATE')")
+    public CompletableFuture<ResponseEntity<PatchUserResponse>> patchUser(
+            @RequestHeader(APP_ORG_UUID) String orgUUID,
+            @PathVariable String userId,
+            @RequestBody JsonNode patch) {
+
+        logger.info("Patching user with ID: {} for org: {}", userId, orgUUID);
+
+        return userService.patchUser(orgUUID, userId, userPatchRequestConverter.toInternal(patch))
+                .thenApply(ResponseEntity::ok)
+                .orTimeout(patchUserTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    // Rejected patches keep their status from GlobalExceptionHandler
+                    if (!(unwrap(e) instanceof TimeoutException)) {
+                        throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                    }
+                    HttpStatus status = errorStatus("patching user", e);
+                    return new ResponseEntity<>(PatchUserResponse.builder().httpStatus(status).build(), status);
+                });
     }
 
     @DeleteMapping("/{userId}")
     @PreAuthorize("hasPermission('USER', 'DELETE')")
-    public ResponseEntity<UpdateUserResponse> deactivateUser(
+    public CompletableFuture<ResponseEntity<UpdateUserResponse>> deactivateUser(
             @RequestHeader(APP_ORG_UUID) String orgUuid,
             @PathVariable String userId) {
 
@@ -215,29 +246,25 @@ public class UserController {
             throw new IllegalArgumentException("Org UUID and User ID cannot be null");
         }
 
-        try {
-            return userService.deactivateUser(orgUuid, userId)
-                    .thenApply(updateUserResponseConverter::toExternal)
-                    .thenApply(ResponseEntity::ok)
-                    .get();
-        } catch (ExecutionException | InterruptedException e) {
-            logger.error("Exception in deactivating user", e);
-            return new ResponseEntity<>(
-                    UpdateUserResponse.builder()
-                            .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        return userService.deactivateUser(orgUuid, userId)
+                .thenApply(updateUserResponseConverter::toExternal)
+                .thenApply(ResponseEntity::ok)
+                .orTimeout(deactivateUserTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    HttpStatus status = errorStatus("deactivating user", e);
+                    return new ResponseEntity<>(UpdateUserResponse.builder().httpStatus(status).build(), status);
+                });
     }
 
     @PostMapping("/bootstrap-organization-admin")
     @PreAuthorize("hasRole('ROLE_API_CLIENT')")
-    public ResponseEntity<CreateUserResponse> bootstrapOrganizationAdmin(
+    public CompletableFuture<ResponseEntity<CreateUserResponse>> bootstrapOrganizationAdmin(
             @RequestHeader(APP_ORG_UUID) String orgUUID,
             @RequestHeader(APP_CLIENT_USER_SESSION_UUID) String clientUserSessionUUID,
             @RequestHeader(APP_TRACE_ID) String traceID,
             @RequestHeader(APP_REGION_ID) String regionID,
-            @Valid @RequestBody CreateUserRequest request) {
+            @Valid @RequestBody CreateUserRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
         logger.info("Creating user for org: {}, traceId: {}", orgUUID, traceID);
 
@@ -248,37 +275,73 @@ public class UserController {
                 traceID,
                 regionID,
                 request);
-        try {
-            return userService.createUser(internalRequest)
-                    .thenApply(createUserResponseConverter::toExternal)
-                    .thenApply(r -> new ResponseEntity<>(r, r.getHttpStatus()))
-                    .get();
-        } catch (ExecutionException e) {
-            logger.error("Exception in creating user", e);
-            Throwable cause = e.getCause();
-            if (cause instanceof DuplicateResourceException) {
-                return new ResponseEntity<>(
-                        CreateUserResponse.builder()
-                                .message(cause.getMessage())
-                                .httpStatus(HttpStatus.BAD_REQUEST)
-                                .build(),
-                        HttpStatus.BAD_REQUEST);
-            }
-            return new ResponseEntity<>(
-                    CreateUserResponse.builder()
-                            .message(e.getMessage())
-                            .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        } catch (InterruptedException e) {
-            logger.error("Exception in creating user", e);
-            Thread.currentThread().interrupt();
+        return idempotent(orgUUID, IdempotencyService.BOOTSTRAP_ORGANIZATION_ADMIN, idempotencyKey, request,
+                () -> userService.createUser(internalRequest)
+                        .thenApply(createUserResponseConverter::toExternal)
+                        .thenApply(r -> new ResponseEntity<>(r, r.getHttpStatus())));
+    }
+
+    /**
+     * Runs a create, through the Idempotency-Key when one is sent. The timeout bounds how long this
+     * request waits, not the create itself: a keyed create keeps its claim until it really finishes
+     * and stores that outcome, so a retry after a timeout is answered with the original result
+     * instead of running the create again.
+     */
+    private CompletableFuture<ResponseEntity<CreateUserResponse>> idempotent(
+            String orgUUID,
+            String operation,
+            String idempotencyKey,
+            CreateUserRequest request,
+            Supplier<CompletableFuture<ResponseEntity<CreateUserResponse>>> create) {
+        CompletableFuture<ResponseEntity<CreateUserResponse>> response = idempotencyKey == null
+                ? create.get()
+                : idempotencyService.execute(orgUUID, operation, idempotencyKey, request, CreateUserResponse.class,
+                        () -> create.get().exceptionally(this::handleCreateUserError));
+        return response
+                .orTimeout(createUserTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    // Key misuse keeps its own status (see GlobalExceptionHandler)
+                    if (unwrap(e) instanceof IdempotencyKeyException keyError) {
+                        throw keyError;
+                    }
+                    return handleCreateUserError(e);
+                });
+    }
+
+    private ResponseEntity<CreateUserResponse> handleCreateUserError(Throwable e) {
+        Throwable cause = unwrap(e);
+        if (cause instanceof DuplicateResourceException) {
+            logger.error("Exception in creating user", cause);
             return new ResponseEntity<>(
                     CreateUserResponse.builder()
-                            .message("Request interrupted")
-                            .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .message(cause.getMessage())
+                            .httpStatus(HttpStatus.BAD_REQUEST)
                             .build(),
-                    HttpStatus.INTERNAL_SERVER_ERROR);
+                    HttpStatus.BAD_REQUEST);
+        }
+        HttpStatus status = errorStatus("creating user", cause);
+        return new ResponseEntity<>(
+                CreateUserResponse.builder()
+                        .message(cause instanceof TimeoutException ? "Request timed out" : cause.toString())
+                        .httpStatus(status)
+                        .build(),
+                status);
+    }
+
+    private HttpStatus errorStatus(String operation, Throwable e) {
+        Throwable cause = unwrap(e);
+        if (cause instanceof TimeoutException) {
+            logger.warn("Timed out {}", operation);
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        logger.error("Exception in {}", operation, cause);
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        if ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            return e.getCause();
         }
+        return e;
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,18 @@
 package com.userapi.controller;
 
+import com.userapi.models.external.BulkStatusChangeRequest;
+import com.userapi.models.external.BulkStatusChangeResponse;
 import com.userapi.models.external.ListUsersRequest;
 import com.userapi.models.external.ListUsersResponse;
 import com.userapi.models.external.UserHierarchyResponse;
+import com.userapi.models.external.UserSearchResponse;
 import com.userapi.service.UserService;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +21,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.userapi.common.constants.HeaderConstants.APP_CLIENT_USER_SESSION_UUID;
 import static com.userapi.common.constants.HeaderConstants.APP_ORG_UUID;
@@ -27,17 +37,36 @@ import static com.userapi.common.constants.HeaderConstants.APP_USER_UUID;
 
 @RestController
 @RequestMapping("/users") // Base path for multiple users operations
-@RequiredArgsConstructor
 public class UserListController {
     private static final Logger logger = LoggerFactory.getLogger(UserListController.class);
 
 
     private final UserService userService;
+    private final ExecutorService userQueryExecutor;
+
+    @Value("${user.api.timeout.list-ms:5000}")
+    private long listUsersTimeoutMs = 5000;
+
+    @Value("${user.api.timeout.hierarchy-ms:5000}")
+    private long hierarchyTimeoutMs = 5000;
+
+    @Value("${user.api.timeout.search-ms:1000}")
+    private long searchTimeoutMs = 1000;
+
+    @Value("${user.api.timeout.bulk-status-ms:20000}")
+    private long bulkStatusTimeoutMs = 20000;
+
+    @Autowired
+    public UserListController(UserService userService,
+                              @Qualifier("userQueryExecutor") ExecutorService userQueryExecutor) {
+        this.userService = userService;
+        this.userQueryExecutor = userQueryExecutor;
+    }
 
     // POST http://52.23.186.179:8080/users/filter
     @PostMapping("/filter")
     @PreAuthorize("hasPermission('USER', 'READ')")
-    public ResponseEntity<ListUsersResponse> listUsers(
+    public CompletableFuture<ResponseEntity<ListUsersResponse>> listUsers(
             @RequestHeader(APP_ORG_UUID) String orgUuid,
             @RequestHeader(APP_USER_UUID) String userUuid,
             @RequestHeader(APP_CLIENT_USER_SESSION_UUID) String sessionUuid,
@@ -48,21 +77,62 @@ public class UserListController {
         logger.info("Listing users for org: {}, traceId: {}, page: {}, size: {}",
                 orgUuid, traceId, request.getPage(), request.getSize());
 
-        ListUsersResponse response = userService.listUsers(request, orgUuid);
-        logger.info("Found {} users for org: {}", response.getTotalElements(), orgUuid);
-        return ResponseEntity.ok(response);
+        // The listing query is blocking; run it on the query executor so the request thread is released
+        return CompletableFuture.supplyAsync(() -> userService.listUsers(request, orgUuid), userQueryExecutor)
+                .orTimeout(listUsersTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(response -> {
+                    logger.info("Found {} users for org: {}", response.getTotalElements(), orgUuid);
+                    return ResponseEntity.ok(response);
+                });
     }
 
     @GetMapping("/{userId}/hierarchy")
     @PreAuthorize("hasPermission('USER', 'READ')")
-    public ResponseEntity<UserHierarchyResponse> getUserHierarchy(
+    public CompletableFuture<ResponseEntity<UserHierarchyResponse>> getUserHierarchy(
             @RequestHeader(APP_ORG_UUID) String orgUUID,
             @PathVariable String userId) {
 
         logger.info("Fetching user hierarchy for user: {} in org: {}", userId, orgUUID);
 
-        UserHierarchyResponse response = userService.getUserHierarchy(orgUUID, userId);
-        logger.info("User hierarchy fetched successfully for user: {}", userId);
-        return ResponseEntity.ok(response);
+        return CompletableFuture.supplyAsync(() -> userService.getUserHierarchy(orgUUID, userId), userQueryExecutor)
+                .orTimeout(hierarchyTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(response -> {
+                    logger.info("User hierarchy fetched successfully for user: {}", userId);
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    // GET /users/search?q=jan&limit=10 - typeahead for people pickers, ranked and capped server-side
+    @GetMapping("/search")
+    @PreAuthorize("hasPermission('USER', 'READ')")
+    public CompletableFuture<ResponseEntity<UserSearchResponse>> searchUsers(
+            @RequestHeader(APP_ORG_UUID) String orgUuid,
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        logger.debug("Searching users for org: {}, limit: {}", orgUuid, limit);
+
+        return CompletableFuture.supplyAsync(() -> userService.searchUsers(orgUuid, query, limit), userQueryExecutor)
+                .orTimeout(searchTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    // POST /users/status - deactivate (offboard) or reactivate many users by id or by filter;
+    // answers 207 when some chunks failed, with the outcome of every user
+    @PostMapping("/status")
+    @PreAuthorize("hasPermission('USER', 'UPDATE')")
+    public CompletableFuture<ResponseEntity<BulkStatusChangeResponse>> changeStatus(
+            @RequestHeader(APP_ORG_UUID) String orgUuid,
+            @RequestHeader(APP_USER_UUID) String userUuid,
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+
+        logger.info("Bulk status change to {} requested by user: {} for org: {}, dryRun: {}",
+                request.getStatus(), userUuid, orgUuid, request.isDryRun());
+
+        return CompletableFuture.supplyAsync(() -> userService.changeStatus(orgUuid, request), userQueryExecutor)
+                .orTimeout(bulkStatusTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(response -> ResponseEntity
+                        .status(response.getFailed() > 0 ? HttpStatus.MULTI_STATUS : HttpStatus.OK)
+                        .body(response));
     }
 }
@@ -1,22 +1,16 @@
 package com.userapi.converters;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.userapi.models.entity.JobProfile;
 import com.userapi.models.entity.UserProfile;
 import com.userapi.models.external.GetUserResponse;
 import com.userapi.models.external.JobProfileInfo;
 import com.userapi.models.internal.GetUserInternalResponse;
 import com.userapi.models.internal.ResponseResult;
-import com.userapi.service.impl.UserServiceImpl;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,14 +21,7 @@ import static java.util.Objects.isNull;
 public class GetUserResponseConverter
         extends InternalResponseToExternalResponseConverter<GetUserInternalResponse, GetUserResponse> {
 
-    private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
-
-    private final ObjectMapper objectMapper;
-
-    @Autowired
-    public GetUserResponseConverter(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-    }
+    private static final String EMPTY_EXTENSIONS_DATA = "{}";
 
     @Override
     protected GetUserResponse convert(GetUserInternalResponse internal) {
@@ -83,16 +70,15 @@ public class GetUserResponseConverter
                 .reportingManager(jp.getReportingManager())
                 .reportees(reportees)
                 .organizationUnit(jp.getOrganizationUnit())
-                .extensionsData(readExtensionDataJson(jp.getExtensionsData()))
+                .extensionsData(rawExtensionData(jp.getExtensionsData()))
                 .build();
     }
 
-    private Map<String, Object> readExtensionDataJson(String json) {
-        try {
-            return objectMapper.readValue(json, Map.class);
-        } catch (Exception e) {
-            logger.error("Error parsing JSON: ", e);
-            return new HashMap<>();
-        }
+    /**
+     * The column is JSONB, so whatever Postgres hands back is already valid JSON and can be
+     * embedded into the response without a parse and re-serialize round trip.
+     */
+    private String rawExtensionData(String json) {
+        return isNull(json) || json.isBlank() ? EMPTY_EXTENSIONS_DATA : json;
     }
 }
@@ -0,0 +1,153 @@
+package com.userapi.converters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.userapi.models.entity.UserStatus;
+import com.userapi.models.external.CreateUserRequest;
+import com.userapi.models.external.EmailInfo;
+import com.userapi.models.external.PhoneInfo;
+import com.userapi.models.internal.UserPatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts a JSON Merge Patch (RFC 7396) document for {@code PATCH /user/{userId}} into a
+ * {@link UserPatch}.
+ *
+ * <p>The document uses the field names of the update request. Each value is checked against
+ * the constraints the create request declares for it, so a patch cannot store what a create
+ * would reject; {@code null} is only accepted for attributes that may be empty. Employment
+ * changes create job profiles and stay on {@code PUT}.
+ */
+@Component("UserPatchRequestConverter")
+public class UserPatchRequestConverter {
+
+    private final Validator validator;
+
+    @Autowired
+    public UserPatchRequestConverter(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the document is not an object, patches an unknown or
+     *                                  unsupported field, or holds a value that fails validation
+     */
+    public UserPatch toInternal(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "username" -> changes.put(UserPatch.USERNAME,
+                        validated(CreateUserRequest.class, "username", text("username", value)));
+                case "firstName" -> changes.put(UserPatch.FIRST_NAME,
+                        validated(CreateUserRequest.class, "firstName", text("firstName", value)));
+                case "middleName" -> changes.put(UserPatch.MIDDLE_NAME,
+                        validated(CreateUserRequest.class, "middleName", text("middleName", value)));
+                case "lastName" -> changes.put(UserPatch.LAST_NAME,
+                        validated(CreateUserRequest.class, "lastName", text("lastName", value)));
+                case "status" -> changes.put(UserPatch.STATUS, status(text("status", value)));
+                case "phoneInfo" -> putPhoneInfo(changes, object("phoneInfo", value));
+                case "emailInfo" -> putEmailInfo(changes, object("emailInfo", value));
+                case "employmentInfo", "employmentInfoList" -> throw new IllegalArgumentException(
+                        "Employment info cannot be patched; use PUT /user/{userId}");
+                default -> throw new IllegalArgumentException("Unknown field in merge patch: " + field.getKey());
+            }
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Merge patch changes no fields");
+        }
+        return new UserPatch(changes);
+    }
+
+    private void putPhoneInfo(Map<String, Object> changes, JsonNode phoneInfo) {
+        Iterator<Map.Entry<String, JsonNode>> fields = phoneInfo.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = "phoneInfo." + field.getKey();
+            switch (field.getKey()) {
+                case "number" -> changes.put(UserPatch.PHONE,
+                        validated(PhoneInfo.class, "number", text(name, field.getValue())));
+                case "countryCode" -> changes.put(UserPatch.PHONE_COUNTRY_CODE,
+                        validated(PhoneInfo.class, "countryCode", integer(name, field.getValue())));
+                case "verificationStatus" -> changes.put(UserPatch.PHONE_VERIFICATION_STATUS,
+                        validated(PhoneInfo.class, "verificationStatus", text(name, field.getValue())));
+                default -> throw new IllegalArgumentException("Unknown field in merge patch: " + name);
+            }
+        }
+    }
+
+    private void putEmailInfo(Map<String, Object> changes, JsonNode emailInfo) {
+        Iterator<Map.Entry<String, JsonNode>> fields = emailInfo.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = "emailInfo." + field.getKey();
+            switch (field.getKey()) {
+                case "email" -> changes.put(UserPatch.EMAIL,
+                        validated(EmailInfo.class, "email", text(name, field.getValue())));
+                case "verificationStatus" -> changes.put(UserPatch.EMAIL_VERIFICATION_STATUS,
+                        validated(EmailInfo.class, "verificationStatus", text(name, field.getValue())));
+                default -> throw new IllegalArgumentException("Unknown field in merge patch: " + name);
+            }
+        }
+    }
+
+    private <T> Object validated(Class<T> type, String property, Object value) {
+        Set<ConstraintViolation<T>> violations = validator.validateValue(type, property, value);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        return value;
+    }
+
+    // Stored as the display name, as PUT does
+    private static String status(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("status cannot be null");
+        }
+        try {
+            return UserStatus.valueOf(value).getName();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported status: " + value);
+        }
+    }
+
+    private static String text(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return value.textValue();
+    }
+
+    private static Integer integer(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isInt()) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+        return value.intValue();
+    }
+
+    // phoneInfo and emailInfo cannot be removed, only merged into
+    private static JsonNode object(String name, JsonNode value) {
+        if (!value.isObject()) {
+            throw new IllegalArgumentException(name + " must be an object");
+        }
+        return value;
+    }
+}
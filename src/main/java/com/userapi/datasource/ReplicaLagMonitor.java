@@ -0,0 +1,156 @@
+package com.userapi.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Probes each read replica for its replay lag and keeps the set of replicas that may serve
+ * reads: those that answered the last probe with a lag of at most {@code maxLag}. Until the
+ * first probe, and whenever no replica qualifies, reads stay on the primary.
+ *
+ * <p>Each probe first reads the primary's current WAL position. A replica that has replayed up
+ * to it is current; one that has not is as far behind as its last replayed transaction. The
+ * replica's own view (received vs. replayed WAL) is not enough: a replica whose WAL receiver
+ * lost the primary has replayed all it received and would look current however stale it is.
+ *
+ * <p>The lag of every replica is published as {@code user.api.datasource.replica.lag}
+ * (milliseconds, NaN while unreachable).
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    // A replica that has replayed up to the primary's position is current, however old its last
+    // replayed transaction is (an idle primary writes nothing new)
+    static final String LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMillis;
+    private final Duration probeInterval;
+    private final Map<String, Double> lagMillis = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> eligible = Collections.emptyList();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                             Duration probeInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.maxLagMillis = maxLag.toMillis();
+        this.probeInterval = probeInterval;
+        for (String name : this.replicas.keySet()) {
+            lagMillis.put(name, Double.NaN);
+            Gauge.builder("user.api.datasource.replica.lag", lagMillis, lags -> lags.get(name))
+                    .tag("pool", name)
+                    .baseUnit("milliseconds")
+                    .description("Replay lag of the read replica at the last probe")
+                    .register(meterRegistry);
+        }
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    public void start() {
+        probe();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probe, probeInterval.toMillis(), probeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Round-robins over the replicas that passed the last probe, or returns {@code null} if none did.
+     */
+    public String nextEligible() {
+        List<String> candidates = eligible;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    void probe() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        // Without the primary's position no replica can be shown to be current
+        String primaryLsn = primaryLsn();
+        replicas.forEach((name, dataSource) -> {
+            double lag = primaryLsn == null ? Double.NaN : measureLag(name, dataSource, primaryLsn);
+            lagMillis.put(name, lag);
+            if (!Double.isNaN(lag) && lag <= maxLagMillis) {
+                healthy.add(name);
+            } else if (!Double.isNaN(lag)) {
+                logger.warn("Replica {} is {} ms behind, routing its reads to the primary", name, (long) lag);
+            }
+        });
+        eligible = List.copyOf(healthy);
+    }
+
+    private String primaryLsn() {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            logger.warn("Lag probe could not read the primary's WAL position: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static double measureLag(String name, DataSource dataSource, String primaryLsn) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            statement.setString(1, primaryLsn);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Double.NaN;
+                }
+                double lag = resultSet.getDouble(1);
+                // No transaction replayed yet: the lag is unknown
+                return resultSet.wasNull() ? Double.NaN : lag;
+            }
+        } catch (SQLException e) {
+            logger.warn("Lag probe failed for replica {}: {}", name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
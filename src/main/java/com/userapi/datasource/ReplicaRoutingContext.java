@@ -0,0 +1,56 @@
+package com.userapi.datasource;
+
+/**
+ * Binds the client session ({@code x-app-client-user-session-uuid}) of the current request to
+ * the thread, so that {@link ReplicaRoutingDataSource} can keep a session that has just written
+ * on the primary. Executor tasks carry the binding through {@link #wrap(Runnable)}.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<String> SESSION = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static String currentSession() {
+        return SESSION.get();
+    }
+
+    /**
+     * Binds {@code sessionUuid} until the returned scope is closed, then restores the previous binding.
+     */
+    public static Scope open(String sessionUuid) {
+        String previous = SESSION.get();
+        SESSION.set(sessionUuid);
+        return new Scope(previous);
+    }
+
+    public static Runnable wrap(Runnable task) {
+        String session = SESSION.get();
+        if (session == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = open(session)) {
+                task.run();
+            }
+        };
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                SESSION.remove();
+            } else {
+                SESSION.set(previous);
+            }
+        }
+    }
+}
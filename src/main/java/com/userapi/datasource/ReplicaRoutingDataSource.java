@@ -0,0 +1,128 @@
+package com.userapi.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary.
+ *
+ * <ul>
+ *   <li>Only replicas that {@link ReplicaLagMonitor} currently considers caught up are used;
+ *       with none available reads fall back to the primary.</li>
+ *   <li>Read-your-writes: once a read-write transaction commits, reads from the same client
+ *       session ({@link ReplicaRoutingContext}) stay on the primary for {@code readYourWrites}.</li>
+ *   <li>Statements outside a transaction go to the primary.</li>
+ * </ul>
+ *
+ * <p>The routing decision needs the transaction's read-only flag, which is only set after the
+ * transaction manager has asked for a connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}. Routing decisions
+ * are counted in {@code user.api.datasource.routed} by pool and reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    private static final int MAX_TRACKED_SESSIONS = 100_000;
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long readYourWritesNanos;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> primaryUntilNanos = new ConcurrentHashMap<>();
+    private final Map<String, Counter> routedCounters = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor, Duration readYourWrites,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        this.meterRegistry = meterRegistry;
+        Map<Object, Object> targets = new HashMap<>(lagMonitor.replicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            return routed(PRIMARY, "read-write");
+        }
+        String session = ReplicaRoutingContext.currentSession();
+        if (session != null && recentlyWrote(session)) {
+            return routed(PRIMARY, "read-your-writes");
+        }
+        String replica = lagMonitor.nextEligible();
+        if (replica == null) {
+            return routed(PRIMARY, "no-replica");
+        }
+        return routed(replica, "read-only");
+    }
+
+    private void rememberWriteOnCommit() {
+        String session = ReplicaRoutingContext.currentSession();
+        if (session == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(WriteCommitted.class::isInstance);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new WriteCommitted(session));
+        }
+    }
+
+    private boolean recentlyWrote(String session) {
+        Long until = primaryUntilNanos.get(session);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        primaryUntilNanos.remove(session, until);
+        return false;
+    }
+
+    private void markWritten(String session) {
+        long now = System.nanoTime();
+        if (primaryUntilNanos.size() >= MAX_TRACKED_SESSIONS) {
+            primaryUntilNanos.values().removeIf(until -> until - now <= 0);
+            if (primaryUntilNanos.size() >= MAX_TRACKED_SESSIONS) {
+                primaryUntilNanos.clear();
+            }
+        }
+        primaryUntilNanos.put(session, now + readYourWritesNanos);
+    }
+
+    private String routed(String pool, String reason) {
+        routedCounters.computeIfAbsent(pool + '|' + reason, key -> Counter.builder("user.api.datasource.routed")
+                        .tag("pool", pool)
+                        .tag("reason", reason)
+                        .description("Connections handed out by the replica routing data source")
+                        .register(meterRegistry))
+                .increment();
+        return pool;
+    }
+
+    private final class WriteCommitted implements TransactionSynchronization {
+        private final String session;
+
+        private WriteCommitted(String session) {
+            this.session = session;
+        }
+
+        @Override
+        public void afterCommit() {
+            markWritten(session);
+        }
+    }
+}
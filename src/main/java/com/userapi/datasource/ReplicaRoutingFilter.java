@@ -0,0 +1,31 @@
+package com.userapi.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static com.userapi.common.constants.HeaderConstants.APP_CLIENT_USER_SESSION_UUID;
+
+/**
+ * Exposes the request's client session to {@link ReplicaRoutingDataSource} through
+ * {@link ReplicaRoutingContext}. Registered by {@code ReadReplicaConfig}.
+ */
+public class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String session = request.getHeader(APP_CLIENT_USER_SESSION_UUID);
+        if (session == null || session.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (ReplicaRoutingContext.Scope ignored = ReplicaRoutingContext.open(session)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.userapi.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * An Idempotency-Key request that cannot be served: the key was reused with a different body,
+ * or the original request is still running or failed.
+ */
+public class IdempotencyKeyException extends RuntimeException {
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,38 @@
+package com.userapi.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts events the asynchronous appenders could not enqueue because their ring buffer was
+ * full. Attached to each appender in logback-spring.xml and published as
+ * {@code logging.events.dropped} (see {@link LoggingMetrics}).
+ */
+public class DropCountingAppenderListener implements AppenderListener<ILoggingEvent> {
+
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    public static long droppedEvents() {
+        return DROPPED.get();
+    }
+
+    @Override
+    public void appenderStarted(Appender<ILoggingEvent> appender) {
+    }
+
+    @Override
+    public void appenderStopped(Appender<ILoggingEvent> appender) {
+    }
+
+    @Override
+    public void eventAppended(Appender<ILoggingEvent> appender, ILoggingEvent event, long durationInNanos) {
+    }
+
+    @Override
+    public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+        DROPPED.incrementAndGet();
+    }
+}
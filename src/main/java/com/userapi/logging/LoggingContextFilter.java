@@ -0,0 +1,84 @@
+package com.userapi.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+import static com.userapi.common.constants.HeaderConstants.APP_ORG_UUID;
+import static com.userapi.common.constants.HeaderConstants.APP_TRACE_ID;
+
+/**
+ * Puts the trace id, organization and endpoint of the current request into the MDC, where the
+ * JSON encoder emits them as fields and {@link SamplingTurboFilter} keys its sampling on them.
+ * The endpoint is the method and first path segment (e.g. {@code GET /user}) so that it stays a
+ * small, fixed set. {@link #wrap(Runnable)} carries the MDC onto executor threads.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoggingContextFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID = "traceId";
+    public static final String ORG_UUID = "orgUuid";
+    public static final String ENDPOINT = "endpoint";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        putIfPresent(TRACE_ID, request.getHeader(APP_TRACE_ID));
+        putIfPresent(ORG_UUID, request.getHeader(APP_ORG_UUID));
+        MDC.put(ENDPOINT, endpoint(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(TRACE_ID);
+            MDC.remove(ORG_UUID);
+            MDC.remove(ENDPOINT);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null || context.isEmpty()) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previous);
+                }
+            }
+        };
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        int end = path.indexOf('/', 1);
+        return request.getMethod() + " " + (end < 0 ? path : path.substring(0, end));
+    }
+
+    private static void putIfPresent(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.userapi.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the logging pipeline's loss counters: events dropped by the asynchronous appenders
+ * and events suppressed by hot-path sampling.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", DropCountingAppenderListener.class,
+                        c -> DropCountingAppenderListener.droppedEvents())
+                .description("Log events dropped because the async appender ring buffer was full")
+                .register(registry);
+        FunctionCounter.builder("logging.events.sampled", SamplingTurboFilter.class,
+                        c -> SamplingTurboFilter.sampledEvents())
+                .description("Repetitive DEBUG/INFO log events suppressed by sampling")
+                .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.userapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples repetitive DEBUG/INFO logging on hot paths: each message template may be logged at
+ * most {@code maxPerWindow} times per {@code windowMillis} for each organization and endpoint
+ * (taken from the {@link LoggingContextFilter} MDC keys); the rest are denied before a logging event
+ * is even created. WARN and ERROR are never sampled.
+ *
+ * <p>Configured in logback-spring.xml; suppressed events are counted in
+ * {@code logging.events.sampled} (see {@link LoggingMetrics}).
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final AtomicLong SAMPLED = new AtomicLong();
+    private static final int MAX_KEYS = 10_000;
+
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    private String loggerPrefix = "com.userapi";
+    private int maxPerWindow = 20;
+    private long windowMillis = 10_000;
+
+    public static long sampledEvents() {
+        return SAMPLED.get();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (windows.size() > MAX_KEYS) {
+            windows.clear();
+        }
+        Key key = new Key(format, MDC.get(LoggingContextFilter.ORG_UUID), MDC.get(LoggingContextFilter.ENDPOINT));
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        if (window.tryAcquire(System.currentTimeMillis(), windowMillis, maxPerWindow)) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMaxPerWindow(int maxPerWindow) {
+        this.maxPerWindow = maxPerWindow;
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    // Message templates are compile-time constants, so the key holds references, not copies
+    private record Key(String format, String orgUuid, String endpoint) {
+    }
+
+    private static final class Window {
+        private long startMillis;
+        private int count;
+
+        synchronized boolean tryAcquire(long nowMillis, long windowMillis, int maxPerWindow) {
+            if (nowMillis - startMillis >= windowMillis) {
+                startMillis = nowMillis;
+                count = 0;
+            }
+            return ++count <= maxPerWindow;
+        }
+    }
+}
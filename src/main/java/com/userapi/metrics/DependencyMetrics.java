@@ -0,0 +1,67 @@
+package com.userapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Records the {@value #TIMER_NAME} timer for calls to downstream services.
+ *
+ * <p>Tags are limited to {@code dependency}, {@code operation} and {@code outcome}, all drawn
+ * from fixed sets; organization, user and resource identifiers are never used as tags.
+ * Percentile histograms and client-side percentiles are configured under
+ * {@code management.metrics.distribution.*} in application.properties.
+ */
+@Component
+public class DependencyMetrics {
+
+    public static final String TIMER_NAME = "user.api.dependency";
+
+    public static final String ROLES_SERVICE = "roles-service";
+    public static final String CLIENT_MANAGEMENT = "client-management";
+
+    private final MeterRegistry meterRegistry;
+
+    public DependencyMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Times the subscription of {@code mono}; a new sample is started for every subscriber.
+     */
+    public <T> Mono<T> time(String dependency, String operation, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono.doFinally(signal -> sample.stop(timer(dependency, operation, outcome(signal))));
+        });
+    }
+
+    public <T> CompletableFuture<T> time(String dependency, String operation, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.get().whenComplete((result, error) ->
+                sample.stop(timer(dependency, operation, error == null ? "success" : "error")));
+    }
+
+    private Timer timer(String dependency, String operation, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Latency of calls to downstream services")
+                .tag("dependency", dependency)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "unknown";
+        };
+    }
+}
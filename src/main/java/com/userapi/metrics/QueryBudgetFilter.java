@@ -0,0 +1,113 @@
+package com.userapi.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.userapi.common.constants.HeaderConstants.APP_TRACE_ID;
+
+/**
+ * Opens a {@link QueryStats} scope per HTTP request and, once the request completes (after the
+ * async dispatch for {@code CompletableFuture} endpoints), records how many SQL statements it
+ * issued and how long they took. Requests over {@code user.api.query-budget.max-statements}
+ * are logged with their trace id and counted in {@code user.api.query.budget.exceeded}.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry, int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = new QueryStats(request.getHeader(APP_TRACE_ID));
+        try (QueryTracking.Scope ignored = QueryTracking.bind(stats)) {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, stats));
+            } else {
+                report(request, stats);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        int statements = stats.getStatements();
+
+        DistributionSummary.builder("user.api.request.statements")
+                .description("SQL statements issued per request")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder("user.api.request.db.time")
+                .description("Database time per request")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(stats.getDbTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+
+        if (statements > maxStatements) {
+            Counter.builder("user.api.query.budget.exceeded")
+                    .tag("uri", uri)
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Query budget exceeded: {} {} issued {} statements ({} ms in database), budget {}, trace: {}",
+                    method, request.getRequestURI(), statements, stats.getDbTime(TimeUnit.MILLISECONDS),
+                    maxStatements, stats.getTraceId());
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final QueryStats stats;
+
+        private CompletionListener(HttpServletRequest request, QueryStats stats) {
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            report(request, stats);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
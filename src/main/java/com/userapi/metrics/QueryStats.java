@@ -0,0 +1,37 @@
+package com.userapi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL statement count and database time accumulated for one unit of work, usually an HTTP
+ * request. Updated from every thread the work fans out to, see {@link QueryTracking}.
+ */
+public final class QueryStats {
+
+    private final String traceId;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong dbTimeNanos = new AtomicLong();
+
+    public QueryStats(String traceId) {
+        this.traceId = traceId;
+    }
+
+    void record(int statementCount, long elapsedNanos) {
+        statements.addAndGet(statementCount);
+        dbTimeNanos.addAndGet(elapsedNanos);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getDbTime(TimeUnit unit) {
+        return unit.convert(dbTimeNanos.get(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+package com.userapi.metrics;
+
+import com.userapi.util.DecoratingExecutorService;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Binds a {@link QueryStats} to the current thread so that the datasource listener can
+ * attribute statements to the request that issued them.
+ *
+ * <p>Services hand their JDBC work to executors, so the binding has to travel with the task:
+ * executors wrapped by {@link #propagating(ExecutorService)} capture the caller's stats when a
+ * task is submitted and bind them on the worker thread while it runs.
+ *
+ * <p>Tests pin query counts with a scope:
+ * <pre>{@code
+ * try (QueryTracking.Scope scope = QueryTracking.open("test")) {
+ *     repository.findByUserId(orgUuid, userUuid);
+ *     assertEquals(1, scope.stats().getStatements());
+ * }
+ * }</pre>
+ */
+public final class QueryTracking {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryTracking() {
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static Scope open(String traceId) {
+        return bind(new QueryStats(traceId));
+    }
+
+    /**
+     * Binds {@code stats} until the returned scope is closed, then restores the previous binding.
+     */
+    public static Scope bind(QueryStats stats) {
+        QueryStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return new Scope(stats, previous);
+    }
+
+    public static Runnable wrap(Runnable task) {
+        QueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = bind(stats)) {
+                task.run();
+            }
+        };
+    }
+
+    public static ExecutorService propagating(ExecutorService delegate) {
+        return new DecoratingExecutorService(delegate, QueryTracking::wrap);
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final QueryStats stats;
+        private final QueryStats previous;
+
+        private Scope(QueryStats stats, QueryStats previous) {
+            this.stats = stats;
+            this.previous = previous;
+        }
+
+        public QueryStats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.userapi.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * datasource-proxy listener that adds every executed statement to the {@link QueryStats}
+ * bound to the calling thread, feeds {@link StatementCacheMetrics} and logs statements slower
+ * than the configured threshold.
+ */
+public class QueryTrackingListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryTrackingListener.class);
+
+    private static final int LOGGED_SQL_LENGTH = 500;
+
+    private final long slowQueryMs;
+    private final StatementCacheMetrics statementCacheMetrics;
+
+    public QueryTrackingListener(long slowQueryMs, StatementCacheMetrics statementCacheMetrics) {
+        this.slowQueryMs = slowQueryMs;
+        this.statementCacheMetrics = statementCacheMetrics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryTracking.current();
+        if (stats != null) {
+            stats.record(Math.max(1, queryInfoList.size()), TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime()));
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            statementCacheMetrics.record(queryInfo.getQuery());
+        }
+        if (execInfo.getElapsedTime() >= slowQueryMs) {
+            logger.warn("Slow query: {} ms, trace: {}, sql: {}",
+                    execInfo.getElapsedTime(),
+                    stats != null ? stats.getTraceId() : null,
+                    abbreviate(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= LOGGED_SQL_LENGTH ? sql : sql.substring(0, LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,72 @@
+package com.userapi.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estimates how well executed SQL fits the pgjdbc prepared statement cache. Statement texts go
+ * through an LRU with the same capacity as the driver's per-connection cache
+ * ({@code preparedStatementCacheQueries}): a hit means the text was seen recently enough to still
+ * be prepared on the server, a miss means a new or evicted text that Postgres has to parse and
+ * plan again. A stream of ever-different SQL shows up as a falling hit rate and a growing
+ * {@code user.api.sql.statement.cache.size}.
+ *
+ * <p>Published as {@code user.api.sql.statement.cache{result=hit|miss}}; fed by
+ * {@link QueryTrackingListener}.
+ */
+public class StatementCacheMetrics implements MeterBinder {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Map<String, Boolean> recent;
+
+    public StatementCacheMetrics(int capacity) {
+        this.recent = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    void record(String sql) {
+        boolean hit;
+        synchronized (recent) {
+            hit = recent.put(sql, Boolean.TRUE) != null;
+        }
+        (hit ? hits : misses).incrementAndGet();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.api.sql.statement.cache", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Executed statements whose SQL text was recently executed")
+                .register(registry);
+        FunctionCounter.builder("user.api.sql.statement.cache", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Executed statements with a new or evicted SQL text")
+                .register(registry);
+        Gauge.builder("user.api.sql.statement.cache.size", recent, map -> {
+                    synchronized (map) {
+                        return map.size();
+                    }
+                })
+                .description("Distinct SQL texts currently tracked")
+                .register(registry);
+    }
+}
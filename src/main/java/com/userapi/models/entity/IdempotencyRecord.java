@@ -0,0 +1,67 @@
+package com.userapi.models.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+@IdClass(IdempotencyRecord.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(name = "organization_uuid")
+    private String organizationUuid;
+
+    @Id
+    @Column(name = "operation")
+    private String operation;
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    // SHA-256 of the request body; a key reused with a different body is rejected
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_body", columnDefinition = "text")
+    private String responseBody;
+
+    // An IN_PROGRESS claim past this time belongs to a request that died and can be taken over
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String organizationUuid;
+        private String operation;
+        private String idempotencyKey;
+    }
+}
@@ -0,0 +1,59 @@
+package com.userapi.models.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_change_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChangeEvent {
+    public static final String USER_CREATED = "USER_CREATED";
+    public static final String USER_UPDATED = "USER_UPDATED";
+    public static final String USER_DEACTIVATED = "USER_DEACTIVATED";
+    public static final String JOB_PROFILE_CREATED = "JOB_PROFILE_CREATED";
+
+    // Pooled sequence, so the events of a bulk change can be inserted in JDBC batches where
+    // hibernate.jdbc.batch_size is set (the prod profile). Ids are allocated before commit, so
+    // they are not in commit order; userVersion is
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_change_events_seq")
+    @SequenceGenerator(name = "user_change_events_seq", sequenceName = "user_change_events_event_id_seq",
+            allocationSize = 50)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "organization_uuid", nullable = false)
+    private String organizationUuid;
+
+    @Column(name = "user_uuid", nullable = false)
+    private String userUuid;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    // Counts the user's changes in the order they committed; consumers apply an event only if
+    // its version is above the last one they applied for the user
+    @Column(name = "user_version", nullable = false)
+    private Long userVersion;
+
+    // Compact JSON: what changed, not the full user; consumers read the user when they need more
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
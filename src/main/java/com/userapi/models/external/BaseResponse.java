@@ -1,6 +1,7 @@
 package com.userapi.models.external;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
@@ -9,6 +10,7 @@ import org.springframework.http.HttpStatus;
 @SuperBuilder
 @Getter
 @Setter
+@NoArgsConstructor
 public class BaseResponse {
 
     @NonNull
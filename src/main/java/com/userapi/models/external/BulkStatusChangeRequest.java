@@ -0,0 +1,25 @@
+package com.userapi.models.external;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import java.util.List;
+
+/**
+ * Sets one status on many users, named either by {@code userIds} or by {@code filterCriteria}
+ * (the attributes accepted by {@code POST /users/filter}), never both.
+ */
+@Data
+public class BulkStatusChangeRequest {
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    private List<String> userIds;
+
+    @Valid
+    private ListUsersFilterCriteria filterCriteria;
+
+    // Count the users that would change without updating any
+    private boolean dryRun;
+}
@@ -0,0 +1,37 @@
+package com.userapi.models.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class BulkStatusChangeResponse {
+    private String status;
+    private boolean dryRun;
+    // Users found in the organization
+    private long matched;
+    // Users whose status changed, or would change on a dry run
+    private long changed;
+    // Requested ids that do not exist in the organization
+    private long notFound;
+    private long failed;
+    // One entry per requested or matched user; omitted on a dry run
+    private List<UserOutcome> results;
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserOutcome {
+        private String userId;
+        private Outcome outcome;
+    }
+}
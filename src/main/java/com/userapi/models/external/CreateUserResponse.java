@@ -3,6 +3,7 @@ package com.userapi.models.external;
 import com.userapi.models.internal.ResponseReasonCode;
 import com.userapi.models.internal.ResponseResult;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import org.springframework.http.HttpStatus;
@@ -10,6 +11,7 @@ import org.springframework.http.HttpStatus;
 @SuperBuilder
 @Getter
 @Setter
+@NoArgsConstructor
 public class CreateUserResponse extends BaseResponse {
 
     private String userId;
@@ -1,11 +1,11 @@
 package com.userapi.models.external;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
@@ -18,6 +18,9 @@ public class JobProfileInfo {
     private String reportingManager;
     private List<String> reportees;
     private String organizationUnit;
-    private Map<String, Object> extensionsData;
+
+    // JSON text as stored in the extensions_data JSONB column, written to the response as-is
+    @JsonRawValue
+    private String extensionsData;
 
 }
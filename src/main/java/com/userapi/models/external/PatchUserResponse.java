@@ -0,0 +1,20 @@
+package com.userapi.models.external;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@Getter
+@Setter
+public class PatchUserResponse extends BaseResponse {
+
+    private String userId;
+    private String username;
+    private String firstName;
+    private String middleName;
+    private String lastName;
+    private String status;
+    private PhoneInfo phoneInfo;
+    private EmailInfo emailInfo;
+}
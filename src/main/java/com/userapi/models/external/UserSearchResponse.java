@@ -0,0 +1,22 @@
+package com.userapi.models.external;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserSearchResponse {
+    private String query;
+    private List<UserMatch> users;
+
+    @Data
+    public static class UserMatch {
+        private String userId;
+        private String username;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String status;
+        private double score;
+    }
+}
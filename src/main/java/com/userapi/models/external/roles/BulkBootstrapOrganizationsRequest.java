@@ -0,0 +1,24 @@
+package com.userapi.models.external.roles;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkBootstrapOrganizationsRequest {
+    @NotEmpty(message = "At least one organization is required")
+    @Size(max = 500, message = "At most 500 organizations can be bootstrapped per request")
+    @Valid
+    private List<OrganizationBootstrapRequest> organizations;
+}
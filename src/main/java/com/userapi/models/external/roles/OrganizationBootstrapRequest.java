@@ -0,0 +1,22 @@
+package com.userapi.models.external.roles;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OrganizationBootstrapRequest {
+    @NotBlank(message = "Organization UUID is required")
+    private String organizationUuid;
+
+    @NotBlank(message = "Admin User UUID is required")
+    private String adminUserUuid;
+}
@@ -0,0 +1,30 @@
+package com.userapi.models.external.roles;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrganizationBootstrapResult {
+    public static final String SUCCESS = "SUCCESS";
+    public static final String FAILED = "FAILED";
+
+    private String organizationUuid;
+    private String adminUserUuid;
+    private String adminRoleUuid;
+    private String userRoleUuid;
+    private String status;
+    private String error;
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return SUCCESS.equals(status);
+    }
+}
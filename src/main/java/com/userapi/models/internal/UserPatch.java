@@ -0,0 +1,45 @@
+package com.userapi.models.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A validated JSON Merge Patch for a user's own attributes. Only attributes present in the
+ * patch are held; a present attribute mapped to {@code null} clears it.
+ */
+public final class UserPatch {
+
+    public static final String USERNAME = "username";
+    public static final String FIRST_NAME = "firstName";
+    public static final String MIDDLE_NAME = "middleName";
+    public static final String LAST_NAME = "lastName";
+    public static final String STATUS = "status";
+    public static final String PHONE = "phone";
+    public static final String PHONE_COUNTRY_CODE = "phoneCountryCode";
+    public static final String PHONE_VERIFICATION_STATUS = "phoneVerificationStatus";
+    public static final String EMAIL = "email";
+    public static final String EMAIL_VERIFICATION_STATUS = "emailVerificationStatus";
+
+    private final Map<String, Object> changes;
+
+    public UserPatch(Map<String, Object> changes) {
+        this.changes = Collections.unmodifiableMap(new LinkedHashMap<>(changes));
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    public String getUsername() {
+        return (String) changes.get(USERNAME);
+    }
+
+    public String getEmail() {
+        return (String) changes.get(EMAIL);
+    }
+
+    public String getPhone() {
+        return (String) changes.get(PHONE);
+    }
+}
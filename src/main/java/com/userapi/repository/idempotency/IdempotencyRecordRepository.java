@@ -0,0 +1,81 @@
+package com.userapi.repository.idempotency;
+
+import com.userapi.models.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    /**
+     * Claims the key for this request: inserts an IN_PROGRESS row, or takes over one whose claim
+     * lapsed or whose stored response expired. Returns 1 when claimed, 0 when another request
+     * holds the key or already completed it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (organization_uuid, operation, idempotency_key, request_hash,"
+            + " status, locked_until, expires_at)"
+            + " VALUES (:orgUuid, :operation, :idempotencyKey, :requestHash, 'IN_PROGRESS', :lockedUntil, :expiresAt)"
+            + " ON CONFLICT (organization_uuid, operation, idempotency_key) DO UPDATE"
+            + " SET request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', response_status = NULL,"
+            + " response_body = NULL, locked_until = EXCLUDED.locked_until, expires_at = EXCLUDED.expires_at"
+            + " WHERE (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until < :now)"
+            + " OR idempotency_keys.expires_at < :now",
+            nativeQuery = true)
+    int claim(@Param("orgUuid") String orgUuid,
+              @Param("operation") String operation,
+              @Param("idempotencyKey") String idempotencyKey,
+              @Param("requestHash") String requestHash,
+              @Param("lockedUntil") LocalDateTime lockedUntil,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Reads a claim on the primary. Unlike the inherited {@code findById}, which runs read-only and
+     * may be routed to a replica, this runs read-write: a lagging replica would report a live claim
+     * as missing and its duplicate would be told the original failed.
+     */
+    @Transactional
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.organizationUuid = :orgUuid AND r.operation = :operation"
+            + " AND r.idempotencyKey = :idempotencyKey")
+    Optional<IdempotencyRecord> findClaim(@Param("orgUuid") String orgUuid,
+                                          @Param("operation") String operation,
+                                          @Param("idempotencyKey") String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', r.responseStatus = :responseStatus,"
+            + " r.responseBody = :responseBody, r.expiresAt = :expiresAt"
+            + " WHERE r.organizationUuid = :orgUuid AND r.operation = :operation"
+            + " AND r.idempotencyKey = :idempotencyKey AND r.status = 'IN_PROGRESS'")
+    int complete(@Param("orgUuid") String orgUuid,
+                 @Param("operation") String operation,
+                 @Param("idempotencyKey") String idempotencyKey,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Gives the key back so a retry runs the operation again (used when the first attempt failed server-side)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.organizationUuid = :orgUuid AND r.operation = :operation"
+            + " AND r.idempotencyKey = :idempotencyKey AND r.status = 'IN_PROGRESS'")
+    int release(@Param("orgUuid") String orgUuid,
+                @Param("operation") String operation,
+                @Param("idempotencyKey") String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE ctid = ANY(ARRAY("
+            + "SELECT ctid FROM idempotency_keys WHERE expires_at < :now LIMIT :batchSize))",
+            nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -3,8 +3,30 @@ package com.userapi.repository.jobprofile;
 import com.userapi.models.entity.JobProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface JobProfileRepository extends JpaRepository<JobProfile, String>, JpaSpecificationExecutor<JobProfile> {
-}
\ No newline at end of file
+
+    /**
+     * Returns only the requested extension keys of the given job profiles as
+     * [job_profile_uuid, key, value-as-json-text] rows, so the full extensions_data
+     * blob never leaves the database. Rows of current job profiles come first, then those of the
+     * most recently started, with the job profile uuid breaking ties so the order is stable.
+     */
+    @Query(value = "SELECT jp.job_profile_uuid, e.key, CAST(e.value AS text) FROM job_profiles jp " +
+            "CROSS JOIN LATERAL jsonb_each(jp.extensions_data) e " +
+            "WHERE jp.organization_uuid = :orgUuid " +
+            "AND jp.job_profile_uuid IN (:jobProfileUuids) " +
+            "AND e.key IN (:keys) " +
+            "ORDER BY (jp.end_date IS NULL) DESC, jp.start_date DESC, jp.job_profile_uuid",
+            nativeQuery = true)
+    List<Object[]> findExtensionValues(@Param("orgUuid") String orgUuid,
+                                       @Param("jobProfileUuids") Collection<String> jobProfileUuids,
+                                       @Param("keys") Collection<String> keys);
+}
@@ -0,0 +1,44 @@
+package com.userapi.repository.outbox;
+
+import com.userapi.models.entity.UserChangeEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserChangeEventRepository extends JpaRepository<UserChangeEvent, Long> {
+
+    /**
+     * Locks up to {@code batchSize} undelivered events that no other relay holds, lowest event id
+     * first. The locks last until the caller's transaction ends, so this must run inside the
+     * transaction that deletes them.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    @Query(value = "SELECT * FROM user_change_events ORDER BY event_id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<UserChangeEvent> lockNextBatch(@Param("batchSize") int batchSize);
+
+    /**
+     * Advances the change version of each of the comma-separated users and returns
+     * {@code [user_uuid, version]} rows. The upsert holds each user's row until the caller's
+     * transaction ends, so a user's versions are handed out in commit order.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    @Query(value = "INSERT INTO user_change_versions AS v (user_uuid, version)"
+            + " SELECT u.user_uuid, 1 FROM unnest(string_to_array(:userUuids, ',')) AS u(user_uuid)"
+            + " ON CONFLICT (user_uuid) DO UPDATE SET version = v.version + 1"
+            + " RETURNING v.user_uuid, v.version",
+            nativeQuery = true)
+    List<Object[]> nextUserVersions(@Param("userUuids") String userUuids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserChangeEvent e WHERE e.eventId IN :eventIds")
+    int deleteDelivered(@Param("eventIds") Collection<Long> eventIds);
+}
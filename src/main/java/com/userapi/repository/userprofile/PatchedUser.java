@@ -0,0 +1,10 @@
+package com.userapi.repository.userprofile;
+
+/**
+ * A user's attributes as returned by the merge-patch UPDATE, read straight from its RETURNING
+ * clause rather than through a managed entity.
+ */
+public record PatchedUser(String userUuid, String username, String firstName, String middleName,
+                          String lastName, String email, String emailVerificationStatus, String phone,
+                          Integer phoneCountryCode, String phoneVerificationStatus, String status) {
+}
@@ -0,0 +1,7 @@
+package com.userapi.repository.userprofile;
+
+/**
+ * Users a bulk status change matches, and how many of them are not yet in the target status.
+ */
+public record StatusChangeCount(long matched, long changed) {
+}
@@ -0,0 +1,166 @@
+package com.userapi.repository.userprofile;
+
+import com.vladmihalcea.hibernate.type.array.StringArrayType;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StringType;
+import org.springframework.data.domain.Sort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statement text and parameter binding for the list-users filter engine.
+ *
+ * <p>Only the filters that are present appear in the SQL. Each one is bound as a single
+ * {@code text[]} parameter matched with {@code = ANY(...)} instead of an {@code IN} list whose
+ * bind-marker count varies, so the text depends on which filters are set but not on how many
+ * values they carry. Absent filters are left out rather than bound as NULL behind an
+ * {@code IS NULL OR} guard: a generic plan for such a catch-all predicate has to cover the
+ * unfiltered case and cannot use the column or GIN indexes. Sort properties come from a fixed
+ * whitelist, so the statements form a small set that stays in the driver's prepared statement
+ * cache and the server's plan cache.
+ */
+final class UserFilterQuery {
+
+    // Sort property -> user_profiles column
+    static final Map<String, String> SORT_COLUMNS = Map.of(
+            "userId", "user_uuid",
+            "username", "username",
+            "firstName", "first_name",
+            "middleName", "middle_name",
+            "lastName", "last_name",
+            "email", "email",
+            "phone", "phone",
+            "status", "status",
+            "startDate", "start_date",
+            "endDate", "end_date");
+
+    // Filter attribute -> user_profiles column
+    private static final Map<String, String> BASE_FILTERS = orderedMap(
+            "email", "email",
+            "username", "username",
+            "status", "status",
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "phone", "phone");
+
+    // Filter attribute -> job_profiles column; a user matches when one of their job profiles matches all of them
+    private static final Map<String, String> JOB_FILTERS = orderedMap(
+            "jobTitle", "title",
+            "organizationUnit", "organization_unit",
+            "reportingManager", "reporting_manager");
+
+    private static final String FROM = " FROM user_profiles up";
+    private static final String PAGE = " LIMIT :pageSize OFFSET :offset";
+
+    private UserFilterQuery() {
+    }
+
+    static String countSql(Map<String, List<String>> filters, String extensionsPredicate) {
+        return "SELECT COUNT(*)" + FROM + where(filters, extensionsPredicate);
+    }
+
+    /**
+     * Page statement for the first order of {@code sort}; user_uuid breaks ties so pages are stable.
+     *
+     * @throws IllegalArgumentException if the sort property is not in {@link #SORT_COLUMNS}
+     */
+    static String selectSql(Sort sort, Map<String, List<String>> filters, String extensionsPredicate) {
+        String select = "SELECT up.*" + FROM + where(filters, extensionsPredicate) + " ORDER BY ";
+        Sort.Order order = sort.stream().findFirst().orElse(null);
+        if (order == null) {
+            return select + "up.user_uuid" + PAGE;
+        }
+        String column = SORT_COLUMNS.get(order.getProperty());
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty()
+                    + ", expected one of " + SORT_COLUMNS.keySet().stream().sorted().collect(Collectors.joining(", ")));
+        }
+        String direction = order.isAscending() ? " ASC" : " DESC";
+        return select + "up." + column + direction + ("user_uuid".equals(column) ? "" : ", up.user_uuid") + PAGE;
+    }
+
+    // Bulk status changes: the matching users' uuids
+    static String userUuidsSql(Map<String, List<String>> filters, String extensionsPredicate) {
+        return "SELECT up.user_uuid" + FROM + where(filters, extensionsPredicate) + " ORDER BY up.user_uuid LIMIT :limit";
+    }
+
+    // Bulk status changes: how many users match and how many of them would change
+    static String statusCountSql(Map<String, List<String>> filters, String extensionsPredicate) {
+        return "SELECT COUNT(*), COUNT(*) FILTER (WHERE up.status <> :status)" + FROM + where(filters, extensionsPredicate);
+    }
+
+    /**
+     * Binds the organization, the list filters that are present and the extensions jsonpath
+     * predicate if there is one; these are exactly the parameters the statements above declare
+     * for the same {@code filters} and {@code extensionsPredicate}.
+     */
+    static void bind(NativeQuery<?> query, String orgUuid, Map<String, List<String>> filters, String extensionsPredicate) {
+        query.setParameter("orgUuid", orgUuid, StringType.INSTANCE);
+        BASE_FILTERS.keySet().forEach(name -> bindValues(query, filters, name));
+        JOB_FILTERS.keySet().forEach(name -> bindValues(query, filters, name));
+        if (extensionsPredicate != null) {
+            query.setParameter("extensionsPredicate", extensionsPredicate, StringType.INSTANCE);
+        }
+    }
+
+    /**
+     * Whether {@code name} is a base or job-profile filter attribute; anything else except
+     * extension filters is silently ignored by {@link #bind}.
+     */
+    static boolean isListFilter(String name) {
+        return BASE_FILTERS.containsKey(name) || JOB_FILTERS.containsKey(name);
+    }
+
+    // Absent and empty filters are both left out of the statement
+    private static boolean isPresent(Map<String, List<String>> filters, String name) {
+        List<String> values = filters.get(name);
+        return values != null && !values.isEmpty();
+    }
+
+    private static void bindValues(NativeQuery<?> query, Map<String, List<String>> filters, String name) {
+        if (isPresent(filters, name)) {
+            query.setParameter(name, filters.get(name).toArray(String[]::new), StringArrayType.INSTANCE);
+        }
+    }
+
+    // Filter order follows BASE_FILTERS and JOB_FILTERS, not the request, so each filter set maps to one text
+    private static String where(Map<String, List<String>> filters, String extensionsPredicate) {
+        StringBuilder where = new StringBuilder(" WHERE up.organization_uuid = :orgUuid");
+        BASE_FILTERS.forEach((name, column) -> {
+            if (isPresent(filters, name)) {
+                where.append(anyOf("up." + column, name));
+            }
+        });
+        boolean jobFiltered = extensionsPredicate != null
+                || JOB_FILTERS.keySet().stream().anyMatch(name -> isPresent(filters, name));
+        if (jobFiltered) {
+            where.append(" AND EXISTS (SELECT 1 FROM job_profiles jp")
+                    .append(" WHERE jp.job_profile_uuid = ANY(up.job_profile_uuids)");
+            JOB_FILTERS.forEach((name, column) -> {
+                if (isPresent(filters, name)) {
+                    where.append(anyOf("jp." + column, name));
+                }
+            });
+            if (extensionsPredicate != null) {
+                where.append(" AND jp.extensions_data @@ CAST(:extensionsPredicate AS jsonpath)");
+            }
+            where.append(")");
+        }
+        return where.toString();
+    }
+
+    private static String anyOf(String column, String parameter) {
+        return " AND " + column + " = ANY(CAST(:" + parameter + " AS text[]))";
+    }
+
+    private static Map<String, String> orderedMap(String... keysAndValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,12 @@
+package com.userapi.repository.userprofile;
+
+/**
+ * The identifiers that must be unique within an organization, read without loading the entity.
+ */
+public interface UserIdentifiers {
+    String getUsername();
+
+    String getEmail();
+
+    String getPhone();
+}
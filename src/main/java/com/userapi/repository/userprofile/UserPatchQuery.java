@@ -0,0 +1,88 @@
+package com.userapi.repository.userprofile;
+
+import com.userapi.models.internal.UserPatch;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Statement text and parameter binding for merge-patch updates.
+ *
+ * <p>A patch compiles to a single {@code UPDATE ... SET <changed columns> ... RETURNING}: no
+ * prior SELECT, no entity hydration, and untouched columns (notably the job_profile_uuids
+ * array) are never rewritten. SET clauses always follow the order of {@link #COLUMNS} rather
+ * than the patch, so each combination of patched attributes maps to one statement text.
+ */
+final class UserPatchQuery {
+
+    // Patch attribute -> user_profiles column, in SET order
+    static final Map<String, String> COLUMNS = orderedMap(
+            UserPatch.USERNAME, "username",
+            UserPatch.FIRST_NAME, "first_name",
+            UserPatch.MIDDLE_NAME, "middle_name",
+            UserPatch.LAST_NAME, "last_name",
+            UserPatch.STATUS, "status",
+            UserPatch.PHONE, "phone",
+            UserPatch.PHONE_COUNTRY_CODE, "phone_country_code",
+            UserPatch.PHONE_VERIFICATION_STATUS, "phone_verification_status",
+            UserPatch.EMAIL, "email",
+            UserPatch.EMAIL_VERIFICATION_STATUS, "email_verification_status");
+
+    private static final String RETURNING = " RETURNING user_uuid, username, first_name, middle_name, last_name,"
+            + " email, email_verification_status, phone, phone_country_code, phone_verification_status, status";
+
+    private UserPatchQuery() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the patch is empty or holds an attribute outside {@link #COLUMNS}
+     */
+    static String sql(Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Patch changes no attributes");
+        }
+        for (String attribute : changes.keySet()) {
+            if (!COLUMNS.containsKey(attribute)) {
+                throw new IllegalArgumentException("Unsupported patch attribute: " + attribute);
+            }
+        }
+        StringJoiner set = new StringJoiner(", ", "UPDATE user_profiles SET ", "");
+        COLUMNS.forEach((attribute, column) -> {
+            if (changes.containsKey(attribute)) {
+                set.add(column + " = :" + attribute);
+            }
+        });
+        return set + " WHERE organization_uuid = :orgUuid AND user_uuid = :userUuid" + RETURNING;
+    }
+
+    static void bind(NativeQuery<?> query, String orgUuid, String userUuid, Map<String, Object> changes) {
+        query.setParameter("orgUuid", orgUuid, StringType.INSTANCE);
+        query.setParameter("userUuid", userUuid, StringType.INSTANCE);
+        // Typed binds so a null clears the column instead of failing type inference
+        changes.forEach((attribute, value) -> {
+            if (UserPatch.PHONE_COUNTRY_CODE.equals(attribute)) {
+                query.setParameter(attribute, value, IntegerType.INSTANCE);
+            } else {
+                query.setParameter(attribute, value, StringType.INSTANCE);
+            }
+        });
+    }
+
+    static PatchedUser toPatchedUser(Object[] row) {
+        return new PatchedUser((String) row[0], (String) row[1], (String) row[2], (String) row[3],
+                (String) row[4], (String) row[5], (String) row[6], (String) row[7],
+                row[8] == null ? null : ((Number) row[8]).intValue(), (String) row[9], (String) row[10]);
+    }
+
+    private static Map<String, String> orderedMap(String... keysAndValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -3,10 +3,15 @@ package com.userapi.repository.userprofile;
 import com.userapi.models.entity.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserProfileRepository extends JpaRepository<UserProfile, String>, UserProfileRepositoryCustom {
@@ -35,4 +40,11 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, String
     @Query("SELECT u FROM UserProfile u WHERE u.organizationUuid = :orgUuid AND u.email = :email")
     UserProfile findUserByEmail(@Param("orgUuid") String orgUuid,
                                 @Param("email") String email);
+
+    long countByOrganizationUuid(String organizationUuid);
+
+    // Streams through a server-side cursor; must be consumed and closed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username AS username, u.email AS email, u.phone AS phone FROM UserProfile u WHERE u.organizationUuid = :orgUuid")
+    Stream<UserIdentifiers> streamIdentifiers(@Param("orgUuid") String orgUuid);
 }
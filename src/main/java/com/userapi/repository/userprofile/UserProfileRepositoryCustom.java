@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface UserProfileRepositoryCustom {
     Page<UserProfile> findUsersWithFilters(
@@ -13,4 +14,16 @@ public interface UserProfileRepositoryCustom {
             Map<String, List<String>> filters,
             Pageable pageable
     );
+
+    List<UserSearchHit> searchUsers(String orgUuid, String term, int candidateLimit, int limit);
+
+    Optional<PatchedUser> patchUser(String orgUuid, String userUuid, Map<String, Object> changes);
+
+    List<String> findUserUuidsWithFilters(String orgUuid, Map<String, List<String>> filters, int limit);
+
+    StatusChangeCount countStatusChangesWithFilters(String orgUuid, Map<String, List<String>> filters, String status);
+
+    StatusChangeCount countStatusChanges(String orgUuid, List<String> userUuids, String status);
+
+    Map<String, Boolean> changeStatus(String orgUuid, List<String> userUuids, String status);
 }
@@ -1,216 +1,242 @@
 package com.userapi.repository.userprofile;
 
 import com.userapi.models.entity.UserProfile;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
+import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 
 @Repository
 public class UserProfileRepositoryImpl implements UserProfileRepositoryCustom {
     private static final Logger logger = LoggerFactory.getLogger(UserProfileRepositoryImpl.class);
 
+    // Filter attributes named "extensions.<key>" match against job_profiles.extensions_data
+    private static final String EXTENSIONS_FILTER_PREFIX = "extensions.";
+    private static final Pattern NUMERIC_VALUE = Pattern.compile("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?");
+
     @PersistenceContext
     private EntityManager entityManager;
 
-    private String convertToSnakeCase(String input) {
-        return input.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
-    }
-
+    /**
+     * Runs the filter as the statement {@link UserFilterQuery} builds for the filters present.
+     * The count statement is skipped when the page itself shows the total (a short page).
+     */
     @Override
     public Page<UserProfile> findUsersWithFilters(
             String orgUuid,
             Map<String, List<String>> filters,
             Pageable pageable) {
 
-        logger.info("Starting user search for org: {}, page: {}, size: {}",
-                orgUuid, pageable.getPageNumber(), pageable.getPageSize());
-        logger.debug("Filter criteria: {}", filters);
-
-        try {
-            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-            CriteriaQuery<UserProfile> query = cb.createQuery(UserProfile.class);
-            Root<UserProfile> root = query.from(UserProfile.class);
-
-            List<Predicate> predicates = new ArrayList<>();
-            predicates.add(cb.equal(root.get("organizationUuid"), orgUuid));
-
-            // Handle base user profile filters
-            handleBaseFilters(cb, root, predicates, filters);
-
-            // Create a subquery for job profile filters
-            if (filters.containsKey("jobTitle") || filters.containsKey("organizationUnit") ||
-                    filters.containsKey("reportingManager")) {
-
-                logger.debug("Using native query for job profile filters");
-
-                // Use native PostgreSQL query for array operations
-                String nativeQuery = buildNativeQuery(filters, pageable);
-                logger.debug("Generated native query: {}", nativeQuery);
-
-                javax.persistence.Query nativeQueryObj = entityManager.createNativeQuery(nativeQuery, UserProfile.class);
-                setNativeQueryParameters(nativeQueryObj, orgUuid, filters, pageable);
-
-                List<UserProfile> results = nativeQueryObj.getResultList();
-                logger.debug("Found {} results from native query", results.size());
-
-                // Get total count
-                String countQuery = buildCountQuery(filters);
-                logger.debug("Generated count query: {}", countQuery);
-
-                javax.persistence.Query countQueryObj = entityManager.createNativeQuery(countQuery);
-                setNativeQueryParameters(countQueryObj, orgUuid, filters, null);
-
-                Long total = ((Number) countQueryObj.getSingleResult()).longValue();
-                logger.info("Total matching records: {}", total);
-
-                return new PageImpl<>(results, pageable, total);
-            }
-
-            // If no job profile filters, use the regular criteria query
-            logger.debug("Using criteria query for base filters");
-            query.select(root).where(cb.and(predicates.toArray(new Predicate[0])));
-
-            // Add sorting
-            if (pageable.getSort().isSorted()) {
-                List<Order> orders = new ArrayList<>();
-                pageable.getSort().forEach(order -> {
-                    if (order.isAscending()) {
-                        orders.add(cb.asc(root.get(order.getProperty())));
-                    } else {
-                        orders.add(cb.desc(root.get(order.getProperty())));
-                    }
-                });
-                query.orderBy(orders);
-                logger.debug("Applied sorting: {}", pageable.getSort());
-            }
-
-            TypedQuery<UserProfile> typedQuery = entityManager.createQuery(query);
-            typedQuery.setFirstResult((int) pageable.getOffset());
-            typedQuery.setMaxResults(pageable.getPageSize());
-
-            // Get total count for non-job profile filters
-            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-            Root<UserProfile> countRoot = countQuery.from(UserProfile.class);
-            countQuery.select(cb.count(countRoot)).where(cb.and(predicates.toArray(new Predicate[0])));
-            Long total = entityManager.createQuery(countQuery).getSingleResult();
-            logger.info("Total matching records: {}", total);
-
-            List<UserProfile> results = typedQuery.getResultList();
-            logger.debug("Found {} results from criteria query", results.size());
-
-            return new PageImpl<>(results, pageable, total);
-        } catch (Exception e) {
-            logger.error("Error while searching users with filters: ", e);
-            throw e;
-        }
+        logger.debug("Starting user search for org: {}, page: {}, size: {}, filters: {}",
+                orgUuid, pageable.getPageNumber(), pageable.getPageSize(), filters.keySet());
+
+        String extensionsPredicate = hasExtensionFilters(filters) ? buildExtensionsPredicate(filters) : null;
+
+        NativeQuery<?> select = entityManager
+                .createNativeQuery(UserFilterQuery.selectSql(pageable.getSort(), filters, extensionsPredicate), UserProfile.class)
+                .unwrap(NativeQuery.class);
+        UserFilterQuery.bind(select, orgUuid, filters, extensionsPredicate);
+        select.setParameter("pageSize", pageable.getPageSize(), IntegerType.INSTANCE);
+        select.setParameter("offset", pageable.getOffset(), LongType.INSTANCE);
+        @SuppressWarnings("unchecked")
+        List<UserProfile> results = (List<UserProfile>) select.getResultList();
+
+        return PageableExecutionUtils.getPage(results, pageable, () -> {
+            NativeQuery<?> count = entityManager
+                    .createNativeQuery(UserFilterQuery.countSql(filters, extensionsPredicate))
+                    .unwrap(NativeQuery.class);
+            UserFilterQuery.bind(count, orgUuid, filters, extensionsPredicate);
+            return ((Number) count.getSingleResult()).longValue();
+        });
     }
 
-    private String buildNativeQuery(Map<String, List<String>> filters, Pageable pageable) {
-        StringBuilder query = new StringBuilder(
-                "SELECT DISTINCT up.* FROM user_profiles up " +
-                        "JOIN job_profiles jp ON jp.job_profile_uuid = ANY(up.job_profile_uuids) " +
-                        "WHERE up.organization_uuid = :orgUuid"
-        );
+    /**
+     * Runs the typeahead search from {@link UserSearchQuery}. The term is normalized here so
+     * callers can pass it through as typed.
+     */
+    @Override
+    public List<UserSearchHit> searchUsers(String orgUuid, String term, int candidateLimit, int limit) {
+        String normalizedTerm = UserSearchQuery.normalize(term);
+        logger.debug("Searching users for org: {}, term length: {}, limit: {}", orgUuid, normalizedTerm.length(), limit);
 
-        if (filters.containsKey("jobTitle")) {
-            query.append(" AND jp.title IN :jobTitles");
-        }
-        if (filters.containsKey("organizationUnit")) {
-            query.append(" AND jp.organization_unit IN :organizationUnits");
-        }
-        if (filters.containsKey("reportingManager")) {
-            query.append(" AND jp.reporting_manager IN :reportingManagers");
-        }
+        NativeQuery<?> query = entityManager.createNativeQuery(UserSearchQuery.SQL).unwrap(NativeQuery.class);
+        UserSearchQuery.bind(query, orgUuid, normalizedTerm, candidateLimit, limit);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) query.getResultList();
 
-        if (pageable.getSort().isSorted()) {
-            String sortProperty = convertToSnakeCase(pageable.getSort().iterator().next().getProperty());
-            String sortDirection = pageable.getSort().iterator().next().getDirection().name();
-            query.append(" ORDER BY up.").append(sortProperty).append(" ").append(sortDirection);
+        List<UserSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new UserSearchHit((String) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (String) row[5], ((Number) row[6]).doubleValue()));
         }
-
-        query.append(" LIMIT :pageSize OFFSET :offset");
-        return query.toString();
+        return hits;
     }
 
-    private String buildCountQuery(Map<String, List<String>> filters) {
-        StringBuilder query = new StringBuilder(
-                "SELECT COUNT(DISTINCT up.user_uuid) FROM user_profiles up " +
-                        "JOIN job_profiles jp ON jp.job_profile_uuid = ANY(up.job_profile_uuids) " +
-                        "WHERE up.organization_uuid = :orgUuid"
-        );
+    /**
+     * Applies a merge patch with the single UPDATE ... RETURNING from {@link UserPatchQuery}.
+     * Empty when no user with that uuid exists in the organization.
+     */
+    @Override
+    @Transactional
+    public Optional<PatchedUser> patchUser(String orgUuid, String userUuid, Map<String, Object> changes) {
+        logger.debug("Patching user: {} in org: {}, attributes: {}", userUuid, orgUuid, changes.keySet());
+
+        NativeQuery<?> query = entityManager.createNativeQuery(UserPatchQuery.sql(changes)).unwrap(NativeQuery.class);
+        UserPatchQuery.bind(query, orgUuid, userUuid, changes);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) query.getResultList();
+        return rows.stream().findFirst().map(UserPatchQuery::toPatchedUser);
+    }
 
-        if (filters.containsKey("jobTitle")) {
-            query.append(" AND jp.title IN :jobTitles");
-        }
-        if (filters.containsKey("organizationUnit")) {
-            query.append(" AND jp.organization_unit IN :organizationUnits");
-        }
-        if (filters.containsKey("reportingManager")) {
-            query.append(" AND jp.reporting_manager IN :reportingManagers");
-        }
+    /**
+     * Uuids of the users matching {@code filters}, in uuid order, at most {@code limit}.
+     *
+     * @throws IllegalArgumentException if there are no filters, or one is unknown or has no values
+     */
+    @Override
+    public List<String> findUserUuidsWithFilters(String orgUuid, Map<String, List<String>> filters, int limit) {
+        requireSelectiveFilters(filters);
+        String extensionsPredicate = hasExtensionFilters(filters) ? buildExtensionsPredicate(filters) : null;
+        NativeQuery<?> query = entityManager
+                .createNativeQuery(UserFilterQuery.userUuidsSql(filters, extensionsPredicate))
+                .unwrap(NativeQuery.class);
+        UserFilterQuery.bind(query, orgUuid, filters, extensionsPredicate);
+        query.setParameter("limit", limit, IntegerType.INSTANCE);
+        @SuppressWarnings("unchecked")
+        List<String> userUuids = (List<String>) query.getResultList();
+        return userUuids;
+    }
 
-        return query.toString();
+    @Override
+    public StatusChangeCount countStatusChangesWithFilters(String orgUuid, Map<String, List<String>> filters, String status) {
+        requireSelectiveFilters(filters);
+        String extensionsPredicate = hasExtensionFilters(filters) ? buildExtensionsPredicate(filters) : null;
+        NativeQuery<?> query = entityManager
+                .createNativeQuery(UserFilterQuery.statusCountSql(filters, extensionsPredicate))
+                .unwrap(NativeQuery.class);
+        UserFilterQuery.bind(query, orgUuid, filters, extensionsPredicate);
+        query.setParameter("status", status, StringType.INSTANCE);
+        return UserStatusQuery.toCount((Object[]) query.getSingleResult());
     }
 
-    private void setNativeQueryParameters(
-            javax.persistence.Query query,
-            String orgUuid,
-            Map<String, List<String>> filters,
-            Pageable pageable) {
+    @Override
+    public StatusChangeCount countStatusChanges(String orgUuid, List<String> userUuids, String status) {
+        NativeQuery<?> query = entityManager.createNativeQuery(UserStatusQuery.COUNT_SQL).unwrap(NativeQuery.class);
+        UserStatusQuery.bind(query, orgUuid, userUuids, status);
+        return UserStatusQuery.toCount((Object[]) query.getSingleResult());
+    }
 
-        query.setParameter("orgUuid", orgUuid);
+    /**
+     * Sets {@code status} on a chunk of users with the single statement from {@link UserStatusQuery},
+     * committed on its own. Returns each user found in the organization and whether it changed.
+     */
+    @Override
+    @Transactional
+    public Map<String, Boolean> changeStatus(String orgUuid, List<String> userUuids, String status) {
+        NativeQuery<?> query = entityManager.createNativeQuery(UserStatusQuery.CHANGE_SQL).unwrap(NativeQuery.class);
+        UserStatusQuery.bind(query, orgUuid, userUuids, status);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) query.getResultList();
+
+        Map<String, Boolean> changed = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            changed.put((String) row[0], (Boolean) row[1]);
+        }
+        return changed;
+    }
 
-        if (filters.containsKey("jobTitle")) {
-            query.setParameter("jobTitles", filters.get("jobTitle"));
-        }
-        if (filters.containsKey("organizationUnit")) {
-            query.setParameter("organizationUnits", filters.get("organizationUnit"));
-        }
-        if (filters.containsKey("reportingManager")) {
-            query.setParameter("reportingManagers", filters.get("reportingManager"));
+    // An unknown or empty filter would be ignored and widen a bulk change to the whole organization
+    private static void requireSelectiveFilters(Map<String, List<String>> filters) {
+        if (filters.isEmpty()) {
+            throw new IllegalArgumentException("At least one filter attribute is required");
         }
+        filters.forEach((name, values) -> {
+            boolean extension = name.startsWith(EXTENSIONS_FILTER_PREFIX) && name.length() > EXTENSIONS_FILTER_PREFIX.length();
+            if (!extension && !UserFilterQuery.isListFilter(name)) {
+                throw new IllegalArgumentException("Unsupported filter attribute: " + name);
+            }
+            if (values == null || values.isEmpty()) {
+                throw new IllegalArgumentException("Filter attribute " + name + " has no values");
+            }
+        });
+    }
 
-        if (pageable != null) {
-            query.setParameter("pageSize", pageable.getPageSize());
-            query.setParameter("offset", pageable.getOffset());
-        }
+    private boolean hasExtensionFilters(Map<String, List<String>> filters) {
+        return filters.entrySet().stream()
+                .anyMatch(e -> e.getKey().startsWith(EXTENSIONS_FILTER_PREFIX)
+                        && e.getKey().length() > EXTENSIONS_FILTER_PREFIX.length()
+                        && e.getValue() != null && !e.getValue().isEmpty());
     }
 
-    private void handleBaseFilters(CriteriaBuilder cb, Root<UserProfile> root, List<Predicate> predicates, Map<String, List<String>> filters) {
-        logger.debug("Applying base filters: {}", filters.keySet());
+    /**
+     * Builds a single jsonpath predicate for all extension filters, e.g.
+     * {@code ($."level" == "Senior" || $."level" == "Staff") && $."department" == "Backend"}.
+     * Values within a key are OR-ed, keys are AND-ed. The predicate is evaluated with the
+     * {@code @@} operator, which the jsonb_path_ops GIN index on extensions_data supports.
+     */
+    private String buildExtensionsPredicate(Map<String, List<String>> filters) {
+        // Sorted so the same filter set always produces the same predicate text
+        Map<String, List<String>> extensionFilters = new TreeMap<>();
+        filters.forEach((name, values) -> {
+            if (name.startsWith(EXTENSIONS_FILTER_PREFIX) && name.length() > EXTENSIONS_FILTER_PREFIX.length()
+                    && values != null && !values.isEmpty()) {
+                extensionFilters.put(name.substring(EXTENSIONS_FILTER_PREFIX.length()), values);
+            }
+        });
+
+        List<String> keyPredicates = new ArrayList<>();
+        extensionFilters.forEach((key, values) -> {
+            List<String> valuePredicates = new ArrayList<>();
+            String path = "$." + quoteJsonPathString(key);
+            for (String value : values) {
+                valuePredicates.add(path + " == " + quoteJsonPathString(value));
+                // Filter values arrive as strings; also match numbers and booleans stored as JSON scalars
+                if ("true".equals(value) || "false".equals(value)) {
+                    valuePredicates.add(path + " == " + value);
+                } else if (NUMERIC_VALUE.matcher(value).matches()) {
+                    valuePredicates.add(path + " == " + value);
+                }
+            }
+            keyPredicates.add("(" + String.join(" || ", valuePredicates) + ")");
+        });
+        return String.join(" && ", keyPredicates);
+    }
 
-        if (filters.containsKey("email")) {
-            predicates.add(root.get("email").in(filters.get("email")));
-        }
-        if (filters.containsKey("username")) {
-            predicates.add(root.get("username").in(filters.get("username")));
-        }
-        if (filters.containsKey("status")) {
-            predicates.add(root.get("status").in(filters.get("status")));
-        }
-        if (filters.containsKey("firstName")) {
-            predicates.add(root.get("firstName").in(filters.get("firstName")));
-        }
-        if (filters.containsKey("lastName")) {
-            predicates.add(root.get("lastName").in(filters.get("lastName")));
-        }
-        if (filters.containsKey("phone")) {
-            predicates.add(root.get("phone").in(filters.get("phone")));
+    private static String quoteJsonPathString(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
         }
+        return quoted.append('"').toString();
     }
 }
@@ -0,0 +1,9 @@
+package com.userapi.repository.userprofile;
+
+/**
+ * One ranked row of the typeahead search. The score's integer part is the match tier
+ * (2 prefix, 1 substring, 0 fuzzy) and the fraction is the pg_trgm word similarity.
+ */
+public record UserSearchHit(String userUuid, String username, String firstName, String lastName,
+                            String email, String status, double score) {
+}
@@ -0,0 +1,88 @@
+package com.userapi.repository.userprofile;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+
+import java.util.Locale;
+
+/**
+ * Statement text and parameter binding for the typeahead user search.
+ *
+ * <p>Names, username and email are searched as one lower-cased document whose expression is
+ * exactly the one indexed by {@code idx_user_profiles_search_trgm} (a pg_trgm GIN index that
+ * leads with organization_uuid through btree_gin). A user matches when the document contains
+ * the term as a substring, or when one of its words is trigram-similar to the term, so both
+ * {@code LIKE} and {@code %>} are answered from the index.
+ *
+ * <p>Matches are ranked prefix first, then substring, then fuzzy, and by word similarity
+ * within each tier. Each tier is its own {@code UNION ALL} branch with its own
+ * {@code LIMIT :candidateLimit} and no ORDER BY, so a branch stops fetching rows from the index
+ * scan once it has enough instead of scoring and sorting every match of a short, common term. The
+ * branches exclude each other's matches, so a user appears once, and a term with many fuzzy
+ * matches cannot crowd its prefix matches out. Only the union, at most three times the
+ * candidate limit, is scored and sorted. {@code UserSearchPlanBenchmark} (loadTest source set)
+ * compares plans and execution times against a generated dataset.
+ */
+final class UserSearchQuery {
+
+    static final String DOCUMENT = "lower(first_name || ' ' || last_name || ' ' || username || ' ' || email)";
+
+    // A name, the username or the email starts with the term; each of them is part of DOCUMENT
+    private static final String PREFIX = "(lower(first_name || ' ' || last_name) LIKE :prefix"
+            + " OR lower(last_name) LIKE :prefix OR lower(username) LIKE :prefix OR lower(email) LIKE :prefix)";
+
+    static final String SQL =
+            "SELECT c.user_uuid, c.username, c.first_name, c.last_name, c.email, c.status,"
+            + " c.tier + word_similarity(:term, c.document) AS score"
+            + " FROM (" + tier(2, DOCUMENT + " LIKE :contains AND " + PREFIX)
+            + " UNION ALL " + tier(1, DOCUMENT + " LIKE :contains AND NOT " + PREFIX)
+            + " UNION ALL " + tier(0, DOCUMENT + " %> :term AND " + DOCUMENT + " NOT LIKE :contains")
+            + ") c"
+            + " ORDER BY score DESC, c.username"
+            + " LIMIT :limit";
+
+    private UserSearchQuery() {
+    }
+
+    /**
+     * Lower-cases the term and collapses runs of whitespace, so "  Jane   DOE" and "jane doe"
+     * search the same way.
+     */
+    static String normalize(String term) {
+        return term == null ? "" : term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is always matched literally.
+     */
+    static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length() + 4);
+        for (char c : term.toCharArray()) {
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    // One tier's candidates: the first :candidateLimit matches the index returns, unsorted
+    private static String tier(int tier, String predicate) {
+        return "(SELECT user_uuid, username, first_name, last_name, email, status,"
+                + " " + DOCUMENT + " AS document, " + tier + " AS tier"
+                + " FROM user_profiles"
+                + " WHERE organization_uuid = :orgUuid AND " + predicate
+                + " LIMIT :candidateLimit)";
+    }
+
+    static void bind(NativeQuery<?> query, String orgUuid, String normalizedTerm, int candidateLimit, int limit) {
+        String literal = escapeLike(normalizedTerm);
+        query.setParameter("orgUuid", orgUuid, StringType.INSTANCE);
+        query.setParameter("term", normalizedTerm, StringType.INSTANCE);
+        query.setParameter("prefix", literal + "%", StringType.INSTANCE);
+        query.setParameter("contains", "%" + literal + "%", StringType.INSTANCE);
+        query.setParameter("candidateLimit", candidateLimit, IntegerType.INSTANCE);
+        query.setParameter("limit", limit, IntegerType.INSTANCE);
+    }
+}
@@ -0,0 +1,42 @@
+package com.userapi.repository.userprofile;
+
+import com.vladmihalcea.hibernate.type.array.StringArrayType;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StringType;
+
+import java.util.List;
+
+/**
+ * Statement text and parameter binding for bulk status changes over a chunk of user uuids.
+ *
+ * <p>A chunk is one statement whatever its size: the uuids are bound as a single
+ * {@code text[]} and matched with {@code = ANY(...)}. {@link #CHANGE_SQL} locks the chunk's rows
+ * in uuid order (so concurrent bulk changes cannot deadlock), updates those not already in the
+ * target status and returns every row it found with whether it changed. Uuids missing from the
+ * result do not exist in the organization.
+ */
+final class UserStatusQuery {
+
+    static final String CHANGE_SQL = "WITH target AS (SELECT user_uuid, status FROM user_profiles"
+            + " WHERE organization_uuid = :orgUuid AND user_uuid = ANY(CAST(:userUuids AS text[]))"
+            + " ORDER BY user_uuid FOR UPDATE),"
+            + " updated AS (UPDATE user_profiles up SET status = :status FROM target t"
+            + " WHERE up.user_uuid = t.user_uuid AND t.status <> :status RETURNING up.user_uuid)"
+            + " SELECT t.user_uuid, u.user_uuid IS NOT NULL FROM target t LEFT JOIN updated u ON u.user_uuid = t.user_uuid";
+
+    static final String COUNT_SQL = "SELECT COUNT(*), COUNT(*) FILTER (WHERE status <> :status) FROM user_profiles"
+            + " WHERE organization_uuid = :orgUuid AND user_uuid = ANY(CAST(:userUuids AS text[]))";
+
+    private UserStatusQuery() {
+    }
+
+    static void bind(NativeQuery<?> query, String orgUuid, List<String> userUuids, String status) {
+        query.setParameter("orgUuid", orgUuid, StringType.INSTANCE);
+        query.setParameter("userUuids", userUuids.toArray(String[]::new), StringArrayType.INSTANCE);
+        query.setParameter("status", status, StringType.INSTANCE);
+    }
+
+    static StatusChangeCount toCount(Object[] row) {
+        return new StatusChangeCount(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+    }
+}
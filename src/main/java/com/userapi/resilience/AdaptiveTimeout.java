@@ -0,0 +1,55 @@
+package com.userapi.resilience;
+
+import java.time.Duration;
+
+/**
+ * Per-operation timeout derived from observed latency, using the smoothed mean and deviation
+ * estimator TCP uses for its retransmission timeout: {@code timeout = srtt + 4 * rttvar},
+ * clamped to {@code [min, max]}.
+ *
+ * <p>Only successful calls are sampled. Each timeout doubles a backoff multiplier (reset on the
+ * next success) so that a dependency which has become permanently slower is not cut off
+ * forever by an estimate learned while it was fast.
+ */
+public class AdaptiveTimeout {
+
+    private final long minNanos;
+    private final long maxNanos;
+
+    private double srttNanos = -1;
+    private double rttvarNanos;
+    private int backoff = 1;
+
+    public AdaptiveTimeout(Duration min, Duration max) {
+        this.minNanos = min.toNanos();
+        this.maxNanos = max.toNanos();
+    }
+
+    /**
+     * Timeout for the next call; {@code max} until the first successful call is observed.
+     */
+    public synchronized Duration current() {
+        if (srttNanos < 0) {
+            return Duration.ofNanos(maxNanos);
+        }
+        double estimate = (srttNanos + 4 * rttvarNanos) * backoff;
+        return Duration.ofNanos(Math.max(minNanos, Math.min(maxNanos, (long) estimate)));
+    }
+
+    public synchronized void onSuccess(long elapsedNanos) {
+        if (srttNanos < 0) {
+            srttNanos = elapsedNanos;
+            rttvarNanos = elapsedNanos / 2.0;
+        } else {
+            rttvarNanos = 0.75 * rttvarNanos + 0.25 * Math.abs(srttNanos - elapsedNanos);
+            srttNanos = 0.875 * srttNanos + 0.125 * elapsedNanos;
+        }
+        backoff = 1;
+    }
+
+    public synchronized void onTimeout() {
+        if (backoff < 64) {
+            backoff *= 2;
+        }
+    }
+}
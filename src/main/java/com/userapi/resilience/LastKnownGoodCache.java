@@ -0,0 +1,52 @@
+package com.userapi.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded cache of the last successful response per key, used to answer reads while a
+ * dependency is failing or its circuit breaker is open. Entries older than {@code ttl} are
+ * not served; the oldest entries are evicted once {@code maxEntries} is reached.
+ */
+public class LastKnownGoodCache {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    public LastKnownGoodCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    LastKnownGoodCache(int maxEntries, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized void put(String key, Object value) {
+        // Re-insert so that refreshed keys move to the young end of the eviction order
+        entries.remove(key);
+        entries.put(key, new Entry(value, clock.millis()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> Optional<T> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || clock.millis() - entry.storedAtMillis > ttl.toMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of((T) entry.value);
+    }
+
+    private record Entry(Object value, long storedAtMillis) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.userapi.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hedges idempotent reads: if the first attempt has not answered within the operation's recent
+ * latency percentile ({@code roles.service.hedging.percentile}), a second attempt is sent and
+ * whichever signals first wins; the other is cancelled.
+ *
+ * <p>Extra load is capped by a token budget: every call earns {@code max-ratio} tokens (up to
+ * {@code burst}) and every hedge spends one, so hedges stay below that fraction of traffic even
+ * when the dependency is uniformly slow. Hedges are counted in {@code user.api.dependency.hedges}
+ * tagged with {@code operation} and {@code outcome} ({@code won}, {@code lost}, {@code error},
+ * {@code throttled}).
+ */
+@Component
+public class RequestHedger {
+
+    static final String HEDGE_COUNTER = "user.api.dependency.hedges";
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final double maxRatio;
+    private final double burst;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    private double tokens;
+
+    public RequestHedger(
+            MeterRegistry meterRegistry,
+            @Value("${roles.service.hedging.enabled:false}") boolean enabled,
+            @Value("${roles.service.hedging.percentile:0.95}") double percentile,
+            @Value("${roles.service.hedging.min-delay:20ms}") Duration minDelay,
+            @Value("${roles.service.hedging.max-ratio:0.1}") double maxRatio,
+            @Value("${roles.service.hedging.burst:10}") double burst) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.maxRatio = maxRatio;
+        this.burst = burst;
+        this.tokens = burst;
+    }
+
+    /**
+     * Subscribes to {@code call} and, if it is still pending after the hedge delay, subscribes
+     * to it a second time. {@code call} must be safe to repeat.
+     */
+    public <T> Mono<T> hedge(String operation, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            LatencyWindow window = windows.computeIfAbsent(operation, key -> new LatencyWindow(256));
+            earn();
+            Mono<T> primary = timed(call, window);
+            long delayNanos = window.percentile(percentile);
+            if (delayNanos < 0) {
+                return primary;
+            }
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(Math.max(delayNanos, minDelay.toNanos())))
+                    .flatMap(tick -> {
+                        if (!trySpend()) {
+                            counter(operation, "throttled").increment();
+                            return Mono.never();
+                        }
+                        return timed(call, window)
+                                .doOnSuccess(value -> counter(operation, "won").increment())
+                                .doOnError(error -> counter(operation, "error").increment())
+                                .doOnCancel(() -> counter(operation, "lost").increment());
+                    });
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    private static <T> Mono<T> timed(Mono<T> call, LatencyWindow window) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            // A cancelled attempt was slower than the winner; its elapsed time is a lower bound
+            return call.doFinally(signal -> {
+                if (signal != SignalType.ON_ERROR) {
+                    window.record(System.nanoTime() - start);
+                }
+            });
+        });
+    }
+
+    private synchronized void earn() {
+        tokens = Math.min(burst, tokens + maxRatio);
+    }
+
+    private synchronized boolean trySpend() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return Counter.builder(HEDGE_COUNTER)
+                .description("Hedged requests sent to downstream services")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ring buffer of recent latencies; the percentile is recomputed every {@code capacity / 8}
+     * samples rather than on every call.
+     */
+    static final class LatencyWindow {
+        private final long[] samples;
+        private final int refreshEvery;
+        private int next;
+        private int size;
+        private int sinceRefresh;
+        private long cachedPercentile = -1;
+        private double cachedFor = -1;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+            this.refreshEvery = Math.max(1, capacity / 8);
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            sinceRefresh++;
+        }
+
+        /**
+         * @return the latency at {@code p} in nanoseconds, or -1 until enough samples are seen
+         */
+        synchronized long percentile(double p) {
+            if (size < MIN_SAMPLES) {
+                return -1;
+            }
+            if (cachedPercentile < 0 || sinceRefresh >= refreshEvery || cachedFor != p) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                cachedPercentile = sorted[Math.min(size - 1, (int) Math.ceil(p * size) - 1)];
+                cachedFor = p;
+                sinceRefresh = 0;
+            }
+            return cachedPercentile;
+        }
+    }
+}
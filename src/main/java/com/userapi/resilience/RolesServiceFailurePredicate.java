@@ -0,0 +1,25 @@
+package com.userapi.resilience;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Failures that indicate the roles service itself is unhealthy: timeouts, connection errors and
+ * 5xx responses. 4xx responses (unknown role, validation errors) are the caller's problem and
+ * neither trip the circuit breaker nor fall back to cached responses.
+ *
+ * <p>Referenced from {@code resilience4j.circuitbreaker.configs.roles-service.record-failure-predicate}.
+ */
+public class RolesServiceFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return error instanceof TimeoutException || error instanceof WebClientRequestException;
+    }
+}
@@ -0,0 +1,115 @@
+package com.userapi.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Circuit breaker, bulkhead and adaptive timeout in front of each roles service operation.
+ *
+ * <p>Every operation gets its own breaker and bulkhead named {@code roles-service-<operation>},
+ * built from the {@code roles-service} configs under {@code resilience4j.*}, so a slow
+ * permission endpoint cannot exhaust capacity for role reads. Breaker state is available at
+ * {@code /actuator/circuitbreakers} and as {@code resilience4j.circuitbreaker.*} metrics.
+ *
+ * <p>Reads go through {@link #read}: successful responses are remembered, and while the
+ * service is failing (breaker open, bulkhead full, timeout, connection error or 5xx) the last
+ * known good response for the same arguments is served instead of an error.
+ */
+@Component
+@Slf4j
+public class RolesServiceGuard {
+
+    static final String CONFIG_NAME = "roles-service";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final LastKnownGoodCache lastKnownGood;
+    private final RolesServiceFailurePredicate serviceFailure = new RolesServiceFailurePredicate();
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public RolesServiceGuard(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            @Value("${roles.service.resilience.timeout.min:250ms}") Duration minTimeout,
+            @Value("${roles.service.resilience.timeout.max:5s}") Duration maxTimeout,
+            @Value("${roles.service.resilience.last-known-good.max-entries:10000}") int lastKnownGoodEntries,
+            @Value("${roles.service.resilience.last-known-good.ttl:10m}") Duration lastKnownGoodTtl) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+        this.lastKnownGood = new LastKnownGoodCache(lastKnownGoodEntries, lastKnownGoodTtl);
+    }
+
+    /**
+     * Guards a call whose result must not be replayed (writes).
+     */
+    public <T> Mono<T> call(String operation, Mono<T> call) {
+        Operation op = operation(operation);
+        Mono<T> timed = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.timeout(op.timeout.current())
+                    .doOnSuccess(result -> op.timeout.onSuccess(System.nanoTime() - start))
+                    .doOnError(TimeoutException.class, e -> op.timeout.onTimeout());
+        });
+        return timed
+                .transformDeferred(CircuitBreakerOperator.of(op.circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(op.bulkhead));
+    }
+
+    /**
+     * Guards an idempotent read, falling back to the last successful response for {@code key}
+     * while the roles service is unavailable.
+     */
+    public <T> Mono<T> read(String operation, String key, Mono<T> call) {
+        String cacheKey = operation + ':' + key;
+        return call(operation, call)
+                .doOnNext(result -> lastKnownGood.put(cacheKey, result))
+                .onErrorResume(this::isUnavailable, error -> lastKnownGood.<T>get(cacheKey)
+                        .map(cached -> {
+                            log.warn("Roles service {} unavailable ({}), serving last known good response",
+                                    operation, error.getClass().getSimpleName());
+                            return Mono.just(cached);
+                        })
+                        .orElseGet(() -> Mono.error(error)));
+    }
+
+    private boolean isUnavailable(Throwable error) {
+        return error instanceof CallNotPermittedException
+                || error instanceof BulkheadFullException
+                || serviceFailure.test(error);
+    }
+
+    private Operation operation(String name) {
+        return operations.computeIfAbsent(name, key -> {
+            String instanceName = CONFIG_NAME + "-" + key;
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(instanceName,
+                    circuitBreakerRegistry.getConfiguration(CONFIG_NAME)
+                            .orElseGet(circuitBreakerRegistry::getDefaultConfig));
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(instanceName,
+                    bulkheadRegistry.getConfiguration(CONFIG_NAME)
+                            .orElseGet(bulkheadRegistry::getDefaultConfig));
+            return new Operation(circuitBreaker, bulkhead, new AdaptiveTimeout(minTimeout, maxTimeout));
+        });
+    }
+
+    private record Operation(CircuitBreaker circuitBreaker, Bulkhead bulkhead, AdaptiveTimeout timeout) {
+    }
+}
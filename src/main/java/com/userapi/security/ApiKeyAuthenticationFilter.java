@@ -101,8 +101,9 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
      * Check if the endpoint is public and doesn't require authentication
      */
     private boolean isPublicEndpoint(String requestUri) {
-        return requestUri.startsWith("/actuator/") || 
-               requestUri.equals("/actuator") ||
+        return requestUri.equals("/actuator/health") ||
+               requestUri.startsWith("/actuator/health/") ||
+               requestUri.equals("/actuator/info") ||
                requestUri.startsWith("/health") ||
                requestUri.equals("/") ||
                requestUri.startsWith("/swagger") ||
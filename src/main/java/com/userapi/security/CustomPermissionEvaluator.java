@@ -8,13 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.io.Serializable;
-import java.time.Duration;
-import java.util.List;
 
 /**
- * Custom permission evaluator that integrates with the roles and permissions service
+ * Custom permission evaluator that integrates with the roles and permissions service.
+ * Timeouts and fast-fail behaviour for roles service calls live in
+ * {@link com.userapi.resilience.RolesServiceGuard}, not here.
  */
 @Component
 @RequiredArgsConstructor
@@ -31,76 +32,53 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
             return false;
         }
 
-        String userUuid = userContextService.getCurrentUserUuid();
-        String orgUuid = userContextService.getCurrentOrgUuid();
-        
-        if (userUuid == null || orgUuid == null) {
-            log.warn("Missing user context - User UUID: {}, Org UUID: {}", userUuid, orgUuid);
-            return false;
-        }
-
         if (targetDomainObject == null) {
             log.warn("Target domain object is null - cannot determine resource for permission check");
             return false;
         }
-        
-        String resource = targetDomainObject.toString();
-        String action = permission.toString();
+
+        Boolean result = evaluatePermission(
+                userContextService.getCurrentUserUuid(),
+                userContextService.getCurrentOrgUuid(),
+                targetDomainObject.toString(),
+                permission.toString())
+                .block();
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Non-blocking permission check for callers that are already inside a reactive chain.
+     * The roles service is asked first; if it denies or fails, the user's role policies are
+     * checked for wildcard grants. Errors resolve to {@code false}, never to an error signal.
+     */
+    public Mono<Boolean> evaluatePermission(String userUuid, String orgUuid, String resourceType, String permission) {
+        if (userUuid == null || orgUuid == null) {
+            log.warn("Missing user context - User UUID: {}, Org UUID: {}", userUuid, orgUuid);
+            return Mono.just(false);
+        }
 
         // Map User Management Service permissions to Roles Service format
-        resource = mapResourceToRolesService(resource);
-        action = mapActionToRolesService(action);
+        String resource = mapResourceToRolesService(resourceType);
+        String action = mapActionToRolesService(permission);
 
-        log.debug("Checking permission - User: {}, Org: {}, Resource: {}, Action: {}", 
+        log.debug("Checking permission - User: {}, Org: {}, Resource: {}, Action: {}",
                  userUuid, orgUuid, resource, action);
-        
-        // Debug: Check what roles the user actually has
-        try {
-            log.debug("DEBUG: Checking user roles for user: {} in org: {}", userUuid, orgUuid);
-            List<RoleResponse> userRoles = rolesServiceClient.getUserRoles(userUuid, orgUuid)
-                .timeout(Duration.ofSeconds(5))
-                .block();
-            if (userRoles != null && !userRoles.isEmpty()) {
-                log.info("DEBUG: User {} has {} roles assigned: {}", userUuid, userRoles.size(), 
-                    userRoles.stream().map(RoleResponse::getRoleName).collect(java.util.stream.Collectors.toList()));
-                // Log the first role's policy for debugging
-                if (!userRoles.isEmpty()) {
-                    RoleResponse firstRole = userRoles.get(0);
-                    log.info("DEBUG: First role '{}' policy: {}", firstRole.getRoleName(), firstRole.getPolicy());
-                }
-            } else {
-                log.warn("DEBUG: User {} has NO roles assigned in org {}", userUuid, orgUuid);
-            }
-        } catch (Exception e) {
-            log.error("DEBUG: Could not check user roles: {}", e.getMessage());
-        }
 
-        try {
-            // First, try the external roles service
-            Boolean hasPermission = rolesServiceClient
+        return rolesServiceClient
                 .hasPermission(userUuid, orgUuid, resource, action)
-                .timeout(Duration.ofSeconds(5))
-                .block();
-
-            boolean result = Boolean.TRUE.equals(hasPermission);
-            log.debug("External roles service permission check result: {} for user: {} on resource: {} with action: {}", 
-                     result, userUuid, resource, action);
-            
-            // If external service denies permission, check locally for wildcard permissions
-            if (!result) {
-                log.debug("External service denied permission, checking local wildcard permissions");
-                result = checkLocalWildcardPermission(userUuid, orgUuid, resource, action);
-            }
-            
-            return result;
-        } catch (Exception e) {
-            log.error("Error checking permission for user: {} on resource: {} with action: {} - {}", 
-                     userUuid, resource, action, e.getMessage(), e);
-            
-            // If external service fails, fall back to local wildcard check
-            log.debug("External service failed, falling back to local wildcard permission check");
-            return checkLocalWildcardPermission(userUuid, orgUuid, resource, action);
-        }
+                .map(Boolean.TRUE::equals)
+                .defaultIfEmpty(false)
+                .doOnNext(result -> log.debug("External roles service permission check result: {} for user: {} on resource: {} with action: {}",
+                         result, userUuid, resource, action))
+                .onErrorResume(e -> {
+                    log.error("Error checking permission for user: {} on resource: {} with action: {} - {}",
+                             userUuid, resource, action, e.getMessage(), e);
+                    return Mono.just(false);
+                })
+                // If external service denies permission or fails, check locally for wildcard permissions
+                .flatMap(result -> result
+                        ? Mono.just(true)
+                        : checkLocalWildcardPermission(userUuid, orgUuid, resource, action));
     }
 
     @Override
@@ -143,7 +121,6 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
             // Call the roles service to check permission
             Boolean hasPermission = rolesServiceClient
                 .hasPermission(userUuid, orgUuid, resource, action)
-                .timeout(Duration.ofSeconds(5))
                 .block();
 
             boolean result = Boolean.TRUE.equals(hasPermission);
@@ -175,7 +152,6 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
         try {
             Boolean hasPermission = rolesServiceClient
                 .hasPermission(userUuid, orgUuid, resource, action)
-                .timeout(Duration.ofSeconds(5))
                 .block();
 
             return Boolean.TRUE.equals(hasPermission);
@@ -188,7 +164,7 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
     /**
      * Map User Management Service resource names to Roles Service format
      */
-    private String mapResourceToRolesService(String resource) {
+    String mapResourceToRolesService(String resource) {
         if (resource == null) {
             log.error("Resource is null - cannot map to roles service format");
             throw new IllegalArgumentException("Resource cannot be null");
@@ -226,7 +202,7 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
     /**
      * Map User Management Service action names to Roles Service format
      */
-    private String mapActionToRolesService(String action) {
+    String mapActionToRolesService(String action) {
         if (action == null) return "read";
 
         switch (action.toUpperCase()) {
@@ -254,44 +230,41 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
     /**
      * Check if user has wildcard permission locally by examining their roles and policies
      */
-    private boolean checkLocalWildcardPermission(String userUuid, String orgUuid, String resource, String action) {
-        try {
-            log.debug("Checking local wildcard permissions for user: {} on resource: {} with action: {}", 
-                     userUuid, resource, action);
-            
-            // Get user's roles
-            List<RoleResponse> userRoles = rolesServiceClient.getUserRoles(userUuid, orgUuid)
-                .timeout(Duration.ofSeconds(5))
-                .block();
-            
-            if (userRoles == null || userRoles.isEmpty()) {
-                log.debug("No roles found for user: {} in organization: {}", userUuid, orgUuid);
-                return false;
-            }
-            
-            // Check each role's policy for wildcard permissions
-            for (RoleResponse role : userRoles) {
-                if (hasWildcardPermissionInPolicy(role.getPolicy().toString(), action)) {
-                    log.info("Wildcard permission found in role '{}' for user: {} on action: {}", 
-                            role.getRoleName(), userUuid, action);
-                    return true;
-                }
-            }
-            
-            log.debug("No wildcard permissions found for user: {} on action: {}", userUuid, action);
-            return false;
-            
-        } catch (Exception e) {
-            log.error("Error checking local wildcard permission for user: {} on action: {} - {}", 
-                     userUuid, action, e.getMessage(), e);
-            return false;
-        }
+    private Mono<Boolean> checkLocalWildcardPermission(String userUuid, String orgUuid, String resource, String action) {
+        log.debug("Checking local wildcard permissions for user: {} on resource: {} with action: {}",
+                 userUuid, resource, action);
+
+        return rolesServiceClient.getUserRoles(userUuid, orgUuid)
+                .map(userRoles -> {
+                    if (userRoles == null || userRoles.isEmpty()) {
+                        log.debug("No roles found for user: {} in organization: {}", userUuid, orgUuid);
+                        return false;
+                    }
+
+                    // Check each role's policy for wildcard permissions
+                    for (RoleResponse role : userRoles) {
+                        if (role.getPolicy() != null && hasWildcardPermissionInPolicy(role.getPolicy().toString(), action)) {
+                            log.debug("Wildcard permission found in role '{}' for user: {} on action: {}",
+                                    role.getRoleName(), userUuid, action);
+                            return true;
+                        }
+                    }
+
+                    log.debug("No wildcard permissions found for user: {} on action: {}", userUuid, action);
+                    return false;
+                })
+                .defaultIfEmpty(false)
+                .onErrorResume(e -> {
+                    log.error("Error checking local wildcard permission for user: {} on action: {} - {}",
+                             userUuid, action, e.getMessage(), e);
+                    return Mono.just(false);
+                });
     }
-    
+
     /**
      * Check if a role policy contains wildcard permission for the given action
      */
-    private boolean hasWildcardPermissionInPolicy(String policyJson, String action) {
+    boolean hasWildcardPermissionInPolicy(String policyJson, String action) {
         try {
             if (policyJson == null || policyJson.trim().isEmpty()) {
                 return false;
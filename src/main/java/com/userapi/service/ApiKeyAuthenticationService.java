@@ -1,5 +1,6 @@
 package com.userapi.service;
 
+import com.userapi.metrics.DependencyMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,8 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
+import static com.userapi.metrics.DependencyMetrics.CLIENT_MANAGEMENT;
+
 /**
  * Service for validating API keys with the Client Management Service
  */
@@ -20,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 public class ApiKeyAuthenticationService {
 
     private final WebClient.Builder webClientBuilder;
+    private final DependencyMetrics dependencyMetrics;
 
     @Value("${client-management.service.url:http://localhost:8081}")
     private String clientManagementServiceUrl;
@@ -71,7 +75,7 @@ public class ApiKeyAuthenticationService {
                         log.error("Error calling validation endpoint: {}", e.getMessage(), e));
 
             // Convert Mono to CompletableFuture and return the validation result
-            return validationMono.toFuture()
+            return dependencyMetrics.time(CLIENT_MANAGEMENT, "validateApiKey", validationMono).toFuture()
                     .thenApply(response -> {
                         boolean isValid = response.isValid();
                         log.debug("API key validation result: {}", isValid);
@@ -0,0 +1,330 @@
+package com.userapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.exception.IdempotencyKeyException;
+import com.userapi.models.entity.IdempotencyRecord;
+import com.userapi.repository.idempotency.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.userapi.common.constants.HeaderConstants.IDEMPOTENT_REPLAYED;
+
+/**
+ * Idempotency-Key handling for create endpoints.
+ *
+ * <p>The first request with a key claims it with a single insert into {@code idempotency_keys},
+ * runs the operation and stores the status and body it answered with for
+ * {@code user.api.idempotency.ttl}. A duplicate that arrives while the original is running waits
+ * for it: on the same instance through the original's future, on another instance by polling the
+ * row. A duplicate that arrives later is answered from the row without touching the user tables.
+ * The same key with a different body is rejected with {@code 422}.
+ *
+ * <p>Server errors are not stored; the key is released so a retry runs the operation again. A
+ * claim whose request died without completing lapses after {@code user.api.idempotency.lease}.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String CREATE_USER = "create-user";
+    public static final String BOOTSTRAP_ORGANIZATION_ADMIN = "bootstrap-organization-admin";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService pollExecutor;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final Duration cleanupInterval;
+    private final int cleanupBatchSize;
+    private final Clock clock;
+    private final Map<IdempotencyRecord.Key, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    private Disposable cleaner;
+
+    @Autowired
+    public IdempotencyService(
+            IdempotencyRecordRepository repository,
+            ObjectMapper objectMapper,
+            @Qualifier("serviceExecutor") ExecutorService pollExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${user.api.idempotency.ttl:24h}") Duration ttl,
+            @Value("${user.api.idempotency.lease:30s}") Duration lease,
+            @Value("${user.api.idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${user.api.idempotency.poll-interval:100ms}") Duration pollInterval,
+            @Value("${user.api.idempotency.cleanup-interval:10m}") Duration cleanupInterval,
+            @Value("${user.api.idempotency.cleanup-batch-size:1000}") int cleanupBatchSize) {
+        this(repository, objectMapper, pollExecutor, meterRegistry, ttl, lease, waitTimeout, pollInterval,
+                cleanupInterval, cleanupBatchSize, Clock.systemUTC());
+    }
+
+    IdempotencyService(IdempotencyRecordRepository repository, ObjectMapper objectMapper, ExecutorService pollExecutor,
+                       MeterRegistry meterRegistry, Duration ttl, Duration lease, Duration waitTimeout,
+                       Duration pollInterval, Duration cleanupInterval, int cleanupBatchSize, Clock clock) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.pollExecutor = pollExecutor;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.cleanupInterval = cleanupInterval;
+        this.cleanupBatchSize = cleanupBatchSize;
+        this.clock = clock;
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.rejected = requests(meterRegistry, "rejected");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("user.api.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCleanup() {
+        cleaner = Flux.interval(cleanupInterval, cleanupInterval)
+                .concatMap(tick -> Mono.fromCallable(this::deleteExpired)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(error -> {
+                            log.warn("Failed to delete expired idempotency keys: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopCleanup() {
+        if (cleaner != null) {
+            cleaner.dispose();
+        }
+    }
+
+    /**
+     * Runs {@code action} once per organization, operation and key, answering duplicates with
+     * the first response. {@code request} is the body the key is bound to.
+     *
+     * <p>{@code action} must return the operation's own outcome, without the caller's deadline:
+     * the claim is held until that future completes and its response is what gets stored. A
+     * caller that stops waiting (request timeout) applies its deadline to the returned future,
+     * which neither releases the key nor keeps the outcome from being stored.
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> execute(
+            String orgUuid,
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<CompletableFuture<ResponseEntity<T>>> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        IdempotencyRecord.Key key = new IdempotencyRecord.Key(orgUuid, operation, idempotencyKey);
+        String requestHash = hash(request);
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight original = inFlight.putIfAbsent(key, mine);
+        if (original != null) {
+            // Duplicate of a request running on this instance: share its outcome
+            checkSameRequest(original.requestHash(), requestHash);
+            replayed.increment();
+            return original.response().copy()
+                    .orTimeout(waitTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .thenApply(stored -> replay(stored, responseType));
+        }
+
+        boolean claimed;
+        try {
+            LocalDateTime now = now();
+            claimed = repository.claim(orgUuid, operation, idempotencyKey, requestHash,
+                    now.plus(lease), now.plus(ttl), now) == 1;
+        } catch (RuntimeException e) {
+            finish(key, mine, null, e);
+            throw e;
+        }
+        if (!claimed) {
+            // Completed earlier, or running on another instance
+            awaitStored(key, requestHash, System.nanoTime() + waitTimeout.toNanos(), mine);
+            replayed.increment();
+            return mine.response().copy().thenApply(stored -> replay(stored, responseType));
+        }
+
+        executed.increment();
+        CompletableFuture<ResponseEntity<T>> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            release(key);
+            finish(key, mine, null, e);
+            throw e;
+        }
+        // Recorded on the operation's future itself; the caller only ever sees a copy, so completing
+        // that copy early (timeout) cannot skip the bookkeeping below
+        CompletableFuture<ResponseEntity<T>> recorded = result.whenComplete((response, error) -> {
+            if (error != null) {
+                release(key);
+                finish(key, mine, null, error);
+                return;
+            }
+            StoredResponse stored = new StoredResponse(response.getStatusCodeValue(), toJson(response.getBody()));
+            if (response.getStatusCode().is5xxServerError()) {
+                release(key);
+            } else {
+                store(key, stored);
+            }
+            finish(key, mine, stored, null);
+        });
+        return recorded.copy();
+    }
+
+    /**
+     * Deletes stored responses past their TTL in batches; returns how many rows were removed.
+     */
+    public int deleteExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = repository.deleteExpired(now(), cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+        if (total > 0) {
+            log.debug("Deleted {} expired idempotency keys", total);
+        }
+        return total;
+    }
+
+    private void awaitStored(IdempotencyRecord.Key key, String requestHash, long deadlineNanos, InFlight target) {
+        try {
+            Optional<IdempotencyRecord> record = repository.findClaim(
+                    key.getOrganizationUuid(), key.getOperation(), key.getIdempotencyKey());
+            if (record.isEmpty()) {
+                throw new IdempotencyKeyException(
+                        "The original request with this Idempotency-Key failed; retry it", HttpStatus.CONFLICT);
+            }
+            checkSameRequest(record.get().getRequestHash(), requestHash);
+            if (IdempotencyRecord.COMPLETED.equals(record.get().getStatus())) {
+                finish(key, target, new StoredResponse(record.get().getResponseStatus(), record.get().getResponseBody()), null);
+                return;
+            }
+            if (System.nanoTime() > deadlineNanos) {
+                throw new IdempotencyKeyException(
+                        "A request with this Idempotency-Key is still in progress", HttpStatus.CONFLICT);
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(pollInterval.toMillis(), TimeUnit.MILLISECONDS, pollExecutor);
+            delayed.execute(() -> awaitStored(key, requestHash, deadlineNanos, target));
+        } catch (RuntimeException e) {
+            finish(key, target, null, e);
+        }
+    }
+
+    private void checkSameRequest(String expectedHash, String requestHash) {
+        if (!expectedHash.equals(requestHash)) {
+            rejected.increment();
+            throw new IdempotencyKeyException(
+                    "Idempotency-Key was already used with a different request body", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    private void store(IdempotencyRecord.Key key, StoredResponse stored) {
+        try {
+            repository.complete(key.getOrganizationUuid(), key.getOperation(), key.getIdempotencyKey(),
+                    stored.status(), stored.body(), now().plus(ttl));
+        } catch (RuntimeException e) {
+            // The client still gets its response; a retry after the lease runs the operation again
+            log.warn("Failed to store response for idempotency key {}: {}", key.getIdempotencyKey(), e.getMessage());
+        }
+    }
+
+    private void release(IdempotencyRecord.Key key) {
+        try {
+            repository.release(key.getOrganizationUuid(), key.getOperation(), key.getIdempotencyKey());
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key {}: {}", key.getIdempotencyKey(), e.getMessage());
+        }
+    }
+
+    private void finish(IdempotencyRecord.Key key, InFlight entry, StoredResponse stored, Throwable error) {
+        inFlight.remove(key, entry);
+        if (error != null) {
+            entry.response().completeExceptionally(error);
+        } else {
+            entry.response().complete(stored);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, Class<T> responseType) {
+        try {
+            T body = stored.body() == null ? null : objectMapper.readValue(stored.body(), responseType);
+            return ResponseEntity.status(stored.status()).header(IDEMPOTENT_REPLAYED, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not readable", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response is not serializable", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(
+                    objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash request for idempotency", e);
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> response) {
+    }
+
+    private record StoredResponse(int status, String body) {
+    }
+}
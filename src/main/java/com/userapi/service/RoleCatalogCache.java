@@ -0,0 +1,226 @@
+package com.userapi.service;
+
+import com.userapi.models.external.roles.RoleResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of the role catalog used by bootstrap and role assignment flows.
+ *
+ * <p>The system-managed role list is loaded when the application is ready and refreshed every
+ * {@code roles.catalog.refresh-interval}; the admin role is resolved once per refresh instead of
+ * on every assignment. Each organization's well-known Admin and User role uuids are recorded when
+ * bootstrap creates them, or resolved with a single {@code getOrganizationRoles} call on a miss,
+ * and kept for {@code roles.catalog.org-ttl}.
+ */
+@Service
+@Slf4j
+public class RoleCatalogCache {
+
+    public static final String ADMIN_ROLE = "Admin";
+    public static final String USER_ROLE = "User";
+    private static final String SYSTEM_MANAGED = "SYSTEM_MANAGED";
+
+    private final RolesServiceClient rolesServiceClient;
+    private final Duration refreshInterval;
+    private final Duration orgTtl;
+    private final Clock clock;
+    private final Map<String, OrgRoles> orgRoles = new ConcurrentHashMap<>();
+
+    private volatile SystemCatalog systemCatalog;
+    private Disposable refresher;
+
+    public RoleCatalogCache(
+            RolesServiceClient rolesServiceClient,
+            @Value("${roles.catalog.refresh-interval:5m}") Duration refreshInterval,
+            @Value("${roles.catalog.org-ttl:15m}") Duration orgTtl) {
+        this(rolesServiceClient, refreshInterval, orgTtl, Clock.systemUTC());
+    }
+
+    RoleCatalogCache(RolesServiceClient rolesServiceClient, Duration refreshInterval, Duration orgTtl, Clock clock) {
+        this.rolesServiceClient = rolesServiceClient;
+        this.refreshInterval = refreshInterval;
+        this.orgTtl = orgTtl;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        refresher = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refreshSystemRoles()
+                        .onErrorResume(error -> {
+                            log.warn("Failed to refresh system-managed role catalog: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefreshing() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    /**
+     * Uuid of the Admin role for the organization: the organization's own Admin role if it has
+     * one, otherwise the admin role from the system-managed catalog. A failed organization lookup
+     * also falls back to the system-managed catalog rather than failing the assignment.
+     */
+    public Mono<String> adminRoleUuid(String organizationUuid) {
+        return orgRoles(organizationUuid, OrgRoles::adminRoleUuid)
+                .map(roles -> Optional.ofNullable(roles.adminRoleUuid()))
+                .onErrorResume(error -> {
+                    log.warn("Failed to look up roles for organization {}, using the system-managed admin role: {}",
+                            organizationUuid, error.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(adminRoleUuid -> adminRoleUuid.map(Mono::just).orElseGet(this::systemAdminRoleUuid));
+    }
+
+    /**
+     * Uuid of the organization's User role, preferring a system-managed role over a
+     * customer-managed one with the same name.
+     */
+    public Mono<String> userRoleUuid(String organizationUuid) {
+        return orgRoles(organizationUuid, OrgRoles::userRoleUuid)
+                .flatMap(roles -> Mono.justOrEmpty(roles.userRoleUuid()));
+    }
+
+    /**
+     * Uuid of the organization's own Admin or User role, without falling back to the
+     * system-managed catalog; empty if the organization does not have one.
+     */
+    public Mono<String> organizationRoleUuid(String organizationUuid, String roleName) {
+        Function<OrgRoles, String> uuid = ADMIN_ROLE.equals(roleName) ? OrgRoles::adminRoleUuid : OrgRoles::userRoleUuid;
+        return orgRoles(organizationUuid, uuid)
+                .flatMap(roles -> Mono.justOrEmpty(uuid.apply(roles)));
+    }
+
+    /**
+     * Records a well-known role created for an organization, so the next assignment does not
+     * have to look it up.
+     */
+    public void recordOrganizationRole(String organizationUuid, String roleName, String roleUuid) {
+        if (roleUuid == null || !(ADMIN_ROLE.equals(roleName) || USER_ROLE.equals(roleName))) {
+            return;
+        }
+        orgRoles.compute(organizationUuid, (key, existing) -> {
+            OrgRoles base = existing != null ? existing : new OrgRoles(null, null, false, clock.millis());
+            return ADMIN_ROLE.equals(roleName)
+                    ? new OrgRoles(roleUuid, base.userRoleUuid(), base.complete(), base.loadedAtMillis())
+                    : new OrgRoles(base.adminRoleUuid(), roleUuid, base.complete(), base.loadedAtMillis());
+        });
+    }
+
+    /**
+     * Drops the cached roles for an organization, e.g. after an assignment was rejected because
+     * the cached role no longer exists.
+     */
+    public void invalidate(String organizationUuid) {
+        orgRoles.remove(organizationUuid);
+    }
+
+    Mono<Void> refreshSystemRoles() {
+        return rolesServiceClient.getSystemManagedRoles()
+                .doOnNext(roles -> {
+                    systemCatalog = SystemCatalog.of(roles);
+                    log.info("Refreshed system-managed role catalog: {} roles", roles.size());
+                })
+                .then();
+    }
+
+    private Mono<String> systemAdminRoleUuid() {
+        SystemCatalog catalog = systemCatalog;
+        Mono<SystemCatalog> loaded = catalog != null
+                ? Mono.just(catalog)
+                : refreshSystemRoles().then(Mono.fromSupplier(() -> systemCatalog));
+        return loaded.flatMap(c -> Mono.justOrEmpty(c.adminRoleUuid()));
+    }
+
+    /**
+     * Cached roles are used while fresh if they hold the {@code needed} uuid or were loaded from
+     * the organization's full role list; entries seeded by bootstrap may hold only one role.
+     */
+    private Mono<OrgRoles> orgRoles(String organizationUuid, Function<OrgRoles, String> needed) {
+        OrgRoles cached = orgRoles.get(organizationUuid);
+        if (cached != null && clock.millis() - cached.loadedAtMillis() < orgTtl.toMillis()
+                && (cached.complete() || needed.apply(cached) != null)) {
+            return Mono.just(cached);
+        }
+        return rolesServiceClient.getOrganizationRoles(organizationUuid)
+                .map(roles -> OrgRoles.of(roles != null ? roles : List.of(), clock.millis()))
+                .doOnNext(roles -> orgRoles.put(organizationUuid, roles));
+    }
+
+    private record OrgRoles(String adminRoleUuid, String userRoleUuid, boolean complete, long loadedAtMillis) {
+
+        static OrgRoles of(List<RoleResponse> roles, long loadedAtMillis) {
+            return new OrgRoles(
+                    uuidOf(roles, ADMIN_ROLE),
+                    uuidOf(roles, USER_ROLE),
+                    true,
+                    loadedAtMillis);
+        }
+
+        private static String uuidOf(List<RoleResponse> roles, String name) {
+            RoleResponse match = null;
+            for (RoleResponse role : roles) {
+                if (!name.equals(role.getRoleName())) {
+                    continue;
+                }
+                if (SYSTEM_MANAGED.equals(role.getRole_management_type())) {
+                    return role.getRole_uuid();
+                }
+                if (match == null) {
+                    match = role;
+                }
+            }
+            return match != null ? match.getRole_uuid() : null;
+        }
+    }
+
+    /**
+     * System-managed roles indexed by lower-cased name, with the admin role resolved up front:
+     * an exact "admin" or "administrator" name wins over names that merely contain "admin".
+     */
+    private record SystemCatalog(Map<String, RoleResponse> byName, String adminRoleUuid) {
+
+        static SystemCatalog of(List<RoleResponse> roles) {
+            Map<String, RoleResponse> byName = new HashMap<>();
+            RoleResponse partialAdmin = null;
+            for (RoleResponse role : roles) {
+                if (role.getRoleName() == null || role.getRole_uuid() == null) {
+                    continue;
+                }
+                String name = role.getRoleName().toLowerCase(Locale.ROOT);
+                byName.putIfAbsent(name, role);
+                if (partialAdmin == null && name.contains("admin")) {
+                    partialAdmin = role;
+                }
+            }
+            RoleResponse admin = byName.getOrDefault("admin", byName.get("administrator"));
+            if (admin == null) {
+                admin = partialAdmin;
+            }
+            return new SystemCatalog(Map.copyOf(byName), admin != null ? admin.getRole_uuid() : null);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.userapi.service;
+
+import com.userapi.repository.userprofile.UserIdentifiers;
+import com.userapi.repository.userprofile.UserProfileRepository;
+import com.userapi.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Optional per-organization Bloom filter over existing usernames, emails and phones, used to
+ * skip uniqueness lookups for values that are definitely new (bulk onboarding, where almost
+ * every lookup finds nothing).
+ *
+ * <p>An organization's filter is built on first use by streaming its identifiers from the
+ * primary on a background thread; until it is ready, and once it is older than
+ * {@code user.api.uniqueness-filter.max-age}, every check answers "not definitely new" so the
+ * caller queries Postgres as before. Creates and updates made through this instance are added
+ * as they are saved. Writes from other instances only become visible at the next rebuild, so
+ * the database unique constraints remain the final guard against duplicates.
+ *
+ * <p>A check that the filter passes on but the database clears is a false positive; the
+ * observed false-positive rate is {@code false_positives / (false_positives + checks{result=skipped})}.
+ */
+@Service
+@Slf4j
+public class UserIdentifierFilter {
+
+    private final UserProfileRepository userProfileRepository;
+    private final TransactionTemplate scanTransaction;
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+    private final long minCapacity;
+    private final Duration maxAge;
+    private final int maxOrganizations;
+    private final Clock clock;
+    private final Map<String, OrgFilter> filters = new ConcurrentHashMap<>();
+    // One build at a time, off the request and service pools
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "uniqueness-filter-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter skipped;
+    private final Counter probable;
+    private final Counter unavailable;
+    private final Counter falsePositives;
+    private final Timer buildTimer;
+
+    @Autowired
+    public UserIdentifierFilter(
+            UserProfileRepository userProfileRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${user.api.uniqueness-filter.enabled:false}") boolean enabled,
+            @Value("${user.api.uniqueness-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+            @Value("${user.api.uniqueness-filter.min-capacity:10000}") long minCapacity,
+            @Value("${user.api.uniqueness-filter.max-age:10m}") Duration maxAge,
+            @Value("${user.api.uniqueness-filter.max-organizations:100}") int maxOrganizations) {
+        this(userProfileRepository, transactionManager, meterRegistry, enabled, falsePositiveProbability,
+                minCapacity, maxAge, maxOrganizations, Clock.systemUTC());
+    }
+
+    UserIdentifierFilter(UserProfileRepository userProfileRepository, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry, boolean enabled, double falsePositiveProbability,
+                         long minCapacity, Duration maxAge, int maxOrganizations, Clock clock) {
+        this.userProfileRepository = userProfileRepository;
+        // Read-write on purpose: a read-only transaction may be routed to a lagging replica,
+        // and anything the scan misses would be reported as definitely new
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.minCapacity = minCapacity;
+        this.maxAge = maxAge;
+        this.maxOrganizations = maxOrganizations;
+        this.clock = clock;
+
+        this.skipped = checks(meterRegistry, "skipped");
+        this.probable = checks(meterRegistry, "probable");
+        this.unavailable = checks(meterRegistry, "unavailable");
+        this.falsePositives = Counter.builder("user.api.uniqueness.filter.false_positives")
+                .description("Uniqueness lookups the filter did not skip that found no conflict")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("user.api.uniqueness.filter.build")
+                .description("Time to build an organization's filter from a streaming scan")
+                .register(meterRegistry);
+        Gauge.builder("user.api.uniqueness.filter.organizations", filters,
+                        map -> map.values().stream().filter(OrgFilter::isReady).count())
+                .description("Organizations with a ready uniqueness filter")
+                .register(meterRegistry);
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.api.uniqueness.filter.checks")
+                .description("Uniqueness checks answered by the filter")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    public enum Verdict {
+        // No value can exist in the organization; the uniqueness lookup can be skipped
+        DEFINITELY_NEW,
+        // At least one value might exist; only a lookup can tell
+        PROBABLY_EXISTS,
+        // Disabled, or the organization has no usable filter yet
+        UNKNOWN
+    }
+
+    /**
+     * Checks the non-null values against the organization's filter. Only
+     * {@link Verdict#DEFINITELY_NEW} allows skipping the uniqueness lookup.
+     */
+    public Verdict check(String orgUuid, String username, String email, String phone) {
+        if (!enabled || orgUuid == null) {
+            return Verdict.UNKNOWN;
+        }
+        OrgFilter filter = usableFilter(orgUuid);
+        if (filter == null) {
+            unavailable.increment();
+            return Verdict.UNKNOWN;
+        }
+        boolean mightExist = (username != null && filter.bloom.mightContain(key('u', username)))
+                || (email != null && filter.bloom.mightContain(key('e', email)))
+                || (phone != null && filter.bloom.mightContain(key('p', phone)));
+        if (mightExist) {
+            probable.increment();
+            return Verdict.PROBABLY_EXISTS;
+        }
+        skipped.increment();
+        return Verdict.DEFINITELY_NEW;
+    }
+
+    /**
+     * Adds a saved user's identifiers to the organization's filter, including one that is still
+     * being built. Old values of an updated user stay in the filter and can only cost a lookup.
+     */
+    public void record(String orgUuid, String username, String email, String phone) {
+        if (!enabled || orgUuid == null) {
+            return;
+        }
+        OrgFilter filter = filters.get(orgUuid);
+        if (filter != null) {
+            filter.add(username, email, phone);
+        }
+    }
+
+    /**
+     * Reports that a lookup made after {@link Verdict#PROBABLY_EXISTS} found no conflict.
+     */
+    public void recordFalsePositive() {
+        if (enabled) {
+            falsePositives.increment();
+        }
+    }
+
+    private OrgFilter usableFilter(String orgUuid) {
+        OrgFilter filter = filters.get(orgUuid);
+        if (filter != null && filter.isReady() && !isExpired(filter) && !filter.isOverCapacity()) {
+            return filter;
+        }
+        if (filter == null || filter.isReady()) {
+            scheduleBuild(orgUuid, filter);
+        }
+        return null;
+    }
+
+    private boolean isExpired(OrgFilter filter) {
+        return clock.millis() - filter.createdAtMillis > maxAge.toMillis();
+    }
+
+    private void scheduleBuild(String orgUuid, OrgFilter stale) {
+        if (stale == null && filters.size() >= maxOrganizations) {
+            filters.values().removeIf(this::isExpired);
+            if (filters.size() >= maxOrganizations) {
+                return;
+            }
+        }
+        // Registered before the scan starts so saves made meanwhile land in the new filter
+        OrgFilter fresh = new OrgFilter(clock.millis());
+        boolean replaced = stale == null
+                ? filters.putIfAbsent(orgUuid, fresh) == null
+                : filters.replace(orgUuid, stale, fresh);
+        if (!replaced) {
+            return;
+        }
+        try {
+            builder.execute(() -> build(orgUuid, fresh));
+        } catch (RejectedExecutionException e) {
+            filters.remove(orgUuid, fresh);
+        }
+    }
+
+    private void build(String orgUuid, OrgFilter filter) {
+        long startNanos = System.nanoTime();
+        try {
+            scanTransaction.executeWithoutResult(status -> {
+                long existing = userProfileRepository.countByOrganizationUuid(orgUuid);
+                // Room to double before the false-positive rate degrades and a rebuild is forced
+                filter.allocate(Math.max(minCapacity, existing * 2), falsePositiveProbability);
+                try (Stream<UserIdentifiers> identifiers = userProfileRepository.streamIdentifiers(orgUuid)) {
+                    identifiers.forEach(user -> filter.add(user.getUsername(), user.getEmail(), user.getPhone()));
+                }
+            });
+            filter.markReady();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            buildTimer.record(Duration.ofNanos(elapsedNanos));
+            log.info("Built uniqueness filter for org: {} with {} entries in {} ms",
+                    orgUuid, filter.insertions.get(), elapsedNanos / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Failed to build uniqueness filter for org: {}: {}", orgUuid, e.getMessage());
+            filters.remove(orgUuid, filter);
+        }
+    }
+
+    // Separate namespaces so a username never matches an email or phone with the same text
+    private static String key(char namespace, String value) {
+        return namespace + ":" + value;
+    }
+
+    private static final class OrgFilter {
+        // Username, email and phone each take a key
+        private static final int KEYS_PER_USER = 3;
+
+        private final long createdAtMillis;
+        private final AtomicLong insertions = new AtomicLong();
+        private final Queue<String[]> pending = new ArrayDeque<>();
+        private volatile BloomFilter bloom;
+        private volatile long capacity;
+        private volatile boolean ready;
+
+        private OrgFilter(long createdAtMillis) {
+            this.createdAtMillis = createdAtMillis;
+        }
+
+        private synchronized void allocate(long capacity, double falsePositiveProbability) {
+            this.capacity = capacity;
+            this.bloom = BloomFilter.create(capacity * KEYS_PER_USER, falsePositiveProbability);
+            // Saves recorded while the organization was being counted
+            for (String[] identifiers = pending.poll(); identifiers != null; identifiers = pending.poll()) {
+                put(bloom, identifiers[0], identifiers[1], identifiers[2]);
+            }
+        }
+
+        private void add(String username, String email, String phone) {
+            BloomFilter target = bloom;
+            if (target == null) {
+                synchronized (this) {
+                    if (bloom == null) {
+                        pending.add(new String[]{username, email, phone});
+                        return;
+                    }
+                    target = bloom;
+                }
+            }
+            put(target, username, email, phone);
+        }
+
+        private void put(BloomFilter target, String username, String email, String phone) {
+            if (username != null) {
+                target.put(key('u', username));
+            }
+            if (email != null) {
+                target.put(key('e', email));
+            }
+            if (phone != null) {
+                target.put(key('p', phone));
+            }
+            insertions.incrementAndGet();
+        }
+
+        private void markReady() {
+            ready = true;
+        }
+
+        private boolean isReady() {
+            return ready;
+        }
+
+        private boolean isOverCapacity() {
+            return insertions.get() > capacity;
+        }
+    }
+}
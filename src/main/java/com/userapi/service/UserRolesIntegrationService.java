@@ -1,6 +1,9 @@
 package com.userapi.service;
 
+import com.userapi.models.external.roles.OrganizationBootstrapRequest;
+import com.userapi.models.external.roles.OrganizationBootstrapResult;
 import com.userapi.models.external.roles.RoleResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -65,4 +68,17 @@ public interface UserRolesIntegrationService {
      * @return Mono<Void> that completes when the role is assigned or fails if user doesn't exist
      */
     Mono<Void> checkUserExistsAndAssignRoleByUuid(String userUuid, String roleUuid, String organizationUuid, String assignedBy);
+
+    /**
+     * Create the default Admin and User roles for an organization and assign Admin to its admin user.
+     * The role creations run concurrently and the assignment starts as soon as the Admin role exists.
+     * Safe to repeat: roles that already exist are reused and an existing assignment is not an error.
+     */
+    Mono<OrganizationBootstrapResult> bootstrapOrganization(String organizationUuid, String adminUserUuid);
+
+    /**
+     * Bootstrap many organizations with bounded concurrency, e.g. for tenant migrations.
+     * Emits one result per request, in request order; failures are reported per organization.
+     */
+    Flux<OrganizationBootstrapResult> bootstrapOrganizations(List<OrganizationBootstrapRequest> organizations);
 }
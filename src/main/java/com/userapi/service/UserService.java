@@ -1,14 +1,19 @@
 package com.userapi.service;
 
+import com.userapi.models.external.BulkStatusChangeRequest;
+import com.userapi.models.external.BulkStatusChangeResponse;
 import com.userapi.models.external.ListUsersRequest;
 import com.userapi.models.external.ListUsersResponse;
+import com.userapi.models.external.PatchUserResponse;
 import com.userapi.models.external.UserHierarchyResponse;
+import com.userapi.models.external.UserSearchResponse;
 import com.userapi.models.internal.CreateUserInternalRequest;
 import com.userapi.models.internal.CreateUserInternalResponse;
 import com.userapi.models.internal.GetUserInternalRequest;
 import com.userapi.models.internal.GetUserInternalResponse;
 import com.userapi.models.internal.UpdateUserInternalRequest;
 import com.userapi.models.internal.UpdateUserInternalResponse;
+import com.userapi.models.internal.UserPatch;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -22,8 +27,14 @@ public interface UserService {
 
     CompletableFuture<UpdateUserInternalResponse> updateUser(String userId, UpdateUserInternalRequest request);
 
+    CompletableFuture<PatchUserResponse> patchUser(String orgUuid, String userId, UserPatch patch);
+
     CompletableFuture<UpdateUserInternalResponse> deactivateUser(String orgUuid, String userId);
 
+    BulkStatusChangeResponse changeStatus(String orgUuid, BulkStatusChangeRequest request);
+
     UserHierarchyResponse getUserHierarchy(String orgUUID, String userId);
 
+    UserSearchResponse searchUsers(String orgUuid, String query, Integer limit);
+
 }
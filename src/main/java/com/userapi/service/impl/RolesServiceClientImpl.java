@@ -1,7 +1,10 @@
 package com.userapi.service.impl;
 
 import com.userapi.enums.RoleStatus;
+import com.userapi.metrics.DependencyMetrics;
 import com.userapi.models.external.roles.*;
+import com.userapi.resilience.RequestHedger;
+import com.userapi.resilience.RolesServiceGuard;
 import com.userapi.service.RolesServiceClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -15,23 +18,35 @@ import reactor.core.publisher.Mono;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.userapi.metrics.DependencyMetrics.ROLES_SERVICE;
+
 @Service
 @Slf4j
 public class RolesServiceClientImpl implements RolesServiceClient {
 
     private final WebClient webClient;
+    private final DependencyMetrics dependencyMetrics;
+    private final RolesServiceGuard rolesServiceGuard;
+    private final RequestHedger requestHedger;
 
     public RolesServiceClientImpl(
-            @Qualifier("rolesServiceWebClient") WebClient webClient) {
+            @Qualifier("rolesServiceWebClient") WebClient webClient,
+            DependencyMetrics dependencyMetrics,
+            RolesServiceGuard rolesServiceGuard,
+            RequestHedger requestHedger) {
         this.webClient = webClient;
+        this.dependencyMetrics = dependencyMetrics;
+        this.rolesServiceGuard = rolesServiceGuard;
+        this.requestHedger = requestHedger;
     }
 
     @Override
     public Mono<RoleResponse> createRole(CreateRoleRequest request, String organizationUuid) {
         log.info("Creating role: {} for organization: {}", request.getRoleName(), organizationUuid);
-        log.info("Request payload: {}", request); // Add detailed logging
+        log.debug("Request payload: {}", request);
 
-        return webClient.post()
+        return dependencyMetrics.time(ROLES_SERVICE, "createRole",
+                rolesServiceGuard.call("createRole", webClient.post()
                 .uri("/role")
                 .header("x-app-org-uuid", organizationUuid) // Organization context via header
                 .header("x-app-user-uuid", "system-user") // GitHub service expects this header
@@ -64,25 +79,27 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                         WebClientResponseException wcre = (WebClientResponseException) error;
                         log.error("Response status: {}, Response body: {}", wcre.getStatusCode(), wcre.getResponseBodyAsString());
                     }
-                });
+                })));
     }
 
     @Override
     public Mono<RoleResponse> getRoleByUuid(String roleUuid, String organizationUuid) {
-        log.info("Getting role: {} for organization: {}", roleUuid, organizationUuid);
+        log.debug("Getting role: {} for organization: {}", roleUuid, organizationUuid);
         
-        return webClient.get()
+        return dependencyMetrics.time(ROLES_SERVICE, "getRoleByUuid",
+                rolesServiceGuard.read("getRoleByUuid", organizationUuid + ":" + roleUuid,
+                        requestHedger.hedge("getRoleByUuid", webClient.get()
                 .uri("/role/{roleUuid}", roleUuid)
                 .header("x-app-org-uuid", organizationUuid)
                 .header("x-app-user-uuid", "system-user") // Add missing user UUID header
                 .retrieve()
                 .bodyToMono(RoleResponse.class)
-                .doOnError(error -> log.error("Failed to get role: {}", error.getMessage()));
+                .doOnError(error -> log.error("Failed to get role: {}", error.getMessage())))));
     }
 
     @Override
     public Mono<List<RoleResponse>> getOrganizationRoles(String organizationUuid) {
-        log.info("Getting roles for organization: {}", organizationUuid);
+        log.debug("Getting roles for organization: {}", organizationUuid);
         
         // Use the search endpoint with organization context in headers (no filter criteria)
         // The roles service will return all roles for the organization based on the header
@@ -92,7 +109,8 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                         .build())
                 .build();
         
-        return webClient.post()
+        return dependencyMetrics.time(ROLES_SERVICE, "getOrganizationRoles",
+                rolesServiceGuard.read("getOrganizationRoles", organizationUuid, webClient.post()
                 .uri("/role/search")
                 .header("x-app-org-uuid", organizationUuid) // Organization context via header
                 .header("x-app-user-uuid", "system-user") // GitHub service expects this header
@@ -100,20 +118,22 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                 .retrieve()
                 .bodyToMono(ListRolesResponse.class)
                 .map(response -> response.getRoles())
-                .doOnSuccess(roles -> log.info("Retrieved {} roles for organization: {}", roles.size(), organizationUuid))
-                .doOnError(error -> log.error("Failed to get organization roles: {}", error.getMessage()));
+                .doOnSuccess(roles -> log.debug("Retrieved {} roles for organization: {}", roles.size(), organizationUuid))
+                .doOnError(error -> log.error("Failed to get organization roles: {}", error.getMessage()))));
     }
 
     @Override
     public Mono<List<RoleResponse>> getSystemManagedRoles() {
-        log.info("Getting system managed roles");
+        log.debug("Getting system managed roles");
         
-        return webClient.get()
+        return dependencyMetrics.time(ROLES_SERVICE, "getSystemManagedRoles",
+                rolesServiceGuard.read("getSystemManagedRoles", "all",
+                        requestHedger.hedge("getSystemManagedRoles", webClient.get()
                 .uri("/role/system-managed")
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<RoleResponse>>() {})
-                .doOnSuccess(roles -> log.info("Retrieved {} system managed roles", roles.size()))
-                .doOnError(error -> log.error("Failed to get system managed roles: {}", error.getMessage()));
+                .doOnSuccess(roles -> log.debug("Retrieved {} system managed roles", roles.size()))
+                .doOnError(error -> log.error("Failed to get system managed roles: {}", error.getMessage())))));
     }
 
     @Override
@@ -122,7 +142,8 @@ public class RolesServiceClientImpl implements RolesServiceClient {
         log.info("Update request payload: {}", request);
         
         // First, get the current role to preserve immutable fields
-        return getRoleByUuid(roleUuid, organizationUuid)
+        return dependencyMetrics.time(ROLES_SERVICE, "updateRole",
+                rolesServiceGuard.call("updateRole", getRoleByUuid(roleUuid, organizationUuid)
                 .flatMap(currentRole -> {
                     // Create a CreateRoleRequest with current role data and updated fields
                     CreateRoleRequest updateRequest = CreateRoleRequest.builder()
@@ -161,21 +182,22 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                                             wcre.getStatusCode(), wcre.getResponseBodyAsString());
                                 }
                             });
-                });
+                })));
     }
 
     @Override
     public Mono<Void> deleteRole(String roleUuid, String organizationUuid) {
         log.info("Deleting role: {} for organization: {}", roleUuid, organizationUuid);
         
-        return webClient.delete()
+        return dependencyMetrics.time(ROLES_SERVICE, "deleteRole",
+                rolesServiceGuard.call("deleteRole", webClient.delete()
                 .uri("/role/{roleUuid}", roleUuid)
                 .header("x-app-org-uuid", organizationUuid)
                 .header("x-app-user-uuid", "system-user") // Add missing user UUID header
                 .retrieve()
                 .bodyToMono(Void.class)
                 .doOnSuccess(response -> log.info("Role deleted successfully: {}", roleUuid))
-                .doOnError(error -> log.error("Failed to delete role: {}", error.getMessage()));
+                .doOnError(error -> log.error("Failed to delete role: {}", error.getMessage()))));
     }
 
     @Override
@@ -187,7 +209,8 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                 .role_uuid(roleUuid)
                 .build();
 
-        return webClient.post()
+        return dependencyMetrics.time(ROLES_SERVICE, "assignRoleToUser",
+                rolesServiceGuard.call("assignRoleToUser", webClient.post()
                 .uri("/user/{userUuid}/roles", userUuid)
                 .header("x-app-org-uuid", organizationUuid) // Organization context via header
                 .header("x-app-user-uuid", "system-user") // GitHub service expects this header
@@ -202,14 +225,16 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                             (org.springframework.web.reactive.function.client.WebClientResponseException) error;
                         log.error("Response status: {}, Response body: {}", wcre.getStatusCode(), wcre.getResponseBodyAsString());
                     }
-                });
+                })));
     }
 
     @Override
     public Mono<List<RoleResponse>> getUserRoles(String userUuid, String organizationUuid) {
-        log.info("Getting roles for user: {} in organization: {}", userUuid, organizationUuid);
+        log.debug("Getting roles for user: {} in organization: {}", userUuid, organizationUuid);
 
-        return webClient.get()
+        return dependencyMetrics.time(ROLES_SERVICE, "getUserRoles",
+                rolesServiceGuard.read("getUserRoles", organizationUuid + ":" + userUuid,
+                        requestHedger.hedge("getUserRoles", webClient.get()
                 .uri("/user/{userUuid}/roles", userUuid)
                 .header("x-app-user-uuid", "system-user") // Add missing user UUID header
                 .header("x-app-org-uuid", organizationUuid) // Add organization UUID header
@@ -219,43 +244,45 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                 .flatMap(role -> {
                     // If role has incomplete data, fetch the full role details
                     if (role.getRoleName() == null || role.getDescription() == null) {
-                        log.info("Role {} has incomplete data, fetching full details", role.getRole_uuid());
+                        log.debug("Role {} has incomplete data, fetching full details", role.getRole_uuid());
                         return getRoleByUuid(role.getRole_uuid(), organizationUuid);
                     } else {
                         return Mono.just(role);
                     }
                 })
                 .collectList()
-                .doOnSuccess(roles -> log.info("Retrieved {} complete roles for user: {}", roles.size(), userUuid))
-                .doOnError(error -> log.error("Failed to get user roles: {}", error.getMessage()));
+                .doOnSuccess(roles -> log.debug("Retrieved {} complete roles for user: {}", roles.size(), userUuid))
+                .doOnError(error -> log.error("Failed to get user roles: {}", error.getMessage())))));
     }
 
     @Override
     public Mono<Void> removeRoleFromUser(String userUuid, String roleUuid, String organizationUuid) {
         log.info("Removing role: {} from user: {} in organization: {}", roleUuid, userUuid, organizationUuid);
         
-        return webClient.delete()
+        return dependencyMetrics.time(ROLES_SERVICE, "removeRoleFromUser",
+                rolesServiceGuard.call("removeRoleFromUser", webClient.delete()
                 .uri("/user/{userUuid}/roles/{roleUuid}", userUuid, roleUuid)
                 .header("x-app-user-uuid", "system-user") // Add missing user UUID header
                 .header("x-app-org-uuid", organizationUuid) // Add organization UUID header
                 .retrieve()
                 .bodyToMono(Void.class)
                 .doOnSuccess(response -> log.info("Role removed successfully from user: {}", userUuid))
-                .doOnError(error -> log.error("Failed to remove role from user: {}", error.getMessage()));
+                .doOnError(error -> log.error("Failed to remove role from user: {}", error.getMessage()))));
     }
 
     @Override
     public Mono<PermissionCheckResponse> checkPermission(PermissionCheckRequest request) {
-        log.info("Checking permission for resource: {} with action: {}", 
+        log.debug("Checking permission for resource: {} with action: {}", 
                 request.getResource(), request.getAction());
         
-        return webClient.post()
+        return dependencyMetrics.time(ROLES_SERVICE, "checkPermission",
+                rolesServiceGuard.call("checkPermission", webClient.post()
                 .uri("/permission/check")
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(PermissionCheckResponse.class)
-                .doOnSuccess(response -> log.info("Permission check result: {}", response.getResult()))
-                .doOnError(error -> log.error("Failed to check permission: {}", error.getMessage()));
+                .doOnSuccess(response -> log.debug("Permission check result: {}", response.getResult()))
+                .doOnError(error -> log.error("Failed to check permission: {}", error.getMessage()))));
     }
 
     @Override
@@ -265,7 +292,9 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                 .action(action)
                 .build();
         
-        return webClient.post()
+        return dependencyMetrics.time(ROLES_SERVICE, "hasPermission",
+                rolesServiceGuard.read("hasPermission", String.join(":", organizationUuid, userUuid, resource, action),
+                        requestHedger.hedge("hasPermission", webClient.post()
                 .uri("/permission/check")
                 .header("x-app-user-uuid", userUuid) // User context via header
                 .header("x-app-org-uuid", organizationUuid) // Organization context via header
@@ -282,10 +311,10 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                     return Boolean.TRUE.equals(response.getHasPermission());
                 })
                 .defaultIfEmpty(false)
-                .doOnSuccess(result -> log.info("Permission check result: {} for user: {} on resource: {} with action: {}", 
+                .doOnSuccess(result -> log.debug("Permission check result: {} for user: {} on resource: {} with action: {}", 
                         result, userUuid, resource, action))
                 .doOnError(error -> log.error("Failed to check permission for user: {} on resource: {} with action: {} - {}", 
-                        userUuid, resource, action, error.getMessage()));
+                        userUuid, resource, action, error.getMessage())))));
     }
 
     @Override
@@ -390,7 +419,8 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                 .doOnError(error -> log.error("Failed to search roles: {}", error.getMessage()));
     }
     
-    private List<RoleResponse> applyFilters(List<RoleResponse> roles, ListRolesFilterCriteria filterCriteria) {
+    // package-private so the roles filter benchmark can drive it directly
+    static List<RoleResponse> applyFilters(List<RoleResponse> roles, ListRolesFilterCriteria filterCriteria) {
         return roles.stream()
                 .filter(role -> {
                     for (ListRolesFilterCriteriaAttribute attribute : filterCriteria.getAttributes()) {
@@ -403,7 +433,7 @@ public class RolesServiceClientImpl implements RolesServiceClient {
                 .collect(Collectors.toList());
     }
     
-    private boolean matchesFilter(RoleResponse role, ListRolesFilterCriteriaAttribute attribute) {
+    private static boolean matchesFilter(RoleResponse role, ListRolesFilterCriteriaAttribute attribute) {
         String attributeName = attribute.getName();
         List<String> values = attribute.getValues();
         
@@ -7,17 +7,33 @@ import com.userapi.models.external.roles.CreateRoleRequest;
 import com.userapi.models.external.roles.ListRolesFilterCriteria;
 import com.userapi.models.external.roles.ListRolesFilterCriteriaAttribute;
 import com.userapi.models.external.roles.ListRolesRequest;
+import com.userapi.models.external.roles.OrganizationBootstrapRequest;
+import com.userapi.models.external.roles.OrganizationBootstrapResult;
 import com.userapi.models.external.roles.RoleResponse;
 import com.userapi.repository.userprofile.UserProfileRepository;
+import com.userapi.resilience.RolesServiceFailurePredicate;
+import com.userapi.service.RoleCatalogCache;
 import com.userapi.service.RolesServiceClient;
 import com.userapi.service.UserRolesIntegrationService;
 import com.userapi.util.PolicyBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static com.userapi.service.RoleCatalogCache.ADMIN_ROLE;
+import static com.userapi.service.RoleCatalogCache.USER_ROLE;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +42,17 @@ public class UserRolesIntegrationServiceImpl implements UserRolesIntegrationServ
 
     private final RolesServiceClient rolesServiceClient;
     private final UserProfileRepository userProfileRepository;
+    private final RoleCatalogCache roleCatalogCache;
+    private final RolesServiceFailurePredicate transientFailure = new RolesServiceFailurePredicate();
+
+    @Value("${roles.bootstrap.max-retries:3}")
+    private int bootstrapMaxRetries;
+
+    @Value("${roles.bootstrap.retry-backoff:200ms}")
+    private Duration bootstrapRetryBackoff;
+
+    @Value("${roles.bootstrap.bulk-concurrency:8}")
+    private int bootstrapConcurrency;
 
     @Override
     public Mono<RoleResponse> createDefaultAdminRole(String organizationUuid, String createdBy) {
@@ -36,14 +63,17 @@ public class UserRolesIntegrationServiceImpl implements UserRolesIntegrationServ
             JsonNode adminPolicy = PolicyBuilder.buildAdminPolicy();
 
             CreateRoleRequest request = CreateRoleRequest.builder()
-                    .roleName("Admin")
+                    .roleName(ADMIN_ROLE)
                     .description("Default admin role with full access")
                     .roleManagementType("SYSTEM_MANAGED")
                     .policy(adminPolicy)
                     .build();
 
             return rolesServiceClient.createRole(request, organizationUuid)
-                    .doOnSuccess(response -> log.info("Default admin role created: {}", response.getRole_uuid()))
+                    .doOnSuccess(response -> {
+                        log.info("Default admin role created: {}", response.getRole_uuid());
+                        roleCatalogCache.recordOrganizationRole(organizationUuid, ADMIN_ROLE, response.getRole_uuid());
+                    })
                     .doOnError(error -> log.error("Failed to create default admin role: {}", error.getMessage()));
         } catch (Exception e) {
             log.error("Failed to parse admin policy JSON: {}", e.getMessage());
@@ -60,14 +90,17 @@ public class UserRolesIntegrationServiceImpl implements UserRolesIntegrationServ
             JsonNode userPolicy = PolicyBuilder.buildUserPolicy();
 
             CreateRoleRequest request = CreateRoleRequest.builder()
-                    .roleName("User")
+                    .roleName(USER_ROLE)
                     .description("Default user role with limited access")
                     .roleManagementType("SYSTEM_MANAGED")
                     .policy(userPolicy)
                     .build();
 
             return rolesServiceClient.createRole(request, organizationUuid)
-                    .doOnSuccess(response -> log.info("Default user role created: {}", response.getRole_uuid()))
+                    .doOnSuccess(response -> {
+                        log.info("Default user role created: {}", response.getRole_uuid());
+                        roleCatalogCache.recordOrganizationRole(organizationUuid, USER_ROLE, response.getRole_uuid());
+                    })
                     .doOnError(error -> log.error("Failed to create default user role: {}", error.getMessage()));
         } catch (Exception e) {
             log.error("Failed to parse user policy JSON: {}", e.getMessage());
@@ -92,41 +125,12 @@ public class UserRolesIntegrationServiceImpl implements UserRolesIntegrationServ
                     .doOnError(error -> log.error("Failed to assign admin role {} to user: {}", adminRoleUuid, userUuid));
         }
 
-        // Since the search endpoint is not working, we'll use the system-managed roles endpoint
-        // which should return all available roles including the newly created admin role
-        return rolesServiceClient.getSystemManagedRoles()
-                .flatMap(systemRoles -> {
-                    // Log all available system-managed roles for debugging
-                    log.info("Available system-managed roles:");
-                    systemRoles.forEach(role -> log.info("  - Role: '{}' (UUID: {})", role.getRoleName(), role.getRole_uuid()));
-
-                    // Try to find admin role with different possible names
-                    RoleResponse adminRole = systemRoles.stream()
-                            .filter(role -> {
-                                String roleName = role.getRoleName();
-                                return roleName != null && (
-                                    "Admin".equalsIgnoreCase(roleName) ||
-                                    "Administrator".equalsIgnoreCase(roleName) ||
-                                    "Organization Administrator".equalsIgnoreCase(roleName) ||
-                                    "admin".equals(roleName) ||
-                                    "ADMIN".equals(roleName) ||
-                                    roleName.toLowerCase().contains("admin") ||
-                                    roleName.toLowerCase().contains("administrator")
-                                );
-                            })
-                            .findFirst()
-                            .orElse(null);
-
-                    if (adminRole != null) {
-                        log.info("Found system-managed admin role: '{}' (UUID: {})", adminRole.getRoleName(), adminRole.getRole_uuid());
-                        return rolesServiceClient.assignRoleToUser(userUuid, adminRole.getRole_uuid(), organizationUuid);
-                    } else {
-                        log.error("No admin role found in system-managed roles. Available roles: {}", 
-                                systemRoles.stream().map(RoleResponse::getRoleName).toList());
-                        return Mono.error(new RuntimeException("Admin role not found"));
-                    }
-                })
+        // The organization's Admin role, or the system-managed admin role, from the role catalog
+        return roleCatalogCache.adminRoleUuid(organizationUuid)
+                .switchIfEmpty(Mono.error(new RuntimeException("Admin role not found")))
+                .flatMap(roleUuid -> rolesServiceClient.assignRoleToUser(userUuid, roleUuid, organizationUuid))
                 .doOnSuccess(response -> log.info("Admin role assigned successfully to user: {}", userUuid))
+                .doOnError(WebClientResponseException.NotFound.class, error -> roleCatalogCache.invalidate(organizationUuid))
                 .doOnError(error -> log.error("Failed to assign admin role to user: {}", error.getMessage()));
     }
 
@@ -134,61 +138,108 @@ public class UserRolesIntegrationServiceImpl implements UserRolesIntegrationServ
     public Mono<Void> assignUserRoleToUser(String userUuid, String organizationUuid, String assignedBy) {
         log.info("Assigning user role to user: {} in organization: {}", userUuid, organizationUuid);
         
-        // First, try to get the user role from system-managed roles (since we create them as SYSTEM_MANAGED)
-        ListRolesRequest systemRequest = ListRolesRequest.builder()
-                .filterCriteria(ListRolesFilterCriteria.builder()
-                        .attributes(List.of(
-                                ListRolesFilterCriteriaAttribute.builder()
-                                        .name("role_management_type")
-                                        .values(List.of("SYSTEM_MANAGED"))
-                                        .build()
-                        ))
+        // System-managed "User" role if the organization has one, otherwise its customer-managed "User" role
+        return roleCatalogCache.userRoleUuid(organizationUuid)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error("User role not found in system-managed or customer-managed roles for organization: {}", organizationUuid);
+                    return Mono.error(new RuntimeException("User role not found"));
+                }))
+                .flatMap(roleUuid -> rolesServiceClient.assignRoleToUser(userUuid, roleUuid, organizationUuid))
+                .doOnSuccess(response -> log.info("User role assigned successfully to user: {}", userUuid))
+                .doOnError(WebClientResponseException.NotFound.class, error -> roleCatalogCache.invalidate(organizationUuid))
+                .doOnError(error -> log.error("Failed to assign user role to user: {}", error.getMessage()));
+    }
+
+    @Override
+    public Mono<OrganizationBootstrapResult> bootstrapOrganization(String organizationUuid, String adminUserUuid) {
+        log.info("BOOTSTRAP: Setting up organization: {} with admin user: {}", organizationUuid, adminUserUuid);
+
+        // One lookup of the organization's roles up front makes re-running a bootstrap reuse
+        // what an earlier run created; it also warms the catalog entry the User role check reads
+        return roleCatalogCache.organizationRoleUuid(organizationUuid, ADMIN_ROLE)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(error -> {
+                    log.warn("BOOTSTRAP: Could not look up existing roles for organization: {} - {}",
+                            organizationUuid, error.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(existingAdmin -> {
+                    Mono<String> adminRole = existingAdmin.map(Mono::just).orElseGet(() -> ensureRole(
+                            organizationUuid, ADMIN_ROLE, () -> createDefaultAdminRole(organizationUuid, adminUserUuid)));
+                    Mono<String> adminAssigned = adminRole.flatMap(roleUuid ->
+                            assignRoleIdempotently(adminUserUuid, roleUuid, organizationUuid).thenReturn(roleUuid));
+                    Mono<String> userRole = roleCatalogCache.organizationRoleUuid(organizationUuid, USER_ROLE)
+                            .onErrorResume(error -> Mono.empty())
+                            .switchIfEmpty(ensureRole(
+                                    organizationUuid, USER_ROLE, () -> createDefaultUserRole(organizationUuid, adminUserUuid)));
+
+                    // zip subscribes to both branches at once: the User role is created while
+                    // the Admin role is created and assigned
+                    return Mono.zip(adminAssigned, userRole);
+                })
+                .map(roles -> OrganizationBootstrapResult.builder()
+                        .organizationUuid(organizationUuid)
+                        .adminUserUuid(adminUserUuid)
+                        .adminRoleUuid(roles.getT1())
+                        .userRoleUuid(roles.getT2())
+                        .status(OrganizationBootstrapResult.SUCCESS)
                         .build())
-                .build();
-        
-        return rolesServiceClient.searchRoles(systemRequest, organizationUuid)
-                .flatMap(systemResponse -> {
-                    RoleResponse systemUserRole = systemResponse.getRoles().stream()
-                            .filter(role -> "User".equals(role.getRoleName()))
-                            .findFirst()
-                            .orElse(null);
-                    
-                    if (systemUserRole != null) {
-                        log.info("Found system-managed user role: {}", systemUserRole.getRole_uuid());
-                        return rolesServiceClient.assignRoleToUser(userUuid, systemUserRole.getRole_uuid(), organizationUuid);
+                .doOnSuccess(result -> log.info("BOOTSTRAP: Organization setup complete for organization: {} with admin user: {}",
+                        organizationUuid, adminUserUuid));
+    }
+
+    @Override
+    public Flux<OrganizationBootstrapResult> bootstrapOrganizations(List<OrganizationBootstrapRequest> organizations) {
+        log.info("BOOTSTRAP: Setting up {} organizations with concurrency {}", organizations.size(), bootstrapConcurrency);
+
+        return Flux.fromIterable(organizations)
+                .flatMapSequential(request -> bootstrapOrganization(request.getOrganizationUuid(), request.getAdminUserUuid())
+                        .onErrorResume(error -> {
+                            log.error("BOOTSTRAP: Failed organization setup for organization: {} - {}",
+                                    request.getOrganizationUuid(), error.getMessage());
+                            return Mono.just(OrganizationBootstrapResult.builder()
+                                    .organizationUuid(request.getOrganizationUuid())
+                                    .adminUserUuid(request.getAdminUserUuid())
+                                    .status(OrganizationBootstrapResult.FAILED)
+                                    .error(error.getMessage())
+                                    .build());
+                        }), Math.max(1, bootstrapConcurrency));
+    }
+
+    /**
+     * Creates a well-known role, retrying transient failures. A retried attempt first looks the
+     * role up again, because the attempt that timed out may have created it.
+     */
+    private Mono<String> ensureRole(String organizationUuid, String roleName, Supplier<Mono<RoleResponse>> create) {
+        AtomicBoolean firstAttempt = new AtomicBoolean(true);
+        return Mono.defer(() -> {
+                    Mono<String> existing = Mono.empty();
+                    if (!firstAttempt.getAndSet(false)) {
+                        roleCatalogCache.invalidate(organizationUuid);
+                        existing = roleCatalogCache.organizationRoleUuid(organizationUuid, roleName);
                     }
-                    
-                    // If no system-managed user role found, try customer-managed roles
-                    log.info("No system-managed user role found, checking customer-managed roles");
-                    ListRolesRequest userRequest = ListRolesRequest.builder()
-                            .filterCriteria(ListRolesFilterCriteria.builder()
-                                    .attributes(List.of(
-                                            ListRolesFilterCriteriaAttribute.builder()
-                                                    .name("role_management_type")
-                                                    .values(List.of("CUSTOMER_MANAGED"))
-                                                    .build()
-                                    ))
-                                    .build())
-                            .build();
-                    
-                    return rolesServiceClient.searchRoles(userRequest, organizationUuid)
-                            .flatMap(response -> {
-                                RoleResponse userRole = response.getRoles().stream()
-                                        .filter(role -> "User".equals(role.getRoleName()))
-                                        .findFirst()
-                                        .orElse(null);
-                                
-                                if (userRole == null) {
-                                    log.error("User role not found in system-managed or customer-managed roles for organization: {}", organizationUuid);
-                                    return Mono.error(new RuntimeException("User role not found"));
-                                }
-                                
-                                log.info("Found customer-managed user role: {}", userRole.getRole_uuid());
-                                return rolesServiceClient.assignRoleToUser(userUuid, userRole.getRole_uuid(), organizationUuid);
-                            });
+                    return existing.switchIfEmpty(Mono.defer(() -> create.get().map(RoleResponse::getRole_uuid)));
                 })
-                .doOnSuccess(response -> log.info("User role assigned successfully to user: {}", userUuid))
-                .doOnError(error -> log.error("Failed to assign user role to user: {}", error.getMessage()));
+                .retryWhen(bootstrapRetry());
+    }
+
+    private Mono<Void> assignRoleIdempotently(String userUuid, String roleUuid, String organizationUuid) {
+        return rolesServiceClient.assignRoleToUser(userUuid, roleUuid, organizationUuid)
+                .onErrorResume(WebClientResponseException.class, error -> {
+                    if (error.getStatusCode() == HttpStatus.CONFLICT) {
+                        log.info("Role {} is already assigned to user: {}", roleUuid, userUuid);
+                        return Mono.empty();
+                    }
+                    return Mono.error(error);
+                })
+                .retryWhen(bootstrapRetry());
+    }
+
+    private Retry bootstrapRetry() {
+        return Retry.backoff(bootstrapMaxRetries, bootstrapRetryBackoff)
+                .filter(transientFailure)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
     }
 
     @Override
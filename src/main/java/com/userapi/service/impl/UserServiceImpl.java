@@ -1,19 +1,28 @@
 package com.userapi.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.userapi.converters.EmploymentInfoDtoToJobProfileConverter;
 import com.userapi.exception.DuplicateResourceException;
 import com.userapi.exception.ResourceNotFoundException;
 import com.userapi.models.entity.JobProfile;
+import com.userapi.models.entity.UserChangeEvent;
 import com.userapi.models.entity.UserProfile;
 import com.userapi.models.entity.UserReportee;
 import com.userapi.models.entity.UserStatus;
+import com.userapi.models.external.BulkStatusChangeRequest;
+import com.userapi.models.external.BulkStatusChangeResponse;
+import com.userapi.models.external.EmailInfo;
+import com.userapi.models.external.ListUsersFilterCriteria;
 import com.userapi.models.external.ListUsersFilterCriteriaAttribute;
 import com.userapi.models.external.ListUsersRequest;
 import com.userapi.models.external.ListUsersResponse;
 import com.userapi.models.external.ListUsersSelector;
+import com.userapi.models.external.PatchUserResponse;
+import com.userapi.models.external.PhoneInfo;
 import com.userapi.models.external.UpdateUserResponse;
 import com.userapi.models.external.UserHierarchyResponse;
+import com.userapi.models.external.UserSearchResponse;
 import com.userapi.models.internal.CreateUserInternalRequest;
 import com.userapi.models.internal.CreateUserInternalResponse;
 import com.userapi.models.internal.EmploymentInfoDto;
@@ -23,22 +32,32 @@ import com.userapi.models.internal.ResponseReasonCode;
 import com.userapi.models.internal.ResponseResult;
 import com.userapi.models.internal.UpdateUserInternalRequest;
 import com.userapi.models.internal.UpdateUserInternalResponse;
+import com.userapi.models.internal.UserPatch;
 import com.userapi.repository.jobprofile.JobProfileRepository;
 import com.userapi.repository.jobprofile.JobProfileSpecifications;
+import com.userapi.repository.userprofile.PatchedUser;
+import com.userapi.repository.userprofile.StatusChangeCount;
 import com.userapi.repository.userprofile.UserProfileRepository;
+import com.userapi.repository.userprofile.UserSearchHit;
 import com.userapi.repository.userreportee.UserReporteeRepository;
+import com.userapi.service.UserIdentifierFilter;
 import com.userapi.service.UserService;
+import com.userapi.service.outbox.UserChangeOutbox;
 import com.userapi.service.tasks.ReportingManagerFetcher;
 import com.userapi.service.tasks.UpdateUserInternalRequestValidator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.util.Pair;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,6 +68,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -59,7 +80,6 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -71,8 +91,11 @@ import static java.util.Objects.isNull;
 public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final String DUPLICATE_IDENTIFIERS_MESSAGE =
+            "A user with the same username, email or phone already exists";
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(5);
+    @Qualifier("serviceExecutor")
+    private final ExecutorService executor;
 
     // Converters
     private final EmploymentInfoDtoToJobProfileConverter employmentInfoDtoToJobProfileConverter;
@@ -86,6 +109,28 @@ public class UserServiceImpl implements UserService {
     private final ReportingManagerFetcher reportingManagerFetcher;
     private final UpdateUserInternalRequestValidator updateUserInternalRequestValidator;
     private final ObjectMapper objectMapper;
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final UserChangeOutbox userChangeOutbox;
+
+    // Typeahead search
+    @Value("${user.api.search.min-length:3}")
+    private int searchMinLength = 3;
+
+    @Value("${user.api.search.default-results:10}")
+    private int searchDefaultResults = 10;
+
+    @Value("${user.api.search.max-results:25}")
+    private int searchMaxResults = 25;
+
+    @Value("${user.api.search.candidate-limit:500}")
+    private int searchCandidateLimit = 500;
+
+    // Bulk status changes
+    @Value("${user.api.bulk-status.chunk-size:500}")
+    private int bulkStatusChunkSize = 500;
+
+    @Value("${user.api.bulk-status.max-users:5000}")
+    private int bulkStatusMaxUsers = 5000;
 
     @Transactional
     public CompletableFuture<CreateUserInternalResponse> createUser(CreateUserInternalRequest request) {
@@ -97,7 +142,9 @@ public class UserServiceImpl implements UserService {
                 .thenCompose(this::getReportingManagersMatchingJobProfileUuids)
                 .thenCompose(v -> createJobProfiles(userUuid, orgUuid, v))
                 .thenCompose(v -> buildUserProfile(userUuid, request, v))
-                .thenCompose(v -> CompletableFuture.completedFuture(userProfileRepository.save(v)))
+                .thenApply(v -> userChangeOutbox.write(() -> userProfileRepository.save(v),
+                        saved -> List.of(userCreatedEvent(saved))))
+                .thenApply(this::recordIdentifiers)
                 .thenApply(this::buildCreateUserInternalResponse)
                 .exceptionally(this::handleCreateUserException);
     }
@@ -130,6 +177,13 @@ public class UserServiceImpl implements UserService {
                     .responseResult(ResponseResult.FAILURE)
                     .responseReasonCode(ResponseReasonCode.DUPLICATE_USER)
                     .build();
+        } else if (cause instanceof DataIntegrityViolationException) {
+            // A unique constraint caught a duplicate the uniqueness check let through
+            return CreateUserInternalResponse.builder()
+                    .message(DUPLICATE_IDENTIFIERS_MESSAGE)
+                    .responseResult(ResponseResult.FAILURE)
+                    .responseReasonCode(ResponseReasonCode.DUPLICATE_USER)
+                    .build();
         } else {
             return CreateUserInternalResponse.builder()
                     .message("Internal server error: " + cause.getMessage())
@@ -141,6 +195,16 @@ public class UserServiceImpl implements UserService {
 
     private CompletableFuture<CreateUserInternalRequest> validateUniqueUser(CreateUserInternalRequest request) {
         try {
+            UserIdentifierFilter.Verdict verdict = userIdentifierFilter.check(
+                    request.getRequestContext().getAppOrgUuid(),
+                    request.getUsername(),
+                    request.getEmailInfo().getEmail(),
+                    request.getPhoneInfo().getNumber()
+            );
+            if (verdict == UserIdentifierFilter.Verdict.DEFINITELY_NEW) {
+                logger.debug("uniqueness filter reports all identifiers as new, skipping lookup");
+                return CompletableFuture.completedFuture(request);
+            }
             List<UserProfile> conflicts = userProfileRepository.findUsersMatchingAny(
                     request.getRequestContext().getAppOrgUuid(),
                     request.getUsername(),
@@ -161,6 +225,9 @@ public class UserServiceImpl implements UserService {
             }
             if (matchedAttributes.isEmpty()) {
                 logger.debug("validated user is unique");
+                if (verdict == UserIdentifierFilter.Verdict.PROBABLY_EXISTS) {
+                    userIdentifierFilter.recordFalsePositive();
+                }
                 return CompletableFuture.completedFuture(request);
             }
 
@@ -172,6 +239,11 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    private UserProfile recordIdentifiers(UserProfile saved) {
+        userIdentifierFilter.record(saved.getOrganizationUuid(), saved.getUsername(), saved.getEmail(), saved.getPhone());
+        return saved;
+    }
+
     private CompletableFuture<Map<EmploymentInfoDto, List<JobProfile>>> getReportingManagersMatchingJobProfileUuids(
             CreateUserInternalRequest request) {
         String orgUuid = request.getRequestContext().getAppOrgUuid();
@@ -183,20 +255,26 @@ public class UserServiceImpl implements UserService {
             String orgUuid,
             Map<EmploymentInfoDto, List<JobProfile>> managerJobProfilesByEmploymentInfoDto) {
         try {
+            // Composed rather than joined: this runs on a serviceExecutor thread, and blocking it on
+            // subtasks queued behind it on the same pool can starve the pool under a burst of creates.
+            // A job profile that misses the deadline fails the request instead of yielding null.
             List<CompletableFuture<JobProfile>> futures = managerJobProfilesByEmploymentInfoDto.entrySet()
                     .stream()
                     .map(entry -> CompletableFuture.supplyAsync(() ->
                                             createJobProfile(userUuid, orgUuid, entry.getKey(), entry.getValue()),
                                     executor)
-                            .completeOnTimeout(null, 500, TimeUnit.MILLISECONDS))
+                            .orTimeout(500, TimeUnit.MILLISECONDS))
                     .toList();
 
-            List<JobProfile> incomingUserSavedJobProfiles = futures.stream().map(CompletableFuture::join).toList();
-            List<String> savedJobProfileUuids = incomingUserSavedJobProfiles.stream()
-                    .map(JobProfile::getJobProfileUuid)
-                    .toList();
-            logger.debug("Saved jobProfiles with uuids:{}", savedJobProfileUuids);
-            return CompletableFuture.completedFuture(incomingUserSavedJobProfiles);
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .thenApply(v -> {
+                        List<JobProfile> incomingUserSavedJobProfiles =
+                                futures.stream().map(CompletableFuture::join).toList();
+                        logger.debug("Saved jobProfiles with uuids:{}", incomingUserSavedJobProfiles.stream()
+                                .map(JobProfile::getJobProfileUuid)
+                                .toList());
+                        return incomingUserSavedJobProfiles;
+                    });
         } catch (Exception e) {
             return CompletableFuture.failedFuture(e);
         }
@@ -208,21 +286,23 @@ public class UserServiceImpl implements UserService {
             EmploymentInfoDto employmentInfoDto,
             List<JobProfile> reportingManagerMatchingJobProfiles) {
         String reportingManagerUuid = employmentInfoDto.getReportingManager();
-        JobProfile savedJobProfile = jobProfileRepository.save(
-                employmentInfoDtoToJobProfileConverter.convert(employmentInfoDto, orgUuid));
-        List<UserReportee> userReporteeEntries = reportingManagerMatchingJobProfiles.stream()
-                .map(jp -> UserReportee.builder()
-                        .jobProfileUuid(jp.getJobProfileUuid())
-                        .userUuid(userUuid)
-                        .managerUserUuid(reportingManagerUuid)
-                        .organizationUuid(orgUuid)
-                        .relationUuid(UUID.randomUUID().toString())
-                        .build())
-                .toList();
-        userReporteeRepository.saveAll(userReporteeEntries);
-        logger.debug("Saved JobProfileUuid:{} with userReporteeEntries:{}",
-                savedJobProfile.getJobProfileUuid(), userReporteeEntries);
-        return savedJobProfile;
+        return userChangeOutbox.write(() -> {
+            JobProfile savedJobProfile = jobProfileRepository.save(
+                    employmentInfoDtoToJobProfileConverter.convert(employmentInfoDto, orgUuid));
+            List<UserReportee> userReporteeEntries = reportingManagerMatchingJobProfiles.stream()
+                    .map(jp -> UserReportee.builder()
+                            .jobProfileUuid(jp.getJobProfileUuid())
+                            .userUuid(userUuid)
+                            .managerUserUuid(reportingManagerUuid)
+                            .organizationUuid(orgUuid)
+                            .relationUuid(UUID.randomUUID().toString())
+                            .build())
+                    .toList();
+            userReporteeRepository.saveAll(userReporteeEntries);
+            logger.debug("Saved JobProfileUuid:{} with userReporteeEntries:{}",
+                    savedJobProfile.getJobProfileUuid(), userReporteeEntries);
+            return savedJobProfile;
+        }, saved -> List.of(jobProfileCreatedEvent(userUuid, saved)));
     }
 
     private CompletableFuture<UserProfile> buildUserProfile(
@@ -366,6 +446,8 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    private static final String EXTENSIONS_ATTRIBUTE = "extensions";
+
     private static final Map<String, Function<UserProfile, Object>> userProfileFieldExtractors = Map.ofEntries(
             Map.entry("userId", UserProfile::getUserUuid),
             Map.entry("username", UserProfile::getUsername),
@@ -391,20 +473,28 @@ public class UserServiceImpl implements UserService {
                     Sort.by(Sort.Direction.fromString(request.getSortDirection()), request.getSortBy())
             );
 
-            Map<String, List<String>> filters = new HashMap<>();
-            if (request.getFilterCriteria() != null && request.getFilterCriteria().getAttributes() != null) {
-                for (ListUsersFilterCriteriaAttribute attr : request.getFilterCriteria().getAttributes()) {
-                    filters.put(attr.getName(), attr.getValues());
-                }
-            }
+            Map<String, List<String>> filters = toFilters(request.getFilterCriteria());
             logger.debug("Applied filters: {}", filters);
 
             Page<UserProfile> userPage = userProfileRepository.findUsersWithFilters(orgUuid, filters, pageable);
             logger.debug("Found {} users matching criteria", userPage.getTotalElements());
 
+            boolean extensionsSelected = hasExtensionSelector(request.getSelector());
+            Map<String, Map<String, Object>> extensionsByUser = extensionsSelected
+                    ? fetchSelectedExtensions(orgUuid, userPage.getContent(), request.getSelector())
+                    : Collections.emptyMap();
+
             ListUsersResponse response = new ListUsersResponse();
             response.setUsers(userPage.getContent().stream()
-                    .map(user -> convertUserToMap(user, request.getSelector()))
+                    .map(user -> {
+                        Map<String, Object> map = convertUserToMap(user, request.getSelector());
+                        // Nested, so an extension key can never shadow a base attribute of the same name
+                        if (extensionsSelected) {
+                            map.put(EXTENSIONS_ATTRIBUTE,
+                                    extensionsByUser.getOrDefault(user.getUserUuid(), Collections.emptyMap()));
+                        }
+                        return map;
+                    })
                     .collect(Collectors.toList()));
 
             // Set pagination metadata
@@ -423,7 +513,18 @@ public class UserServiceImpl implements UserService {
         }
     }
 
-    private Map<String, Object> convertUserToMap(UserProfile user, ListUsersSelector selector) {
+    private static Map<String, List<String>> toFilters(ListUsersFilterCriteria filterCriteria) {
+        Map<String, List<String>> filters = new HashMap<>();
+        if (filterCriteria != null && filterCriteria.getAttributes() != null) {
+            for (ListUsersFilterCriteriaAttribute attr : filterCriteria.getAttributes()) {
+                filters.put(attr.getName(), attr.getValues());
+            }
+        }
+        return filters;
+    }
+
+    // package-private so the list-users benchmark can drive it directly
+    static Map<String, Object> convertUserToMap(UserProfile user, ListUsersSelector selector) {
         Map<String, Object> map = new HashMap<>();
         if (selector == null || selector.getBase_attributes() == null) {
             userProfileFieldExtractors.forEach((field, extractor) -> map.put(field, extractor.apply(user)));
@@ -438,9 +539,46 @@ public class UserServiceImpl implements UserService {
         return map;
     }
 
+    private static boolean hasExtensionSelector(ListUsersSelector selector) {
+        return selector != null && selector.getExtensions() != null && !selector.getExtensions().isEmpty();
+    }
+
+    /**
+     * Loads the extension keys named in the selector for all users of the page in a single query.
+     * Values are returned as raw JSON and embedded into the response without being parsed.
+     * When several job profiles carry the same key, the first row wins: the repository returns
+     * current job profiles first, then the most recently started, then by job profile uuid.
+     */
+    private Map<String, Map<String, Object>> fetchSelectedExtensions(
+            String orgUuid, List<UserProfile> users, ListUsersSelector selector) {
+        Map<String, String> userUuidByJobProfileUuid = new HashMap<>();
+        for (UserProfile user : users) {
+            if (user.getJobProfileUuids() != null) {
+                for (String jobProfileUuid : user.getJobProfileUuids()) {
+                    userUuidByJobProfileUuid.put(jobProfileUuid, user.getUserUuid());
+                }
+            }
+        }
+        if (userUuidByJobProfileUuid.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Map<String, Object>> extensionsByUser = new HashMap<>();
+        List<Object[]> rows = jobProfileRepository.findExtensionValues(
+                orgUuid, userUuidByJobProfileUuid.keySet(), new HashSet<>(selector.getExtensions()));
+        for (Object[] row : rows) {
+            String userUuid = userUuidByJobProfileUuid.get((String) row[0]);
+            if (userUuid != null) {
+                extensionsByUser.computeIfAbsent(userUuid, k -> new LinkedHashMap<>())
+                        .putIfAbsent((String) row[1], new RawValue((String) row[2]));
+            }
+        }
+        return extensionsByUser;
+    }
+
     @Transactional
     public CompletableFuture<UpdateUserInternalResponse> updateUser(String userId, UpdateUserInternalRequest request) {
-        logger.info("Updating user: {} with request: {}", userId, request);
+        logger.info("Updating user: {}", userId);
         String orgUuid = request.getRequestContext().getAppOrgUuid();
         final UserProfile user;
         try {
@@ -500,7 +638,10 @@ public class UserServiceImpl implements UserService {
                     }
                     return u;
                 })
-                .thenCompose(u -> CompletableFuture.completedFuture(userProfileRepository.save(u)))
+                .thenApply(u -> userChangeOutbox.write(() -> userProfileRepository.save(u),
+                        saved -> List.of(userUpdatedEvent(orgUuid, saved.getUserUuid(), saved.getStatus(),
+                                changedAttributes(request)))))
+                .thenApply(this::recordIdentifiers)
                 .thenCompose(this::buildUpdateUserInternalResponse)
                 .exceptionally(this::handleUpdateUserException);
     }
@@ -525,6 +666,12 @@ public class UserServiceImpl implements UserService {
                     .responseResult(ResponseResult.FAILURE)
                     .responseReasonCode(ResponseReasonCode.ENTITY_NOT_FOUND)
                     .build();
+        } else if (cause instanceof DataIntegrityViolationException) {
+            return UpdateUserInternalResponse.builder()
+                    .message(DUPLICATE_IDENTIFIERS_MESSAGE)
+                    .responseResult(ResponseResult.FAILURE)
+                    .responseReasonCode(ResponseReasonCode.DUPLICATE_USER)
+                    .build();
         } else {
             return UpdateUserInternalResponse.builder()
                     .message("Internal server error: " + cause.getMessage())
@@ -534,6 +681,48 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * Applies a merge patch as one UPDATE ... RETURNING, without loading the user first. New
+     * usernames, emails and phones are checked against the rest of the organization before the
+     * write; the unique constraints catch a conflicting write that lands in between.
+     */
+    @Override
+    public CompletableFuture<PatchUserResponse> patchUser(String orgUuid, String userId, UserPatch patch) {
+        logger.info("Patching user: {} for org: {}, attributes: {}", userId, orgUuid, patch.getChanges().keySet());
+        return updateUserInternalRequestValidator.validateUniqueIdentifiers(
+                        orgUuid, userId, patch.getUsername(), patch.getEmail(), patch.getPhone())
+                .thenApply(v -> userChangeOutbox.write(
+                        () -> userProfileRepository.patchUser(orgUuid, userId, patch.getChanges())
+                                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId)),
+                        patched -> List.of(userUpdatedEvent(orgUuid, patched.userUuid(), patched.status(),
+                                List.copyOf(patch.getChanges().keySet())))))
+                .thenApply(patched -> {
+                    userIdentifierFilter.record(orgUuid, patched.username(), patched.email(), patched.phone());
+                    return toPatchUserResponse(patched);
+                });
+    }
+
+    private PatchUserResponse toPatchUserResponse(PatchedUser patched) {
+        PhoneInfo phoneInfo = new PhoneInfo();
+        phoneInfo.setNumber(patched.phone());
+        phoneInfo.setCountryCode(patched.phoneCountryCode());
+        phoneInfo.setVerificationStatus(patched.phoneVerificationStatus());
+        EmailInfo emailInfo = new EmailInfo();
+        emailInfo.setEmail(patched.email());
+        emailInfo.setVerificationStatus(patched.emailVerificationStatus());
+        return PatchUserResponse.builder()
+                .httpStatus(HttpStatus.OK)
+                .userId(patched.userUuid())
+                .username(patched.username())
+                .firstName(patched.firstName())
+                .middleName(patched.middleName())
+                .lastName(patched.lastName())
+                .status(patched.status())
+                .phoneInfo(phoneInfo)
+                .emailInfo(emailInfo)
+                .build();
+    }
+
     @Transactional
     @Override
     public CompletableFuture<UpdateUserInternalResponse> deactivateUser(String orgUuid, String userId) {
@@ -555,11 +744,184 @@ public class UserServiceImpl implements UserService {
                             u.setStatus(UserStatus.INACTIVE.getName());
                             return u;
                         })
-                .thenApply(userProfileRepository::save)
+                .thenApply(u -> userChangeOutbox.write(() -> userProfileRepository.save(u),
+                        saved -> List.of(userChangeOutbox.event(orgUuid, saved.getUserUuid(),
+                                UserChangeEvent.USER_DEACTIVATED, Map.of("status", saved.getStatus())))))
                 .thenCompose(this::buildUpdateUserInternalResponse)
                 .exceptionally(this::handleUpdateUserException);
     }
 
+    /**
+     * Sets one status on many users with one UPDATE per chunk of {@code bulk-status.chunk-size}
+     * uuids instead of a load and save per user. Each chunk commits on its own, so a failed chunk
+     * is reported per user without undoing the others. A filter is resolved to uuids first and
+     * may match at most {@code bulk-status.max-users}; a dry run only counts.
+     */
+    @Override
+    public BulkStatusChangeResponse changeStatus(String orgUuid, BulkStatusChangeRequest request) {
+        String status = toStatusName(request.getStatus());
+        if ((request.getUserIds() == null) == (request.getFilterCriteria() == null)) {
+            throw new IllegalArgumentException("Provide either userIds or filterCriteria");
+        }
+        BulkStatusChangeResponse response = new BulkStatusChangeResponse();
+        response.setStatus(status);
+        response.setDryRun(request.isDryRun());
+
+        List<String> userUuids;
+        if (request.getFilterCriteria() != null) {
+            Map<String, List<String>> filters = toFilters(request.getFilterCriteria());
+            if (request.isDryRun()) {
+                StatusChangeCount count = userProfileRepository.countStatusChangesWithFilters(orgUuid, filters, status);
+                response.setMatched(count.matched());
+                response.setChanged(count.changed());
+                return response;
+            }
+            userUuids = userProfileRepository.findUserUuidsWithFilters(orgUuid, filters, bulkStatusMaxUsers + 1);
+        } else {
+            userUuids = distinctUserIds(request.getUserIds());
+        }
+        if (userUuids.size() > bulkStatusMaxUsers) {
+            throw new IllegalArgumentException("Bulk status change is limited to " + bulkStatusMaxUsers + " users");
+        }
+        logger.info("Changing status to {} for {} users in org: {}, dryRun: {}",
+                status, userUuids.size(), orgUuid, request.isDryRun());
+
+        if (request.isDryRun()) {
+            for (List<String> chunk : chunks(userUuids)) {
+                StatusChangeCount count = userProfileRepository.countStatusChanges(orgUuid, chunk, status);
+                response.setMatched(response.getMatched() + count.matched());
+                response.setChanged(response.getChanged() + count.changed());
+            }
+            response.setNotFound(userUuids.size() - response.getMatched());
+            return response;
+        }
+
+        List<BulkStatusChangeResponse.UserOutcome> results = new ArrayList<>(userUuids.size());
+        for (List<String> chunk : chunks(userUuids)) {
+            Map<String, Boolean> found;
+            try {
+                found = userChangeOutbox.write(() -> userProfileRepository.changeStatus(orgUuid, chunk, status),
+                        changes -> statusChangedEvents(orgUuid, status, changes));
+            } catch (RuntimeException e) {
+                logger.error("Bulk status change failed for {} users in org: {}", chunk.size(), orgUuid, e);
+                chunk.forEach(id -> results.add(
+                        new BulkStatusChangeResponse.UserOutcome(id, BulkStatusChangeResponse.Outcome.FAILED)));
+                continue;
+            }
+            for (String id : chunk) {
+                Boolean changed = found.get(id);
+                BulkStatusChangeResponse.Outcome outcome = changed == null ? BulkStatusChangeResponse.Outcome.NOT_FOUND
+                        : changed ? BulkStatusChangeResponse.Outcome.UPDATED : BulkStatusChangeResponse.Outcome.UNCHANGED;
+                results.add(new BulkStatusChangeResponse.UserOutcome(id, outcome));
+            }
+        }
+        Map<BulkStatusChangeResponse.Outcome, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BulkStatusChangeResponse.UserOutcome::getOutcome, Collectors.counting()));
+        response.setChanged(counts.getOrDefault(BulkStatusChangeResponse.Outcome.UPDATED, 0L));
+        response.setMatched(response.getChanged() + counts.getOrDefault(BulkStatusChangeResponse.Outcome.UNCHANGED, 0L));
+        response.setNotFound(counts.getOrDefault(BulkStatusChangeResponse.Outcome.NOT_FOUND, 0L));
+        response.setFailed(counts.getOrDefault(BulkStatusChangeResponse.Outcome.FAILED, 0L));
+        response.setResults(results);
+        logger.info("Changed status to {} for {} of {} users in org: {}, failed: {}",
+                status, response.getChanged(), userUuids.size(), orgUuid, response.getFailed());
+        return response;
+    }
+
+    private static String toStatusName(String status) {
+        return Arrays.stream(UserStatus.values())
+                .filter(candidate -> candidate.name().equals(status))
+                .findFirst()
+                .map(UserStatus::getName)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported status: " + status));
+    }
+
+    private static List<String> distinctUserIds(List<String> userIds) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId == null || userId.isBlank()) {
+                throw new IllegalArgumentException("userIds must not contain blank ids");
+            }
+            distinct.add(userId);
+        }
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("userIds must not be empty");
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    private List<List<String>> chunks(List<String> userUuids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < userUuids.size(); from += bulkStatusChunkSize) {
+            chunks.add(userUuids.subList(from, Math.min(from + bulkStatusChunkSize, userUuids.size())));
+        }
+        return chunks;
+    }
+
+    private UserChangeEvent userCreatedEvent(UserProfile user) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("username", user.getUsername());
+        data.put("status", user.getStatus());
+        data.put("jobProfileUuids", user.getJobProfileUuids());
+        return userChangeOutbox.event(user.getOrganizationUuid(), user.getUserUuid(), UserChangeEvent.USER_CREATED, data);
+    }
+
+    private UserChangeEvent userUpdatedEvent(String orgUuid, String userUuid, String status, List<String> changed) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("status", status);
+        data.put("changed", changed);
+        return userChangeOutbox.event(orgUuid, userUuid, UserChangeEvent.USER_UPDATED, data);
+    }
+
+    private UserChangeEvent jobProfileCreatedEvent(String userUuid, JobProfile jobProfile) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("jobProfileUuid", jobProfile.getJobProfileUuid());
+        data.put("title", jobProfile.getTitle());
+        data.put("reportingManager", jobProfile.getReportingManager());
+        return userChangeOutbox.event(jobProfile.getOrganizationUuid(), userUuid,
+                UserChangeEvent.JOB_PROFILE_CREATED, data);
+    }
+
+    // One event per user whose status actually changed; unchanged and missing users have nothing to report
+    private List<UserChangeEvent> statusChangedEvents(String orgUuid, String status, Map<String, Boolean> changes) {
+        return changes.entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(entry -> UserStatus.INACTIVE.getName().equals(status)
+                        ? userChangeOutbox.event(orgUuid, entry.getKey(), UserChangeEvent.USER_DEACTIVATED,
+                                Map.of("status", status))
+                        : userUpdatedEvent(orgUuid, entry.getKey(), status, List.of(UserPatch.STATUS)))
+                .toList();
+    }
+
+    // Named as in merge patches, so USER_UPDATED events use one vocabulary for PUT and PATCH
+    private static List<String> changedAttributes(UpdateUserInternalRequest request) {
+        List<String> changed = new ArrayList<>();
+        if (!isNull(request.getUsername())) {
+            changed.add(UserPatch.USERNAME);
+        }
+        if (!isNull(request.getFirstName())) {
+            changed.add(UserPatch.FIRST_NAME);
+        }
+        if (!isNull(request.getMiddleName())) {
+            changed.add(UserPatch.MIDDLE_NAME);
+        }
+        if (!isNull(request.getLastName())) {
+            changed.add(UserPatch.LAST_NAME);
+        }
+        if (!isNull(request.getPhoneInfo())) {
+            changed.addAll(List.of(UserPatch.PHONE, UserPatch.PHONE_COUNTRY_CODE, UserPatch.PHONE_VERIFICATION_STATUS));
+        }
+        if (!isNull(request.getEmailInfo())) {
+            changed.addAll(List.of(UserPatch.EMAIL, UserPatch.EMAIL_VERIFICATION_STATUS));
+        }
+        if (!isNull(request.getStatus())) {
+            changed.add(UserPatch.STATUS);
+        }
+        if (request.getEmploymentInfoList() != null && !request.getEmploymentInfoList().isEmpty()) {
+            changed.add("jobProfileUuids");
+        }
+        return changed;
+    }
+
     @Transactional(readOnly = true)
     public UserHierarchyResponse getUserHierarchy(String orgUUID, String userId) {
         logger.info("Fetching user hierarchy for user: {} in org: {}", userId, orgUUID);
@@ -614,6 +976,40 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * Ranked prefix/substring/fuzzy match over names, username and email within the org. Terms
+     * shorter than a trigram cannot use the index, so they are rejected rather than scanned, and
+     * the result count is capped regardless of the requested limit.
+     */
+    @Transactional(readOnly = true)
+    public UserSearchResponse searchUsers(String orgUuid, String query, Integer limit) {
+        String term = query == null ? "" : query.trim();
+        if (term.length() < searchMinLength) {
+            throw new IllegalArgumentException("Search query must be at least " + searchMinLength + " characters");
+        }
+        int cappedLimit = Math.min(limit == null || limit < 1 ? searchDefaultResults : limit, searchMaxResults);
+
+        List<UserSearchHit> hits = userProfileRepository.searchUsers(orgUuid, term, searchCandidateLimit, cappedLimit);
+        logger.debug("User search for org: {} returned {} matches", orgUuid, hits.size());
+
+        UserSearchResponse response = new UserSearchResponse();
+        response.setQuery(term);
+        response.setUsers(hits.stream().map(this::toUserMatch).collect(Collectors.toList()));
+        return response;
+    }
+
+    private UserSearchResponse.UserMatch toUserMatch(UserSearchHit hit) {
+        UserSearchResponse.UserMatch match = new UserSearchResponse.UserMatch();
+        match.setUserId(hit.userUuid());
+        match.setUsername(hit.username());
+        match.setFirstName(hit.firstName());
+        match.setLastName(hit.lastName());
+        match.setEmail(hit.email());
+        match.setStatus(hit.status());
+        match.setScore(hit.score());
+        return match;
+    }
+
     private JobProfile getCurrentJobProfile(UserProfile user) {
         logger.debug("Getting current job profile for user: {}", user.getUserUuid());
 
@@ -0,0 +1,31 @@
+package com.userapi.service.outbox;
+
+import com.userapi.models.entity.UserChangeEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps delivered events in memory so tests can assert on what the relay published.
+ */
+@Component
+@ConditionalOnProperty(name = "user.api.outbox.sink", havingValue = "memory")
+public class InMemoryUserChangeEventSink implements UserChangeEventSink {
+
+    private final List<UserChangeEvent> delivered = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void deliver(List<UserChangeEvent> events) {
+        delivered.addAll(events);
+    }
+
+    public List<UserChangeEvent> getDelivered() {
+        return List.copyOf(delivered);
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
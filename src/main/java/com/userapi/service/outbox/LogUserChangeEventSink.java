@@ -0,0 +1,26 @@
+package com.userapi.service.outbox;
+
+import com.userapi.models.entity.UserChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes each event as one log line; the default until a consumer is wired up.
+ */
+@Component
+@ConditionalOnProperty(name = "user.api.outbox.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogUserChangeEventSink implements UserChangeEventSink {
+
+    @Override
+    public void deliver(List<UserChangeEvent> events) {
+        for (UserChangeEvent event : events) {
+            log.info("User change event {} {} org: {}, user: {}, version: {}, data: {}", event.getEventId(),
+                    event.getEventType(), event.getOrganizationUuid(), event.getUserUuid(), event.getUserVersion(),
+                    event.getPayload());
+        }
+    }
+}
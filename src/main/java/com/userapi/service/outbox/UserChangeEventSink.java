@@ -0,0 +1,16 @@
+package com.userapi.service.outbox;
+
+import com.userapi.models.entity.UserChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed user change events, selected with {@code user.api.outbox.sink}.
+ *
+ * <p>A batch counts as delivered when {@link #deliver} returns; an exception leaves the whole
+ * batch in the outbox to be retried, so a sink may see an event more than once.
+ */
+public interface UserChangeEventSink {
+
+    void deliver(List<UserChangeEvent> events);
+}
@@ -0,0 +1,106 @@
+package com.userapi.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.models.entity.UserChangeEvent;
+import com.userapi.repository.outbox.UserChangeEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Writes user change events to the {@code user_change_events} outbox in the same transaction as
+ * the change itself, so an event exists exactly when the change committed.
+ *
+ * <p>The service methods chain their writes across executor threads, where the
+ * {@code @Transactional} of the entry point no longer applies; {@link #write} therefore opens
+ * (or joins) the transaction around the change and its events explicitly. Delivery is left to
+ * {@link UserChangeRelay}.
+ *
+ * <p>Event ids are not in commit order, so each event also gets the next change version of its
+ * user, which is.
+ */
+@Service
+public class UserChangeOutbox {
+
+    private final UserChangeEventRepository repository;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Clock clock;
+
+    @Autowired
+    public UserChangeOutbox(
+            UserChangeEventRepository repository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${user.api.outbox.enabled:false}") boolean enabled) {
+        this(repository, transactionManager, objectMapper, enabled, Clock.systemUTC());
+    }
+
+    UserChangeOutbox(UserChangeEventRepository repository, PlatformTransactionManager transactionManager,
+                     ObjectMapper objectMapper, boolean enabled, Clock clock) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code change} and stores the events derived from its result in one transaction.
+     * When the outbox is disabled only the change runs.
+     */
+    public <T> T write(Supplier<T> change, Function<? super T, List<UserChangeEvent>> events) {
+        return transaction.execute(status -> {
+            T result = change.get();
+            if (enabled) {
+                List<UserChangeEvent> pending = events.apply(result);
+                if (!pending.isEmpty()) {
+                    assignUserVersions(pending);
+                    repository.saveAll(pending);
+                }
+            }
+            return result;
+        });
+    }
+
+    // Users are versioned in uuid order, so concurrent writes lock their version rows in the same order
+    private void assignUserVersions(List<UserChangeEvent> events) {
+        String userUuids = events.stream()
+                .map(UserChangeEvent::getUserUuid)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        Map<String, Long> versions = new HashMap<>();
+        for (Object[] row : repository.nextUserVersions(userUuids)) {
+            versions.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        events.forEach(event -> event.setUserVersion(versions.get(event.getUserUuid())));
+    }
+
+    public UserChangeEvent event(String orgUuid, String userUuid, String eventType, Map<String, ?> data) {
+        try {
+            return UserChangeEvent.builder()
+                    .organizationUuid(orgUuid)
+                    .userUuid(userUuid)
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(data))
+                    .createdAt(LocalDateTime.now(clock))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + eventType + " event", e);
+        }
+    }
+}
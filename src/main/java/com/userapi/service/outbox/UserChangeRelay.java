@@ -0,0 +1,164 @@
+package com.userapi.service.outbox;
+
+import com.userapi.models.entity.UserChangeEvent;
+import com.userapi.repository.outbox.UserChangeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the {@code user_change_events} outbox to the configured {@link UserChangeEventSink}.
+ *
+ * <p>Every {@code user.api.outbox.poll-interval} the relay locks up to {@code batch-size} events,
+ * lowest event id first, with {@code FOR UPDATE SKIP LOCKED}, hands them to the sink and deletes
+ * them in the same transaction, repeating while batches come back full. An event therefore reaches the
+ * sink within about one poll interval of its commit while the sink keeps up, and instances can
+ * relay side by side without sending the same batch twice.
+ *
+ * <p>Delivery is at-least-once: a failed batch stays in the outbox and is retried after
+ * {@code failure-backoff}, and a relay that dies after the sink accepted a batch sends it again.
+ * Consumers deduplicate on {@code eventId}. Event ids are allocated before commit, so neither
+ * they nor the delivery order follow commit order; consumers order a user's events by
+ * {@code userVersion}.
+ */
+@Service
+@Slf4j
+public class UserChangeRelay {
+
+    private final UserChangeEventRepository repository;
+    private final UserChangeEventSink sink;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final Duration failureBackoff;
+    private final Clock clock;
+
+    private final Counter delivered;
+    private final Counter failures;
+    private final Timer lag;
+
+    private volatile Instant retryAfter = Instant.MIN;
+    private Disposable relay;
+
+    @Autowired
+    public UserChangeRelay(
+            UserChangeEventRepository repository,
+            UserChangeEventSink sink,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${user.api.outbox.enabled:false}") boolean enabled,
+            @Value("${user.api.outbox.poll-interval:500ms}") Duration pollInterval,
+            @Value("${user.api.outbox.batch-size:200}") int batchSize,
+            @Value("${user.api.outbox.failure-backoff:5s}") Duration failureBackoff) {
+        this(repository, sink, transactionManager, meterRegistry, enabled, pollInterval, batchSize, failureBackoff,
+                Clock.systemUTC());
+    }
+
+    UserChangeRelay(UserChangeEventRepository repository, UserChangeEventSink sink,
+                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, boolean enabled,
+                    Duration pollInterval, int batchSize, Duration failureBackoff, Clock clock) {
+        this.repository = repository;
+        this.sink = sink;
+        // Read-write: the batch is locked and deleted on the primary
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.failureBackoff = failureBackoff;
+        this.clock = clock;
+        this.delivered = Counter.builder("user.api.outbox.delivered")
+                .description("User change events accepted by the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("user.api.outbox.failures")
+                .description("Outbox batches the sink rejected or that failed to relay")
+                .register(meterRegistry);
+        this.lag = Timer.builder("user.api.outbox.lag")
+                .description("Time from an event's commit to its delivery")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // A drain that outlasts the interval skips ticks rather than queueing them
+        relay = Flux.interval(pollInterval, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromCallable(this::drain)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(error -> {
+                            log.warn("User change relay failed: {}", error.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (relay != null) {
+            relay.dispose();
+        }
+    }
+
+    /**
+     * Relays batches until one comes back short or fails. Returns the number of events delivered.
+     */
+    public int drain() {
+        if (clock.instant().isBefore(retryAfter)) {
+            return 0;
+        }
+        int total = 0;
+        while (true) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                failures.increment();
+                retryAfter = clock.instant().plus(failureBackoff);
+                log.warn("Failed to relay user change events, retrying in {}: {}", failureBackoff, e.getMessage());
+                return total;
+            }
+            total += relayed;
+            if (relayed < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int relayBatch() {
+        Integer relayed = transaction.execute(status -> {
+            List<UserChangeEvent> batch = repository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            sink.deliver(batch);
+            repository.deleteDelivered(batch.stream().map(UserChangeEvent::getEventId).toList());
+            LocalDateTime now = LocalDateTime.now(clock);
+            batch.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+            delivered.increment(batch.size());
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.userapi.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.userapi.models.entity.UserChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POSTs each batch as {@code {"events": [...]}} to {@code user.api.outbox.webhook.url}. Any
+ * non-2xx answer or a timeout fails the batch, which the relay retries.
+ */
+@Component
+@ConditionalOnProperty(name = "user.api.outbox.sink", havingValue = "webhook")
+public class WebhookUserChangeEventSink implements UserChangeEventSink {
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    @Autowired
+    public WebhookUserChangeEventSink(
+            WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            @Value("${user.api.outbox.webhook.url}") String url,
+            @Value("${user.api.outbox.webhook.timeout:5s}") Duration timeout) {
+        this(webClientBuilder.baseUrl(url).build(), objectMapper, timeout);
+    }
+
+    WebhookUserChangeEventSink(WebClient webClient, ObjectMapper objectMapper, Duration timeout) {
+        this.webClient = webClient;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void deliver(List<UserChangeEvent> events) {
+        webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body(events))
+                .retrieve()
+                .toBodilessEntity()
+                .block(timeout);
+    }
+
+    // The stored payload is already JSON and is embedded without being parsed
+    String body(List<UserChangeEvent> events) {
+        List<Map<String, Object>> messages = events.stream()
+                .map(event -> {
+                    Map<String, Object> message = new LinkedHashMap<>();
+                    message.put("eventId", event.getEventId());
+                    message.put("eventType", event.getEventType());
+                    message.put("organizationUuid", event.getOrganizationUuid());
+                    message.put("userId", event.getUserUuid());
+                    message.put("userVersion", event.getUserVersion());
+                    message.put("occurredAt", event.getCreatedAt().toInstant(ZoneOffset.UTC).toString());
+                    message.put("data", new RawValue(event.getPayload()));
+                    return message;
+                })
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(Map.of("events", messages));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize user change events", e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.userapi.repository.userprofile.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
@@ -20,7 +21,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -35,7 +35,8 @@ public class ReportingManagerFetcher {
 
     private static final Logger logger = LoggerFactory.getLogger(ReportingManagerFetcher.class);
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(5);
+    @Qualifier("serviceExecutor")
+    private final ExecutorService executor;
 
     // Repositories
     private final UserProfileRepository userProfileRepository;
@@ -4,9 +4,11 @@ import com.userapi.exception.DuplicateResourceException;
 import com.userapi.models.entity.UserProfile;
 import com.userapi.models.internal.UpdateUserInternalRequest;
 import com.userapi.repository.userprofile.UserProfileRepository;
+import com.userapi.service.UserIdentifierFilter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -16,8 +18,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static java.util.Objects.isNull;
 
@@ -27,37 +29,51 @@ public class UpdateUserInternalRequestValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(UpdateUserInternalRequestValidator.class);
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(5);
+    @Qualifier("serviceExecutor")
+    private final ExecutorService executor;
 
     // Repositories
     private final UserProfileRepository userProfileRepository;
 
+    private final UserIdentifierFilter userIdentifierFilter;
+
     public CompletableFuture<UpdateUserInternalRequest> validateUniqueUser(
             UserProfile userProfile,
             UpdateUserInternalRequest request) {
-        logger.info("validateUniqueUser request:{}", request);
-        String orgUUID = request.getRequestContext().getAppOrgUuid();
+        logger.debug("validateUniqueUser org:{} user:{}",
+                request.getRequestContext().getAppOrgUuid(), userProfile.getUserUuid());
+        return validateUniqueIdentifiers(
+                request.getRequestContext().getAppOrgUuid(),
+                userProfile.getUserUuid(),
+                request.getUsername(),
+                isNull(request.getEmailInfo()) ? null : request.getEmailInfo().getEmail(),
+                isNull(request.getPhoneInfo()) ? null : request.getPhoneInfo().getNumber())
+                .thenApply(v -> request);
+    }
+
+    /**
+     * Fails with {@link DuplicateResourceException} when another user in the organization holds
+     * one of the non-null identifiers. Only needs the user's uuid, so callers that never load
+     * the profile (merge patches) can use it too.
+     */
+    public CompletableFuture<Void> validateUniqueIdentifiers(
+            String orgUUID,
+            String userUuid,
+            String username,
+            String email,
+            String phone) {
         List<CompletableFuture<UserProfile>> futures = new ArrayList<>();
-        if (!isNull(request.getUsername())) {
-            futures.add(
-                    CompletableFuture.supplyAsync(() ->
-                                            userProfileRepository.findUserByUsername(orgUUID, request.getUsername()),
-                                    executor)
-                            .completeOnTimeout(null, 500, TimeUnit.MILLISECONDS));
+        if (!isNull(username)) {
+            futures.add(lookup(orgUUID, username, null, null,
+                    () -> userProfileRepository.findUserByUsername(orgUUID, username)));
         }
-        if (!isNull(request.getPhoneInfo())) {
-            futures.add(
-                    CompletableFuture.supplyAsync(() ->
-                                            userProfileRepository.findUserByPhoneNumber(orgUUID, request.getPhoneInfo().getNumber()),
-                                    executor)
-                            .completeOnTimeout(null, 500, TimeUnit.MILLISECONDS));
+        if (!isNull(phone)) {
+            futures.add(lookup(orgUUID, null, null, phone,
+                    () -> userProfileRepository.findUserByPhoneNumber(orgUUID, phone)));
         }
-        if (!isNull(request.getEmailInfo())) {
-            futures.add(
-                    CompletableFuture.supplyAsync(() ->
-                                            userProfileRepository.findUserByEmail(orgUUID, request.getEmailInfo().getEmail()),
-                                    executor)
-                            .completeOnTimeout(null, 500, TimeUnit.MILLISECONDS));
+        if (!isNull(email)) {
+            futures.add(lookup(orgUUID, null, email, null,
+                    () -> userProfileRepository.findUserByEmail(orgUUID, email)));
         }
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
                 .thenApply(v -> futures.stream()
@@ -68,14 +84,30 @@ public class UpdateUserInternalRequestValidator {
                             .orElseGet(Collections::emptyList)
                             .stream()
                             .filter(Objects::nonNull)
-                            .filter(v -> !v.getUserUuid().equals(userProfile.getUserUuid()))
+                            .filter(v -> !v.getUserUuid().equals(userUuid))
                             .toList()
                             .isEmpty();
                     if (isUnique) {
-                        return CompletableFuture.completedFuture(request);
+                        return CompletableFuture.completedFuture(null);
                     }
                     return CompletableFuture.failedFuture(new DuplicateResourceException("found user matching username, or email, or phone"));
                 });
     }
 
+    // Skips the lookup when the uniqueness filter knows the value is new in the organization
+    private CompletableFuture<UserProfile> lookup(String orgUUID, String username, String email, String phone,
+                                                  Supplier<UserProfile> query) {
+        UserIdentifierFilter.Verdict verdict = userIdentifierFilter.check(orgUUID, username, email, phone);
+        if (verdict == UserIdentifierFilter.Verdict.DEFINITELY_NEW) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(query, executor)
+                .completeOnTimeout(null, 500, TimeUnit.MILLISECONDS)
+                .thenApply(match -> {
+                    if (match == null && verdict == UserIdentifierFilter.Verdict.PROBABLY_EXISTS) {
+                        userIdentifierFilter.recordFalsePositive();
+                    }
+                    return match;
+                });
+    }
 }
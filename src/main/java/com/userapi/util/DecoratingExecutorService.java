@@ -0,0 +1,53 @@
+package com.userapi.util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * ExecutorService that passes every task through a decorator before handing it to the
+ * delegate, e.g. to carry thread-local request context onto the worker thread.
+ * submit/invokeAll of AbstractExecutorService all funnel through {@link #execute}.
+ */
+public final class DecoratingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final UnaryOperator<Runnable> decorator;
+
+    public DecoratingExecutorService(ExecutorService delegate, UnaryOperator<Runnable> decorator) {
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(decorator.apply(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
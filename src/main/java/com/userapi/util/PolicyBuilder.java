@@ -1,22 +1,36 @@
 package com.userapi.util;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.userapi.enums.ResourceType;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
- * Utility class for building role policies dynamically using ResourceType enum
+ * Utility class for building role policies dynamically using ResourceType enum.
+ *
+ * <p>Policies are returned pre-serialized: a {@link JsonNode} wrapping the policy's UTF-8 JSON,
+ * which Jackson writes into a request body verbatim, without walking a tree. {@code toString()}
+ * still yields the JSON; callers that need to inspect or modify a policy should parse it with
+ * {@code readTree(policy.toString())}. Policies for the built-in role types are built once;
+ * custom policies are cached by content.
  */
 @Slf4j
 public class PolicyBuilder {
     
     private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final int CUSTOM_POLICY_CACHE_SIZE = 256;
+    private static final Map<RoleConfig, JsonNode> CUSTOM_POLICIES = new ConcurrentHashMap<>();
     
     // Role configuration - can be moved to application.properties or database
     private static final Map<String, RoleConfig> ROLE_CONFIGS = Map.of(
@@ -39,20 +53,21 @@ public class PolicyBuilder {
             Arrays.asList("create_task", "view_reports", "assign_tasks", "manage_team")
         )
     );
+
+    private static final Map<String, JsonNode> BUILT_IN_POLICIES = ROLE_CONFIGS.entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> serialize(entry.getValue())));
     
     /**
-     * Build policy for a specific role type
+     * Policy for a specific role type, built once at class initialisation
      */
     public static JsonNode buildPolicyForRole(String roleType) {
-        log.debug("Building policy for role type: {}", roleType);
-        
-        RoleConfig config = ROLE_CONFIGS.get(roleType.toUpperCase());
-        if (config == null) {
+        JsonNode policy = BUILT_IN_POLICIES.get(roleType.toUpperCase());
+        if (policy == null) {
             log.warn("Unknown role type: {}, using default user policy", roleType);
-            config = ROLE_CONFIGS.get("USER");
+            policy = BUILT_IN_POLICIES.get("USER");
         }
         
-        return buildPolicy(config);
+        return policy;
     }
     
     /**
@@ -77,17 +92,35 @@ public class PolicyBuilder {
     }
     
     /**
-     * Build custom policy with specified resources and actions
+     * Build custom policy with specified resources and actions. Policies with the same
+     * resources and features (in any set order) are built once and shared.
      */
     public static JsonNode buildCustomPolicy(Set<ResourceType> readResources, 
                                            Set<ResourceType> writeResources, 
                                            Set<ResourceType> deleteResources,
                                            List<String> features) {
+        RoleConfig config = new RoleConfig(readResources, writeResources, deleteResources, features);
+        JsonNode cached = CUSTOM_POLICIES.get(config);
+        if (cached != null) {
+            return cached;
+        }
+
         log.debug("Building custom policy with read: {}, write: {}, delete: {}", 
                  readResources, writeResources, deleteResources);
-        
-        RoleConfig config = new RoleConfig(readResources, writeResources, deleteResources, features);
-        return buildPolicy(config);
+        if (CUSTOM_POLICIES.size() >= CUSTOM_POLICY_CACHE_SIZE) {
+            CUSTOM_POLICIES.clear();
+        }
+        return CUSTOM_POLICIES.computeIfAbsent(config, PolicyBuilder::serialize);
+    }
+
+    private static JsonNode serialize(RoleConfig config) {
+        try {
+            String json = objectMapper.writeValueAsString(buildPolicy(config));
+            // SerializedString keeps the UTF-8 encoding, so writing the node is a byte copy
+            return JsonNodeFactory.instance.rawValueNode(new RawValue(new SerializedString(json)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize role policy", e);
+        }
     }
     
     /**
@@ -178,7 +211,8 @@ public class PolicyBuilder {
     }
     
     /**
-     * Configuration class for role permissions
+     * Configuration class for role permissions. Resources are held as EnumSets so that the
+     * generated arrays have a stable order and equal configurations compare equal.
      */
     private static class RoleConfig {
         final Set<ResourceType> readResources;
@@ -188,10 +222,32 @@ public class PolicyBuilder {
         
         RoleConfig(Set<ResourceType> readResources, Set<ResourceType> writeResources, 
                   Set<ResourceType> deleteResources, List<String> features) {
-            this.readResources = readResources;
-            this.writeResources = writeResources;
-            this.deleteResources = deleteResources;
-            this.features = features;
+            this.readResources = enumSet(readResources);
+            this.writeResources = enumSet(writeResources);
+            this.deleteResources = enumSet(deleteResources);
+            this.features = List.copyOf(features);
+        }
+
+        private static Set<ResourceType> enumSet(Set<ResourceType> resources) {
+            EnumSet<ResourceType> copy = EnumSet.noneOf(ResourceType.class);
+            copy.addAll(resources);
+            return Collections.unmodifiableSet(copy);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RoleConfig)) return false;
+            RoleConfig that = (RoleConfig) o;
+            return readResources.equals(that.readResources)
+                    && writeResources.equals(that.writeResources)
+                    && deleteResources.equals(that.deleteResources)
+                    && features.equals(that.features);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(readResources, writeResources, deleteResources, features);
         }
     }
 }
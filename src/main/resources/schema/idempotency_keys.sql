@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS public.idempotency_keys (
+    organization_uuid VARCHAR(36) NOT NULL,
+    operation VARCHAR(64) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    response_status INTEGER,
+    response_body TEXT,
+    locked_until TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (organization_uuid, operation, idempotency_key)
+);
+
+-- TTL cleanup deletes by expiry
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON public.idempotency_keys (expires_at);
@@ -14,4 +14,8 @@ CREATE TABLE IF NOT EXISTS public.job_profiles (
         REFERENCES public.user_profiles(user_uuid, organization_uuid)
         ON DELETE RESTRICT
         ON UPDATE CASCADE
-);
\ No newline at end of file
+);
+
+-- Serves extension filters on list users (extensions_data @@ jsonpath)
+CREATE INDEX IF NOT EXISTS idx_job_profiles_extensions_data
+    ON public.job_profiles USING GIN (extensions_data jsonb_path_ops);
@@ -0,0 +1,25 @@
+CREATE SEQUENCE IF NOT EXISTS public.user_change_events_event_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS public.user_change_events (
+    event_id BIGINT NOT NULL DEFAULT nextval('public.user_change_events_event_id_seq'),
+    organization_uuid VARCHAR(36) NOT NULL,
+    user_uuid VARCHAR(255) NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    user_version BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+
+    CONSTRAINT pk_user_change_events PRIMARY KEY (event_id)
+);
+
+-- The relay reads events in event id order through the primary key; delivered rows are
+-- deleted, so the table only holds the backlog
+
+-- Last change version handed out per user. Event ids are allocated before commit and are not
+-- in commit order; a user's versions are, because the upsert holds the row until commit
+CREATE TABLE IF NOT EXISTS public.user_change_versions (
+    user_uuid VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL,
+
+    CONSTRAINT pk_user_change_versions PRIMARY KEY (user_uuid)
+);
\ No newline at end of file
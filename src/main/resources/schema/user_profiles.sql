@@ -19,4 +19,12 @@ CREATE TABLE IF NOT EXISTS public.user_profiles (
     CONSTRAINT uk_user_profiles_username UNIQUE (username),
     CONSTRAINT uk_user_profiles_email UNIQUE (email),
     CONSTRAINT uk_user_profiles_phone UNIQUE (phone)
-);
\ No newline at end of file
+);
+
+-- Serves typeahead search (GET /users/search): trigram GIN index over names, username and email.
+-- btree_gin lets organization_uuid lead the index so each search only visits its own org.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_user_profiles_search_trgm
+    ON public.user_profiles USING GIN (organization_uuid,
+        (lower(first_name || ' ' || last_name || ' ' || username || ' ' || email)) gin_trgm_ops);
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.userapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.models.external.roles.BulkBootstrapOrganizationsRequest;
+import com.userapi.models.external.roles.OrganizationBootstrapRequest;
+import com.userapi.security.CustomPermissionEvaluator;
+import com.userapi.service.ApiKeyAuthenticationService;
+import com.userapi.service.RolesServiceClient;
+import com.userapi.service.UserRolesIntegrationService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import static com.userapi.common.constants.HeaderConstants.*;
+import static com.userapi.TestConstants.*;
+
+@WebMvcTest(value = RolesController.class, excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class RolesControllerTest {
+
+    private static final String TEST_API_KEY = "APAHdSmELUW4iMvBR6w4xP_q8K-blauC8HKml3CROOA";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RolesServiceClient rolesServiceClient;
+
+    @MockBean
+    private UserRolesIntegrationService userRolesIntegrationService;
+
+    @MockBean
+    private CustomPermissionEvaluator permissionEvaluator;
+
+    @MockBean
+    private ApiKeyAuthenticationService apiKeyAuthenticationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testBootstrapOrganizationsWithoutSystemPermissionIsForbidden() throws Exception {
+        Mockito.when(apiKeyAuthenticationService.validateApiKey(TEST_API_KEY))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        Mockito.when(permissionEvaluator.evaluatePermission(
+                        LIST_TEST_USER_UUID, LIST_TEST_ORG_UUID, "SYSTEM_ROLE", "ASSIGN_ADMIN"))
+                .thenReturn(Mono.just(false));
+
+        BulkBootstrapOrganizationsRequest request = new BulkBootstrapOrganizationsRequest(
+                List.of(new OrganizationBootstrapRequest("other-org-uuid", "other-admin-uuid")));
+
+        MvcResult asyncResult = mockMvc.perform(post("/role/bootstrap-organizations")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .header(API_KEY, TEST_API_KEY)
+                        .header(APP_ORG_UUID, LIST_TEST_ORG_UUID)
+                        .header(APP_USER_UUID, LIST_TEST_USER_UUID)
+                        .header(APP_CLIENT_USER_SESSION_UUID, LIST_TEST_SESSION_UUID)
+                        .header(APP_TRACE_ID, LIST_TEST_TRACE_ID)
+                        .header(APP_REGION_ID, LIST_TEST_REGION_ID)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("INSUFFICIENT_PERMISSIONS"));
+
+        verify(userRolesIntegrationService, never()).bootstrapOrganizations(any());
+    }
+}
@@ -1,5 +1,7 @@
 package com.userapi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.userapi.TestConstants;
 import com.userapi.converters.CreateUserRequestConverter;
 import com.userapi.converters.CreateUserResponseConverter;
@@ -7,11 +9,14 @@ import com.userapi.converters.GetUserRequestConverter;
 import com.userapi.converters.GetUserResponseConverter;
 import com.userapi.converters.UpdateUserRequestConverter;
 import com.userapi.converters.UpdateUserResponseConverter;
+import com.userapi.converters.UserPatchRequestConverter;
 import com.userapi.exception.DuplicateResourceException;
+import com.userapi.exception.IdempotencyKeyException;
 import com.userapi.exception.ResourceNotFoundException;
 import com.userapi.models.external.CreateUserRequest;
 import com.userapi.models.external.CreateUserResponse;
 import com.userapi.models.external.GetUserResponse;
+import com.userapi.models.external.PatchUserResponse;
 import com.userapi.models.external.UpdateUserRequest;
 import com.userapi.models.external.UpdateUserResponse;
 import com.userapi.models.internal.CreateUserInternalRequest;
@@ -25,6 +30,8 @@ import com.userapi.models.internal.ResponseReasonCode;
 import com.userapi.models.internal.ResponseResult;
 import com.userapi.models.internal.UpdateUserInternalRequest;
 import com.userapi.models.internal.UpdateUserInternalResponse;
+import com.userapi.models.internal.UserPatch;
+import com.userapi.service.IdempotencyService;
 import com.userapi.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,19 +40,26 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.bind.MissingRequestHeaderException;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 import static com.userapi.TestConstants.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UserControllerTest {
@@ -66,7 +80,11 @@ class UserControllerTest {
     @Mock
     private UpdateUserResponseConverter updateUserResponseConverter;
     @Mock
+    private UserPatchRequestConverter userPatchRequestConverter;
+    @Mock
     private UserService userService;
+    @Mock
+    private IdempotencyService idempotencyService;
 
     @BeforeEach
     void setUp() {
@@ -126,7 +144,8 @@ class UserControllerTest {
                 TEST_SESSION_UUID,
                 TEST_TRACE_ID,
                 TEST_REGION_ID,
-                request);
+                request,
+                null).join();
 
         // Assert
         assertEquals(CREATED_STATUS, response.getStatusCode());
@@ -136,6 +155,88 @@ class UserControllerTest {
         assertEquals(STATUS_ACTIVE, response.getBody().getStatus());
     }
 
+    @Test
+    void createUser_withIdempotencyKey_delegatesToIdempotencyService() {
+        // Arrange
+        CreateUserRequest request = new CreateUserRequest();
+        CreateUserInternalRequest internalRequest = CreateUserInternalRequest.builder()
+                .requestContext(TEST_REQUEST_CONTEXT)
+                .username(TEST_USERNAME)
+                .build();
+        CreateUserResponse storedResponse = CreateUserResponse.builder()
+                .message(SUCCESS_CREATE_MESSAGE)
+                .httpStatus(CREATED_STATUS)
+                .userId(TEST_USER_ID)
+                .username(TEST_USERNAME)
+                .status(STATUS_ACTIVE)
+                .build();
+
+        when(createUserRequestConverter.toInternal(
+                eq(TEST_ORG_UUID),
+                eq(TEST_USER_UUID),
+                eq(TEST_SESSION_UUID),
+                eq(TEST_TRACE_ID),
+                eq(TEST_REGION_ID),
+                eq(request)))
+                .thenReturn(internalRequest);
+        when(idempotencyService.execute(
+                eq(TEST_ORG_UUID),
+                eq(IdempotencyService.CREATE_USER),
+                eq("key-1"),
+                eq(request),
+                eq(CreateUserResponse.class),
+                any()))
+                .thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(storedResponse, CREATED_STATUS)));
+
+        // Act
+        ResponseEntity<CreateUserResponse> response = userController.createUser(
+                TEST_ORG_UUID,
+                TEST_USER_UUID,
+                TEST_SESSION_UUID,
+                TEST_TRACE_ID,
+                TEST_REGION_ID,
+                request,
+                "key-1").join();
+
+        // Assert
+        assertEquals(CREATED_STATUS, response.getStatusCode());
+        assertEquals(TEST_USER_ID, response.getBody().getUserId());
+        verify(userService, never()).createUser(any());
+    }
+
+    @Test
+    void createUser_withIdempotencyKey_timeoutAnswers503WithoutCancellingTheKeyedCreate() {
+        CreateUserRequest request = new CreateUserRequest();
+        when(createUserRequestConverter.toInternal(any(), any(), any(), any(), any(), eq(request)))
+                .thenReturn(CreateUserInternalRequest.builder().requestContext(TEST_REQUEST_CONTEXT).build());
+        // Still running on the service side
+        when(idempotencyService.execute(any(), any(), any(), any(), eq(CreateUserResponse.class), any()))
+                .thenReturn(new CompletableFuture<>());
+        ReflectionTestUtils.setField(userController, "createUserTimeoutMs", 50L);
+
+        ResponseEntity<CreateUserResponse> response = userController.createUser(TEST_ORG_UUID, TEST_USER_UUID,
+                TEST_SESSION_UUID, TEST_TRACE_ID, TEST_REGION_ID, request, "key-1").join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+    @Test
+    void createUser_withReusedIdempotencyKey_keepsTheKeyErrorStatus() {
+        CreateUserRequest request = new CreateUserRequest();
+        when(createUserRequestConverter.toInternal(any(), any(), any(), any(), any(), eq(request)))
+                .thenReturn(CreateUserInternalRequest.builder().requestContext(TEST_REQUEST_CONTEXT).build());
+        when(idempotencyService.execute(any(), any(), any(), any(), eq(CreateUserResponse.class), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IdempotencyKeyException(
+                        "Idempotency-Key was already used with a different request body",
+                        HttpStatus.UNPROCESSABLE_ENTITY)));
+
+        CompletionException error = assertThrows(CompletionException.class, () -> userController.createUser(
+                TEST_ORG_UUID, TEST_USER_UUID, TEST_SESSION_UUID, TEST_TRACE_ID, TEST_REGION_ID, request,
+                "key-1").join());
+
+        assertInstanceOf(IdempotencyKeyException.class, error.getCause());
+    }
+
     @Test
     void getUserById_success() throws Exception {
         // Arrange
@@ -182,7 +283,7 @@ class UserControllerTest {
                 TEST_SESSION_UUID,
                 TEST_TRACE_ID,
                 TEST_REGION_ID,
-                TEST_USER_ID);
+                TEST_USER_ID).join();
 
         // Assert
         assertEquals(OK_STATUS, response.getStatusCode());
@@ -244,7 +345,7 @@ class UserControllerTest {
                 TEST_TRACE_ID,
                 TEST_REGION_ID,
                 TEST_USER_ID,
-                request);
+                request).join();
 
         // Assert
         assertEquals(OK_STATUS, response.getStatusCode());
@@ -253,6 +354,60 @@ class UserControllerTest {
         assertEquals(SUCCESS_UPDATE_MESSAGE, response.getBody().getMessage());
     }
 
+    @Test
+    void patchUser_success() {
+        // Arrange
+        ObjectNode patch = new ObjectMapper().createObjectNode().put("firstName", TEST_FIRST_NAME);
+        UserPatch userPatch = new UserPatch(Map.of(UserPatch.FIRST_NAME, TEST_FIRST_NAME));
+        PatchUserResponse patched = PatchUserResponse.builder()
+                .httpStatus(HttpStatus.OK)
+                .userId(TEST_USER_ID)
+                .firstName(TEST_FIRST_NAME)
+                .build();
+
+        when(userPatchRequestConverter.toInternal(patch)).thenReturn(userPatch);
+        when(userService.patchUser(TEST_ORG_UUID, TEST_USER_ID, userPatch))
+                .thenReturn(CompletableFuture.completedFuture(patched));
+
+        // Act
+        ResponseEntity<PatchUserResponse> response = userController.patchUser(TEST_ORG_UUID, TEST_USER_ID, patch).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(TEST_FIRST_NAME, response.getBody().getFirstName());
+    }
+
+    @Test
+    void patchUser_timeoutReturnsServiceUnavailable() {
+        ObjectNode patch = new ObjectMapper().createObjectNode().put("firstName", TEST_FIRST_NAME);
+        UserPatch userPatch = new UserPatch(Map.of(UserPatch.FIRST_NAME, TEST_FIRST_NAME));
+
+        when(userPatchRequestConverter.toInternal(patch)).thenReturn(userPatch);
+        // Service never completes
+        when(userService.patchUser(TEST_ORG_UUID, TEST_USER_ID, userPatch)).thenReturn(new CompletableFuture<>());
+        ReflectionTestUtils.setField(userController, "patchUserTimeoutMs", 50L);
+
+        ResponseEntity<PatchUserResponse> response = userController.patchUser(TEST_ORG_UUID, TEST_USER_ID, patch).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getBody().getHttpStatus());
+    }
+
+    @Test
+    void patchUser_unknownUserIsLeftToTheExceptionHandler() {
+        ObjectNode patch = new ObjectMapper().createObjectNode().put("firstName", TEST_FIRST_NAME);
+        UserPatch userPatch = new UserPatch(Map.of(UserPatch.FIRST_NAME, TEST_FIRST_NAME));
+
+        when(userPatchRequestConverter.toInternal(patch)).thenReturn(userPatch);
+        when(userService.patchUser(TEST_ORG_UUID, TEST_USER_ID, userPatch))
+                .thenReturn(CompletableFuture.failedFuture(new ResourceNotFoundException("User not found")));
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> userController.patchUser(TEST_ORG_UUID, TEST_USER_ID, patch).join());
+
+        assertInstanceOf(ResourceNotFoundException.class, thrown.getCause());
+    }
+
     @Test
     void deactivateUser_success() throws Exception {
         // Arrange
@@ -277,7 +432,7 @@ class UserControllerTest {
                 .thenReturn(expected);
 
         // Act
-        ResponseEntity<UpdateUserResponse> response = userController.deactivateUser(TEST_ORG_UUID, TEST_USER_ID);
+        ResponseEntity<UpdateUserResponse> response = userController.deactivateUser(TEST_ORG_UUID, TEST_USER_ID).join();
 
         // Assert
         assertEquals(OK_STATUS, response.getStatusCode());
@@ -321,7 +476,8 @@ class UserControllerTest {
                 TEST_SESSION_UUID,
                 TEST_TRACE_ID,
                 TEST_REGION_ID,
-                request);
+                request,
+                null).join();
 
         // Assert
         assertEquals(ERROR_STATUS, response.getStatusCode());
@@ -364,7 +520,8 @@ class UserControllerTest {
                 TEST_SESSION_UUID,
                 TEST_TRACE_ID,
                 TEST_REGION_ID,
-                request);
+                request,
+                null).join();
 
         // Assert
         assertEquals(BAD_REQUEST_STATUS, response.getStatusCode());
@@ -401,7 +558,7 @@ class UserControllerTest {
                 TEST_SESSION_UUID,
                 TEST_TRACE_ID,
                 TEST_REGION_ID,
-                TEST_USER_ID);
+                TEST_USER_ID).join();
 
         // Assert
         assertEquals(ERROR_STATUS, response.getStatusCode());
@@ -440,7 +597,7 @@ class UserControllerTest {
                 TEST_TRACE_ID,
                 TEST_REGION_ID,
                 TEST_USER_ID,
-                request);
+                request).join();
 
         // Assert
         assertEquals(ERROR_STATUS, response.getStatusCode());
@@ -456,7 +613,7 @@ class UserControllerTest {
                 .thenReturn(failedFuture);
 
         // Act
-        ResponseEntity<UpdateUserResponse> response = userController.deactivateUser(TEST_ORG_UUID, TEST_USER_ID);
+        ResponseEntity<UpdateUserResponse> response = userController.deactivateUser(TEST_ORG_UUID, TEST_USER_ID).join();
 
         // Assert
         assertEquals(ERROR_STATUS, response.getStatusCode());
@@ -494,7 +651,8 @@ class UserControllerTest {
                     TEST_SESSION_UUID,
                     TEST_TRACE_ID,
                     TEST_REGION_ID,
-                    request);
+                    request,
+                    null);
             // If we get here, the test should fail
             assertTrue(false, EXPECTED_EXCEPTION_MESSAGE);
         } catch (Exception e) {
@@ -533,7 +691,8 @@ class UserControllerTest {
                     TEST_SESSION_UUID,
                     TEST_TRACE_ID,
                     TEST_REGION_ID,
-                    request);
+                    request,
+                    null);
             // If we get here, the test should fail
             assertTrue(false, EXPECTED_EXCEPTION_MESSAGE);
         } catch (Exception e) {
@@ -617,4 +776,40 @@ class UserControllerTest {
             assertEquals(NULL_ORG_USER_MESSAGE, e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserById_timeout() {
+        // Arrange
+        GetUserInternalRequest internalRequest = GetUserInternalRequest.builder()
+                .requestContext(TEST_REQUEST_CONTEXT)
+                .userId(TEST_USER_ID)
+                .build();
+
+        when(getUserRequestConverter.toInternal(
+                eq(TEST_ORG_UUID),
+                eq(TEST_USER_UUID),
+                eq(TEST_SESSION_UUID),
+                eq(TEST_TRACE_ID),
+                eq(TEST_REGION_ID),
+                eq(TEST_USER_ID)))
+                .thenReturn(internalRequest);
+
+        // Service never completes
+        when(userService.getUser(internalRequest))
+                .thenReturn(new CompletableFuture<>());
+        ReflectionTestUtils.setField(userController, "getUserTimeoutMs", 50L);
+
+        // Act
+        ResponseEntity<GetUserResponse> response = userController.getUserById(
+                TEST_ORG_UUID,
+                TEST_USER_UUID,
+                TEST_SESSION_UUID,
+                TEST_TRACE_ID,
+                TEST_REGION_ID,
+                TEST_USER_ID).join();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getBody().getHttpStatus());
+    }
+}
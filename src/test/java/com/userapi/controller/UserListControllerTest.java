@@ -2,10 +2,14 @@ package com.userapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.userapi.TestConstants;
+import com.userapi.config.ExecutorConfig;
 import com.userapi.config.TestSecurityConfig;
+import com.userapi.models.external.BulkStatusChangeRequest;
+import com.userapi.models.external.BulkStatusChangeResponse;
 import com.userapi.models.external.ListUsersRequest;
 import com.userapi.models.external.ListUsersResponse;
 import com.userapi.models.external.UserHierarchyResponse;
+import com.userapi.models.external.UserSearchResponse;
 import com.userapi.service.UserService;
 import com.userapi.service.ApiKeyAuthenticationService;
 
@@ -18,9 +22,11 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +43,7 @@ import static com.userapi.TestConstants.*;
         org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
         org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
 })
+@Import(ExecutorConfig.class)
 @ActiveProfiles("test")
 public class UserListControllerTest {
 
@@ -77,7 +84,7 @@ public class UserListControllerTest {
         Mockito.when(userService.listUsers(any(ListUsersRequest.class), eq(LIST_TEST_ORG_UUID)))
                 .thenReturn(mockResponse);
 
-        mockMvc.perform(post("/users/filter")
+        MvcResult asyncResult = mockMvc.perform(post("/users/filter")
                         .contentType(JSON_CONTENT_TYPE)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, LIST_TEST_ORG_UUID)
@@ -86,6 +93,10 @@ public class UserListControllerTest {
                         .header(APP_TRACE_ID, LIST_TEST_TRACE_ID)
                         .header(APP_REGION_ID, LIST_TEST_REGION_ID)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalElements").value(0))
                 .andExpect(jsonPath("$.totalPages").value(0))
@@ -110,9 +121,79 @@ public class UserListControllerTest {
         Mockito.when(userService.getUserHierarchy(orgUuid, userId))
                 .thenReturn(mockResponse);
 
-        mockMvc.perform(get("/users/{userId}/hierarchy", userId)
+        MvcResult asyncResult = mockMvc.perform(get("/users/{userId}/hierarchy", userId)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, orgUuid))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void testSearchUsers() throws Exception {
+        Mockito.when(apiKeyAuthenticationService.validateApiKey(TEST_API_KEY))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        UserSearchResponse.UserMatch match = new UserSearchResponse.UserMatch();
+        match.setUserId(TEST_USER_ID);
+        match.setUsername("jane.doe");
+        UserSearchResponse mockResponse = new UserSearchResponse();
+        mockResponse.setQuery("jan");
+        mockResponse.setUsers(Collections.singletonList(match));
+
+        Mockito.when(userService.searchUsers(LIST_TEST_ORG_UUID, "jan", 5))
+                .thenReturn(mockResponse);
+
+        MvcResult asyncResult = mockMvc.perform(get("/users/search")
+                        .param("q", "jan")
+                        .param("limit", "5")
+                        .header(API_KEY, TEST_API_KEY)
+                        .header(APP_ORG_UUID, LIST_TEST_ORG_UUID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].userId").value(TEST_USER_ID))
+                .andExpect(jsonPath("$.users[0].username").value("jane.doe"));
+    }
+
+    @Test
+    void testChangeStatus_partialFailureAnswersMultiStatus() throws Exception {
+        Mockito.when(apiKeyAuthenticationService.validateApiKey(TEST_API_KEY))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setStatus("INACTIVE");
+        request.setUserIds(List.of(TEST_USER_ID, "user-2"));
+
+        BulkStatusChangeResponse mockResponse = new BulkStatusChangeResponse();
+        mockResponse.setStatus("Inactive");
+        mockResponse.setChanged(1);
+        mockResponse.setMatched(1);
+        mockResponse.setFailed(1);
+        mockResponse.setResults(List.of(
+                new BulkStatusChangeResponse.UserOutcome(TEST_USER_ID, BulkStatusChangeResponse.Outcome.UPDATED),
+                new BulkStatusChangeResponse.UserOutcome("user-2", BulkStatusChangeResponse.Outcome.FAILED)));
+
+        Mockito.when(userService.changeStatus(eq(LIST_TEST_ORG_UUID), any(BulkStatusChangeRequest.class)))
+                .thenReturn(mockResponse);
+
+        MvcResult asyncResult = mockMvc.perform(post("/users/status")
+                        .contentType(JSON_CONTENT_TYPE)
+                        .header(API_KEY, TEST_API_KEY)
+                        .header(APP_ORG_UUID, LIST_TEST_ORG_UUID)
+                        .header(APP_USER_UUID, LIST_TEST_USER_UUID)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.changed").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("FAILED"));
+    }
 }
@@ -0,0 +1,74 @@
+package com.userapi.converters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.userapi.models.entity.JobProfile;
+import com.userapi.models.entity.UserProfile;
+import com.userapi.models.external.GetUserResponse;
+import com.userapi.models.internal.GetUserInternalResponse;
+import com.userapi.models.internal.ResponseReasonCode;
+import com.userapi.models.internal.ResponseResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GetUserResponseConverterTest {
+
+    private final GetUserResponseConverter converter = new GetUserResponseConverter();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void toExternal_nullInput_returnsNull() {
+        assertNull(converter.toExternal(null));
+    }
+
+    @Test
+    void toExternal_extensionsData_embeddedAsRawJson() throws Exception {
+        GetUserInternalResponse internal = buildInternalResponse("{\"level\": 3, \"department\": \"Backend\"}");
+
+        GetUserResponse external = converter.toExternal(internal);
+        assertEquals("{\"level\": 3, \"department\": \"Backend\"}", external.getJobProfiles().get(0).getExtensionsData());
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(external));
+        JsonNode extensionsData = json.get("jobProfiles").get(0).get("extensionsData");
+        assertTrue(extensionsData.isObject());
+        assertEquals(3, extensionsData.get("level").asInt());
+        assertEquals("Backend", extensionsData.get("department").asText());
+    }
+
+    @Test
+    void toExternal_missingExtensionsData_serializedAsEmptyObject() throws Exception {
+        GetUserInternalResponse internal = buildInternalResponse(null);
+
+        GetUserResponse external = converter.toExternal(internal);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(external));
+        JsonNode extensionsData = json.get("jobProfiles").get(0).get("extensionsData");
+        assertTrue(extensionsData.isObject());
+        assertEquals(0, extensionsData.size());
+    }
+
+    private GetUserInternalResponse buildInternalResponse(String extensionsData) {
+        UserProfile userProfile = UserProfile.builder()
+                .userUuid("user1")
+                .username("john.doe")
+                .jobProfileUuids(new String[]{"jp1"})
+                .build();
+        JobProfile jobProfile = JobProfile.builder()
+                .jobProfileUuid("jp1")
+                .title("Engineer")
+                .startDate(LocalDateTime.now())
+                .extensionsData(extensionsData)
+                .build();
+        return GetUserInternalResponse.builder()
+                .responseResult(ResponseResult.SUCCESS)
+                .responseReasonCode(ResponseReasonCode.SUCCESS)
+                .userProfile(userProfile)
+                .jobProfilesByUuid(Map.of("jp1", jobProfile))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.userapi.converters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.models.internal.UserPatch;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPatchRequestConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserPatchRequestConverter converter =
+            new UserPatchRequestConverter(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void toInternal_keepsOnlyPresentFields() {
+        UserPatch patch = converter.toInternal(json("{\"firstName\":\"Jane\",\"middleName\":null,\"status\":\"INACTIVE\"}"));
+
+        assertEquals(List.of(UserPatch.FIRST_NAME, UserPatch.MIDDLE_NAME, UserPatch.STATUS),
+                List.copyOf(patch.getChanges().keySet()));
+        assertEquals("Jane", patch.getChanges().get(UserPatch.FIRST_NAME));
+        assertNull(patch.getChanges().get(UserPatch.MIDDLE_NAME));
+        assertEquals("Inactive", patch.getChanges().get(UserPatch.STATUS));
+        assertNull(patch.getUsername());
+    }
+
+    @Test
+    void toInternal_mergesNestedPhoneAndEmailInfo() {
+        UserPatch patch = converter.toInternal(json(
+                "{\"phoneInfo\":{\"verificationStatus\":\"VERIFIED\"},\"emailInfo\":{\"email\":\"jane@example.com\"}}"));
+
+        assertEquals("VERIFIED", patch.getChanges().get(UserPatch.PHONE_VERIFICATION_STATUS));
+        assertFalse(patch.getChanges().containsKey(UserPatch.PHONE));
+        assertEquals("jane@example.com", patch.getEmail());
+    }
+
+    @Test
+    void toInternal_appliesCreateRequestConstraints() {
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("{\"firstName\":null}")));
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("{\"lastName\":\" \"}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.toInternal(json("{\"emailInfo\":{\"email\":\"not-an-email\"}}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.toInternal(json("{\"phoneInfo\":{\"countryCode\":\"1\"}}")));
+    }
+
+    @Test
+    void toInternal_rejectsUnsupportedDocuments() {
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("[]")));
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("{}")));
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("{\"userId\":\"x\"}")));
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("{\"status\":\"DELETED\"}")));
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("{\"phoneInfo\":null}")));
+        assertThrows(IllegalArgumentException.class, () -> converter.toInternal(json("{\"employmentInfo\":[]}")));
+    }
+
+    private JsonNode json(String text) {
+        try {
+            return objectMapper.readTree(text);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.userapi.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String REPLICA = "replica-1";
+    private static final String SESSION = "session-1";
+    private static final String PRIMARY_LSN = "0/3000148";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToCaughtUpReplica() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(replicaWithLag(100));
+
+        assertEquals(REPLICA, inTransaction(true, routing));
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, inTransaction(false, routing));
+        // Outside a transaction
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        assertEquals(1.0, meterRegistry.get("user.api.datasource.routed")
+                .tags("pool", REPLICA, "reason", "read-only").counter().count());
+    }
+
+    @Test
+    void laggingOrUnreachableReplicaFallsBackToPrimary() throws SQLException {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, inTransaction(true, routing(replicaWithLag(5_000))));
+
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("connection refused"));
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, inTransaction(true, routing(unreachable)));
+    }
+
+    @Test
+    void replicaIsMeasuredAgainstThePrimarysWalPosition() throws SQLException {
+        DataSource replica = replicaWithLag(0);
+
+        monitor(primaryAt(PRIMARY_LSN), replica);
+
+        PreparedStatement statement = replica.getConnection().prepareStatement(ReplicaLagMonitor.LAG_QUERY);
+        verify(statement).setString(1, PRIMARY_LSN);
+    }
+
+    @Test
+    void unknownPrimaryPositionKeepsReadsOnPrimary() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                mock(DataSource.class), monitor(primary, replicaWithLag(0)), Duration.ofSeconds(5), meterRegistry);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, inTransaction(true, routing));
+    }
+
+    @Test
+    void sessionReadsItsWritesFromPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(replicaWithLag(0));
+
+        try (ReplicaRoutingContext.Scope ignored = ReplicaRoutingContext.open(SESSION)) {
+            inTransaction(false, routing);
+            assertEquals(ReplicaRoutingDataSource.PRIMARY, inTransaction(true, routing));
+        }
+        try (ReplicaRoutingContext.Scope ignored = ReplicaRoutingContext.open("session-2")) {
+            assertEquals(REPLICA, inTransaction(true, routing));
+        }
+    }
+
+    @Test
+    void stickinessExpires() throws SQLException, InterruptedException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                mock(DataSource.class), monitor(replicaWithLag(0)), Duration.ofMillis(20), meterRegistry);
+
+        try (ReplicaRoutingContext.Scope ignored = ReplicaRoutingContext.open(SESSION)) {
+            inTransaction(false, routing);
+            Thread.sleep(50);
+            assertEquals(REPLICA, inTransaction(true, routing));
+        }
+    }
+
+    private ReplicaRoutingDataSource routing(DataSource replica) throws SQLException {
+        return new ReplicaRoutingDataSource(mock(DataSource.class), monitor(replica), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    private ReplicaLagMonitor monitor(DataSource replica) throws SQLException {
+        return monitor(primaryAt(PRIMARY_LSN), replica);
+    }
+
+    private ReplicaLagMonitor monitor(DataSource primary, DataSource replica) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary,
+                Map.of(REPLICA, replica), Duration.ofSeconds(2), Duration.ofSeconds(1), meterRegistry);
+        monitor.probe();
+        return monitor;
+    }
+
+    private static DataSource primaryAt(String lsn) throws SQLException {
+        DataSource primary = mock(DataSource.class, RETURNS_DEEP_STUBS);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn(lsn);
+        when(primary.getConnection().createStatement().executeQuery(ReplicaLagMonitor.PRIMARY_LSN_QUERY))
+                .thenReturn(resultSet);
+        return primary;
+    }
+
+    private static DataSource replicaWithLag(double lagMillis) throws SQLException {
+        DataSource replica = mock(DataSource.class, RETURNS_DEEP_STUBS);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(replica.getConnection().prepareStatement(ReplicaLagMonitor.LAG_QUERY)).thenReturn(statement);
+        return replica;
+    }
+
+    // Simulates a committed transaction the way the transaction manager sets it up
+    private static Object inTransaction(boolean readOnly, ReplicaRoutingDataSource routing) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            Object key = routing.determineCurrentLookupKey();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            return key;
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+}
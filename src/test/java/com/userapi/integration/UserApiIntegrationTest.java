@@ -13,6 +13,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -114,7 +116,7 @@ public class UserApiIntegrationTest {
         uniqueUserRequest.setPhoneInfo(uniquePhoneInfo);
         uniqueUserRequest.setEmploymentInfoList(Arrays.asList(uniqueEmploymentInfo));
 
-        mockMvc.perform(post("/user")
+        performAsync(post("/user")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
@@ -159,7 +161,7 @@ public class UserApiIntegrationTest {
         duplicateUserRequest.setEmploymentInfoList(Arrays.asList(uniqueEmploymentInfo));
 
         // First create the user
-        mockMvc.perform(post("/user")
+        performAsync(post("/user")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
@@ -171,7 +173,7 @@ public class UserApiIntegrationTest {
                 .andExpect(status().is2xxSuccessful());
 
         // Then try to create the same user again - currently succeeds (no duplicate validation)
-        mockMvc.perform(post("/user")
+        performAsync(post("/user")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
@@ -191,7 +193,7 @@ public class UserApiIntegrationTest {
         String existingUserId = "test-user-1";
 
         // Get the existing user
-        mockMvc.perform(get("/user/{userId}", existingUserId)
+        performAsync(get("/user/{userId}", existingUserId)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
                         .header(APP_USER_UUID, "f002a471-ebcc-4d6c-ad3c-2327805c001c")
@@ -205,7 +207,7 @@ public class UserApiIntegrationTest {
     @Transactional
     @WithMockUser(authorities = {"ROLE_ADMIN"})
     void getUser_WhenUserDoesNotExist_ShouldReturnNotFound() throws Exception {
-        mockMvc.perform(get("/user/{userId}", "non-existent-id")
+        performAsync(get("/user/{userId}", "non-existent-id")
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
                         .header(APP_USER_UUID, "f002a471-ebcc-4d6c-ad3c-2327805c001c")
@@ -223,7 +225,7 @@ public class UserApiIntegrationTest {
         String existingUserId = "test-user-1";
 
         // First get the existing user to verify it exists
-        MvcResult getUserResult = mockMvc.perform(get("/user/{userId}", existingUserId)
+        MvcResult getUserResult = performAsync(get("/user/{userId}", existingUserId)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
                         .header(APP_USER_UUID, "f002a471-ebcc-4d6c-ad3c-2327805c001c")
@@ -265,7 +267,7 @@ public class UserApiIntegrationTest {
         updateRequest.setEmploymentInfoList(Arrays.asList(employmentInfo));
 
         // Update the user
-        mockMvc.perform(put("/user/{userId}", existingUserId)
+        performAsync(put("/user/{userId}", existingUserId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
@@ -277,7 +279,7 @@ public class UserApiIntegrationTest {
                 .andExpect(status().is2xxSuccessful());
 
         // Verify the user was updated
-        mockMvc.perform(get("/user/{userId}", existingUserId)
+        performAsync(get("/user/{userId}", existingUserId)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
                         .header(APP_USER_UUID, "f002a471-ebcc-4d6c-ad3c-2327805c001c")
@@ -295,7 +297,7 @@ public class UserApiIntegrationTest {
         String existingUserId = "test-user-3"; // Use a different user than the other tests
 
         // First verify the user exists
-        mockMvc.perform(get("/user/{userId}", existingUserId)
+        performAsync(get("/user/{userId}", existingUserId)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
                         .header(APP_USER_UUID, "f002a471-ebcc-4d6c-ad3c-2327805c001c")
@@ -305,7 +307,7 @@ public class UserApiIntegrationTest {
                 .andExpect(status().is2xxSuccessful());
 
         // Then delete the user
-        mockMvc.perform(delete("/user/{userId}", existingUserId)
+        performAsync(delete("/user/{userId}", existingUserId)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
                         .header(APP_USER_UUID, "f002a471-ebcc-4d6c-ad3c-2327805c001c")
@@ -315,7 +317,7 @@ public class UserApiIntegrationTest {
                 .andExpect(status().is2xxSuccessful());
 
         // Verify the user is marked as inactive but still accessible
-        mockMvc.perform(get("/user/{userId}", existingUserId)
+        performAsync(get("/user/{userId}", existingUserId)
                         .header(API_KEY, TEST_API_KEY)
                         .header(APP_ORG_UUID, "org-1")
                         .header(APP_USER_UUID, "f002a471-ebcc-4d6c-ad3c-2327805c001c")
@@ -324,4 +326,12 @@ public class UserApiIntegrationTest {
                         .header(APP_REGION_ID, "region-1"))
                 .andExpect(status().is2xxSuccessful());
     }
+
+    // User endpoints complete asynchronously; wait for the async dispatch before asserting
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult asyncResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(asyncResult));
+    }
 }
@@ -0,0 +1,102 @@
+package com.userapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SamplingTurboFilterTest {
+
+    private static final String TEMPLATE = "Getting roles for user: {} in organization: {}";
+
+    private final LoggerContext context = new LoggerContext();
+    private Logger logger;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        logger = context.getLogger("com.userapi.service.impl.RolesServiceClientImpl");
+        logger.setLevel(Level.DEBUG);
+        filter = new SamplingTurboFilter();
+        filter.setMaxPerWindow(2);
+        filter.setWindowMillis(60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void samplesRepeatedTemplatePerOrganization() {
+        long sampledBefore = SamplingTurboFilter.sampledEvents();
+
+        MDC.put(LoggingContextFilter.ORG_UUID, "org-1");
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, TEMPLATE));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, TEMPLATE));
+        assertEquals(FilterReply.DENY, decide(Level.DEBUG, TEMPLATE));
+
+        // Another organization has its own allowance
+        MDC.put(LoggingContextFilter.ORG_UUID, "org-2");
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, TEMPLATE));
+
+        assertEquals(sampledBefore + 1, SamplingTurboFilter.sampledEvents());
+    }
+
+    @Test
+    void neverSamplesWarningsOrOtherLoggers() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(Level.WARN, TEMPLATE));
+            assertEquals(FilterReply.NEUTRAL,
+                    filter.decide(null, context.getLogger("org.hibernate.SQL"), Level.INFO, TEMPLATE, null, null));
+        }
+    }
+
+    @Test
+    void disabledLevelsDoNotConsumeAllowance() {
+        logger.setLevel(Level.INFO);
+        for (int i = 0; i < 5; i++) {
+            decide(Level.DEBUG, TEMPLATE);
+        }
+
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, TEMPLATE));
+    }
+
+    @Test
+    void endpointIsMethodAndFirstPathSegment() {
+        assertEquals("GET /user", LoggingContextFilter.endpoint(new MockHttpServletRequest("GET", "/user/123/hierarchy")));
+        assertEquals("POST /role", LoggingContextFilter.endpoint(new MockHttpServletRequest("POST", "/role")));
+    }
+
+    @Test
+    void wrapCarriesMdcToWorkerThread() throws InterruptedException {
+        MDC.put(LoggingContextFilter.ORG_UUID, "org-1");
+        AtomicReference<String> seen = new AtomicReference<>();
+        AtomicReference<String> leftover = new AtomicReference<>("unset");
+
+        Runnable task = LoggingContextFilter.wrap(() -> seen.set(MDC.get(LoggingContextFilter.ORG_UUID)));
+        Thread worker = new Thread(() -> {
+            task.run();
+            leftover.set(MDC.get(LoggingContextFilter.ORG_UUID));
+        });
+        worker.start();
+        worker.join();
+
+        assertEquals("org-1", seen.get());
+        assertNull(leftover.get());
+    }
+
+    private FilterReply decide(Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
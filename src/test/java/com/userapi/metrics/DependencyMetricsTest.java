@@ -0,0 +1,69 @@
+package com.userapi.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DependencyMetrics dependencyMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dependencyMetrics = new DependencyMetrics(meterRegistry);
+    }
+
+    @Test
+    void time_monoRecordsSuccessPerSubscription() {
+        Mono<String> call = dependencyMetrics.time(DependencyMetrics.ROLES_SERVICE, "getRoleByUuid", Mono.just("role"));
+
+        StepVerifier.create(call).expectNext("role").verifyComplete();
+        StepVerifier.create(call).expectNext("role").verifyComplete();
+
+        assertEquals(2, timer("getRoleByUuid", "success").count());
+    }
+
+    @Test
+    void time_monoRecordsError() {
+        Mono<String> call = dependencyMetrics.time(DependencyMetrics.ROLES_SERVICE, "deleteRole",
+                Mono.error(new RuntimeException("boom")));
+
+        StepVerifier.create(call).expectError(RuntimeException.class).verify();
+
+        assertEquals(1, timer("deleteRole", "error").count());
+    }
+
+    @Test
+    void time_futureRecordsOutcome() {
+        dependencyMetrics.time(DependencyMetrics.CLIENT_MANAGEMENT, "validateApiKey",
+                () -> CompletableFuture.completedFuture(true)).join();
+        dependencyMetrics.time(DependencyMetrics.CLIENT_MANAGEMENT, "validateApiKey",
+                () -> CompletableFuture.failedFuture(new RuntimeException("boom")));
+
+        Timer success = meterRegistry.find(DependencyMetrics.TIMER_NAME)
+                .tags("dependency", DependencyMetrics.CLIENT_MANAGEMENT, "outcome", "success").timer();
+        Timer error = meterRegistry.find(DependencyMetrics.TIMER_NAME)
+                .tags("dependency", DependencyMetrics.CLIENT_MANAGEMENT, "outcome", "error").timer();
+        assertNotNull(success);
+        assertNotNull(error);
+        assertEquals(1, success.count());
+        assertEquals(1, error.count());
+    }
+
+    private Timer timer(String operation, String outcome) {
+        Timer timer = meterRegistry.find(DependencyMetrics.TIMER_NAME)
+                .tags("dependency", DependencyMetrics.ROLES_SERVICE, "operation", operation, "outcome", outcome)
+                .timer();
+        assertNotNull(timer);
+        return timer;
+    }
+}
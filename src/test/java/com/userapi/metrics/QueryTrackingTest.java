@@ -0,0 +1,113 @@
+package com.userapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.userapi.common.constants.HeaderConstants.APP_TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTrackingTest {
+
+    private final StatementCacheMetrics statementCacheMetrics = new StatementCacheMetrics(2);
+    private final QueryTrackingListener listener = new QueryTrackingListener(Long.MAX_VALUE, statementCacheMetrics);
+
+    @Test
+    void listener_recordsIntoBoundStats() {
+        try (QueryTracking.Scope scope = QueryTracking.open("trace-1")) {
+            listener.afterQuery(execution(5), queries("select 1"));
+            listener.afterQuery(execution(7), queries("select 2"));
+
+            assertEquals(2, scope.stats().getStatements());
+            assertEquals(12, scope.stats().getDbTime(TimeUnit.MILLISECONDS));
+        }
+        assertNull(QueryTracking.current());
+    }
+
+    @Test
+    void listener_withoutBoundStatsIsNoOp() {
+        assertDoesNotThrow(() -> listener.afterQuery(execution(1), queries("select 1")));
+    }
+
+    @Test
+    void statementCache_countsRepeatedTextsAsHitsUntilEvicted() {
+        listener.afterQuery(execution(1), queries("select 1"));
+        listener.afterQuery(execution(1), queries("select 1"));
+        listener.afterQuery(execution(1), queries("select 2"));
+        listener.afterQuery(execution(1), queries("select 3"));
+        // Evicted by the two newer texts
+        listener.afterQuery(execution(1), queries("select 1"));
+
+        assertEquals(1, statementCacheMetrics.hits());
+        assertEquals(4, statementCacheMetrics.misses());
+    }
+
+    @Test
+    void scope_restoresOuterBinding() {
+        try (QueryTracking.Scope outer = QueryTracking.open("outer")) {
+            try (QueryTracking.Scope inner = QueryTracking.open("inner")) {
+                assertSame(inner.stats(), QueryTracking.current());
+            }
+            assertSame(outer.stats(), QueryTracking.current());
+        }
+    }
+
+    @Test
+    void propagatingExecutor_carriesStatsToWorkerThread() throws Exception {
+        ExecutorService executor = QueryTracking.propagating(Executors.newSingleThreadExecutor());
+        try (QueryTracking.Scope scope = QueryTracking.open("trace-2")) {
+            CompletableFuture.runAsync(() -> listener.afterQuery(execution(3), queries("select 1")), executor)
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, scope.stats().getStatements());
+            // The worker thread does not keep the binding once a task is done
+            try (QueryTracking.Scope ignored = QueryTracking.bind(null)) {
+                assertNull(executor.submit(QueryTracking::current).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void filter_countsRequestOverBudget() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        QueryBudgetFilter filter = new QueryBudgetFilter(registry, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/u-1");
+        request.addHeader(APP_TRACE_ID, "trace-3");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/user/{userId}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            assertEquals("trace-3", QueryTracking.current().getTraceId());
+            listener.afterQuery(execution(2), queries("select 1"));
+            listener.afterQuery(execution(2), queries("select 2"));
+        });
+
+        assertNull(QueryTracking.current());
+        assertEquals(2.0, registry.get("user.api.request.statements").tag("uri", "/user/{userId}")
+                .summary().totalAmount());
+        assertEquals(1.0, registry.get("user.api.query.budget.exceeded").counter().count());
+    }
+
+    private static ExecutionInfo execution(long elapsedMs) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMs);
+        return info;
+    }
+
+    private static List<QueryInfo> queries(String sql) {
+        return Collections.singletonList(new QueryInfo(sql));
+    }
+}
@@ -10,7 +10,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -67,5 +69,32 @@ public class JobProfileRepositoryTest {
         assertThat(jobProfileRepository.findById("job2")).isNotPresent();
     }
 
+    @Test
+    @DisplayName("Extension values of tied job profiles come back in a stable order")
+    public void testFindExtensionValuesOrder() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        jobProfileRepository.saveAll(List.of(
+                extensionProfile("job-b", start, null),
+                extensionProfile("job-a", start, null),
+                extensionProfile("job-old", start.plusDays(1), start.plusDays(2))));
+
+        List<Object[]> rows = jobProfileRepository.findExtensionValues(
+                "org1", Set.of("job-a", "job-b", "job-old"), Set.of("department"));
+
+        // Current before ended, then latest start, then job profile uuid
+        assertThat(rows).extracting(row -> row[0]).containsExactly("job-a", "job-b", "job-old");
+    }
+
+    private static JobProfile extensionProfile(String jobProfileUuid, LocalDateTime startDate, LocalDateTime endDate) {
+        return JobProfile.builder()
+                .jobProfileUuid(jobProfileUuid)
+                .title("Engineer")
+                .organizationUuid("org1")
+                .startDate(startDate)
+                .endDate(endDate)
+                .extensionsData("{\"department\": \"" + jobProfileUuid + "\"}")
+                .build();
+    }
+
     // Additional tests can be added to test JpaSpecificationExecutor features, if used
 }
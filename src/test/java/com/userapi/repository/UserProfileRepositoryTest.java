@@ -1,11 +1,14 @@
 package com.userapi.repository;
 
+import com.userapi.config.QueryBudgetConfig;
+import com.userapi.metrics.QueryTracking;
 import com.userapi.models.entity.UserProfile;
 import com.userapi.models.entity.UserStatus;
 import com.userapi.repository.userprofile.UserProfileRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
@@ -17,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(QueryBudgetConfig.class)
 @Sql(scripts = {"/cleanup-test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = {"/schema.sql", "/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = {"/cleanup-test-data.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -48,6 +52,15 @@ public class UserProfileRepositoryTest {
         assertArrayEquals(new String[]{"job-profile-1"}, result.getJobProfileUuids());
     }
 
+    @Test
+    void findByUserId_IssuesSingleStatement() {
+        try (QueryTracking.Scope scope = QueryTracking.open("test")) {
+            userProfileRepository.findByUserId("org-1", "test-user-1");
+
+            assertEquals(1, scope.stats().getStatements());
+        }
+    }
+
     @Test
     void findByUserId_WhenUserDoesNotExist_ShouldReturnNull() {
         // Given
@@ -0,0 +1,119 @@
+package com.userapi.repository.userprofile;
+
+import com.vladmihalcea.hibernate.type.array.StringArrayType;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StringType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserFilterQueryTest {
+
+    private static final Map<String, List<String>> STATUS = Map.of("status", List.of("ACTIVE"));
+
+    @Test
+    void selectSql_isBoundedBySortWhitelist() {
+        Set<String> statements = new HashSet<>();
+        for (String property : UserFilterQuery.SORT_COLUMNS.keySet()) {
+            statements.add(UserFilterQuery.selectSql(Sort.by(Sort.Direction.ASC, property), STATUS, null));
+            statements.add(UserFilterQuery.selectSql(Sort.by(Sort.Direction.DESC, property), STATUS, null));
+        }
+        statements.add(UserFilterQuery.selectSql(Sort.unsorted(), STATUS, null));
+
+        assertEquals(UserFilterQuery.SORT_COLUMNS.size() * 2 + 1, statements.size());
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains(" IN ")));
+        assertTrue(UserFilterQuery.selectSql(Sort.by("lastName"), STATUS, null)
+                .contains("ORDER BY up.last_name ASC, up.user_uuid"));
+    }
+
+    @Test
+    void selectSql_rejectsUnknownSortProperty() {
+        assertThrows(IllegalArgumentException.class,
+                () -> UserFilterQuery.selectSql(Sort.by("username; DROP TABLE user_profiles"), STATUS, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserFilterQuery.selectSql(Sort.by("jobProfileUuids"), STATUS, null));
+    }
+
+    @Test
+    void countSql_includesOnlyPresentFilters() {
+        String sql = UserFilterQuery.countSql(
+                Map.of("status", List.of("ACTIVE", "INACTIVE"), "email", List.of()), null);
+
+        assertEquals("SELECT COUNT(*) FROM user_profiles up WHERE up.organization_uuid = :orgUuid"
+                + " AND up.status = ANY(CAST(:status AS text[]))", sql);
+        assertFalse(sql.contains("IS NULL"));
+        assertFalse(sql.contains("job_profiles"));
+    }
+
+    @Test
+    void countSql_dependsOnWhichFiltersArePresentNotOnTheirValues() {
+        String one = UserFilterQuery.countSql(Map.of("status", List.of("ACTIVE"), "jobTitle", List.of("Engineer")), null);
+        String many = UserFilterQuery.countSql(
+                Map.of("jobTitle", List.of("Engineer", "Manager", "Designer"), "status", List.of("ACTIVE", "INACTIVE")), null);
+
+        assertEquals(one, many);
+    }
+
+    @Test
+    void countSql_matchesJobAndExtensionFiltersOnTheSameJobProfile() {
+        String sql = UserFilterQuery.countSql(Map.of("jobTitle", List.of("Engineer")), "$.\"level\" == \"Senior\"");
+
+        assertTrue(sql.endsWith(" AND EXISTS (SELECT 1 FROM job_profiles jp"
+                + " WHERE jp.job_profile_uuid = ANY(up.job_profile_uuids)"
+                + " AND jp.title = ANY(CAST(:jobTitle AS text[]))"
+                + " AND jp.extensions_data @@ CAST(:extensionsPredicate AS jsonpath))"));
+        assertFalse(sql.contains("IS NULL"));
+    }
+
+    @Test
+    void countSql_extensionPredicateAloneAddsJobProfileMatch() {
+        String sql = UserFilterQuery.countSql(Map.of(), "$.\"level\" == \"Senior\"");
+
+        assertTrue(sql.contains("EXISTS (SELECT 1 FROM job_profiles jp"));
+        assertFalse(sql.contains(":jobTitle"));
+    }
+
+    @Test
+    void bind_setsOnlyTheParametersOfPresentFilters() {
+        NativeQuery<?> query = mock(NativeQuery.class);
+
+        UserFilterQuery.bind(query, "org-1",
+                Map.of("status", List.of("ACTIVE", "INACTIVE"), "jobTitle", List.of("Engineer"), "email", List.of()),
+                null);
+
+        verify(query).setParameter("orgUuid", "org-1", StringType.INSTANCE);
+        verify(query).setParameter(eq("status"), aryEq(new String[]{"ACTIVE", "INACTIVE"}), eq(StringArrayType.INSTANCE));
+        verify(query).setParameter(eq("jobTitle"), aryEq(new String[]{"Engineer"}), eq(StringArrayType.INSTANCE));
+        verifyNoMoreInteractions(query);
+    }
+
+    @Test
+    void bind_setsExtensionPredicateWhenPresent() {
+        NativeQuery<?> query = mock(NativeQuery.class);
+
+        UserFilterQuery.bind(query, "org-1", Map.of(), "$.\"level\" == \"Senior\"");
+
+        verify(query).setParameter("orgUuid", "org-1", StringType.INSTANCE);
+        verify(query).setParameter("extensionsPredicate", "$.\"level\" == \"Senior\"", StringType.INSTANCE);
+        verifyNoMoreInteractions(query);
+    }
+
+    @Test
+    void bulkStatusStatements_reuseTheFilterPredicate() {
+        String count = UserFilterQuery.countSql(STATUS, null);
+        String where = count.substring(count.indexOf(" WHERE "));
+
+        assertTrue(UserFilterQuery.userUuidsSql(STATUS, null).contains(where + " ORDER BY up.user_uuid LIMIT :limit"));
+        assertTrue(UserFilterQuery.statusCountSql(STATUS, null).endsWith(where));
+        assertTrue(UserFilterQuery.isListFilter("organizationUnit"));
+        assertFalse(UserFilterQuery.isListFilter("organisationUnit"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.userapi.repository.userprofile;
+
+import com.userapi.models.internal.UserPatch;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserPatchQueryTest {
+
+    @Test
+    void sql_setsOnlyPatchedColumnsInFixedOrder() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put(UserPatch.STATUS, "Inactive");
+        changes.put(UserPatch.FIRST_NAME, "Jane");
+
+        String sql = UserPatchQuery.sql(changes);
+
+        assertTrue(sql.startsWith("UPDATE user_profiles SET first_name = :firstName, status = :status"
+                + " WHERE organization_uuid = :orgUuid AND user_uuid = :userUuid RETURNING "));
+        assertFalse(sql.contains("job_profile_uuids"));
+    }
+
+    @Test
+    void sql_isTheSameForTheSameAttributesInAnyOrder() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put(UserPatch.EMAIL, "a@example.com");
+        first.put(UserPatch.USERNAME, "jane");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put(UserPatch.USERNAME, "john");
+        second.put(UserPatch.EMAIL, "b@example.com");
+
+        assertEquals(UserPatchQuery.sql(first), UserPatchQuery.sql(second));
+    }
+
+    @Test
+    void sql_rejectsEmptyAndUnknownAttributes() {
+        assertThrows(IllegalArgumentException.class, () -> UserPatchQuery.sql(Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> UserPatchQuery.sql(Map.of("jobProfileUuids", "x")));
+    }
+
+    @Test
+    void bind_typesEveryParameterIncludingNulls() {
+        NativeQuery<?> query = mock(NativeQuery.class);
+        Map<String, Object> changes = new HashMap<>();
+        changes.put(UserPatch.MIDDLE_NAME, null);
+        changes.put(UserPatch.PHONE_COUNTRY_CODE, 44);
+
+        UserPatchQuery.bind(query, "org1", "user1", changes);
+
+        verify(query).setParameter("orgUuid", "org1", StringType.INSTANCE);
+        verify(query).setParameter("userUuid", "user1", StringType.INSTANCE);
+        verify(query).setParameter(UserPatch.MIDDLE_NAME, null, StringType.INSTANCE);
+        verify(query).setParameter(UserPatch.PHONE_COUNTRY_CODE, 44, IntegerType.INSTANCE);
+    }
+
+    @Test
+    void toPatchedUser_readsReturningRow() {
+        PatchedUser user = UserPatchQuery.toPatchedUser(new Object[]{"user1", "jane", "Jane", null, "Doe",
+                "jane@example.com", "VERIFIED", "555-0100", 1, "PENDING", "Active"});
+
+        assertEquals("user1", user.userUuid());
+        assertNull(user.middleName());
+        assertEquals(1, user.phoneCountryCode());
+        assertEquals("Active", user.status());
+    }
+}
@@ -0,0 +1,63 @@
+package com.userapi.repository.userprofile;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserSearchQueryTest {
+
+    @Test
+    void normalize_trimsCollapsesAndLowerCases() {
+        assertEquals("jane doe", UserSearchQuery.normalize("  Jane \t  DOE "));
+        assertEquals("", UserSearchQuery.normalize(null));
+    }
+
+    @Test
+    void escapeLike_matchesWildcardsLiterally() {
+        assertEquals("100\\%\\_a\\\\b", UserSearchQuery.escapeLike("100%_a\\b"));
+    }
+
+    @Test
+    void sql_usesIndexedDocumentExpression() {
+        // The predicate must repeat the index expression verbatim or the trigram index is not used
+        assertTrue(UserSearchQuery.SQL.contains(UserSearchQuery.DOCUMENT + " LIKE :contains"));
+        assertTrue(UserSearchQuery.SQL.contains(UserSearchQuery.DOCUMENT + " %> :term"));
+        assertTrue(UserSearchQuery.SQL.contains("WHERE organization_uuid = :orgUuid"));
+    }
+
+    @Test
+    void sql_boundsEachTierWithoutSortingItsMatches() {
+        String candidates = UserSearchQuery.SQL.substring(
+                UserSearchQuery.SQL.indexOf(" FROM ("), UserSearchQuery.SQL.lastIndexOf(") c"));
+
+        assertEquals(3, candidates.split("LIMIT :candidateLimit\\)", -1).length - 1);
+        assertEquals(2, candidates.split(" UNION ALL ", -1).length - 1);
+        assertFalse(candidates.contains("ORDER BY"));
+        assertTrue(candidates.contains(" 2 AS tier") && candidates.contains(" 1 AS tier") && candidates.contains(" 0 AS tier"));
+    }
+
+    @Test
+    void sql_tiersExcludeEachOthersMatches() {
+        // Without these a prefix match would also be a substring candidate and appear twice
+        assertTrue(UserSearchQuery.SQL.contains(UserSearchQuery.DOCUMENT + " LIKE :contains AND NOT (lower("));
+        assertTrue(UserSearchQuery.SQL.contains(UserSearchQuery.DOCUMENT + " NOT LIKE :contains"));
+    }
+
+    @Test
+    void bind_setsPatternsAndLimits() {
+        NativeQuery<?> query = mock(NativeQuery.class);
+
+        UserSearchQuery.bind(query, "org1", "o_k", 500, 10);
+
+        verify(query).setParameter("orgUuid", "org1", StringType.INSTANCE);
+        verify(query).setParameter("term", "o_k", StringType.INSTANCE);
+        verify(query).setParameter("prefix", "o\\_k%", StringType.INSTANCE);
+        verify(query).setParameter("contains", "%o\\_k%", StringType.INSTANCE);
+        verify(query).setParameter("candidateLimit", 500, IntegerType.INSTANCE);
+        verify(query).setParameter("limit", 10, IntegerType.INSTANCE);
+    }
+}
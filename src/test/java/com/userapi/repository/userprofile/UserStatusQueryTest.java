@@ -0,0 +1,39 @@
+package com.userapi.repository.userprofile;
+
+import com.vladmihalcea.hibernate.type.array.StringArrayType;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StringType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserStatusQueryTest {
+
+    @Test
+    void changeSql_isOneSetBasedStatementPerChunk() {
+        assertTrue(UserStatusQuery.CHANGE_SQL.contains("user_uuid = ANY(CAST(:userUuids AS text[]))"));
+        assertTrue(UserStatusQuery.CHANGE_SQL.contains("ORDER BY user_uuid FOR UPDATE"));
+        assertTrue(UserStatusQuery.CHANGE_SQL.contains("t.status <> :status"));
+        assertFalse(UserStatusQuery.CHANGE_SQL.contains(" IN ("));
+    }
+
+    @Test
+    void bind_passesTheChunkAsOneArray() {
+        NativeQuery<?> query = mock(NativeQuery.class);
+
+        UserStatusQuery.bind(query, "org1", List.of("u1", "u2"), "Inactive");
+
+        verify(query).setParameter("orgUuid", "org1", StringType.INSTANCE);
+        verify(query).setParameter(eq("userUuids"), aryEq(new String[]{"u1", "u2"}), eq(StringArrayType.INSTANCE));
+        verify(query).setParameter("status", "Inactive", StringType.INSTANCE);
+    }
+
+    @Test
+    void toCount_readsMatchedAndChanged() {
+        assertEquals(new StatusChangeCount(5, 3), UserStatusQuery.toCount(new Object[]{5L, 3L}));
+    }
+}
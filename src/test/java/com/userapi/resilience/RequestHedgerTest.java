@@ -0,0 +1,89 @@
+package com.userapi.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void hedge_secondAttemptWinsWhenFirstIsSlow() {
+        RequestHedger hedger = hedger(true, 0.5, 10);
+        prime(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(2)).thenReturn("slow")
+                : Mono.just("fast"));
+
+        StepVerifier.create(hedger.hedge("getRoleByUuid", call))
+                .expectNext("fast")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, hedgeCount("won"));
+    }
+
+    @Test
+    void hedge_throttledWhenBudgetIsSpent() {
+        RequestHedger hedger = hedger(true, 0.0, 0);
+        prime(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(200)).thenReturn("slow");
+        });
+
+        StepVerifier.create(hedger.hedge("getRoleByUuid", call))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, hedgeCount("throttled"));
+    }
+
+    @Test
+    void hedge_disabledPassesCallThrough() {
+        Mono<String> call = Mono.just("value");
+
+        assertSame(call, hedger(false, 0.1, 10).hedge("getRoleByUuid", call));
+    }
+
+    @Test
+    void latencyWindow_reportsPercentileOnceWarm() {
+        RequestHedger.LatencyWindow window = new RequestHedger.LatencyWindow(100);
+        assertEquals(-1, window.percentile(0.95));
+
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+        assertEquals(95, window.percentile(0.95));
+    }
+
+    private RequestHedger hedger(boolean enabled, double maxRatio, double burst) {
+        return new RequestHedger(meterRegistry, enabled, 0.95, Duration.ofMillis(20), maxRatio, burst);
+    }
+
+    private static void prime(RequestHedger hedger) {
+        for (int i = 0; i < 20; i++) {
+            hedger.hedge("getRoleByUuid", Mono.just("warm")).block();
+        }
+    }
+
+    private double hedgeCount(String outcome) {
+        return meterRegistry.find(RequestHedger.HEDGE_COUNTER).tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
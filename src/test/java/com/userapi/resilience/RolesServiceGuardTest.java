@@ -0,0 +1,113 @@
+package com.userapi.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RolesServiceGuardTest {
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private RolesServiceGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        circuitBreakerRegistry.addConfiguration(RolesServiceGuard.CONFIG_NAME, CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(new RolesServiceFailurePredicate())
+                .build());
+        guard = new RolesServiceGuard(circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                Duration.ofMillis(50), Duration.ofMillis(200), 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void read_servesLastKnownGoodWhileServiceFails() {
+        StepVerifier.create(guard.read("hasPermission", "org:user", Mono.just(true)))
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier.create(guard.read("hasPermission", "org:user", Mono.error(serverError())))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void read_withoutCachedResponsePropagatesError() {
+        StepVerifier.create(guard.read("hasPermission", "org:other", Mono.<Boolean>error(serverError())))
+                .expectError(WebClientResponseException.class)
+                .verify();
+    }
+
+    @Test
+    void read_clientErrorsAreNotMaskedByCache() {
+        guard.read("getRoleByUuid", "org:role", Mono.just("role")).block();
+
+        StepVerifier.create(guard.read("getRoleByUuid", "org:role", Mono.<String>error(
+                        WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found", null, null, null))))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+    }
+
+    @Test
+    void call_openBreakerFailsFastWithoutSubscribing() {
+        guard.call("deleteRole", Mono.error(serverError())).onErrorResume(e -> Mono.empty()).block();
+        guard.call("deleteRole", Mono.error(serverError())).onErrorResume(e -> Mono.empty()).block();
+
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("roles-service-deleteRole");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        StepVerifier.create(guard.call("deleteRole", Mono.fromCallable(subscriptions::incrementAndGet)))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        assertEquals(0, subscriptions.get());
+    }
+
+    @Test
+    void call_timesOutAtAdaptiveTimeout() {
+        StepVerifier.create(guard.call("getUserRoles", Mono.never()))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void adaptiveTimeout_tracksLatencyWithinBounds() {
+        AdaptiveTimeout timeout = new AdaptiveTimeout(Duration.ofMillis(100), Duration.ofSeconds(5));
+        assertEquals(Duration.ofSeconds(5), timeout.current());
+
+        for (int i = 0; i < 50; i++) {
+            timeout.onSuccess(Duration.ofMillis(20).toNanos());
+        }
+        assertEquals(Duration.ofMillis(100), timeout.current());
+
+        for (int i = 0; i < 50; i++) {
+            timeout.onSuccess(Duration.ofMillis(400).toNanos());
+        }
+        Duration learned = timeout.current();
+        assertTrue(learned.compareTo(Duration.ofMillis(400)) > 0 && learned.compareTo(Duration.ofSeconds(1)) < 0);
+
+        timeout.onTimeout();
+        assertEquals(learned.multipliedBy(2).toMillis(), timeout.current().toMillis(), 1);
+    }
+
+    private static WebClientResponseException serverError() {
+        return WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", null, null, null);
+    }
+}
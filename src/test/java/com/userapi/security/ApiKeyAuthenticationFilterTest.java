@@ -69,6 +69,21 @@ class ApiKeyAuthenticationFilterTest {
         verify(response, never()).setStatus(anyInt());
     }
 
+    @Test
+    void doFilterInternal_WhenMetricsEndpointWithoutApiKey_ShouldReturnUnauthorized() throws ServletException, IOException {
+        // Arrange
+        setupResponseWriter();
+        when(request.getRequestURI()).thenReturn("/actuator/prometheus");
+        when(request.getHeader(API_KEY)).thenReturn(null);
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
     @Test
     void doFilterInternal_WhenMissingApiKey_ShouldReturnUnauthorized() throws ServletException, IOException {
         // Arrange
@@ -0,0 +1,87 @@
+package com.userapi.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.models.external.roles.RoleResponse;
+import com.userapi.service.RolesServiceClient;
+import com.userapi.service.UserContextService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomPermissionEvaluatorTest {
+
+    private static final String USER_UUID = "user-123";
+    private static final String ORG_UUID = "org-456";
+
+    @Mock
+    private RolesServiceClient rolesServiceClient;
+
+    @Mock
+    private UserContextService userContextService;
+
+    private CustomPermissionEvaluator permissionEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        permissionEvaluator = new CustomPermissionEvaluator(rolesServiceClient, userContextService);
+    }
+
+    @Test
+    void evaluatePermission_allowedByRolesService() {
+        when(rolesServiceClient.hasPermission(USER_UUID, ORG_UUID, "roles", "write"))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(permissionEvaluator.evaluatePermission(USER_UUID, ORG_UUID, "ROLE", "CREATE"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(rolesServiceClient, never()).getUserRoles(anyString(), anyString());
+    }
+
+    @Test
+    void evaluatePermission_deniedFallsBackToWildcardPolicy() throws Exception {
+        RoleResponse admin = RoleResponse.builder()
+                .roleName("Admin")
+                .policy(new ObjectMapper().readTree("{\"data\":{\"delete\":[\"*\"]}}"))
+                .build();
+        when(rolesServiceClient.hasPermission(USER_UUID, ORG_UUID, "roles", "delete"))
+                .thenReturn(Mono.just(false));
+        when(rolesServiceClient.getUserRoles(USER_UUID, ORG_UUID))
+                .thenReturn(Mono.just(Collections.singletonList(admin)));
+
+        StepVerifier.create(permissionEvaluator.evaluatePermission(USER_UUID, ORG_UUID, "ROLE", "DELETE"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void evaluatePermission_errorsResolveToDenied() {
+        when(rolesServiceClient.hasPermission(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("roles service down")));
+        when(rolesServiceClient.getUserRoles(USER_UUID, ORG_UUID))
+                .thenReturn(Mono.error(new RuntimeException("roles service down")));
+
+        StepVerifier.create(permissionEvaluator.evaluatePermission(USER_UUID, ORG_UUID, "ROLE", "UPDATE"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void evaluatePermission_missingContextIsDenied() {
+        StepVerifier.create(permissionEvaluator.evaluatePermission(null, ORG_UUID, "ROLE", "CREATE"))
+                .expectNext(false)
+                .verifyComplete();
+
+        verifyNoInteractions(rolesServiceClient);
+    }
+}
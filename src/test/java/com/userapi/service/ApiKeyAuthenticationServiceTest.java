@@ -1,6 +1,8 @@
 package com.userapi.service;
 
+import com.userapi.metrics.DependencyMetrics;
 import com.userapi.service.ApiKeyAuthenticationService.ApiKeyValidationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,7 +45,7 @@ class ApiKeyAuthenticationServiceTest {
 
     @BeforeEach
     void setUp() {
-        apiKeyAuthenticationService = new ApiKeyAuthenticationService(webClientBuilder);
+        apiKeyAuthenticationService = new ApiKeyAuthenticationService(webClientBuilder, new DependencyMetrics(new SimpleMeterRegistry()));
 
         // Set up test configuration values
         ReflectionTestUtils.setField(apiKeyAuthenticationService, "clientManagementServiceUrl", "http://localhost:8081");
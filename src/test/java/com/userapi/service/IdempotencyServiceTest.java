@@ -0,0 +1,230 @@
+package com.userapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.exception.IdempotencyKeyException;
+import com.userapi.models.entity.IdempotencyRecord;
+import com.userapi.models.external.CreateUserResponse;
+import com.userapi.repository.idempotency.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.userapi.common.constants.HeaderConstants.IDEMPOTENT_REPLAYED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String ORG_UUID = "org-1";
+    private static final String KEY = "key-1";
+    private static final Map<String, String> REQUEST = Map.of("username", "jane");
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private ExecutorService pollExecutor;
+    private MeterRegistry meterRegistry;
+    private IdempotencyService service;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        pollExecutor = Executors.newSingleThreadExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        service = new IdempotencyService(repository, new ObjectMapper(), pollExecutor, meterRegistry,
+                Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofMillis(500), Duration.ofMillis(10),
+                Duration.ofMinutes(10), 1000, Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pollExecutor.shutdownNow();
+    }
+
+    @Test
+    void firstRequestRunsTheActionAndStoresItsResponse() {
+        when(repository.claim(eq(ORG_UUID), eq(IdempotencyService.CREATE_USER), eq(KEY), anyString(),
+                any(), any(), any())).thenReturn(1);
+
+        ResponseEntity<CreateUserResponse> response = execute(REQUEST, HttpStatus.CREATED).join();
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(IDEMPOTENT_REPLAYED));
+        assertEquals(1, executions.get());
+        verify(repository).complete(eq(ORG_UUID), eq(IdempotencyService.CREATE_USER), eq(KEY),
+                eq(201), contains("\"userId\":\"user-1\""), any());
+        assertEquals(1.0, meterRegistry.get("user.api.idempotency.requests").tag("outcome", "executed").counter().count());
+    }
+
+    @Test
+    void completedKeyIsReplayedWithoutRunningTheAction() throws Exception {
+        IdempotencyRecord stored = storedRecord(requestHash(), IdempotencyRecord.COMPLETED);
+        stored.setResponseStatus(201);
+        stored.setResponseBody("{\"userId\":\"user-1\",\"username\":\"jane\",\"httpStatus\":\"CREATED\"}");
+        when(repository.claim(any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(repository.findClaim(ORG_UUID, IdempotencyService.CREATE_USER, KEY))
+                .thenReturn(Optional.of(stored));
+
+        ResponseEntity<CreateUserResponse> response = execute(REQUEST, HttpStatus.CREATED).join();
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst(IDEMPOTENT_REPLAYED));
+        assertEquals("user-1", response.getBody().getUserId());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void inProgressKeyIsReplayedOnceTheOriginalCompletes() throws Exception {
+        IdempotencyRecord inProgress = storedRecord(requestHash(), IdempotencyRecord.IN_PROGRESS);
+        IdempotencyRecord completed = storedRecord(requestHash(), IdempotencyRecord.COMPLETED);
+        completed.setResponseStatus(201);
+        completed.setResponseBody("{\"userId\":\"user-1\"}");
+        when(repository.claim(any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(repository.findClaim(any(), any(), any()))
+                .thenReturn(Optional.of(inProgress), Optional.of(inProgress), Optional.of(completed));
+
+        ResponseEntity<CreateUserResponse> response = execute(REQUEST, HttpStatus.CREATED).join();
+
+        assertEquals("user-1", response.getBody().getUserId());
+        verify(repository, times(3)).findClaim(any(), any(), any());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() {
+        when(repository.claim(any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(repository.findClaim(any(), any(), any()))
+                .thenReturn(Optional.of(storedRecord("other-hash", IdempotencyRecord.COMPLETED)));
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> execute(REQUEST, HttpStatus.CREATED).join());
+
+        IdempotencyKeyException cause = assertInstanceOf(IdempotencyKeyException.class, error.getCause());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, cause.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void duplicateOnThisInstanceSharesTheOriginalResponse() {
+        when(repository.claim(any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+        CompletableFuture<ResponseEntity<CreateUserResponse>> pending = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<CreateUserResponse>> original = service.execute(ORG_UUID,
+                IdempotencyService.CREATE_USER, KEY, REQUEST, CreateUserResponse.class, () -> pending);
+        CompletableFuture<ResponseEntity<CreateUserResponse>> duplicate = service.execute(ORG_UUID,
+                IdempotencyService.CREATE_USER, KEY, REQUEST, CreateUserResponse.class, () -> {
+                    throw new AssertionError("duplicate must not run the action");
+                });
+        pending.complete(new ResponseEntity<>(response(), HttpStatus.CREATED));
+
+        assertEquals(HttpStatus.CREATED, original.join().getStatusCode());
+        assertEquals("user-1", duplicate.join().getBody().getUserId());
+        assertEquals("true", duplicate.join().getHeaders().getFirst(IDEMPOTENT_REPLAYED));
+        verify(repository, times(1)).claim(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void serverErrorReleasesTheKeyInsteadOfStoringIt() {
+        when(repository.claim(any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        ResponseEntity<CreateUserResponse> response = execute(REQUEST, HttpStatus.SERVICE_UNAVAILABLE).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        verify(repository).release(ORG_UUID, IdempotencyService.CREATE_USER, KEY);
+        verify(repository, never()).complete(any(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void callerTimeoutKeepsTheClaimAndStoresTheRealOutcome() {
+        when(repository.claim(any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+        CompletableFuture<ResponseEntity<CreateUserResponse>> create = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<CreateUserResponse>> caller = service.execute(ORG_UUID,
+                        IdempotencyService.CREATE_USER, KEY, REQUEST, CreateUserResponse.class, () -> create)
+                .orTimeout(10, TimeUnit.MILLISECONDS);
+
+        CompletionException timeout = assertThrows(CompletionException.class, caller::join);
+        assertInstanceOf(TimeoutException.class, timeout.getCause());
+        verify(repository, never()).release(any(), any(), any());
+
+        // The create commits after the caller gave up; its response is what a retry replays
+        create.complete(new ResponseEntity<>(response(), HttpStatus.CREATED));
+
+        verify(repository).complete(eq(ORG_UUID), eq(IdempotencyService.CREATE_USER), eq(KEY),
+                eq(201), contains("\"userId\":\"user-1\""), any());
+        verify(repository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void blankKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.execute(ORG_UUID,
+                IdempotencyService.CREATE_USER, " ", REQUEST, CreateUserResponse.class,
+                () -> CompletableFuture.completedFuture(ResponseEntity.ok().build())));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void deleteExpiredRunsBatchesUntilAShortOne() {
+        when(repository.deleteExpired(any(), eq(1000))).thenReturn(1000, 1000, 12);
+
+        assertEquals(2012, service.deleteExpired());
+        verify(repository, times(3)).deleteExpired(any(), eq(1000));
+    }
+
+    private CompletableFuture<ResponseEntity<CreateUserResponse>> execute(Object request, HttpStatus status) {
+        return service.execute(ORG_UUID, IdempotencyService.CREATE_USER, KEY, request, CreateUserResponse.class,
+                () -> {
+                    executions.incrementAndGet();
+                    return CompletableFuture.completedFuture(new ResponseEntity<>(response(), status));
+                });
+    }
+
+    private static CreateUserResponse response() {
+        return CreateUserResponse.builder()
+                .httpStatus(HttpStatus.CREATED)
+                .userId("user-1")
+                .username("jane")
+                .build();
+    }
+
+    // SHA-256 of the request's JSON, as recorded by the service
+    private static String requestHash() throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(new ObjectMapper().writeValueAsBytes(REQUEST)));
+    }
+
+    private static IdempotencyRecord storedRecord(String requestHash, String status) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setOrganizationUuid(ORG_UUID);
+        record.setOperation(IdempotencyService.CREATE_USER);
+        record.setIdempotencyKey(KEY);
+        record.setRequestHash(requestHash);
+        record.setStatus(status);
+        return record;
+    }
+}
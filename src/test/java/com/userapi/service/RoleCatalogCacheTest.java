@@ -0,0 +1,105 @@
+package com.userapi.service;
+
+import com.userapi.models.external.roles.RoleResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCatalogCacheTest {
+
+    private static final String ORG_UUID = "org-1";
+
+    @Mock
+    private RolesServiceClient rolesServiceClient;
+
+    private RoleCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        cache = new RoleCatalogCache(rolesServiceClient, Duration.ofMinutes(5), Duration.ofMinutes(15), clock);
+    }
+
+    @Test
+    void userRoleUuid_prefersSystemManagedAndIsLoadedOnce() {
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID)).thenReturn(Mono.just(List.of(
+                role("customer-user", "User", "CUSTOMER_MANAGED"),
+                role("system-user", "User", "SYSTEM_MANAGED"),
+                role("org-admin", "Admin", "SYSTEM_MANAGED"))));
+
+        StepVerifier.create(cache.userRoleUuid(ORG_UUID)).expectNext("system-user").verifyComplete();
+        StepVerifier.create(cache.adminRoleUuid(ORG_UUID)).expectNext("org-admin").verifyComplete();
+
+        verify(rolesServiceClient, times(1)).getOrganizationRoles(ORG_UUID);
+        verify(rolesServiceClient, never()).getSystemManagedRoles();
+    }
+
+    @Test
+    void recordedBootstrapRolesAvoidLookups() {
+        cache.recordOrganizationRole(ORG_UUID, RoleCatalogCache.ADMIN_ROLE, "admin-uuid");
+        cache.recordOrganizationRole(ORG_UUID, RoleCatalogCache.USER_ROLE, "user-uuid");
+
+        StepVerifier.create(cache.adminRoleUuid(ORG_UUID)).expectNext("admin-uuid").verifyComplete();
+        StepVerifier.create(cache.userRoleUuid(ORG_UUID)).expectNext("user-uuid").verifyComplete();
+
+        verifyNoInteractions(rolesServiceClient);
+    }
+
+    @Test
+    void adminRoleUuid_fallsBackToSystemCatalog() {
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID)).thenReturn(Mono.just(List.of(
+                role("system-user", "User", "SYSTEM_MANAGED"))));
+        when(rolesServiceClient.getSystemManagedRoles()).thenReturn(Mono.just(List.of(
+                role("viewer", "Viewer", "SYSTEM_MANAGED"),
+                role("super-admin", "Super Admin", "SYSTEM_MANAGED"),
+                role("admin", "Administrator", "SYSTEM_MANAGED"))));
+
+        StepVerifier.create(cache.adminRoleUuid(ORG_UUID)).expectNext("admin").verifyComplete();
+        StepVerifier.create(cache.adminRoleUuid(ORG_UUID)).expectNext("admin").verifyComplete();
+
+        verify(rolesServiceClient, times(1)).getSystemManagedRoles();
+        verify(rolesServiceClient, times(1)).getOrganizationRoles(anyString());
+    }
+
+    @Test
+    void adminRoleUuid_fallsBackToSystemCatalogWhenOrganizationLookupFails() {
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID))
+                .thenReturn(Mono.error(new IllegalStateException("role search failed")));
+        when(rolesServiceClient.getSystemManagedRoles()).thenReturn(Mono.just(List.of(
+                role("admin", "Admin", "SYSTEM_MANAGED"))));
+
+        StepVerifier.create(cache.adminRoleUuid(ORG_UUID)).expectNext("admin").verifyComplete();
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        cache.recordOrganizationRole(ORG_UUID, RoleCatalogCache.USER_ROLE, "stale-user");
+        cache.invalidate(ORG_UUID);
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID)).thenReturn(Mono.just(List.of(
+                role("fresh-user", "User", "SYSTEM_MANAGED"))));
+
+        StepVerifier.create(cache.userRoleUuid(ORG_UUID)).expectNext("fresh-user").verifyComplete();
+    }
+
+    private static RoleResponse role(String uuid, String name, String managementType) {
+        return RoleResponse.builder()
+                .role_uuid(uuid)
+                .roleName(name)
+                .role_management_type(managementType)
+                .build();
+    }
+}
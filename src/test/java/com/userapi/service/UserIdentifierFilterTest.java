@@ -0,0 +1,120 @@
+package com.userapi.service;
+
+import com.userapi.repository.userprofile.UserIdentifiers;
+import com.userapi.repository.userprofile.UserProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentifierFilterTest {
+
+    private static final String ORG_UUID = "org-1";
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private UserIdentifierFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new UserIdentifierFilter(userProfileRepository, transactionManager, meterRegistry,
+                true, 0.01, 1000, Duration.ofMinutes(10), 10,
+                Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.shutdown();
+    }
+
+    @Test
+    void unknownUntilBuiltThenSeparatesNewFromExisting() throws InterruptedException {
+        when(userProfileRepository.countByOrganizationUuid(ORG_UUID)).thenReturn(1L);
+        when(userProfileRepository.streamIdentifiers(ORG_UUID))
+                .thenReturn(Stream.of(identifiers("jane", "jane@example.com", "555-0100")));
+
+        assertEquals(UserIdentifierFilter.Verdict.UNKNOWN, filter.check(ORG_UUID, "jane", null, null));
+        awaitReady();
+
+        assertEquals(UserIdentifierFilter.Verdict.PROBABLY_EXISTS, filter.check(ORG_UUID, "jane", null, null));
+        assertEquals(UserIdentifierFilter.Verdict.PROBABLY_EXISTS, filter.check(ORG_UUID, null, "jane@example.com", null));
+        assertEquals(UserIdentifierFilter.Verdict.DEFINITELY_NEW, filter.check(ORG_UUID, "john", "john@example.com", "555-0199"));
+        // Namespaced per identifier: a username equal to an existing email is still new
+        assertEquals(UserIdentifierFilter.Verdict.DEFINITELY_NEW, filter.check(ORG_UUID, "jane@example.com", null, null));
+        assertEquals(1.0, meterRegistry.get("user.api.uniqueness.filter.checks").tag("result", "unavailable").counter().count());
+        assertEquals(2.0, meterRegistry.get("user.api.uniqueness.filter.checks").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void recordedSavesAreSeenByLaterChecks() throws InterruptedException {
+        when(userProfileRepository.countByOrganizationUuid(ORG_UUID)).thenReturn(0L);
+        when(userProfileRepository.streamIdentifiers(ORG_UUID)).thenReturn(Stream.empty());
+        filter.check(ORG_UUID, "jane", null, null);
+        awaitReady();
+
+        filter.record(ORG_UUID, "jane", "jane@example.com", "555-0100");
+
+        assertEquals(UserIdentifierFilter.Verdict.PROBABLY_EXISTS, filter.check(ORG_UUID, "jane", null, null));
+    }
+
+    @Test
+    void disabledFilterNeverSkipsOrScans() {
+        UserIdentifierFilter disabled = new UserIdentifierFilter(userProfileRepository, transactionManager,
+                meterRegistry, false, 0.01, 1000, Duration.ofMinutes(10), 10, Clock.systemUTC());
+
+        assertEquals(UserIdentifierFilter.Verdict.UNKNOWN, disabled.check(ORG_UUID, "jane", null, null));
+        disabled.recordFalsePositive();
+
+        verifyNoInteractions(userProfileRepository);
+        assertEquals(0.0, meterRegistry.get("user.api.uniqueness.filter.false_positives").counter().count());
+        disabled.shutdown();
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("user.api.uniqueness.filter.organizations").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "filter was not built");
+            Thread.sleep(10);
+        }
+    }
+
+    private static UserIdentifiers identifiers(String username, String email, String phone) {
+        return new UserIdentifiers() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getPhone() {
+                return phone;
+            }
+        };
+    }
+}
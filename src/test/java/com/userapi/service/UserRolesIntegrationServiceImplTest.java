@@ -0,0 +1,136 @@
+package com.userapi.service;
+
+import com.userapi.models.external.roles.CreateRoleRequest;
+import com.userapi.models.external.roles.OrganizationBootstrapRequest;
+import com.userapi.models.external.roles.OrganizationBootstrapResult;
+import com.userapi.models.external.roles.RoleResponse;
+import com.userapi.repository.userprofile.UserProfileRepository;
+import com.userapi.service.impl.UserRolesIntegrationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRolesIntegrationServiceImplTest {
+
+    private static final String ORG_UUID = "org-1";
+    private static final String ADMIN_USER = "admin-user";
+
+    @Mock
+    private RolesServiceClient rolesServiceClient;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    private UserRolesIntegrationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        RoleCatalogCache cache = new RoleCatalogCache(rolesServiceClient, Duration.ofMinutes(5), Duration.ofMinutes(15),
+                Clock.systemUTC());
+        service = new UserRolesIntegrationServiceImpl(rolesServiceClient, userProfileRepository, cache);
+        ReflectionTestUtils.setField(service, "bootstrapMaxRetries", 2);
+        ReflectionTestUtils.setField(service, "bootstrapRetryBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(service, "bootstrapConcurrency", 4);
+    }
+
+    @Test
+    void bootstrapOrganization_createsRolesAndAssignsAdmin() {
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID)).thenReturn(Mono.just(List.of()));
+        stubCreate("Admin", Mono.just(role("admin-uuid", "Admin")));
+        stubCreate("User", Mono.just(role("user-uuid", "User")));
+        when(rolesServiceClient.assignRoleToUser(ADMIN_USER, "admin-uuid", ORG_UUID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.bootstrapOrganization(ORG_UUID, ADMIN_USER))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess());
+                    assertEquals("admin-uuid", result.getAdminRoleUuid());
+                    assertEquals("user-uuid", result.getUserRoleUuid());
+                })
+                .verifyComplete();
+
+        verify(rolesServiceClient, times(1)).getOrganizationRoles(ORG_UUID);
+    }
+
+    @Test
+    void bootstrapOrganization_rerunReusesExistingRolesAndAssignment() {
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID)).thenReturn(Mono.just(List.of(
+                role("admin-uuid", "Admin"), role("user-uuid", "User"))));
+        when(rolesServiceClient.assignRoleToUser(ADMIN_USER, "admin-uuid", ORG_UUID)).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.CONFLICT.value(), "Conflict", null, null, null)));
+
+        StepVerifier.create(service.bootstrapOrganization(ORG_UUID, ADMIN_USER))
+                .assertNext(result -> assertTrue(result.isSuccess()))
+                .verifyComplete();
+
+        verify(rolesServiceClient, never()).createRole(any(), any());
+    }
+
+    @Test
+    void bootstrapOrganization_retryAfterTimeoutReusesRoleCreatedByFirstAttempt() {
+        AtomicInteger lookups = new AtomicInteger();
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID)).thenAnswer(invocation -> Mono.fromCallable(() ->
+                lookups.incrementAndGet() == 1 ? List.<RoleResponse>of() : List.of(role("admin-uuid", "Admin"))));
+        stubCreate("Admin", Mono.error(
+                WebClientResponseException.create(HttpStatus.GATEWAY_TIMEOUT.value(), "Gateway Timeout", null, null, null)));
+        stubCreate("User", Mono.just(role("user-uuid", "User")));
+        when(rolesServiceClient.assignRoleToUser(ADMIN_USER, "admin-uuid", ORG_UUID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.bootstrapOrganization(ORG_UUID, ADMIN_USER))
+                .assertNext(result -> assertEquals("admin-uuid", result.getAdminRoleUuid()))
+                .verifyComplete();
+
+        verify(rolesServiceClient, times(1)).createRole(argThat(request -> "Admin".equals(request.getRoleName())), eq(ORG_UUID));
+    }
+
+    @Test
+    void bootstrapOrganizations_reportsFailuresPerOrganizationInOrder() {
+        when(rolesServiceClient.getOrganizationRoles(ORG_UUID)).thenReturn(Mono.just(List.of(
+                role("admin-uuid", "Admin"), role("user-uuid", "User"))));
+        when(rolesServiceClient.assignRoleToUser(ADMIN_USER, "admin-uuid", ORG_UUID)).thenReturn(Mono.empty());
+        when(rolesServiceClient.getOrganizationRoles("org-2")).thenReturn(Mono.just(List.of()));
+        when(rolesServiceClient.createRole(any(CreateRoleRequest.class), eq("org-2"))).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null)));
+
+        StepVerifier.create(service.bootstrapOrganizations(List.of(
+                        new OrganizationBootstrapRequest(ORG_UUID, ADMIN_USER),
+                        new OrganizationBootstrapRequest("org-2", ADMIN_USER))))
+                .assertNext(result -> assertEquals(OrganizationBootstrapResult.SUCCESS, result.getStatus()))
+                .assertNext(result -> {
+                    assertEquals("org-2", result.getOrganizationUuid());
+                    assertEquals(OrganizationBootstrapResult.FAILED, result.getStatus());
+                })
+                .verifyComplete();
+    }
+
+    private void stubCreate(String roleName, Mono<RoleResponse> response) {
+        when(rolesServiceClient.createRole(argThat(request -> request != null && roleName.equals(request.getRoleName())), eq(ORG_UUID)))
+                .thenReturn(response);
+    }
+
+    private static RoleResponse role(String uuid, String name) {
+        return RoleResponse.builder()
+                .role_uuid(uuid)
+                .roleName(name)
+                .role_management_type("SYSTEM_MANAGED")
+                .build();
+    }
+}
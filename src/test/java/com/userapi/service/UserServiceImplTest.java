@@ -1,29 +1,50 @@
 package com.userapi.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.userapi.converters.EmploymentInfoDtoToJobProfileConverter;
 import com.userapi.exception.*;
 import com.userapi.models.entity.*;
+import com.userapi.models.external.BulkStatusChangeRequest;
+import com.userapi.models.external.BulkStatusChangeResponse;
+import com.userapi.models.external.ListUsersFilterCriteria;
+import com.userapi.models.external.ListUsersFilterCriteriaAttribute;
+import com.userapi.models.external.ListUsersRequest;
+import com.userapi.models.external.ListUsersResponse;
+import com.userapi.models.external.ListUsersSelector;
+import com.userapi.models.external.PatchUserResponse;
+import com.userapi.models.external.UserSearchResponse;
 import com.userapi.models.internal.*;
 import com.userapi.repository.jobprofile.JobProfileRepository;
+import com.userapi.repository.outbox.UserChangeEventRepository;
+import com.userapi.repository.userprofile.PatchedUser;
+import com.userapi.repository.userprofile.StatusChangeCount;
 import com.userapi.repository.userprofile.UserProfileRepository;
+import com.userapi.repository.userprofile.UserSearchHit;
 import com.userapi.repository.userreportee.UserReporteeRepository;
 import com.userapi.service.impl.UserServiceImpl;
+import com.userapi.service.outbox.UserChangeOutbox;
 import com.userapi.service.tasks.ReportingManagerFetcher;
 import com.userapi.service.tasks.UpdateUserInternalRequestValidator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,8 +52,8 @@ import static org.mockito.Mockito.*;
 
 class UserServiceImplTest {
 
-    @InjectMocks
     private UserServiceImpl userService;
+    private ExecutorService serviceExecutor;
 
     @Mock
     private UserProfileRepository userProfileRepository;
@@ -48,10 +69,35 @@ class UserServiceImplTest {
     private UpdateUserInternalRequestValidator updateUserInternalRequestValidator;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private UserIdentifierFilter userIdentifierFilter;
+    @Mock
+    private UserChangeEventRepository userChangeEventRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<List<UserChangeEvent>> eventsCaptor;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        serviceExecutor = Executors.newFixedThreadPool(2);
+        userService = new UserServiceImpl(
+                serviceExecutor,
+                employmentInfoDtoToJobProfileConverter,
+                userProfileRepository,
+                jobProfileRepository,
+                userReporteeRepository,
+                reportingManagerFetcher,
+                updateUserInternalRequestValidator,
+                objectMapper,
+                userIdentifierFilter,
+                new UserChangeOutbox(userChangeEventRepository, transactionManager, new ObjectMapper(), true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        serviceExecutor.shutdownNow();
     }
 
     @Test
@@ -85,6 +131,44 @@ class UserServiceImplTest {
         assertEquals(ResponseResult.SUCCESS, response.getResponseResult());
         assertEquals(ResponseReasonCode.SUCCESS, response.getResponseReasonCode());
         assertEquals("User created successfully", response.getMessage());
+        verify(userChangeEventRepository).saveAll(eventsCaptor.capture());
+        UserChangeEvent event = eventsCaptor.getValue().get(0);
+        assertEquals(UserChangeEvent.USER_CREATED, event.getEventType());
+        assertEquals("org1", event.getOrganizationUuid());
+        assertEquals(response.getUserId(), event.getUserUuid());
+        assertTrue(event.getPayload().contains("\"username\":\"user1\""));
+    }
+
+    @Test
+    void createUser_definitelyNewIdentifiersSkipLookupAndAreRecorded() {
+        CreateUserInternalRequest request = CreateUserInternalRequest.builder()
+                .requestContext(RequestContext.builder()
+                        .appOrgUuid("org1")
+                        .appUserUuid("user1")
+                        .appClientUserSessionUuid("sess1")
+                        .traceId("trace1")
+                        .regionId("region1")
+                        .build())
+                .username("user1")
+                .firstName("John")
+                .lastName("Doe")
+                .emailInfo(EmailInfoDto.builder().email("user@example.com").verificationStatus("Verified").build())
+                .phoneInfo(PhoneInfoDto.builder().number("1234567890").countryCode(1).verificationStatus("Verified").build())
+                .employmentInfoList(Collections.emptyList())
+                .build();
+
+        when(userIdentifierFilter.check("org1", "user1", "user@example.com", "1234567890"))
+                .thenReturn(UserIdentifierFilter.Verdict.DEFINITELY_NEW);
+        when(userProfileRepository.save(any(UserProfile.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(reportingManagerFetcher.fetchMatchingJobProfileUuids(anyString(), anyList()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyMap()));
+
+        CreateUserInternalResponse response = userService.createUser(request).join();
+
+        assertEquals(ResponseResult.SUCCESS, response.getResponseResult());
+        verify(userProfileRepository, never()).findUsersMatchingAny(anyString(), anyString(), anyString(), anyString());
+        verify(userIdentifierFilter).record("org1", "user1", "user@example.com", "1234567890");
     }
 
     @Test
@@ -124,6 +208,40 @@ class UserServiceImplTest {
         assertTrue(response.getMessage().contains("found existing users matching attributes"));
     }
 
+    @Test
+    void createUser_constraintViolationOnSaveIsDuplicateUser() {
+        CreateUserInternalRequest request = CreateUserInternalRequest.builder()
+                .requestContext(RequestContext.builder()
+                        .appOrgUuid("org1")
+                        .appUserUuid("user1")
+                        .appClientUserSessionUuid("sess1")
+                        .traceId("trace1")
+                        .regionId("region1")
+                        .build())
+                .username("user1")
+                .firstName("John")
+                .lastName("Doe")
+                .emailInfo(EmailInfoDto.builder().email("user@example.com").verificationStatus("Verified").build())
+                .phoneInfo(PhoneInfoDto.builder().number("1234567890").countryCode(1).verificationStatus("Verified").build())
+                .employmentInfoList(Collections.emptyList())
+                .build();
+
+        // A concurrent create with the same username commits between the uniqueness check and the insert
+        when(userProfileRepository.findUsersMatchingAny(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(Collections.emptyList());
+        when(userProfileRepository.save(any(UserProfile.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_user_profiles_username\""));
+        when(reportingManagerFetcher.fetchMatchingJobProfileUuids(anyString(), anyList()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyMap()));
+
+        CreateUserInternalResponse response = userService.createUser(request).join();
+
+        assertEquals(ResponseResult.FAILURE, response.getResponseResult());
+        assertEquals(ResponseReasonCode.DUPLICATE_USER, response.getResponseReasonCode());
+        assertFalse(response.getMessage().contains("constraint"));
+        verify(userChangeEventRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void getUser_success() {
         String orgUuid = "org1";
@@ -220,6 +338,9 @@ class UserServiceImplTest {
         assertEquals(ResponseReasonCode.SUCCESS, response.getResponseReasonCode());
         assertEquals("Updated user successfully", response.getMessage());
         assertEquals(UserStatus.INACTIVE.getName(), response.getStatus());
+        verify(userChangeEventRepository).saveAll(eventsCaptor.capture());
+        assertEquals(UserChangeEvent.USER_DEACTIVATED, eventsCaptor.getValue().get(0).getEventType());
+        assertEquals(userId, eventsCaptor.getValue().get(0).getUserUuid());
     }
 
     @Test
@@ -355,6 +476,56 @@ class UserServiceImplTest {
         verify(userProfileRepository, never()).save(any(UserProfile.class));
     }
 
+    @Test
+    void createUser_jobProfilesFanOutWithoutBlockingTheServicePool() {
+        // One worker: the fan-out runs on it, so joining there would starve its own subtasks
+        ExecutorService singleWorker = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(userService, "executor", singleWorker);
+        try {
+            EmploymentInfoDto first = employmentInfo("Developer");
+            EmploymentInfoDto second = employmentInfo("Reviewer");
+            CreateUserInternalRequest request = CreateUserInternalRequest.builder()
+                    .requestContext(RequestContext.builder().appOrgUuid("org1").build())
+                    .username("user1")
+                    .firstName("John")
+                    .lastName("Doe")
+                    .emailInfo(EmailInfoDto.builder().email("user@example.com").verificationStatus("Verified").build())
+                    .phoneInfo(PhoneInfoDto.builder().number("1234567890").countryCode(1).verificationStatus("Verified").build())
+                    .employmentInfoList(List.of(first, second))
+                    .build();
+            when(userProfileRepository.findUsersMatchingAny(anyString(), anyString(), anyString(), anyString()))
+                    .thenReturn(Collections.emptyList());
+            when(reportingManagerFetcher.fetchMatchingJobProfileUuids(anyString(), anyList()))
+                    .thenReturn(CompletableFuture.supplyAsync(() -> Map.of(
+                            first, Collections.<JobProfile>emptyList(),
+                            second, Collections.<JobProfile>emptyList()), singleWorker));
+            when(employmentInfoDtoToJobProfileConverter.convert(any(EmploymentInfoDto.class), anyString()))
+                    .thenAnswer(invocation -> JobProfile.builder()
+                            .jobProfileUuid(UUID.randomUUID().toString())
+                            .title(((EmploymentInfoDto) invocation.getArgument(0)).getJobTitle())
+                            .startDate(LocalDateTime.now())
+                            .build());
+            when(jobProfileRepository.save(any(JobProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(userProfileRepository.save(any(UserProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            CreateUserInternalResponse response = userService.createUser(request).join();
+
+            assertEquals(ResponseResult.SUCCESS, response.getResponseResult());
+            verify(jobProfileRepository, times(2)).save(any(JobProfile.class));
+        } finally {
+            singleWorker.shutdownNow();
+        }
+    }
+
+    private static EmploymentInfoDto employmentInfo(String jobTitle) {
+        return EmploymentInfoDto.builder()
+                .jobTitle(jobTitle)
+                .organizationUnit("Engineering")
+                .startDate(LocalDateTime.now())
+                .extensionsData(Map.of())
+                .build();
+    }
+
     @Test
     void updateUser_withInvalidData() {
         // Arrange
@@ -523,4 +694,291 @@ class UserServiceImplTest {
         assertTrue(response.getMessage().contains("Internal server error"));
         assertTrue(response.getMessage().contains("Database connection error"));
     }
+
+    @Test
+    void listUsers_withExtensionsSelector() {
+        // Arrange
+        String orgUuid = "org1";
+        UserProfile user = UserProfile.builder()
+                .userUuid("user1")
+                .username("john.doe")
+                .jobProfileUuids(new String[]{"jp-current", "jp-old"})
+                .build();
+
+        when(userProfileRepository.findUsersWithFilters(eq(orgUuid), anyMap(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(user), PageRequest.of(0, 10), 1));
+        // Rows of the current job profile come first
+        when(jobProfileRepository.findExtensionValues(eq(orgUuid), anyCollection(), anyCollection()))
+                .thenReturn(List.of(
+                        new Object[]{"jp-current", "department", "\"Backend\""},
+                        new Object[]{"jp-old", "department", "\"Frontend\""},
+                        new Object[]{"jp-old", "level", "3"}));
+
+        ListUsersSelector selector = new ListUsersSelector();
+        selector.setBase_attributes(List.of("userId", "username"));
+        selector.setExtensions(List.of("department", "level"));
+        ListUsersRequest request = new ListUsersRequest();
+        request.setSelector(selector);
+
+        // Act
+        ListUsersResponse response = userService.listUsers(request, orgUuid);
+
+        // Assert
+        assertEquals(1, response.getUsers().size());
+        Map<String, Object> userMap = response.getUsers().get(0);
+        assertEquals("user1", userMap.get("userId"));
+        Map<?, ?> extensions = (Map<?, ?>) userMap.get("extensions");
+        assertEquals("\"Backend\"", ((RawValue) extensions.get("department")).rawValue());
+        assertEquals("3", ((RawValue) extensions.get("level")).rawValue());
+        verify(jobProfileRepository).findExtensionValues(orgUuid,
+                Set.of("jp-current", "jp-old"), Set.of("department", "level"));
+    }
+
+    @Test
+    void listUsers_extensionNamedLikeABaseAttributeDoesNotReplaceIt() {
+        String orgUuid = "org1";
+        UserProfile user = UserProfile.builder()
+                .userUuid("user1")
+                .username("john.doe")
+                .status("Active")
+                .jobProfileUuids(new String[]{"jp1"})
+                .build();
+        when(userProfileRepository.findUsersWithFilters(eq(orgUuid), anyMap(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(user), PageRequest.of(0, 10), 1));
+        when(jobProfileRepository.findExtensionValues(eq(orgUuid), anyCollection(), anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{"jp1", "status", "\"On leave\""}));
+
+        ListUsersSelector selector = new ListUsersSelector();
+        selector.setBase_attributes(List.of("userId", "status"));
+        selector.setExtensions(List.of("status"));
+        ListUsersRequest request = new ListUsersRequest();
+        request.setSelector(selector);
+
+        Map<String, Object> userMap = userService.listUsers(request, orgUuid).getUsers().get(0);
+
+        assertEquals("Active", userMap.get("status"));
+        Map<?, ?> extensions = (Map<?, ?>) userMap.get("extensions");
+        assertEquals("\"On leave\"", ((RawValue) extensions.get("status")).rawValue());
+    }
+
+    @Test
+    void listUsers_selectedExtensionsWithoutValuesAreEmpty() {
+        UserProfile user = UserProfile.builder()
+                .userUuid("user1")
+                .username("john.doe")
+                .jobProfileUuids(new String[]{"jp1"})
+                .build();
+        when(userProfileRepository.findUsersWithFilters(eq("org1"), anyMap(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(user), PageRequest.of(0, 10), 1));
+        when(jobProfileRepository.findExtensionValues(eq("org1"), anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+
+        ListUsersSelector selector = new ListUsersSelector();
+        selector.setExtensions(List.of("department"));
+        ListUsersRequest request = new ListUsersRequest();
+        request.setSelector(selector);
+
+        Map<String, Object> userMap = userService.listUsers(request, "org1").getUsers().get(0);
+
+        assertEquals(Map.of(), userMap.get("extensions"));
+    }
+
+    @Test
+    void listUsers_withoutExtensionsSelector_skipsExtensionQuery() {
+        // Arrange
+        UserProfile user = UserProfile.builder()
+                .userUuid("user1")
+                .username("john.doe")
+                .jobProfileUuids(new String[]{"jp1"})
+                .build();
+        when(userProfileRepository.findUsersWithFilters(eq("org1"), anyMap(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(user), PageRequest.of(0, 10), 1));
+
+        // Act
+        ListUsersResponse response = userService.listUsers(new ListUsersRequest(), "org1");
+
+        // Assert
+        assertEquals("john.doe", response.getUsers().get(0).get("username"));
+        verify(jobProfileRepository, never()).findExtensionValues(anyString(), anyCollection(), anyCollection());
+    }
+
+    @Test
+    void searchUsers_capsLimitAndMapsHits() {
+        // Arrange
+        when(userProfileRepository.searchUsers("org1", "jan", 500, 25))
+                .thenReturn(List.of(new UserSearchHit("user1", "jane.doe", "Jane", "Doe",
+                        "jane@example.com", "Active", 2.75)));
+
+        // Act
+        UserSearchResponse response = userService.searchUsers("org1", "  jan ", 1000);
+
+        // Assert
+        assertEquals("jan", response.getQuery());
+        assertEquals(1, response.getUsers().size());
+        assertEquals("user1", response.getUsers().get(0).getUserId());
+        assertEquals(2.75, response.getUsers().get(0).getScore());
+    }
+
+    @Test
+    void searchUsers_shortQueryRejected() {
+        assertThrows(IllegalArgumentException.class, () -> userService.searchUsers("org1", "ja", null));
+        verify(userProfileRepository, never()).searchUsers(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void patchUser_updatesWithoutLoadingTheUser() {
+        // Arrange
+        UserPatch patch = new UserPatch(Map.of(UserPatch.USERNAME, "jane.new"));
+        when(updateUserInternalRequestValidator.validateUniqueIdentifiers("org1", "user1", "jane.new", null, null))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(userProfileRepository.patchUser("org1", "user1", patch.getChanges()))
+                .thenReturn(Optional.of(new PatchedUser("user1", "jane.new", "Jane", null, "Doe",
+                        "jane@example.com", "VERIFIED", "555-0100", 1, "VERIFIED", "Active")));
+
+        // Act
+        PatchUserResponse response = userService.patchUser("org1", "user1", patch).join();
+
+        // Assert
+        assertEquals("jane.new", response.getUsername());
+        assertEquals("jane@example.com", response.getEmailInfo().getEmail());
+        assertEquals(1, response.getPhoneInfo().getCountryCode());
+        verify(userProfileRepository, never()).findByUserId(anyString(), anyString());
+        verify(userProfileRepository, never()).save(any());
+        verify(userIdentifierFilter).record("org1", "jane.new", "jane@example.com", "555-0100");
+        verify(userChangeEventRepository).saveAll(eventsCaptor.capture());
+        UserChangeEvent event = eventsCaptor.getValue().get(0);
+        assertEquals(UserChangeEvent.USER_UPDATED, event.getEventType());
+        assertEquals("{\"status\":\"Active\",\"changed\":[\"username\"]}", event.getPayload());
+    }
+
+    @Test
+    void patchUser_unknownUserFailsWithNotFound() {
+        UserPatch patch = new UserPatch(Map.of(UserPatch.FIRST_NAME, "Jane"));
+        when(updateUserInternalRequestValidator.validateUniqueIdentifiers("org1", "missing", null, null, null))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(userProfileRepository.patchUser("org1", "missing", patch.getChanges())).thenReturn(Optional.empty());
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> userService.patchUser("org1", "missing", patch).join());
+        assertTrue(error.getCause() instanceof ResourceNotFoundException);
+        verify(userChangeEventRepository, never()).saveAll(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void patchUser_duplicateIdentifierSkipsTheUpdate() {
+        UserPatch patch = new UserPatch(Map.of(UserPatch.EMAIL, "taken@example.com"));
+        when(updateUserInternalRequestValidator.validateUniqueIdentifiers("org1", "user1", null, "taken@example.com", null))
+                .thenReturn(CompletableFuture.failedFuture(new DuplicateResourceException("duplicate")));
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> userService.patchUser("org1", "user1", patch).join());
+        assertTrue(error.getCause() instanceof DuplicateResourceException);
+        verify(userProfileRepository, never()).patchUser(anyString(), anyString(), any());
+    }
+
+    @Test
+    void changeStatus_byIds_updatesInChunksAndReportsEveryId() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "bulkStatusChunkSize", 2);
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setStatus("INACTIVE");
+        request.setUserIds(List.of("u1", "u2", "u1", "u3"));
+        when(userProfileRepository.changeStatus("org1", List.of("u1", "u2"), "Inactive"))
+                .thenReturn(Map.of("u1", true, "u2", false));
+        when(userProfileRepository.changeStatus("org1", List.of("u3"), "Inactive"))
+                .thenReturn(Map.of());
+
+        // Act
+        BulkStatusChangeResponse response = userService.changeStatus("org1", request);
+
+        // Assert
+        assertEquals("Inactive", response.getStatus());
+        assertEquals(1, response.getChanged());
+        assertEquals(2, response.getMatched());
+        assertEquals(1, response.getNotFound());
+        assertEquals(List.of(
+                new BulkStatusChangeResponse.UserOutcome("u1", BulkStatusChangeResponse.Outcome.UPDATED),
+                new BulkStatusChangeResponse.UserOutcome("u2", BulkStatusChangeResponse.Outcome.UNCHANGED),
+                new BulkStatusChangeResponse.UserOutcome("u3", BulkStatusChangeResponse.Outcome.NOT_FOUND)),
+                response.getResults());
+        verify(userProfileRepository, never()).findByUserId(anyString(), anyString());
+        verify(userProfileRepository, never()).save(any());
+        // Only u1 changed; the empty second chunk writes no events
+        verify(userChangeEventRepository, times(1)).saveAll(eventsCaptor.capture());
+        assertEquals(1, eventsCaptor.getValue().size());
+        assertEquals("u1", eventsCaptor.getValue().get(0).getUserUuid());
+        assertEquals(UserChangeEvent.USER_DEACTIVATED, eventsCaptor.getValue().get(0).getEventType());
+    }
+
+    @Test
+    void changeStatus_failedChunkIsReportedWithoutStoppingTheRest() {
+        ReflectionTestUtils.setField(userService, "bulkStatusChunkSize", 1);
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setStatus("INACTIVE");
+        request.setUserIds(List.of("u1", "u2"));
+        when(userProfileRepository.changeStatus("org1", List.of("u1"), "Inactive"))
+                .thenThrow(new RuntimeException("lock timeout"));
+        when(userProfileRepository.changeStatus("org1", List.of("u2"), "Inactive"))
+                .thenReturn(Map.of("u2", true));
+
+        BulkStatusChangeResponse response = userService.changeStatus("org1", request);
+
+        assertEquals(1, response.getFailed());
+        assertEquals(1, response.getChanged());
+        assertEquals(BulkStatusChangeResponse.Outcome.FAILED, response.getResults().get(0).getOutcome());
+    }
+
+    @Test
+    void changeStatus_byFilter_dryRunOnlyCounts() {
+        ListUsersFilterCriteriaAttribute attribute = new ListUsersFilterCriteriaAttribute();
+        attribute.setName("organizationUnit");
+        attribute.setValues(List.of("Legacy"));
+        ListUsersFilterCriteria criteria = new ListUsersFilterCriteria();
+        criteria.setAttributes(List.of(attribute));
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setStatus("INACTIVE");
+        request.setFilterCriteria(criteria);
+        request.setDryRun(true);
+        when(userProfileRepository.countStatusChangesWithFilters("org1", Map.of("organizationUnit", List.of("Legacy")), "Inactive"))
+                .thenReturn(new StatusChangeCount(3000, 2990));
+
+        BulkStatusChangeResponse response = userService.changeStatus("org1", request);
+
+        assertTrue(response.isDryRun());
+        assertEquals(3000, response.getMatched());
+        assertEquals(2990, response.getChanged());
+        assertNull(response.getResults());
+        verify(userProfileRepository, never()).changeStatus(anyString(), any(), anyString());
+    }
+
+    @Test
+    void changeStatus_byFilter_rejectsMoreUsersThanTheLimit() {
+        ReflectionTestUtils.setField(userService, "bulkStatusMaxUsers", 2);
+        ListUsersFilterCriteriaAttribute attribute = new ListUsersFilterCriteriaAttribute();
+        attribute.setName("status");
+        attribute.setValues(List.of("Active"));
+        ListUsersFilterCriteria criteria = new ListUsersFilterCriteria();
+        criteria.setAttributes(List.of(attribute));
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest();
+        request.setStatus("INACTIVE");
+        request.setFilterCriteria(criteria);
+        when(userProfileRepository.findUserUuidsWithFilters(eq("org1"), any(), eq(3)))
+                .thenReturn(List.of("u1", "u2", "u3"));
+
+        assertThrows(IllegalArgumentException.class, () -> userService.changeStatus("org1", request));
+        verify(userProfileRepository, never()).changeStatus(anyString(), any(), anyString());
+    }
+
+    @Test
+    void changeStatus_requiresExactlyOneSelectionAndAKnownStatus() {
+        BulkStatusChangeRequest neither = new BulkStatusChangeRequest();
+        neither.setStatus("INACTIVE");
+        assertThrows(IllegalArgumentException.class, () -> userService.changeStatus("org1", neither));
+
+        BulkStatusChangeRequest unknownStatus = new BulkStatusChangeRequest();
+        unknownStatus.setStatus("DELETED");
+        unknownStatus.setUserIds(List.of("u1"));
+        assertThrows(IllegalArgumentException.class, () -> userService.changeStatus("org1", unknownStatus));
+    }
 }
@@ -0,0 +1,88 @@
+package com.userapi.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.models.entity.UserChangeEvent;
+import com.userapi.repository.outbox.UserChangeEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeOutboxTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private UserChangeEventRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void changeAndEventsCommitTogether() {
+        UserChangeOutbox outbox = new UserChangeOutbox(repository, transactionManager, new ObjectMapper(), true, CLOCK);
+        when(repository.nextUserVersions("user-1")).thenReturn(List.<Object[]>of(new Object[]{"user-1", 4L}));
+
+        String result = outbox.write(() -> "user-1", userUuid -> List.of(
+                outbox.event("org-1", userUuid, UserChangeEvent.USER_DEACTIVATED, Map.of("status", "Inactive"))));
+
+        assertEquals("user-1", result);
+        verify(repository).saveAll(argThat((List<UserChangeEvent> events) -> events.size() == 1
+                && events.get(0).getUserUuid().equals("user-1")
+                && events.get(0).getUserVersion() == 4L
+                && events.get(0).getPayload().equals("{\"status\":\"Inactive\"}")
+                && events.get(0).getCreatedAt().equals(LocalDateTime.of(2026, 1, 1, 0, 0))));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void eachUserIsVersionedOnce() {
+        UserChangeOutbox outbox = new UserChangeOutbox(repository, transactionManager, new ObjectMapper(), true, CLOCK);
+        when(repository.nextUserVersions("user-1,user-2")).thenReturn(List.of(
+                new Object[]{"user-1", 2L}, new Object[]{"user-2", 1L}));
+
+        outbox.write(() -> List.of("user-2", "user-1"), userUuids -> userUuids.stream()
+                .map(userUuid -> outbox.event("org-1", userUuid, UserChangeEvent.USER_UPDATED, Map.of("status", "Active")))
+                .toList());
+
+        verify(repository).saveAll(argThat((List<UserChangeEvent> events) -> events.size() == 2
+                && events.get(0).getUserVersion() == 1L
+                && events.get(1).getUserVersion() == 2L));
+    }
+
+    @Test
+    void failedChangeWritesNoEventsAndRollsBack() {
+        UserChangeOutbox outbox = new UserChangeOutbox(repository, transactionManager, new ObjectMapper(), true, CLOCK);
+
+        assertThrows(IllegalStateException.class, () -> outbox.write(() -> {
+            throw new IllegalStateException("constraint violated");
+        }, result -> List.of()));
+
+        verifyNoInteractions(repository);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void disabledOutboxOnlyRunsTheChange() {
+        UserChangeOutbox outbox = new UserChangeOutbox(repository, transactionManager, new ObjectMapper(), false, CLOCK);
+
+        assertEquals("user-1", outbox.write(() -> "user-1", userUuid -> {
+            throw new AssertionError("events must not be built when the outbox is disabled");
+        }));
+
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,149 @@
+package com.userapi.service.outbox;
+
+import com.userapi.models.entity.UserChangeEvent;
+import com.userapi.repository.outbox.UserChangeEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeRelayTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private UserChangeEventRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryUserChangeEventSink sink = new InMemoryUserChangeEventSink();
+    private final MutableClock clock = new MutableClock(NOW);
+    private MeterRegistry meterRegistry;
+    private UserChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new UserChangeRelay(repository, sink, transactionManager, meterRegistry, true,
+                Duration.ofMillis(500), 2, Duration.ofSeconds(5), clock);
+    }
+
+    @Test
+    void drainsFullBatchesUntilAShortOneAndDeletesWhatWasDelivered() {
+        when(repository.lockNextBatch(2)).thenReturn(events(1, 2), events(3, 4), events(5, 5));
+
+        assertEquals(5, relay.drain());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                sink.getDelivered().stream().map(UserChangeEvent::getEventId).toList());
+        verify(repository).deleteDelivered(List.of(1L, 2L));
+        verify(repository).deleteDelivered(List.of(3L, 4L));
+        verify(repository).deleteDelivered(List.of(5L));
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(5.0, meterRegistry.get("user.api.outbox.delivered").counter().count());
+        assertEquals(5, meterRegistry.get("user.api.outbox.lag").timer().count());
+    }
+
+    @Test
+    void emptyOutboxDeliversNothing() {
+        when(repository.lockNextBatch(2)).thenReturn(List.of());
+
+        assertEquals(0, relay.drain());
+
+        assertTrue(sink.getDelivered().isEmpty());
+        verify(repository, never()).deleteDelivered(any());
+    }
+
+    @Test
+    void failedBatchStaysInTheOutboxAndIsRetriedAfterTheBackoff() {
+        UserChangeEventSink failing = mock(UserChangeEventSink.class);
+        doThrow(new IllegalStateException("webhook unavailable")).doNothing().when(failing).deliver(any());
+        relay = new UserChangeRelay(repository, failing, transactionManager, meterRegistry, true,
+                Duration.ofMillis(500), 2, Duration.ofSeconds(5), clock);
+        when(repository.lockNextBatch(2)).thenReturn(events(1, 1));
+
+        assertEquals(0, relay.drain());
+        verify(repository, never()).deleteDelivered(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.get("user.api.outbox.failures").counter().count());
+
+        // Still backing off
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(0, relay.drain());
+        verify(repository, times(1)).lockNextBatch(2);
+
+        clock.advance(Duration.ofSeconds(5));
+        assertEquals(1, relay.drain());
+        verify(repository).deleteDelivered(List.of(1L));
+    }
+
+    @Test
+    void disabledRelayDoesNotStart() {
+        relay = new UserChangeRelay(repository, sink, transactionManager, meterRegistry, false,
+                Duration.ofMillis(500), 2, Duration.ofSeconds(5), clock);
+
+        relay.start();
+        relay.stop();
+
+        verifyNoInteractions(repository);
+    }
+
+    private List<UserChangeEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> UserChangeEvent.builder()
+                        .eventId(id)
+                        .organizationUuid("org-1")
+                        .userUuid("user-" + id)
+                        .eventType(UserChangeEvent.USER_UPDATED)
+                        .payload("{}")
+                        .createdAt(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC))
+                        .build())
+                .toList();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.userapi.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.models.entity.UserChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookUserChangeEventSinkTest {
+
+    private static final UserChangeEvent EVENT = UserChangeEvent.builder()
+            .eventId(7L)
+            .organizationUuid("org-1")
+            .userUuid("user-1")
+            .eventType(UserChangeEvent.USER_UPDATED)
+            .userVersion(3L)
+            .payload("{\"status\":\"Active\",\"changed\":[\"firstName\"]}")
+            .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+            .build();
+
+    @Test
+    void bodyEmbedsTheStoredPayloadAsJson() {
+        WebhookUserChangeEventSink sink = new WebhookUserChangeEventSink(
+                WebClient.create(), new ObjectMapper(), Duration.ofSeconds(1));
+
+        assertEquals("{\"events\":[{\"eventId\":7,\"eventType\":\"USER_UPDATED\",\"organizationUuid\":\"org-1\","
+                        + "\"userId\":\"user-1\",\"userVersion\":3,\"occurredAt\":\"2026-01-01T00:00:00Z\","
+                        + "\"data\":{\"status\":\"Active\",\"changed\":[\"firstName\"]}}]}",
+                sink.body(List.of(EVENT)));
+    }
+
+    @Test
+    void deliversWithAPost() {
+        AtomicReference<HttpMethod> method = new AtomicReference<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    method.set(request.method());
+                    return Mono.just(ClientResponse.create(HttpStatus.NO_CONTENT).build());
+                })
+                .build();
+
+        new WebhookUserChangeEventSink(webClient, new ObjectMapper(), Duration.ofSeconds(1)).deliver(List.of(EVENT));
+
+        assertEquals(HttpMethod.POST, method.get());
+    }
+
+    @Test
+    void errorResponseFailsTheBatch() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build()))
+                .build();
+        WebhookUserChangeEventSink sink = new WebhookUserChangeEventSink(
+                webClient, new ObjectMapper(), Duration.ofSeconds(1));
+
+        assertThrows(WebClientResponseException.class, () -> sink.deliver(List.of(EVENT)));
+    }
+}
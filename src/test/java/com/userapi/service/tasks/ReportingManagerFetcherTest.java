@@ -6,6 +6,7 @@ import com.userapi.models.entity.UserProfile;
 import com.userapi.models.internal.EmploymentInfoDto;
 import com.userapi.repository.jobprofile.JobProfileRepository;
 import com.userapi.repository.userprofile.UserProfileRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -15,6 +16,8 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,8 +26,8 @@ import static org.mockito.Mockito.*;
 
 class ReportingManagerFetcherTest {
 
-    @InjectMocks
     private ReportingManagerFetcher reportingManagerFetcher;
+    private ExecutorService serviceExecutor;
 
     @Mock
     private UserProfileRepository userProfileRepository;
@@ -34,6 +37,13 @@ class ReportingManagerFetcherTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        serviceExecutor = Executors.newFixedThreadPool(2);
+        reportingManagerFetcher = new ReportingManagerFetcher(serviceExecutor, userProfileRepository, jobProfileRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serviceExecutor.shutdownNow();
     }
 
     @Test
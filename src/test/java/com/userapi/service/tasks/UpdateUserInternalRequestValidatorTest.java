@@ -7,16 +7,19 @@ import com.userapi.models.internal.PhoneInfoDto;
 import com.userapi.models.internal.RequestContext;
 import com.userapi.models.internal.UpdateUserInternalRequest;
 import com.userapi.repository.userprofile.UserProfileRepository;
+import com.userapi.service.UserIdentifierFilter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.UUID;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,8 +30,11 @@ class UpdateUserInternalRequestValidatorTest {
     @Mock
     private UserProfileRepository userProfileRepository;
 
-    @InjectMocks
+    @Mock
+    private UserIdentifierFilter userIdentifierFilter;
+
     private UpdateUserInternalRequestValidator validator;
+    private ExecutorService serviceExecutor;
 
     private String orgUuid;
     private String userUuid;
@@ -38,6 +44,8 @@ class UpdateUserInternalRequestValidatorTest {
 
     @BeforeEach
     void setUp() {
+        serviceExecutor = Executors.newFixedThreadPool(2);
+        validator = new UpdateUserInternalRequestValidator(serviceExecutor, userProfileRepository, userIdentifierFilter);
         orgUuid = UUID.randomUUID().toString();
         userUuid = UUID.randomUUID().toString();
         clientUserSessionUuid = UUID.randomUUID().toString();
@@ -45,6 +53,11 @@ class UpdateUserInternalRequestValidatorTest {
         regionId = "US";
     }
 
+    @AfterEach
+    void tearDown() {
+        serviceExecutor.shutdownNow();
+    }
+
     @Test
     void validateUniqueUser_WhenNoDuplicates_ShouldReturnRequest() {
         // Arrange
@@ -161,4 +174,92 @@ class UpdateUserInternalRequestValidatorTest {
         CompletionException exception = assertThrows(CompletionException.class, () -> result.join());
         assertTrue(exception.getCause() instanceof DuplicateResourceException);
     }
+
+    @Test
+    void validateUniqueUser_WhenFilterReportsNew_ShouldSkipLookup() {
+        // Arrange
+        UserProfile existingUser = new UserProfile();
+        existingUser.setUserUuid(userUuid);
+        existingUser.setOrganizationUuid(orgUuid);
+
+        RequestContext requestContext = RequestContext.builder()
+                .appOrgUuid(orgUuid)
+                .appUserUuid(userUuid)
+                .appClientUserSessionUuid(clientUserSessionUuid)
+                .traceId(traceId)
+                .regionId(regionId)
+                .build();
+
+        UpdateUserInternalRequest request = UpdateUserInternalRequest.builder()
+                .requestContext(requestContext)
+                .username("brand.new")
+                .build();
+
+        when(userIdentifierFilter.check(orgUuid, "brand.new", null, null))
+                .thenReturn(UserIdentifierFilter.Verdict.DEFINITELY_NEW);
+
+        // Act
+        UpdateUserInternalRequest validatedRequest = validator.validateUniqueUser(existingUser, request).join();
+
+        // Assert
+        assertEquals(request, validatedRequest);
+        verifyNoInteractions(userProfileRepository);
+    }
+
+    @Test
+    void validateUniqueUser_WhenProbableHitIsClear_ShouldRecordFalsePositive() {
+        // Arrange
+        UserProfile existingUser = new UserProfile();
+        existingUser.setUserUuid(userUuid);
+        existingUser.setOrganizationUuid(orgUuid);
+
+        RequestContext requestContext = RequestContext.builder()
+                .appOrgUuid(orgUuid)
+                .appUserUuid(userUuid)
+                .appClientUserSessionUuid(clientUserSessionUuid)
+                .traceId(traceId)
+                .regionId(regionId)
+                .build();
+
+        UpdateUserInternalRequest request = UpdateUserInternalRequest.builder()
+                .requestContext(requestContext)
+                .username("maybe.taken")
+                .build();
+
+        when(userIdentifierFilter.check(orgUuid, "maybe.taken", null, null))
+                .thenReturn(UserIdentifierFilter.Verdict.PROBABLY_EXISTS);
+        when(userProfileRepository.findUserByUsername(orgUuid, "maybe.taken")).thenReturn(null);
+
+        // Act
+        validator.validateUniqueUser(existingUser, request).join();
+
+        // Assert
+        verify(userIdentifierFilter).recordFalsePositive();
+    }
+
+    @Test
+    void validateUniqueIdentifiers_WhenOnlyTheUserItselfMatches_ShouldComplete() {
+        // Arrange
+        UserProfile self = new UserProfile();
+        self.setUserUuid(userUuid);
+        when(userProfileRepository.findUserByEmail(orgUuid, "jane@example.com")).thenReturn(self);
+
+        // Act & Assert
+        assertNull(validator.validateUniqueIdentifiers(orgUuid, userUuid, null, "jane@example.com", null).join());
+        verify(userProfileRepository, never()).findUserByUsername(any(), any());
+        verify(userProfileRepository, never()).findUserByPhoneNumber(any(), any());
+    }
+
+    @Test
+    void validateUniqueIdentifiers_WhenUsernameHeldByAnotherUser_ShouldThrowException() {
+        // Arrange
+        UserProfile other = new UserProfile();
+        other.setUserUuid(UUID.randomUUID().toString());
+        when(userProfileRepository.findUserByUsername(orgUuid, "taken")).thenReturn(other);
+
+        // Act & Assert
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> validator.validateUniqueIdentifiers(orgUuid, userUuid, "taken", null, null).join());
+        assertTrue(exception.getCause() instanceof DuplicateResourceException);
+    }
 }
@@ -0,0 +1,62 @@
+package com.userapi.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userapi.enums.ResourceType;
+import com.userapi.models.external.roles.CreateRoleRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyBuilderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void builtInPoliciesAreBuiltOnce() {
+        assertSame(PolicyBuilder.buildAdminPolicy(), PolicyBuilder.buildPolicyForRole("admin"));
+        assertSame(PolicyBuilder.buildUserPolicy(), PolicyBuilder.buildPolicyForRole("UNKNOWN"));
+    }
+
+    @Test
+    void userPolicyContent() throws Exception {
+        JsonNode policy = objectMapper.readTree(PolicyBuilder.buildUserPolicy().toString());
+
+        assertEquals("1.0", policy.get("version").asText());
+        assertEquals(objectMapper.readTree("[\"users\",\"organizations\",\"tasks\",\"clients\"]"), policy.get("data").get("read"));
+        assertEquals(objectMapper.readTree("[\"tasks\"]"), policy.get("data").get("write"));
+        assertEquals(0, policy.get("data").get("delete").size());
+        assertEquals(objectMapper.readTree("[\"create_task\",\"view_reports\",\"update_profile\"]"),
+                policy.get("features").get("execute"));
+    }
+
+    @Test
+    void preSerializedPolicyIsWrittenVerbatimInRequestBody() throws Exception {
+        CreateRoleRequest request = CreateRoleRequest.builder()
+                .roleName("Admin")
+                .roleManagementType("SYSTEM_MANAGED")
+                .policy(PolicyBuilder.buildAdminPolicy())
+                .build();
+
+        JsonNode body = objectMapper.readTree(objectMapper.writeValueAsBytes(request));
+
+        assertEquals(objectMapper.readTree(PolicyBuilder.buildAdminPolicy().toString()), body.get("policy"));
+        assertTrue(body.get("policy").get("data").get("delete").toString().contains("\"*\""));
+    }
+
+    @Test
+    void customPoliciesAreCachedByContent() {
+        JsonNode first = PolicyBuilder.buildCustomPolicy(
+                Set.of(ResourceType.USERS, ResourceType.TASKS), Set.of(ResourceType.TASKS), Set.of(), List.of("create_task"));
+        JsonNode second = PolicyBuilder.buildCustomPolicy(
+                Set.of(ResourceType.TASKS, ResourceType.USERS), Set.of(ResourceType.TASKS), Set.of(), List.of("create_task"));
+        JsonNode different = PolicyBuilder.buildCustomPolicy(
+                Set.of(ResourceType.USERS), Set.of(ResourceType.TASKS), Set.of(), List.of("create_task"));
+
+        assertSame(first, second);
+        assertNotEquals(first.toString(), different.toString());
+    }
+}
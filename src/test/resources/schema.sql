@@ -33,6 +33,18 @@ CREATE TABLE IF NOT EXISTS job_profiles (
     PRIMARY KEY (job_profile_uuid)
 );
 
+-- Serves extension filters on list users (extensions_data @@ jsonpath)
+CREATE INDEX IF NOT EXISTS idx_job_profiles_extensions_data
+    ON job_profiles USING GIN (extensions_data jsonb_path_ops);
+
+-- Serves typeahead search (GET /users/search): trigram GIN index over names, username and email.
+-- btree_gin lets organization_uuid lead the index so each search only visits its own org.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_user_profiles_search_trgm
+    ON user_profiles USING GIN (organization_uuid,
+        (lower(first_name || ' ' || last_name || ' ' || username || ' ' || email)) gin_trgm_ops);
+
 -- Create user_reportees table
 CREATE TABLE IF NOT EXISTS user_reportees (
     relation_uuid VARCHAR(255) NOT NULL,
@@ -45,3 +57,39 @@ CREATE TABLE IF NOT EXISTS user_reportees (
     FOREIGN KEY (job_profile_uuid) REFERENCES job_profiles(job_profile_uuid)
 );
 
+-- Stored first responses for Idempotency-Key requests (POST /user, bootstrap-organization-admin)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    organization_uuid VARCHAR(36) NOT NULL,
+    operation VARCHAR(64) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    response_status INTEGER,
+    response_body TEXT,
+    locked_until TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (organization_uuid, operation, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
+
+-- Transactional outbox of user change events, drained by the relay (user.api.outbox.*)
+CREATE SEQUENCE IF NOT EXISTS user_change_events_event_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_change_events (
+    event_id BIGINT NOT NULL DEFAULT nextval('user_change_events_event_id_seq'),
+    organization_uuid VARCHAR(36) NOT NULL,
+    user_uuid VARCHAR(255) NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    user_version BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+-- Last change version handed out per user; versions follow commit order, event ids do not
+CREATE TABLE IF NOT EXISTS user_change_versions (
+    user_uuid VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (user_uuid)
+);